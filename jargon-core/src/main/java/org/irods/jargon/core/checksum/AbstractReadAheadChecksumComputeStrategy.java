@@ -0,0 +1,196 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base for checksum strategies that read a file through a {@link FileChannel}
+ * in fixed, aligned regions, and overlap reading the next region with hashing
+ * the current one. Subclasses decide how a region is brought into memory.
+ * <p>
+ * Files no larger than one region are hashed on the calling thread. Larger
+ * files use a thread of the read-ahead executor, so at most two regions are in
+ * memory per file.
+ */
+public abstract class AbstractReadAheadChecksumComputeStrategy extends AbstractChecksumComputeStrategy {
+
+	public static final Logger log = LoggerFactory.getLogger(AbstractReadAheadChecksumComputeStrategy.class);
+
+	private final ChecksumEncodingEnum checksumEncoding;
+	private final ExecutorService readAheadExecutor;
+	private final int regionSize;
+
+	/**
+	 * Constructor
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param readAheadExecutor
+	 *            {@link ExecutorService} to read ahead on, or {@code null} to read
+	 *            on the calling thread
+	 * @param regionSize
+	 *            {@code int} with the size of each region, a power of two so that
+	 *            regions stay aligned
+	 * @throws ChecksumMethodUnavailableException
+	 *             for another encoding
+	 */
+	protected AbstractReadAheadChecksumComputeStrategy(final ChecksumEncodingEnum checksumEncoding,
+			final ExecutorService readAheadExecutor, final int regionSize) throws ChecksumMethodUnavailableException {
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+
+		if (regionSize <= 0 || Integer.bitCount(regionSize) != 1) {
+			throw new IllegalArgumentException("regionSize must be a power of two");
+		}
+
+		if (checksumEncoding != ChecksumEncodingEnum.MD5 && checksumEncoding != ChecksumEncodingEnum.SHA256) {
+			throw new ChecksumMethodUnavailableException("unable to compute a checksum for:" + checksumEncoding);
+		}
+
+		this.checksumEncoding = checksumEncoding;
+		this.readAheadExecutor = readAheadExecutor;
+		this.regionSize = regionSize;
+	}
+
+	/**
+	 * Bring a region of the file into memory
+	 *
+	 * @param channel
+	 *            {@link FileChannel} open for reading
+	 * @param position
+	 *            {@code long} with the start of the region
+	 * @param length
+	 *            {@code int} with the length of the region
+	 * @param spare
+	 *            {@link ByteBuffer} already hashed that may be reused, or
+	 *            {@code null}
+	 * @return {@link ByteBuffer} positioned over the region's bytes
+	 * @throws IOException
+	 *             if the file cannot be read
+	 */
+	protected abstract ByteBuffer readRegion(FileChannel channel, long position, int length, ByteBuffer spare)
+			throws IOException;
+
+	@Override
+	public ChecksumValue computeChecksumValueForLocalFile(final String localFileAbsolutePath)
+			throws FileNotFoundException, JargonException {
+
+		log.info("computeChecksumValueForLocalFile()");
+
+		if (localFileAbsolutePath == null || localFileAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty localFileAbsolutePath");
+		}
+
+		MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest
+					.getInstance(checksumEncoding == ChecksumEncodingEnum.MD5 ? "MD5" : "SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new JargonException("no such algorithm for:" + checksumEncoding, e);
+		}
+
+		FileInputStream in = new FileInputStream(new File(localFileAbsolutePath));
+		try {
+			digestChannel(in.getChannel(), messageDigest);
+		} catch (IOException e) {
+			log.error("error computing checksum for:{}", localFileAbsolutePath, e);
+			throw new JargonException("error computing checksum for:" + localFileAbsolutePath, e);
+		} finally {
+			try {
+				in.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+
+		return StreamingChecksum.checksumValue(checksumEncoding, messageDigest.digest());
+	}
+
+	private void digestChannel(final FileChannel channel, final MessageDigest messageDigest)
+			throws IOException, JargonException {
+		final long size = channel.size();
+		if (size == 0) {
+			return;
+		}
+
+		if (size <= regionSize || readAheadExecutor == null) {
+			ByteBuffer buffer = null;
+			for (long position = 0; position < size; position += regionSize) {
+				buffer = readRegion(channel, position, (int) Math.min(regionSize, size - position), buffer);
+				messageDigest.update(buffer);
+			}
+			return;
+		}
+
+		ByteBuffer spare = null;
+		Future<ByteBuffer> pending = readAheadExecutor.submit(regionReader(channel, 0, regionSize, null));
+		long nextPosition = regionSize;
+		try {
+			while (pending != null) {
+				ByteBuffer current = pending.get();
+				if (nextPosition < size) {
+					int length = (int) Math.min(regionSize, size - nextPosition);
+					pending = readAheadExecutor.submit(regionReader(channel, nextPosition, length, spare));
+					nextPosition += length;
+				} else {
+					pending = null;
+				}
+				messageDigest.update(current);
+				spare = current;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted computing checksum", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new JargonException("error reading ahead for checksum", e.getCause());
+		} finally {
+			if (pending != null) {
+				pending.cancel(true);
+			}
+		}
+	}
+
+	private Callable<ByteBuffer> regionReader(final FileChannel channel, final long position, final int length,
+			final ByteBuffer spare) {
+		return new Callable<ByteBuffer>() {
+			@Override
+			public ByteBuffer call() throws IOException {
+				return readRegion(channel, position, length, spare);
+			}
+		};
+	}
+
+	/**
+	 * @return {@link ChecksumEncodingEnum} computed by this strategy
+	 */
+	public ChecksumEncodingEnum getChecksumEncoding() {
+		return checksumEncoding;
+	}
+
+	/**
+	 * @return {@code int} with the size of each region
+	 */
+	public int getRegionSize() {
+		return regionSize;
+	}
+
+}
@@ -1,6 +1,12 @@
 package org.irods.jargon.core.checksum;
 
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 
 /**
@@ -26,4 +32,51 @@ public interface LocalChecksumComputerFactory {
 	public abstract AbstractChecksumComputeStrategy instance(ChecksumEncodingEnum checksumEncodingEnum)
 			throws ChecksumMethodUnavailableException;
 
+	/**
+	 * Find an instance of an encoder that reads the file in a particular way
+	 *
+	 * @param checksumEncodingEnum
+	 *            {@link ChecksumEncodingEnum} value of a specific type
+	 * @param localChecksumStrategy
+	 *            {@link LocalChecksumStrategyEnum} for how the file is read
+	 * @return {@link AbstractChecksumComputeStrategy} that implements that encoding
+	 *         algorithm
+	 * @throws ChecksumMethodUnavailableException
+	 *             if the algorithm is unsupported
+	 */
+	public abstract AbstractChecksumComputeStrategy instance(ChecksumEncodingEnum checksumEncodingEnum,
+			LocalChecksumStrategyEnum localChecksumStrategy) throws ChecksumMethodUnavailableException;
+
+	/**
+	 * Queue a local file to be hashed on the factory's bounded pool of checksum
+	 * threads, so that hashing overlaps other work. If the pool is backed up the
+	 * file is hashed on the calling thread.
+	 *
+	 * @param localFileAbsolutePath
+	 *            {@code String} with the absolute path to a local file
+	 * @param checksumEncodingEnum
+	 *            {@link ChecksumEncodingEnum} value of a specific type
+	 * @return {@code Future} with the {@link ChecksumValue}
+	 * @throws ChecksumMethodUnavailableException
+	 *             if the algorithm is unsupported
+	 */
+	public abstract Future<ChecksumValue> submit(String localFileAbsolutePath,
+			ChecksumEncodingEnum checksumEncodingEnum) throws ChecksumMethodUnavailableException;
+
+	/**
+	 * Hash many local files concurrently on the factory's bounded pool
+	 *
+	 * @param localFileAbsolutePaths
+	 *            {@code List} of {@code String} with absolute local file paths
+	 * @param checksumEncodingEnum
+	 *            {@link ChecksumEncodingEnum} value of a specific type
+	 * @return {@code Map} of path to {@link ChecksumValue}, in the order given
+	 * @throws FileNotFoundException
+	 *             if a file cannot be found
+	 * @throws JargonException
+	 *             for a general exception
+	 */
+	public abstract Map<String, ChecksumValue> computeChecksumsForLocalFiles(List<String> localFileAbsolutePaths,
+			ChecksumEncodingEnum checksumEncodingEnum) throws FileNotFoundException, JargonException;
+
 }
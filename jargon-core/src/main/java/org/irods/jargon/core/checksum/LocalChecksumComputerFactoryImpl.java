@@ -3,20 +3,83 @@
  */
 package org.irods.jargon.core.checksum;
 
+import java.io.FileNotFoundException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 
 /**
  * Factory to create methods to compute local checksums based on a type that can
  * be derived from the {@link ChecksumManager}. *
  * <p>
- * This factory is available from the {@link IRODSSession}
+ * This factory is available from the {@link IRODSSession}, configured from
+ * {@code JargonProperties.getLocalChecksumStrategy()} and
+ * {@code JargonProperties.getLocalChecksumThreads()}. Its threads are daemons,
+ * created on first use.
  *
  * @author Mike Conway - DICE
  *
  */
 public class LocalChecksumComputerFactoryImpl implements LocalChecksumComputerFactory {
 
+	/**
+	 * Files queued per checksum thread before submitters hash on their own thread
+	 */
+	static final int QUEUE_DEPTH_PER_THREAD = 16;
+
+	private static final AtomicInteger factoryCount = new AtomicInteger(0);
+
+	private final LocalChecksumStrategyEnum localChecksumStrategy;
+	private final int checksumThreads;
+	private final int factoryNumber = factoryCount.incrementAndGet();
+	private ExecutorService readAheadExecutor = null;
+	private ExecutorService checksumExecutor = null;
+
+	/**
+	 * Constructor for a factory of stream strategies, hashing one file at a time
+	 */
+	public LocalChecksumComputerFactoryImpl() {
+		this(LocalChecksumStrategyEnum.STREAM, 1);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param localChecksumStrategy
+	 *            {@link LocalChecksumStrategyEnum} returned by
+	 *            {@link #instance(ChecksumEncodingEnum)}
+	 * @param checksumThreads
+	 *            {@code int} with the number of files hashed at once by
+	 *            {@link #submit(String, ChecksumEncodingEnum)}
+	 */
+	public LocalChecksumComputerFactoryImpl(final LocalChecksumStrategyEnum localChecksumStrategy,
+			final int checksumThreads) {
+		if (localChecksumStrategy == null) {
+			throw new IllegalArgumentException("null localChecksumStrategy");
+		}
+
+		if (checksumThreads <= 0) {
+			throw new IllegalArgumentException("checksumThreads must be positive");
+		}
+
+		this.localChecksumStrategy = localChecksumStrategy;
+		this.checksumThreads = checksumThreads;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -26,20 +89,139 @@ public class LocalChecksumComputerFactoryImpl implements LocalChecksumComputerFa
 	@Override
 	public AbstractChecksumComputeStrategy instance(final ChecksumEncodingEnum checksumEncodingEnum)
 			throws ChecksumMethodUnavailableException {
+		return instance(checksumEncodingEnum, localChecksumStrategy);
+	}
+
+	@Override
+	public AbstractChecksumComputeStrategy instance(final ChecksumEncodingEnum checksumEncodingEnum,
+			final LocalChecksumStrategyEnum localChecksumStrategy) throws ChecksumMethodUnavailableException {
 
 		if (checksumEncodingEnum == null) {
 			throw new IllegalArgumentException("null checksumEncodingEnum");
 		}
 
-		if (checksumEncodingEnum == ChecksumEncodingEnum.MD5) {
-			return new MD5LocalChecksumComputerStrategy();
-		} else if (checksumEncodingEnum == ChecksumEncodingEnum.SHA256) {
-			return new SHA256LocalChecksumComputerStrategy();
-		} else {
+		if (localChecksumStrategy == null) {
+			throw new IllegalArgumentException("null localChecksumStrategy");
+		}
+
+		if (checksumEncodingEnum != ChecksumEncodingEnum.MD5 && checksumEncodingEnum != ChecksumEncodingEnum.SHA256) {
 			throw new ChecksumMethodUnavailableException(
 					"unable to find a checksum encoding method for:" + checksumEncodingEnum);
 		}
 
+		if (localChecksumStrategy == LocalChecksumStrategyEnum.READ_AHEAD) {
+			return new ReadAheadLocalChecksumComputerStrategy(checksumEncodingEnum, getReadAheadExecutor());
+		} else if (localChecksumStrategy == LocalChecksumStrategyEnum.MAPPED) {
+			return new MappedLocalChecksumComputerStrategy(checksumEncodingEnum, getReadAheadExecutor());
+		} else if (checksumEncodingEnum == ChecksumEncodingEnum.MD5) {
+			return new MD5LocalChecksumComputerStrategy();
+		} else {
+			return new SHA256LocalChecksumComputerStrategy();
+		}
+
+	}
+
+	@Override
+	public Future<ChecksumValue> submit(final String localFileAbsolutePath,
+			final ChecksumEncodingEnum checksumEncodingEnum) throws ChecksumMethodUnavailableException {
+
+		if (localFileAbsolutePath == null || localFileAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty localFileAbsolutePath");
+		}
+
+		final AbstractChecksumComputeStrategy strategy = instance(checksumEncodingEnum);
+		return getChecksumExecutor().submit(new Callable<ChecksumValue>() {
+			@Override
+			public ChecksumValue call() throws FileNotFoundException, JargonException {
+				return strategy.computeChecksumValueForLocalFile(localFileAbsolutePath);
+			}
+		});
+	}
+
+	@Override
+	public Map<String, ChecksumValue> computeChecksumsForLocalFiles(final List<String> localFileAbsolutePaths,
+			final ChecksumEncodingEnum checksumEncodingEnum) throws FileNotFoundException, JargonException {
+
+		if (localFileAbsolutePaths == null) {
+			throw new IllegalArgumentException("null localFileAbsolutePaths");
+		}
+
+		Map<String, Future<ChecksumValue>> pending = new LinkedHashMap<String, Future<ChecksumValue>>();
+		for (String localFileAbsolutePath : localFileAbsolutePaths) {
+			pending.put(localFileAbsolutePath, submit(localFileAbsolutePath, checksumEncodingEnum));
+		}
+
+		Map<String, ChecksumValue> checksums = new LinkedHashMap<String, ChecksumValue>();
+		try {
+			for (Map.Entry<String, Future<ChecksumValue>> entry : pending.entrySet()) {
+				checksums.put(entry.getKey(), entry.getValue().get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted computing checksums", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof FileNotFoundException) {
+				throw (FileNotFoundException) e.getCause();
+			} else if (e.getCause() instanceof JargonException) {
+				throw (JargonException) e.getCause();
+			}
+			throw new JargonException("error computing checksums", e.getCause());
+		} finally {
+			for (Future<ChecksumValue> future : pending.values()) {
+				future.cancel(false);
+			}
+		}
+		return checksums;
+	}
+
+	/**
+	 * @return {@link LocalChecksumStrategyEnum} returned by
+	 *         {@link #instance(ChecksumEncodingEnum)}
+	 */
+	public LocalChecksumStrategyEnum getLocalChecksumStrategy() {
+		return localChecksumStrategy;
+	}
+
+	/**
+	 * @return {@code int} with the number of files hashed at once
+	 */
+	public int getChecksumThreads() {
+		return checksumThreads;
+	}
+
+	private synchronized ExecutorService getReadAheadExecutor() {
+		if (readAheadExecutor == null) {
+			readAheadExecutor = Executors.newCachedThreadPool(daemonThreadFactory("read-ahead"));
+		}
+		return readAheadExecutor;
+	}
+
+	/**
+	 * Bounded so that a walk over a large tree cannot queue every file, when the
+	 * queue is full the submitting thread hashes the file itself
+	 */
+	private synchronized ExecutorService getChecksumExecutor() {
+		if (checksumExecutor == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(checksumThreads, checksumThreads, 60,
+					TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(checksumThreads * QUEUE_DEPTH_PER_THREAD),
+					daemonThreadFactory("hash"), new ThreadPoolExecutor.CallerRunsPolicy());
+			executor.allowCoreThreadTimeOut(true);
+			checksumExecutor = executor;
+		}
+		return checksumExecutor;
+	}
+
+	private ThreadFactory daemonThreadFactory(final String purpose) {
+		final AtomicInteger threadCount = new AtomicInteger(0);
+		return new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable,
+						"jargon-checksum-" + purpose + "-" + factoryNumber + "-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
 	}
 
 }
@@ -0,0 +1,47 @@
+package org.irods.jargon.core.checksum;
+
+/**
+ * How local files are read to compute checksums
+ */
+public enum LocalChecksumStrategyEnum {
+
+	/**
+	 * Buffered stream reads on the calling thread
+	 */
+	STREAM("STREAM"),
+	/**
+	 * Large aligned reads into two buffers, the next read overlapped with hashing
+	 * the last
+	 */
+	READ_AHEAD("READ_AHEAD"),
+	/**
+	 * Memory-mapped regions, the next region paged in while the last is hashed
+	 */
+	MAPPED("MAPPED");
+
+	private String textValue;
+
+	LocalChecksumStrategyEnum(final String textValue) {
+		this.textValue = textValue;
+	}
+
+	public String getTextValue() {
+		return textValue;
+	}
+
+	/**
+	 * Given a text value resolve the strategy
+	 *
+	 * @param textValue
+	 *            {@code String} with the strategy name
+	 * @return {@link LocalChecksumStrategyEnum}, {@code STREAM} if not recognized
+	 */
+	public static LocalChecksumStrategyEnum findTypeByString(final String textValue) {
+		for (LocalChecksumStrategyEnum strategy : LocalChecksumStrategyEnum.values()) {
+			if (strategy.getTextValue().equals(textValue)) {
+				return strategy;
+			}
+		}
+		return STREAM;
+	}
+}
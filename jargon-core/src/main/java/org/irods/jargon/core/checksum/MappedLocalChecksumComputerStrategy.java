@@ -0,0 +1,53 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutorService;
+
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+
+/**
+ * Compute an MD5 or SHA256 checksum on a local file by mapping it a region at a
+ * time, paging in the next region while the last is hashed. This avoids copying
+ * file data through a read buffer. Mapped regions are released when they are
+ * garbage collected, so address space, not memory, bounds very large files.
+ */
+public class MappedLocalChecksumComputerStrategy extends AbstractReadAheadChecksumComputeStrategy {
+
+	/**
+	 * Default size of each mapped region
+	 */
+	public static final int DEFAULT_REGION_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * Constructor
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param readAheadExecutor
+	 *            {@link ExecutorService} to page in the next region on, or
+	 *            {@code null} to page on the calling thread
+	 * @throws ChecksumMethodUnavailableException
+	 *             for another encoding
+	 */
+	public MappedLocalChecksumComputerStrategy(final ChecksumEncodingEnum checksumEncoding,
+			final ExecutorService readAheadExecutor) throws ChecksumMethodUnavailableException {
+		super(checksumEncoding, readAheadExecutor, DEFAULT_REGION_SIZE);
+	}
+
+	MappedLocalChecksumComputerStrategy(final ChecksumEncodingEnum checksumEncoding, final ExecutorService readAheadExecutor,
+			final int regionSize) throws ChecksumMethodUnavailableException {
+		super(checksumEncoding, readAheadExecutor, regionSize);
+	}
+
+	@Override
+	protected ByteBuffer readRegion(final FileChannel channel, final long position, final int length,
+			final ByteBuffer spare) throws IOException {
+		MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		region.load();
+		return region;
+	}
+
+}
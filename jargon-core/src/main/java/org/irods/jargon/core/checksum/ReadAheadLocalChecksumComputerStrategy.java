@@ -0,0 +1,59 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutorService;
+
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+
+/**
+ * Compute an MD5 or SHA256 checksum on a local file with large aligned
+ * positional reads into two heap buffers, reading the next region while the
+ * last is hashed
+ */
+public class ReadAheadLocalChecksumComputerStrategy extends AbstractReadAheadChecksumComputeStrategy {
+
+	/**
+	 * Default size of each read
+	 */
+	public static final int DEFAULT_REGION_SIZE = 4 * 1024 * 1024;
+
+	/**
+	 * Constructor
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param readAheadExecutor
+	 *            {@link ExecutorService} to read ahead on, or {@code null} to read
+	 *            on the calling thread
+	 * @throws ChecksumMethodUnavailableException
+	 *             for another encoding
+	 */
+	public ReadAheadLocalChecksumComputerStrategy(final ChecksumEncodingEnum checksumEncoding,
+			final ExecutorService readAheadExecutor) throws ChecksumMethodUnavailableException {
+		super(checksumEncoding, readAheadExecutor, DEFAULT_REGION_SIZE);
+	}
+
+	ReadAheadLocalChecksumComputerStrategy(final ChecksumEncodingEnum checksumEncoding, final ExecutorService readAheadExecutor,
+			final int regionSize) throws ChecksumMethodUnavailableException {
+		super(checksumEncoding, readAheadExecutor, regionSize);
+	}
+
+	@Override
+	protected ByteBuffer readRegion(final FileChannel channel, final long position, final int length,
+			final ByteBuffer spare) throws IOException {
+		ByteBuffer buffer = spare == null ? ByteBuffer.allocate(getRegionSize()) : spare;
+		buffer.clear();
+		buffer.limit(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException("file ended inside region at:" + position);
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+}
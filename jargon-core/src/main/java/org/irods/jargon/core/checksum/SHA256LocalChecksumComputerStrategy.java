@@ -5,8 +5,6 @@ package org.irods.jargon.core.checksum;
 
 import java.io.FileNotFoundException;
 
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.codec.binary.Hex;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.utils.LocalFileUtils;
@@ -40,18 +38,7 @@ public class SHA256LocalChecksumComputerStrategy extends AbstractChecksumCompute
 
 		byte[] digest = LocalFileUtils.computeSHA256FileCheckSumViaAbsolutePath(localFileAbsolutePath);
 
-		ChecksumValue value = new ChecksumValue();
-		value.setChecksumEncoding(ChecksumEncodingEnum.SHA256);
-		value.setChecksumStringValue(Base64.encodeBase64String(digest).trim());
-		value.setBinaryChecksumValue(digest);
-		value.setHexChecksumValue(Hex.encodeHexString(digest));
-		value.setBase64ChecksumValue(value.getChecksumStringValue());
-
-		StringBuilder sb = new StringBuilder();
-		sb.append("sha2:");
-		sb.append(value.getChecksumStringValue());
-		value.setChecksumTransmissionFormat(sb.toString().trim());
-		return value;
+		return StreamingChecksum.checksumValue(ChecksumEncodingEnum.SHA256, digest);
 
 	}
 
@@ -0,0 +1,590 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.core.utils.LocalFileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the checksum of a file from the bytes of a transfer as they move,
+ * so that verification does not need a second pass over the local file.
+ * <p>
+ * Bytes that arrive in file order are digested straight from the transfer
+ * buffers. Parallel transfers move segments out of order, and MD5 and SHA-256
+ * can only be fed in order, so a segment that lands ahead of the digested
+ * prefix is copied and held until the prefix reaches it. Held copies are
+ * bounded, and a segment that does not fit, or a zero copy segment whose bytes
+ * never pass through the JVM, is only noted as complete and read back from the
+ * local file, usually while still in the page cache.
+ * <p>
+ * This is thread safe. The digest is fed by one thread at a time, the one
+ * whose segment extends the digested prefix, and outside of the lock, so other
+ * transfer threads only wait to hand over their segments.
+ */
+public final class StreamingChecksum {
+
+	public static final Logger log = LoggerFactory.getLogger(StreamingChecksum.class);
+
+	/**
+	 * Default bound on the bytes of out of order segments held in memory
+	 */
+	public static final long DEFAULT_MAX_BUFFERED_BYTES = 32L * 1024 * 1024;
+
+	private static final int READ_BACK_BUFFER_SIZE = 1024 * 1024;
+
+	private final ChecksumEncodingEnum checksumEncoding;
+	private final MessageDigest messageDigest;
+	private final File localFile;
+	private final long maxBufferedBytes;
+
+	/**
+	 * Segments ahead of the digested prefix by start offset
+	 */
+	private final TreeMap<Long, Segment> pendingSegments = new TreeMap<Long, Segment>();
+	private long bufferedBytes = 0L;
+	/**
+	 * End of the bytes digested or being digested, segments are taken from here
+	 */
+	private long claimedLength = 0L;
+	private long digestedLength = 0L;
+	private long readBackLength = 0L;
+	private boolean digesting = false;
+	private JargonException failure = null;
+	/**
+	 * Only used by the digesting thread
+	 */
+	private RandomAccessFile readBackFile = null;
+
+	/**
+	 * Create a checksum fed only in order, as by a single stream transfer
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @return {@code StreamingChecksum}
+	 * @throws ChecksumMethodUnavailableException
+	 *             for another encoding
+	 */
+	public static StreamingChecksum instance(final ChecksumEncodingEnum checksumEncoding)
+			throws ChecksumMethodUnavailableException {
+		return new StreamingChecksum(checksumEncoding, null, 0L);
+	}
+
+	/**
+	 * Create a checksum that may be fed out of order, holding up to
+	 * {@link #DEFAULT_MAX_BUFFERED_BYTES} of segments ahead of the digested prefix
+	 * and reading others back from the given file
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param localFile
+	 *            {@link File} being read or written by the transfer
+	 * @return {@code StreamingChecksum}
+	 * @throws ChecksumMethodUnavailableException
+	 *             for another encoding
+	 */
+	public static StreamingChecksum instanceForLocalFile(final ChecksumEncodingEnum checksumEncoding,
+			final File localFile) throws ChecksumMethodUnavailableException {
+		return instanceForLocalFile(checksumEncoding, localFile, DEFAULT_MAX_BUFFERED_BYTES);
+	}
+
+	/**
+	 * Create a checksum that may be fed out of order, holding up to the given
+	 * bytes of segments ahead of the digested prefix and reading others back from
+	 * the given file
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param localFile
+	 *            {@link File} being read or written by the transfer
+	 * @param maxBufferedBytes
+	 *            {@code long} with the bound on held bytes, 0 to read every out
+	 *            of order segment back
+	 * @return {@code StreamingChecksum}
+	 * @throws ChecksumMethodUnavailableException
+	 *             for another encoding
+	 */
+	public static StreamingChecksum instanceForLocalFile(final ChecksumEncodingEnum checksumEncoding,
+			final File localFile, final long maxBufferedBytes) throws ChecksumMethodUnavailableException {
+		if (localFile == null) {
+			throw new IllegalArgumentException("null localFile");
+		}
+		if (maxBufferedBytes < 0) {
+			throw new IllegalArgumentException("negative maxBufferedBytes");
+		}
+		return new StreamingChecksum(checksumEncoding, localFile, maxBufferedBytes);
+	}
+
+	private StreamingChecksum(final ChecksumEncodingEnum checksumEncoding, final File localFile,
+			final long maxBufferedBytes) throws ChecksumMethodUnavailableException {
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+
+		String algorithm;
+		if (checksumEncoding == ChecksumEncodingEnum.MD5) {
+			algorithm = "MD5";
+		} else if (checksumEncoding == ChecksumEncodingEnum.SHA256) {
+			algorithm = "SHA-256";
+		} else {
+			throw new ChecksumMethodUnavailableException("unable to stream a checksum for:" + checksumEncoding);
+		}
+
+		try {
+			messageDigest = MessageDigest.getInstance(algorithm);
+		} catch (NoSuchAlgorithmException e) {
+			throw new ChecksumMethodUnavailableException("no such algorithm:" + algorithm);
+		}
+		this.checksumEncoding = checksumEncoding;
+		this.localFile = localFile;
+		this.maxBufferedBytes = maxBufferedBytes;
+	}
+
+	/**
+	 * Digest bytes that follow those already digested, from a single thread
+	 *
+	 * @param buffer
+	 *            {@code byte[]} with the data
+	 * @param offset
+	 *            {@code int} with the start of the data in the buffer
+	 * @param length
+	 *            {@code int} with the length of the data
+	 */
+	public synchronized void update(final byte[] buffer, final int offset, final int length) {
+		if (digesting || !pendingSegments.isEmpty()) {
+			throw new IllegalStateException("in order update mixed with out of order segments");
+		}
+		messageDigest.update(buffer, offset, length);
+		claimedLength += length;
+		digestedLength += length;
+	}
+
+	/**
+	 * Digest bytes at a position in the file, which may be ahead of those already
+	 * digested
+	 *
+	 * @param position
+	 *            {@code long} with the file offset of the data
+	 * @param buffer
+	 *            {@code byte[]} with the data
+	 * @param offset
+	 *            {@code int} with the start of the data in the buffer
+	 * @param length
+	 *            {@code int} with the length of the data
+	 * @throws JargonException
+	 *             if a segment cannot be read back
+	 */
+	public void update(final long position, final byte[] buffer, final int offset, final int length)
+			throws JargonException {
+		if (length <= 0) {
+			return;
+		}
+
+		boolean inOrder;
+		synchronized (this) {
+			checkAhead(position);
+			inOrder = !digesting && position == claimedLength;
+			if (inOrder) {
+				digesting = true;
+				claimedLength += length;
+			} else {
+				addPendingSegment(position, length, buffer, offset);
+				if (!claimDigest()) {
+					return;
+				}
+			}
+		}
+
+		long digested = 0L;
+		if (inOrder) {
+			messageDigest.update(buffer, offset, length);
+			digested = length;
+		}
+		digestPendingSegments(digested);
+	}
+
+	/**
+	 * Note that a segment of the file is complete, as after a zero copy transfer,
+	 * digesting it from the file once the digested prefix reaches it
+	 *
+	 * @param position
+	 *            {@code long} with the file offset of the segment
+	 * @param length
+	 *            {@code long} with the length of the segment
+	 * @throws JargonException
+	 *             if a segment cannot be read back
+	 */
+	public void segmentComplete(final long position, final long length) throws JargonException {
+		if (length <= 0) {
+			return;
+		}
+
+		synchronized (this) {
+			checkAhead(position);
+			addPendingSegment(position, length, null, 0);
+			if (!claimDigest()) {
+				return;
+			}
+		}
+		digestPendingSegments(0L);
+	}
+
+	/**
+	 * Complete the checksum
+	 *
+	 * @param expectedLength
+	 *            {@code long} with the length of the file
+	 * @return {@link ChecksumValue} formatted as by
+	 *         {@link LocalChecksumComputerFactory} strategies
+	 * @throws JargonException
+	 *             if not every byte up to {@code expectedLength} was seen
+	 */
+	public synchronized ChecksumValue finish(final long expectedLength) throws JargonException {
+		try {
+			awaitDigest();
+			if (failure != null) {
+				throw failure;
+			}
+			if (digestedLength != expectedLength || !pendingSegments.isEmpty()) {
+				throw new JargonException("streaming checksum saw " + digestedLength + " contiguous bytes of "
+						+ expectedLength + ", with gaps before " + pendingSegments.keySet());
+			}
+			log.info("streamed checksum of {} bytes, {} read back from the local file", digestedLength,
+					readBackLength);
+			return checksumValue(checksumEncoding, messageDigest.digest());
+		} finally {
+			closeReadBackFile();
+		}
+	}
+
+	/**
+	 * Release held segments and the read back file without completing, as when a
+	 * transfer fails
+	 */
+	public synchronized void abandon() {
+		if (failure == null) {
+			failure = new JargonException("streaming checksum abandoned");
+		}
+		pendingSegments.clear();
+		bufferedBytes = 0L;
+		try {
+			awaitDigest();
+		} catch (JargonException e) {
+			log.warn("interrupted abandoning streaming checksum");
+		}
+		closeReadBackFile();
+	}
+
+	/**
+	 * @return {@link ChecksumEncodingEnum} of this checksum
+	 */
+	public ChecksumEncodingEnum getChecksumEncoding() {
+		return checksumEncoding;
+	}
+
+	/**
+	 * @return {@code long} with the number of bytes digested in order so far
+	 */
+	public synchronized long getDigestedLength() {
+		return digestedLength;
+	}
+
+	/**
+	 * @return {@code long} with the number of bytes that had to be read back from
+	 *         the local file
+	 */
+	public synchronized long getReadBackLength() {
+		return readBackLength;
+	}
+
+	/**
+	 * Wrap a stream so that what is written through it is digested in order
+	 *
+	 * @param out
+	 *            {@link OutputStream} to wrap
+	 * @return {@link OutputStream}
+	 */
+	public OutputStream wrap(final OutputStream out) {
+		return new FilterOutputStream(out) {
+			@Override
+			public void write(final int b) throws IOException {
+				out.write(b);
+				update(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(final byte[] b, final int off, final int len) throws IOException {
+				out.write(b, off, len);
+				update(b, off, len);
+			}
+		};
+	}
+
+	/**
+	 * Wrap a stream so that what is read through it is digested in order
+	 *
+	 * @param in
+	 *            {@link InputStream} to wrap
+	 * @return {@link InputStream}
+	 */
+	public InputStream wrap(final InputStream in) {
+		return new FilterInputStream(in) {
+			@Override
+			public int read() throws IOException {
+				int b = in.read();
+				if (b >= 0) {
+					update(new byte[] { (byte) b }, 0, 1);
+				}
+				return b;
+			}
+
+			@Override
+			public int read(final byte[] b, final int off, final int len) throws IOException {
+				int read = in.read(b, off, len);
+				if (read > 0) {
+					update(b, off, read);
+				}
+				return read;
+			}
+
+			@Override
+			public long skip(final long n) throws IOException {
+				throw new IOException("skip not supported while streaming a checksum");
+			}
+
+			@Override
+			public boolean markSupported() {
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Format a digest as a {@link ChecksumValue} in the form iRODS uses for the
+	 * encoding
+	 *
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of MD5 or SHA256
+	 * @param digest
+	 *            {@code byte[]} with the digest
+	 * @return {@link ChecksumValue}
+	 */
+	public static ChecksumValue checksumValue(final ChecksumEncodingEnum checksumEncoding, final byte[] digest) {
+		ChecksumValue value = new ChecksumValue();
+		value.setChecksumEncoding(checksumEncoding);
+		value.setBinaryChecksumValue(digest);
+		value.setHexChecksumValue(Hex.encodeHexString(digest));
+		value.setBase64ChecksumValue(Base64.encodeBase64String(digest).trim());
+		if (checksumEncoding == ChecksumEncodingEnum.SHA256) {
+			value.setChecksumStringValue(value.getBase64ChecksumValue());
+			value.setChecksumTransmissionFormat("sha2:" + value.getChecksumStringValue());
+		} else {
+			value.setChecksumStringValue(LocalFileUtils.digestByteArrayToString(digest));
+			value.setChecksumTransmissionFormat(value.getChecksumStringValue());
+		}
+		return value;
+	}
+
+	/**
+	 * Take the digest if no thread has it and the first pending segment extends
+	 * the digested prefix, called holding the lock
+	 *
+	 * @return {@code boolean} if the caller now feeds the digest
+	 */
+	private boolean claimDigest() {
+		if (digesting || failure != null) {
+			return false;
+		}
+		Map.Entry<Long, Segment> first = pendingSegments.firstEntry();
+		if (first == null || first.getKey() != claimedLength) {
+			return false;
+		}
+		digesting = true;
+		return true;
+	}
+
+	/**
+	 * Feed the digest with pending segments while they extend the digested
+	 * prefix, called without the lock by the thread that claimed the digest
+	 *
+	 * @param digested
+	 *            {@code long} with bytes the caller already digested
+	 * @throws JargonException
+	 *             if a segment cannot be read back
+	 */
+	private void digestPendingSegments(final long digested) throws JargonException {
+		long justDigested = digested;
+		long justReadBack = 0L;
+		while (true) {
+			Segment next;
+			synchronized (this) {
+				digestedLength += justDigested;
+				readBackLength += justReadBack;
+				Map.Entry<Long, Segment> first = pendingSegments.firstEntry();
+				if (failure != null || first == null || first.getKey() != claimedLength) {
+					digesting = false;
+					notifyAll();
+					return;
+				}
+				next = first.getValue();
+				pendingSegments.remove(first.getKey());
+				if (next.data != null) {
+					bufferedBytes -= next.data.length;
+				}
+				claimedLength = next.end;
+			}
+
+			justDigested = next.end - next.start;
+			justReadBack = 0L;
+			try {
+				if (next.data != null) {
+					messageDigest.update(next.data);
+				} else {
+					readBack(next.start, justDigested);
+					justReadBack = justDigested;
+				}
+			} catch (JargonException e) {
+				synchronized (this) {
+					failure = e;
+					digesting = false;
+					notifyAll();
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Hold a segment ahead of the digested prefix, called holding the lock. A
+	 * segment with bytes is copied if it fits under the bound and overlaps no
+	 * other, otherwise it is merged with those it overlaps into one to read back.
+	 */
+	private void addPendingSegment(final long position, final long length, final byte[] buffer,
+			final int offset) {
+		if (localFile == null) {
+			throw new IllegalStateException("out of order segment with no local file to read back");
+		}
+
+		long start = position;
+		long end = position + length;
+		boolean overlaps = false;
+		Map.Entry<Long, Segment> before = pendingSegments.lowerEntry(start);
+		if (before != null && before.getValue().end > start) {
+			start = before.getKey();
+			end = Math.max(end, before.getValue().end);
+			overlaps = true;
+		}
+
+		Map.Entry<Long, Segment> after = pendingSegments.ceilingEntry(start);
+		while (after != null && after.getKey() < end) {
+			end = Math.max(end, after.getValue().end);
+			removePendingSegment(after.getKey());
+			overlaps = true;
+			after = pendingSegments.ceilingEntry(start);
+		}
+
+		if (overlaps) {
+			removePendingSegment(start);
+			pendingSegments.put(start, new Segment(start, end, null));
+		} else if (buffer != null && bufferedBytes + length <= maxBufferedBytes) {
+			byte[] data = new byte[(int) length];
+			System.arraycopy(buffer, offset, data, 0, (int) length);
+			bufferedBytes += length;
+			pendingSegments.put(start, new Segment(start, end, data));
+		} else {
+			pendingSegments.put(start, new Segment(start, end, null));
+		}
+	}
+
+	private void removePendingSegment(final long start) {
+		Segment removed = pendingSegments.remove(start);
+		if (removed != null && removed.data != null) {
+			bufferedBytes -= removed.data.length;
+		}
+	}
+
+	private void checkAhead(final long position) {
+		if (position < claimedLength) {
+			throw new IllegalStateException("segment at " + position + " overlaps digested prefix");
+		}
+	}
+
+	/**
+	 * Wait for a thread feeding the digest to let go of it, called holding the
+	 * lock
+	 */
+	private void awaitDigest() throws JargonException {
+		while (digesting) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JargonException("interrupted waiting for streaming checksum", e);
+			}
+		}
+	}
+
+	private void readBack(final long position, final long length) throws JargonException {
+		byte[] buffer = new byte[(int) Math.min(READ_BACK_BUFFER_SIZE, length)];
+		long remaining = length;
+		try {
+			if (readBackFile == null) {
+				readBackFile = new RandomAccessFile(localFile, "r");
+			}
+			readBackFile.seek(position);
+			while (remaining > 0) {
+				int read = readBackFile.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new JargonException("local file ended before segment at " + position + " was digested");
+				}
+				messageDigest.update(buffer, 0, read);
+				remaining -= read;
+			}
+		} catch (IOException e) {
+			log.error("unable to read back segment for checksum", e);
+			throw new JargonException("unable to read back segment for checksum", e);
+		}
+	}
+
+	private void closeReadBackFile() {
+		if (readBackFile != null) {
+			try {
+				readBackFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			readBackFile = null;
+		}
+	}
+
+	/**
+	 * A pending segment, with its bytes when held in memory or {@code null} data
+	 * when it is read back from the local file
+	 */
+	private static final class Segment {
+		private final long start;
+		private final long end;
+		private final byte[] data;
+
+		Segment(final long start, final long end, final byte[] data) {
+			this.start = start;
+			this.end = end;
+			this.data = data;
+		}
+	}
+
+}
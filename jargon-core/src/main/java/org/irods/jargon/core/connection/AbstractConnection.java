@@ -282,30 +282,43 @@ public abstract class AbstractConnection {
 	 */
 	public void send(final byte[] value) throws IOException {
 
-		try {
-			// packing instructions may be null, in which case nothing is sent
-			if (value == null) {
-				log.debug("no value, so do not do the send, this may be ok depending on the operation");
-				return;
-			}
+		// packing instructions may be null, in which case nothing is sent
+		if (value == null) {
+			log.debug("no value, so do not do the send, this may be ok depending on the operation");
+			return;
+		}
 
-			if (value.length == 0) {
-				// nothing to send, warn and ignore
-				return;
-			}
+		if (value.length == 0) {
+			// nothing to send, warn and ignore
+			return;
+		}
 
+		sendBytes(value, 0, value.length);
+	}
+
+	/**
+	 * Write the given range of bytes, going through the internal cache buffer if
+	 * one is configured
+	 *
+	 * @param value  {@code byte[]} with the data
+	 * @param offset {@code int} offset of the data to send
+	 * @param length {@code int} length of the data to send
+	 * @throws IOException If an IOException occurs
+	 */
+	private void sendBytes(final byte[] value, final int offset, final int length) throws IOException {
+		try {
 			if (pipelineConfiguration.getInternalCacheBufferSize() <= 0) {
-				irodsOutputStream.write(value);
-			} else if ((value.length + outputOffset) >= pipelineConfiguration.getInternalCacheBufferSize()) {
+				irodsOutputStream.write(value, offset, length);
+			} else if ((length + outputOffset) >= pipelineConfiguration.getInternalCacheBufferSize()) {
 				// in cases where OUTPUT_BUFFER_LENGTH isn't big enough
 				irodsOutputStream.write(outputBuffer, 0, outputOffset);
-				irodsOutputStream.write(value);
+				irodsOutputStream.write(value, offset, length);
 				outputOffset = 0;
 			} else {
 
 				// the message sent isn't longer than OUTPUT_BUFFER_LENGTH
-				System.arraycopy(value, 0, outputBuffer, outputOffset, value.length);
-				outputOffset += value.length;
+				System.arraycopy(value, offset, outputBuffer, outputOffset, length);
+				outputOffset += length;
 
 			}
 		} catch (IOException ioe) {
@@ -317,8 +330,7 @@ public abstract class AbstractConnection {
 
 	/**
 	 * Writes a certain length of bytes at some offset in the value array to the
-	 * output stream, by converting the value to a byte array and calling send(
-	 * byte[] value ).
+	 * output stream, without copying the range into a new array.
 	 *
 	 * @param value  value to be sent
 	 * @param offset offset into array
@@ -351,11 +363,7 @@ public abstract class AbstractConnection {
 			throw new IllegalArgumentException(err);
 		}
 
-		byte temp[] = new byte[length];
-
-		System.arraycopy(value, offset, temp, 0, length);
-
-		send(temp);
+		sendBytes(value, offset, length);
 	}
 
 	/**
@@ -384,7 +392,9 @@ public abstract class AbstractConnection {
 		byte bytes[] = new byte[INT_LENGTH];
 
 		Host.copyInt(value, bytes);
-		log.debug("send bytes:{}", LocalFileUtils.digestByteArrayToString(bytes));
+		if (log.isDebugEnabled()) {
+			log.debug("send bytes:{}", LocalFileUtils.digestByteArrayToString(bytes));
+		}
 		send(bytes);
 	}
 
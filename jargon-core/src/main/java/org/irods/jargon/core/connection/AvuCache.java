@@ -0,0 +1,470 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the AVUs found on data objects, collections and resources, kept by
+ * an {@link IRODSSession} so that the repeated lookups of the metadata of the
+ * same object made by profile, tagging and sharing services can be answered
+ * without a query to the catalog. It is turned on by
+ * {@link JargonProperties#isAvuCache()}.
+ * <p>
+ * The AVUs are kept for each account, as what a user may see differs, under
+ * the id of the object in the catalog, or the name of a resource. The path or
+ * name the AVUs were found under is kept with them, and a lookup under another
+ * one, as after a rename, is treated as not cached. Each result may expire
+ * after a time to live, and the least recently used are dropped once there are
+ * more than a count of objects, or of AVUs over all objects.
+ * <p>
+ * Access objects drop the AVUs of an object for every account once they have
+ * changed them through the same session, by its id where they know it, or else
+ * by the path or name it is found under. Changes made by other sessions or
+ * other clients are only seen once a result expires. This is safe for use by
+ * several threads.
+ */
+public class AvuCache {
+
+	private static final Logger log = LoggerFactory.getLogger(AvuCache.class);
+
+	private final int maxEntries;
+	private final int maxAvus;
+	private final long ttlMillis;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+	private final Map<String, List<Key>> keysByObject = new HashMap<String, List<Key>>();
+	private final Map<String, List<Key>> keysByName = new HashMap<String, List<Key>>();
+	private long avus = 0L;
+
+	private long hits = 0L;
+	private long misses = 0L;
+	private long evictions = 0L;
+	private long invalidations = 0L;
+	private long warmed = 0L;
+
+	/**
+	 * Create a cache from the settings in the jargon properties
+	 *
+	 * @param jargonProperties {@link JargonProperties}
+	 * @return {@link AvuCache}
+	 */
+	public static AvuCache instance(final JargonProperties jargonProperties) {
+		if (jargonProperties == null) {
+			throw new IllegalArgumentException("null jargonProperties");
+		}
+
+		return new AvuCache(jargonProperties.getAvuCacheMaxEntries(), jargonProperties.getAvuCacheMaxAvus(),
+				jargonProperties.getAvuCacheTtlMillis());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries {@code int} with the most objects to keep AVUs for
+	 * @param maxAvus    {@code int} with the most AVUs to keep over all objects
+	 * @param ttlMillis  {@code long} with the milliseconds a result is used, 0 or
+	 *                   less to keep it until it is dropped
+	 */
+	public AvuCache(final int maxEntries, final int maxAvus, final long ttlMillis) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be positive");
+		}
+
+		if (maxAvus <= 0) {
+			throw new IllegalArgumentException("maxAvus must be positive");
+		}
+
+		this.maxEntries = maxEntries;
+		this.maxAvus = maxAvus;
+		this.ttlMillis = ttlMillis;
+	}
+
+	/**
+	 * Look up the AVUs of an object
+	 *
+	 * @param irodsAccount   {@link IRODSAccount} the lookup is made as
+	 * @param metadataDomain {@link MetadataDomain} of the object
+	 * @param objectId       {@code String} with the id of the object, or the name
+	 *                       of a resource
+	 * @param uniqueName     {@code String} with the absolute path or resource name
+	 *                       the object is now found under
+	 * @return {@code List} of {@link MetaDataAndDomainData} copied from the cache,
+	 *         or {@code null} if it is not cached
+	 */
+	public synchronized List<MetaDataAndDomainData> retrieve(final IRODSAccount irodsAccount,
+			final MetadataDomain metadataDomain, final String objectId, final String uniqueName) {
+		if (uniqueName == null || uniqueName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty uniqueName");
+		}
+
+		Key key = new Key(irodsAccount, metadataDomain, objectId);
+		Entry entry = entries.get(key);
+		if (entry != null && (entry.expiresAt <= currentTimeMillis() || !entry.uniqueName.equals(uniqueName))) {
+			remove(key);
+			entry = null;
+		}
+
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+
+		hits++;
+		return copyAll(entry.avus);
+	}
+
+	/**
+	 * Keep the AVUs of an object. A list holding only the first page of a longer
+	 * query result, or more AVUs than the cache may hold, is not kept.
+	 *
+	 * @param irodsAccount   {@link IRODSAccount} the lookup was made as
+	 * @param metadataDomain {@link MetadataDomain} of the object
+	 * @param objectId       {@code String} with the id of the object, or the name
+	 *                       of a resource
+	 * @param uniqueName     {@code String} with the absolute path or resource name
+	 *                       the AVUs were found under
+	 * @param avus           {@code List} of {@link MetaDataAndDomainData} with
+	 *                       every AVU on the object, a copy of the list is kept
+	 */
+	public synchronized void cache(final IRODSAccount irodsAccount, final MetadataDomain metadataDomain,
+			final String objectId, final String uniqueName, final List<MetaDataAndDomainData> avus) {
+		if (uniqueName == null || uniqueName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty uniqueName");
+		}
+
+		if (avus == null) {
+			throw new IllegalArgumentException("null avus");
+		}
+
+		if (!avus.isEmpty() && !avus.get(avus.size() - 1).isLastResult()) {
+			log.debug("only part of the AVUs were found, not cached for:{}", uniqueName);
+			return;
+		}
+
+		put(new Key(irodsAccount, metadataDomain, objectId), uniqueName, copyAll(avus));
+	}
+
+	/**
+	 * Keep the AVUs of each object found by a query over a collection. The paging
+	 * fields of each row describe that query, so they are set again for each
+	 * object, as if its AVUs had been found by a query of their own.
+	 *
+	 * @param irodsAccount   {@link IRODSAccount} the query was made as
+	 * @param metadataDomain {@link MetadataDomain} of the objects
+	 * @param avus           {@code List} of {@link MetaDataAndDomainData} with
+	 *                       every AVU on each object, grouped under the domain
+	 *                       object id and unique name of each one
+	 * @return {@code int} with the objects whose AVUs were kept
+	 */
+	public synchronized int cacheAll(final IRODSAccount irodsAccount, final MetadataDomain metadataDomain,
+			final List<MetaDataAndDomainData> avus) {
+		if (avus == null) {
+			throw new IllegalArgumentException("null avus");
+		}
+
+		Map<String, List<MetaDataAndDomainData>> byObject = new LinkedHashMap<String, List<MetaDataAndDomainData>>();
+		for (MetaDataAndDomainData avu : avus) {
+			List<MetaDataAndDomainData> objectAvus = byObject.get(avu.getDomainObjectId());
+			if (objectAvus == null) {
+				objectAvus = new ArrayList<MetaDataAndDomainData>();
+				byObject.put(avu.getDomainObjectId(), objectAvus);
+			}
+			objectAvus.add(copy(avu));
+		}
+
+		for (Map.Entry<String, List<MetaDataAndDomainData>> objectAvus : byObject.entrySet()) {
+			List<MetaDataAndDomainData> values = objectAvus.getValue();
+			for (int i = 0; i < values.size(); i++) {
+				values.get(i).setCount(i + 1);
+				values.get(i).setLastResult(i == values.size() - 1);
+				values.get(i).setTotalRecords(values.size());
+			}
+			put(new Key(irodsAccount, metadataDomain, objectAvus.getKey()),
+					objectAvus.getValue().get(0).getDomainObjectUniqueName(), objectAvus.getValue());
+		}
+		warmed += byObject.size();
+		return byObject.size();
+	}
+
+	/**
+	 * Drop the AVUs of an object that were changed, for every account
+	 *
+	 * @param metadataDomain {@link MetadataDomain} of the object
+	 * @param objectId       {@code String} with the id of the object, or the name
+	 *                       of a resource
+	 */
+	public synchronized void invalidate(final MetadataDomain metadataDomain, final String objectId) {
+		List<Key> keys = keysByObject.get(objectKey(metadataDomain, objectId));
+		if (keys != null) {
+			removeAll(keys);
+			log.debug("invalidated cached AVUs for:{}", objectId);
+		}
+	}
+
+	/**
+	 * Drop the AVUs of an object that were changed, for every account, when only
+	 * the path or name it is found under is known
+	 *
+	 * @param metadataDomain {@link MetadataDomain} of the object
+	 * @param uniqueName     {@code String} with the absolute path or resource name
+	 */
+	public synchronized void invalidateName(final MetadataDomain metadataDomain, final String uniqueName) {
+		if (uniqueName == null || uniqueName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty uniqueName");
+		}
+
+		List<Key> keys = keysByName.get(objectKey(metadataDomain, uniqueName));
+		if (keys != null) {
+			removeAll(keys);
+			log.debug("invalidated cached AVUs for:{}", uniqueName);
+		}
+	}
+
+	/**
+	 * Drop everything cached
+	 */
+	public synchronized void clear() {
+		invalidations += entries.size();
+		entries.clear();
+		keysByObject.clear();
+		keysByName.clear();
+		avus = 0L;
+	}
+
+	/**
+	 * @return {@code long} with the lookups answered with cached AVUs
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return {@code long} with the lookups that had to ask iRODS
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return {@code long} with the results dropped to stay within the limits
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return {@code long} with the results dropped because the AVUs changed
+	 */
+	public synchronized long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * @return {@code long} with the results kept from queries over a collection
+	 */
+	public synchronized long getWarmed() {
+		return warmed;
+	}
+
+	/**
+	 * @return {@code int} with the objects held, some of which may have expired
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return {@code long} with the AVUs held over all objects
+	 */
+	public synchronized long getAvuCount() {
+		return avus;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("AvuCache [size=").append(entries.size()).append(", avus=").append(avus).append(", hits=")
+				.append(hits).append(", misses=").append(misses).append(", evictions=").append(evictions)
+				.append(", invalidations=").append(invalidations).append(", warmed=").append(warmed).append("]");
+		return builder.toString();
+	}
+
+	/**
+	 * @return {@code long} with the current time, may be overridden for testing
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private void put(final Key key, final String uniqueName, final List<MetaDataAndDomainData> objectAvus) {
+		remove(key);
+
+		if (objectAvus.size() > maxAvus) {
+			log.debug("too many AVUs to cache for:{}", uniqueName);
+			return;
+		}
+
+		long expiresAt = ttlMillis > 0 ? currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+		Entry entry = new Entry(uniqueName, objectAvus, expiresAt);
+		entries.put(key, entry);
+		index(keysByObject, key.object, key);
+		index(keysByName, key.domain + ":" + uniqueName, key);
+		avus += entry.avus.size();
+
+		Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || avus > maxAvus) && iterator.hasNext()) {
+			Map.Entry<Key, Entry> eldest = iterator.next();
+			if (eldest.getKey().equals(key)) {
+				continue;
+			}
+			iterator.remove();
+			unindex(eldest.getKey(), eldest.getValue());
+			evictions++;
+		}
+	}
+
+	private static List<MetaDataAndDomainData> copyAll(final List<MetaDataAndDomainData> avus) {
+		List<MetaDataAndDomainData> copies = new ArrayList<MetaDataAndDomainData>(avus.size());
+		for (MetaDataAndDomainData avu : avus) {
+			copies.add(copy(avu));
+		}
+		return copies;
+	}
+
+	/**
+	 * Copy a row, so that callers changing its paging fields do not change the
+	 * cached one
+	 */
+	private static MetaDataAndDomainData copy(final MetaDataAndDomainData avu) {
+		MetaDataAndDomainData copy;
+		try {
+			copy = MetaDataAndDomainData.instance(avu.getMetadataDomain(), avu.getDomainObjectId(),
+					avu.getDomainObjectUniqueName(), avu.getSize(), avu.getCreatedAt(), avu.getModifiedAt(),
+					avu.getAvuId(), avu.getAvuAttribute(), avu.getAvuValue(), avu.getAvuUnit());
+		} catch (JargonException e) {
+			throw new JargonRuntimeException("unable to copy cached AVU", e);
+		}
+		copy.setCount(avu.getCount());
+		copy.setLastResult(avu.isLastResult());
+		copy.setTotalRecords(avu.getTotalRecords());
+		return copy;
+	}
+
+	private void remove(final Key key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) {
+			unindex(key, entry);
+		}
+	}
+
+	private void removeAll(final List<Key> keys) {
+		for (Key key : new ArrayList<Key>(keys)) {
+			Entry entry = entries.remove(key);
+			if (entry != null) {
+				unindex(key, entry);
+				invalidations++;
+			}
+		}
+	}
+
+	private void unindex(final Key key, final Entry entry) {
+		avus -= entry.avus.size();
+		unindex(keysByObject, key.object, key);
+		unindex(keysByName, key.domain + ":" + entry.uniqueName, key);
+	}
+
+	private static void index(final Map<String, List<Key>> index, final String indexKey, final Key key) {
+		List<Key> keys = index.get(indexKey);
+		if (keys == null) {
+			keys = new ArrayList<Key>(1);
+			index.put(indexKey, keys);
+		}
+		keys.add(key);
+	}
+
+	private static void unindex(final Map<String, List<Key>> index, final String indexKey, final Key key) {
+		List<Key> keys = index.get(indexKey);
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				index.remove(indexKey);
+			}
+		}
+	}
+
+	private static String objectKey(final MetadataDomain metadataDomain, final String objectId) {
+		if (metadataDomain == null) {
+			throw new IllegalArgumentException("null metadataDomain");
+		}
+
+		if (objectId == null || objectId.isEmpty()) {
+			throw new IllegalArgumentException("null or empty objectId");
+		}
+
+		return metadataDomain + ":" + objectId;
+	}
+
+	/**
+	 * An object as seen by one account
+	 */
+	private static final class Key {
+		private final String account;
+		private final MetadataDomain domain;
+		private final String object;
+
+		private Key(final IRODSAccount irodsAccount, final MetadataDomain metadataDomain, final String objectId) {
+			if (irodsAccount == null) {
+				throw new IllegalArgumentException("null irodsAccount");
+			}
+
+			account = irodsAccount.getUserName() + "#" + irodsAccount.getZone() + "@" + irodsAccount.getHost() + ":"
+					+ irodsAccount.getPort();
+			domain = metadataDomain;
+			object = objectKey(metadataDomain, objectId);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * account.hashCode() + object.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return account.equals(other.account) && object.equals(other.object);
+		}
+	}
+
+	/**
+	 * The AVUs of an object and the name they were found under
+	 */
+	private static final class Entry {
+		private final String uniqueName;
+		private final List<MetaDataAndDomainData> avus;
+		private final long expiresAt;
+
+		private Entry(final String uniqueName, final List<MetaDataAndDomainData> avus, final long expiresAt) {
+			this.uniqueName = uniqueName;
+			this.avus = avus;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
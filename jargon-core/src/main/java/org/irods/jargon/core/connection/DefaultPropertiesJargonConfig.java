@@ -9,6 +9,7 @@ import java.util.Properties;
 
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotiationPolicy;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.checksum.LocalChecksumStrategyEnum;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
 import org.irods.jargon.core.utils.PropertyUtils;
@@ -608,4 +609,160 @@ public class DefaultPropertiesJargonConfig implements JargonProperties {
 		return verifyPropExistsAndGetAsBoolean("rule.engine.set.destination.when.auto");
 
 	}
+
+	@Override
+	public int getPipelinedRequestWindowSize() {
+		return verifyPropExistsAndGetAsInt("pipelined.request.window.size");
+	}
+
+	@Override
+	public int getConnectionLeasePoolMaxSize() {
+		return verifyPropExistsAndGetAsInt("connection.lease.pool.max.size");
+	}
+
+	@Override
+	public boolean isUseNIOForParallelTransfers() {
+		return verifyPropExistsAndGetAsBoolean("transfer.use.nio.parallel");
+	}
+
+	@Override
+	public int getConcurrentFileTransferThreads() {
+		return verifyPropExistsAndGetAsInt("transfer.concurrent.file.threads");
+	}
+
+	@Override
+	public long getSmallFileBundleMaxFileSize() {
+		return verifyPropExistsAndGetAsLong("transfer.bundle.small.file.max.size");
+	}
+
+	@Override
+	public long getSmallFileBundleMaxSize() {
+		return verifyPropExistsAndGetAsLong("transfer.bundle.max.size");
+	}
+
+	@Override
+	public int getSmallFileBundleMinFiles() {
+		return verifyPropExistsAndGetAsInt("transfer.bundle.min.files");
+	}
+
+	@Override
+	public boolean isBundleSmallFiles() {
+		return verifyPropExistsAndGetAsBoolean("transfer.bundle.small.files");
+	}
+
+	@Override
+	public boolean isAdaptiveParallelTransfer() {
+		return verifyPropExistsAndGetAsBoolean("transfer.adaptive.parallel");
+	}
+
+	@Override
+	public int getAdaptiveParallelSampleMillis() {
+		return verifyPropExistsAndGetAsInt("transfer.adaptive.parallel.sample.millis");
+	}
+
+	@Override
+	public boolean isStreamingChecksum() {
+		return verifyPropExistsAndGetAsBoolean("transfer.streaming.checksum");
+	}
+
+	@Override
+	public LocalChecksumStrategyEnum getLocalChecksumStrategy() {
+		String propVal = ((String) jargonProperties.get("transfer.checksum.local.strategy"));
+
+		if (propVal == null || propVal.isEmpty()) {
+			return LocalChecksumStrategyEnum.STREAM;
+		} else {
+			return LocalChecksumStrategyEnum.findTypeByString(propVal);
+		}
+	}
+
+	@Override
+	public int getLocalChecksumThreads() {
+		return verifyPropExistsAndGetAsInt("transfer.checksum.local.threads");
+	}
+
+	@Override
+	public String getLongTransferRestartJournal() {
+		return verifyPropExistsAndGetAsString("transfer.long.file.restart.journal");
+	}
+
+	@Override
+	public int getLongTransferRestartJournalSyncMillis() {
+		return verifyPropExistsAndGetAsInt("transfer.long.file.restart.journal.sync.millis");
+	}
+
+	@Override
+	public int getRandomAccessCacheBlocks() {
+		return verifyPropExistsAndGetAsInt("random.access.cache.blocks");
+	}
+
+	@Override
+	public int getRandomAccessCacheBlockSize() {
+		return verifyPropExistsAndGetAsInt("random.access.cache.block.size");
+	}
+
+	@Override
+	public int getRandomAccessCacheReadAheadBlocks() {
+		return verifyPropExistsAndGetAsInt("random.access.cache.read.ahead.blocks");
+	}
+
+	@Override
+	public int getFileReadRangesCoalesceGap() {
+		return verifyPropExistsAndGetAsInt("file.read.ranges.coalesce.gap");
+	}
+
+	@Override
+	public boolean isObjStatCache() {
+		return verifyPropExistsAndGetAsBoolean("objstat.cache");
+	}
+
+	@Override
+	public int getObjStatCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("objstat.cache.max.entries");
+	}
+
+	@Override
+	public long getObjStatCacheMaxBytes() {
+		return verifyPropExistsAndGetAsLong("objstat.cache.max.bytes");
+	}
+
+	@Override
+	public long getObjStatCacheTtlMillis() {
+		return verifyPropExistsAndGetAsLong("objstat.cache.ttl.millis");
+	}
+
+	@Override
+	public long getObjStatCacheNegativeTtlMillis() {
+		return verifyPropExistsAndGetAsLong("objstat.cache.negative.ttl.millis");
+	}
+
+	@Override
+	public boolean isObjStatCachePrefetchListings() {
+		return verifyPropExistsAndGetAsBoolean("objstat.cache.prefetch.listings");
+	}
+
+	@Override
+	public boolean isUseAtomicMetadataOperations() {
+		return verifyPropExistsAndGetAsBoolean("atomic.metadata.operations");
+	}
+
+	@Override
+	public boolean isAvuCache() {
+		return verifyPropExistsAndGetAsBoolean("avu.cache");
+	}
+
+	@Override
+	public int getAvuCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("avu.cache.max.entries");
+	}
+
+	@Override
+	public int getAvuCacheMaxAvus() {
+		return verifyPropExistsAndGetAsInt("avu.cache.max.avus");
+	}
+
+	@Override
+	public long getAvuCacheTtlMillis() {
+		return verifyPropExistsAndGetAsLong("avu.cache.ttl.millis");
+	}
 }
@@ -0,0 +1,132 @@
+package org.irods.jargon.core.connection;
+
+/**
+ * A connection to iRODS held for the scope of a {@code try}-with-resources
+ * block, obtained from {@link IRODSSession#leaseConnection(IRODSAccount)}.
+ * While the lease is open, access objects created on the same thread for the
+ * same account use the leased connection. Closing the lease hands the
+ * connection back to the shared {@link IRODSConnectionLeasePool} rather than
+ * keeping it cached for the thread, so short lived threads, such as virtual
+ * threads, do not each hold on to an agent connection.
+ * <p>
+ * A connection may also be lent by the thread that holds it to a helper thread
+ * with
+ * {@link IRODSSession#lendConnection(IRODSAccount, IRODSMidLevelProtocol)},
+ * and the lease then only binds it to the helper thread.
+ * <p>
+ * A lease must be closed on the thread that opened it.
+ */
+public class IRODSConnectionLease implements AutoCloseable {
+
+	private final IRODSSession irodsSession;
+	private final IRODSAccount irodsAccount;
+	private final IRODSMidLevelProtocol irodsMidLevelProtocol;
+	private final IRODSConnectionLeasePool connectionLeasePool;
+	private final boolean lent;
+	private final IRODSMidLevelProtocol displaced;
+	private final Thread ownerThread;
+	private boolean closed = false;
+
+	/**
+	 * @param irodsSession          {@link IRODSSession} that granted the lease
+	 * @param irodsAccount          {@link IRODSAccount} the lease is for
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol} that is leased
+	 * @param connectionLeasePool   {@link IRODSConnectionLeasePool} the
+	 *                              connection came from, or {@code null} if the
+	 *                              thread already held a connection for the
+	 *                              account, which the lease leaves in place when
+	 *                              closed
+	 */
+	IRODSConnectionLease(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+			final IRODSMidLevelProtocol irodsMidLevelProtocol, final IRODSConnectionLeasePool connectionLeasePool) {
+		this(irodsSession, irodsAccount, irodsMidLevelProtocol, connectionLeasePool, false, null);
+	}
+
+	/**
+	 * @param irodsSession          {@link IRODSSession} that granted the lease
+	 * @param irodsAccount          {@link IRODSAccount} the lease is for
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol} that is leased
+	 * @param connectionLeasePool   {@link IRODSConnectionLeasePool} the
+	 *                              connection came from, or {@code null}
+	 * @param lent                  {@code boolean} if the connection is lent by
+	 *                              another thread that keeps it
+	 * @param displaced             {@link IRODSMidLevelProtocol} this thread held
+	 *                              for the account before a lent connection was
+	 *                              bound, bound again when closed, or
+	 *                              {@code null}
+	 */
+	IRODSConnectionLease(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+			final IRODSMidLevelProtocol irodsMidLevelProtocol, final IRODSConnectionLeasePool connectionLeasePool,
+			final boolean lent, final IRODSMidLevelProtocol displaced) {
+		this.irodsSession = irodsSession;
+		this.irodsAccount = irodsAccount;
+		this.irodsMidLevelProtocol = irodsMidLevelProtocol;
+		this.connectionLeasePool = connectionLeasePool;
+		this.lent = lent;
+		this.displaced = displaced;
+		ownerThread = Thread.currentThread();
+	}
+
+	/**
+	 * @return {@link IRODSMidLevelProtocol} that is leased
+	 */
+	public IRODSMidLevelProtocol getIrodsMidLevelProtocol() {
+		return irodsMidLevelProtocol;
+	}
+
+	/**
+	 * @return {@link IRODSAccount} the lease is for
+	 */
+	public IRODSAccount getIrodsAccount() {
+		return irodsAccount;
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the connection came from
+	 *         the lease pool
+	 */
+	public boolean isPooled() {
+		return connectionLeasePool != null;
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the connection is lent by
+	 *         the thread that holds it
+	 */
+	public boolean isLent() {
+		return lent;
+	}
+
+	IRODSMidLevelProtocol getDisplaced() {
+		return displaced;
+	}
+
+	IRODSConnectionLeasePool getConnectionLeasePool() {
+		return connectionLeasePool;
+	}
+
+	/**
+	 * End the lease, handing the connection back. Closing more than once has no
+	 * effect.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		if (Thread.currentThread() != ownerThread) {
+			throw new IllegalStateException("a connection lease must be closed by the thread that opened it");
+		}
+		closed = true;
+		irodsSession.endLease(this);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("IRODSConnectionLease [irodsAccount=").append(irodsAccount).append(", pooled=").append(isPooled())
+				.append(", lent=").append(lent).append(", closed=").append(closed).append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,314 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared, bounded set of agent connections per {@link IRODSAccount} that backs
+ * the scoped leases handed out by
+ * {@link IRODSSession#leaseConnection(IRODSAccount)}. Unlike the
+ * {@code ThreadLocal} cache in {@code IRODSSession}, connections here are not
+ * tied to a thread, so any number of (virtual) threads can be served by at most
+ * {@code maxConnectionsPerAccount} connections, with callers beyond that
+ * waiting in arrival order for a lease to be returned.
+ * <p>
+ * Waiting is done on a fair {@code ReentrantLock}, and new connections are
+ * created outside of the lock, so no thread blocks on network i/o while holding
+ * a monitor.
+ */
+public class IRODSConnectionLeasePool {
+
+	private static final Logger log = LoggerFactory.getLogger(IRODSConnectionLeasePool.class);
+
+	private final IRODSSession irodsSession;
+	private final int maxConnectionsPerAccount;
+	private final ReentrantLock lock = new ReentrantLock(true);
+	private final Map<String, AccountConnections> accountConnections = new HashMap<String, AccountConnections>();
+	private boolean closed = false;
+	private long connectionsCreated = 0;
+	private long leasesGranted = 0;
+
+	/**
+	 * Connections for one account, guarded by the pool lock
+	 */
+	private final class AccountConnections {
+		private final Deque<IRODSMidLevelProtocol> idle = new ArrayDeque<IRODSMidLevelProtocol>();
+		private final Condition available = lock.newCondition();
+		private int total = 0;
+		private int waiting = 0;
+	}
+
+	/**
+	 * Create a pool that obtains its connections through the given session
+	 *
+	 * @param irodsSession             {@link IRODSSession} used to create and
+	 *                                 dispose of connections
+	 * @param maxConnectionsPerAccount {@code int} with the maximum number of
+	 *                                 connections held for any one account
+	 */
+	IRODSConnectionLeasePool(final IRODSSession irodsSession, final int maxConnectionsPerAccount) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		if (maxConnectionsPerAccount < 1) {
+			throw new IllegalArgumentException("maxConnectionsPerAccount must be at least 1");
+		}
+
+		this.irodsSession = irodsSession;
+		this.maxConnectionsPerAccount = maxConnectionsPerAccount;
+	}
+
+	/**
+	 * Take a connection for the account, reusing an idle one, creating one if the
+	 * account is under its limit, or waiting for one to be released.
+	 *
+	 * @param irodsAccount {@link IRODSAccount} for the connection
+	 * @param timeout      {@code long} with the maximum time to wait, or 0 to wait
+	 *                     indefinitely
+	 * @param timeUnit     {@code TimeUnit} of the timeout
+	 * @return {@link IRODSMidLevelProtocol} that must be given back via
+	 *         {@link #release(IRODSAccount, IRODSMidLevelProtocol)}
+	 * @throws JargonException if the pool is closed, the wait times out or is
+	 *                         interrupted, or the connection cannot be created
+	 */
+	IRODSMidLevelProtocol borrow(final IRODSAccount irodsAccount, final long timeout, final TimeUnit timeUnit)
+			throws JargonException {
+
+		final String key = irodsAccount.toString();
+		long remainingNanos = timeUnit.toNanos(timeout);
+		AccountConnections connections;
+
+		lock.lock();
+		try {
+			connections = accountConnections.get(key);
+			if (connections == null) {
+				connections = new AccountConnections();
+				accountConnections.put(key, connections);
+			}
+
+			while (true) {
+				if (closed) {
+					throw new JargonException("connection lease pool is closed");
+				}
+
+				while (!connections.idle.isEmpty()) {
+					IRODSMidLevelProtocol irodsMidLevelProtocol = connections.idle.pollFirst();
+					if (irodsMidLevelProtocol.isConnected()) {
+						leasesGranted++;
+						return irodsMidLevelProtocol;
+					}
+					log.warn("discarding idle connection that is no longer connected:{}", irodsMidLevelProtocol);
+					connections.total--;
+				}
+
+				if (connections.total < maxConnectionsPerAccount) {
+					// reserve the slot, the connection is made outside of the lock
+					connections.total++;
+					break;
+				}
+
+				connections.waiting++;
+				try {
+					if (timeout <= 0) {
+						connections.available.await();
+					} else if (remainingNanos <= 0) {
+						throw new JargonException("timed out waiting for a leased connection for:" + key);
+					} else {
+						remainingNanos = connections.available.awaitNanos(remainingNanos);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new JargonException("interrupted waiting for a leased connection", e);
+				} finally {
+					connections.waiting--;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			IRODSMidLevelProtocol irodsMidLevelProtocol = irodsSession.createConnection(irodsAccount);
+			lock.lock();
+			try {
+				connectionsCreated++;
+				leasesGranted++;
+			} finally {
+				lock.unlock();
+			}
+			log.debug("created leased connection:{}", irodsMidLevelProtocol);
+			return irodsMidLevelProtocol;
+		} catch (JargonException | RuntimeException e) {
+			lock.lock();
+			try {
+				connections.total--;
+				connections.available.signal();
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Give back a connection obtained from
+	 * {@link #borrow(IRODSAccount, long, TimeUnit)}. Connections that have been
+	 * disconnected in the meantime are dropped, freeing the slot for a new one.
+	 *
+	 * @param irodsAccount          {@link IRODSAccount} the connection was
+	 *                              borrowed for
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol} to give back
+	 */
+	void release(final IRODSAccount irodsAccount, final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		boolean dispose = false;
+		lock.lock();
+		try {
+			AccountConnections connections = accountConnections.get(irodsAccount.toString());
+			if (connections == null) {
+				throw new IllegalStateException("connection was not borrowed from this pool");
+			}
+
+			if (closed || !irodsMidLevelProtocol.isConnected()) {
+				connections.total--;
+				dispose = irodsMidLevelProtocol.isConnected();
+			} else {
+				// most recently used first, so a light load keeps reusing the same connections
+				connections.idle.addFirst(irodsMidLevelProtocol);
+			}
+			connections.available.signal();
+		} finally {
+			lock.unlock();
+		}
+
+		if (dispose) {
+			returnToProtocolManager(irodsMidLevelProtocol);
+		}
+	}
+
+	/**
+	 * Close the pool, returning idle connections to the
+	 * {@link IRODSProtocolManager}. Connections still leased are returned when
+	 * their lease is closed, and threads waiting for a lease fail.
+	 */
+	public void close() {
+		log.debug("close()");
+		List<IRODSMidLevelProtocol> toDispose = new ArrayList<IRODSMidLevelProtocol>();
+		lock.lock();
+		try {
+			closed = true;
+			for (AccountConnections connections : accountConnections.values()) {
+				connections.total -= connections.idle.size();
+				toDispose.addAll(connections.idle);
+				connections.idle.clear();
+				connections.available.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		for (IRODSMidLevelProtocol irodsMidLevelProtocol : toDispose) {
+			returnToProtocolManager(irodsMidLevelProtocol);
+		}
+	}
+
+	private void returnToProtocolManager(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		try {
+			irodsSession.getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
+		} catch (Exception e) {
+			log.warn("error returning leased connection, ignored", e);
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of connections, leased or idle, across
+	 *         all accounts
+	 */
+	public int getConnectionCount() {
+		lock.lock();
+		try {
+			int count = 0;
+			for (AccountConnections connections : accountConnections.values()) {
+				count += connections.total;
+			}
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of idle connections across all accounts
+	 */
+	public int getIdleConnectionCount() {
+		lock.lock();
+		try {
+			int count = 0;
+			for (AccountConnections connections : accountConnections.values()) {
+				count += connections.idle.size();
+			}
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of threads waiting for a lease
+	 */
+	public int getWaitingCount() {
+		lock.lock();
+		try {
+			int count = 0;
+			for (AccountConnections connections : accountConnections.values()) {
+				count += connections.waiting;
+			}
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code long} with the number of connections created by this pool
+	 */
+	public long getConnectionsCreated() {
+		lock.lock();
+		try {
+			return connectionsCreated;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code long} with the number of leases granted by this pool
+	 */
+	public long getLeasesGranted() {
+		lock.lock();
+		try {
+			return leasesGranted;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the maximum number of connections per account
+	 */
+	public int getMaxConnectionsPerAccount() {
+		return maxConnectionsPerAccount;
+	}
+
+}
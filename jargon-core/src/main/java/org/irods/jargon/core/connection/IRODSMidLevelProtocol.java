@@ -6,6 +6,9 @@ import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.irods.jargon.core.connection.AbstractConnection.EncryptionType;
 import org.irods.jargon.core.connection.auth.AuthResponse;
@@ -15,6 +18,7 @@ import org.irods.jargon.core.packinstr.IRodsPI;
 import org.irods.jargon.core.packinstr.RErrMsg;
 import org.irods.jargon.core.packinstr.SSLEndInp;
 import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.packinstr.TagWriter;
 import org.irods.jargon.core.protovalues.ErrorEnum;
 import org.irods.jargon.core.protovalues.RequestTypes;
 import org.irods.jargon.core.utils.IRODSConstants;
@@ -33,6 +37,10 @@ import org.slf4j.LoggerFactory;
  * of thumb is to treat a connection to IRODS the same way you would treat a
  * JDBC database connection.
  * <p>
+ * Access to the connection is guarded by a {@code ReentrantLock} rather than by
+ * the object monitor, so that a virtual thread blocked on agent i/o does not
+ * pin its carrier thread.
+ * <p>
  * A note on iRODS connections and handling when things go bad. Typically, an
  * iRODS connection is created by opening a socket, and doing a handshake and
  * other start-up procedures. Once that is done you are connected to an iRODS
@@ -86,6 +94,17 @@ public class IRODSMidLevelProtocol {
 	private IRODSSession irodsSession = null;
 	private StartupResponseData startupResponseData;
 
+	/**
+	 * Guards all i/o and state of this protocol
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Reusable buffer that packing instructions are serialized into before being
+	 * sent, created on first use
+	 */
+	private TagWriter tagWriter = null;
+
 	/**
 	 * This is an overhead for iRODS 4.0 - 4.0.3 servers per
 	 * https://github.com/DICE-UNC/jargon/issues/70
@@ -145,12 +164,22 @@ public class IRODSMidLevelProtocol {
 		irodsSession = irodsConnection.getIrodsSession();
 	}
 
-	synchronized boolean isForceSslFlush() {
-		return forceSslFlush;
+	boolean isForceSslFlush() {
+		lock.lock();
+		try {
+			return forceSslFlush;
+		} finally {
+			lock.unlock();
+		}
 	}
 
-	synchronized void setForceSslFlush(final boolean forceSslFlush) {
-		this.forceSslFlush = forceSslFlush;
+	void setForceSslFlush(final boolean forceSslFlush) {
+		lock.lock();
+		try {
+			this.forceSslFlush = forceSslFlush;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/*
@@ -178,9 +207,14 @@ public class IRODSMidLevelProtocol {
 		super.finalize();
 	}
 
-	synchronized void closeOutSocketAndSetAsDisconnected() throws IOException {
-		getIrodsConnection().getConnection().close();
-		getIrodsConnection().setConnected(false);
+	void closeOutSocketAndSetAsDisconnected() throws IOException {
+		lock.lock();
+		try {
+			getIrodsConnection().getConnection().close();
+			getIrodsConnection().setConnected(false);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -228,60 +262,65 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag}
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized Tag irodsFunction(final String type, final String message, final byte[] errorBytes,
+	public Tag irodsFunction(final String type, final String message, final byte[] errorBytes,
 			final int errorOffset, final int errorLength, final byte[] bytes, final int byteOffset,
 			final int byteBufferLength, final int intInfo) throws JargonException {
+		lock.lock();
+		try {
 
-		log.debug("calling irods function with byte array");
+			log.debug("calling irods function with byte array");
 
-		if (intInfo != 1201) {
-			log.debug("calling irods function with:{}", message);
-		}
+			if (intInfo != 1201) {
+				log.debug("calling irods function with:{}", message);
+			}
 
-		log.debug("api number is:{}", intInfo);
+			log.debug("api number is:{}", intInfo);
 
-		if (type == null || type.length() == 0) {
-			String err = "null or blank type";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			if (type == null || type.length() == 0) {
+				String err = "null or blank type";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		// message may be null for some operations
+			// message may be null for some operations
 
-		try {
-			int messageLength = 0;
+			try {
+				int messageLength = 0;
 
-			if (message != null) {
-				messageLength = message.getBytes(getEncoding()).length;
-			}
+				if (message != null) {
+					messageLength = message.getBytes(getEncoding()).length;
+				}
 
-			sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
+				sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
 
-			if (getStartupResponseData() == null) {
-				log.debug("no ssl flush checking during negotiation");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
+				if (getStartupResponseData() == null) {
+					log.debug("no ssl flush checking during negotiation");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
+
+				getIrodsConnection().send(message);
 				getIrodsConnection().flush();
-			}
 
-			getIrodsConnection().send(message);
-			getIrodsConnection().flush();
+				if (byteBufferLength > 0) {
+					getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+				}
 
-			if (byteBufferLength > 0) {
-				getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
-			}
+				getIrodsConnection().flush();
 
-			getIrodsConnection().flush();
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			return readMessage();
+		} finally {
+			lock.unlock();
 		}
-
-		return readMessage();
 	}
 
 	/**
@@ -304,57 +343,62 @@ public class IRODSMidLevelProtocol {
 	 * @param intInfo          {@code int} with the iRODS API number
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized void irodsFunctionUnidirectional(final String type, final byte[] message,
+	public void irodsFunctionUnidirectional(final String type, final byte[] message,
 			final byte[] errorBytes, final int errorOffset, final int errorLength, final byte[] bytes,
 			final int byteOffset, final int byteBufferLength, final int intInfo) throws JargonException {
+		lock.lock();
+		try {
 
-		log.debug("calling irods function with byte array");
-		log.debug("calling irods function with:{}", message);
-		log.debug("api number is:{}", intInfo);
+			log.debug("calling irods function with byte array");
+			log.debug("calling irods function with:{}", message);
+			log.debug("api number is:{}", intInfo);
 
-		if (type == null || type.length() == 0) {
-			String err = "null or blank type";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			if (type == null || type.length() == 0) {
+				String err = "null or blank type";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		// message may be null for some operations
+			// message may be null for some operations
 
-		try {
-			int messageLength = 0;
+			try {
+				int messageLength = 0;
 
-			if (message != null) {
-				messageLength = message.length;
-			}
+				if (message != null) {
+					messageLength = message.length;
+				}
 
-			sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
+				sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
 
-			if (getStartupResponseData() == null) {
-				log.debug("no pam flush check during negotiation phase");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
-				getIrodsConnection().flush();
-			}
+				if (getStartupResponseData() == null) {
+					log.debug("no pam flush check during negotiation phase");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
+
+				if (messageLength > 0) {
+					getIrodsConnection().send(message);
+					getIrodsConnection().flush();
+				}
+
+				if (byteBufferLength > 0) {
+					getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+				}
 
-			if (messageLength > 0) {
-				getIrodsConnection().send(message);
 				getIrodsConnection().flush();
-			}
 
-			if (byteBufferLength > 0) {
-				getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
 			}
 
-			getIrodsConnection().flush();
-
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+		} finally {
+			lock.unlock();
 		}
-
 	}
 
 	/**
@@ -405,9 +449,14 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException on invocation of the function
 	 */
-	public synchronized Tag irodsFunction(final String type, final String message, final int intInfo)
+	public Tag irodsFunction(final String type, final String message, final int intInfo)
 			throws JargonException {
-		return irodsFunction(type, message, null, 0, 0, null, 0, 0, intInfo);
+		lock.lock();
+		try {
+			return irodsFunction(type, message, null, 0, 0, null, 0, 0, intInfo);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -444,53 +493,58 @@ public class IRODSMidLevelProtocol {
 	 *         the appropriate operation complete messages
 	 * @throws JargonException on function error
 	 */
-	public synchronized long irodsFunctionForStreamingToIRODSInFrames(final IRodsPI irodsPI, final int byteStreamLength,
+	public long irodsFunctionForStreamingToIRODSInFrames(final IRodsPI irodsPI, final int byteStreamLength,
 			final InputStream byteStream, final ConnectionProgressStatusListener connectionProgressStatusListener)
 			throws JargonException {
+		lock.lock();
+		try {
 
-		if (irodsPI == null) {
-			throw new IllegalArgumentException("null irodsPI");
-		}
+			if (irodsPI == null) {
+				throw new IllegalArgumentException("null irodsPI");
+			}
 
-		if (byteStream == null) {
-			throw new IllegalArgumentException("null byteStream");
-		}
+			if (byteStream == null) {
+				throw new IllegalArgumentException("null byteStream");
+			}
 
-		log.debug("calling irodsFunctionForStreamingToIRODSInFrames");
-		log.debug("calling irods function with:{}", irodsPI);
-		log.debug("api number is:{}", irodsPI.getApiNumber());
+			log.debug("calling irodsFunctionForStreamingToIRODSInFrames");
+			log.debug("calling irods function with:{}", irodsPI);
+			log.debug("api number is:{}", irodsPI.getApiNumber());
 
-		long dataSent = 0;
+			long dataSent = 0;
 
-		try {
-			int length = 0;
-			String message = irodsPI.getParsedTags();
-			if (message != null) {
-				length = message.getBytes(irodsConnection.getPipelineConfiguration().getDefaultEncoding()).length;
-			}
-			sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
-			irodsConnection.send(message);
+			try {
+				int length = 0;
+				String message = irodsPI.getParsedTags();
+				if (message != null) {
+					length = message.getBytes(irodsConnection.getPipelineConfiguration().getDefaultEncoding()).length;
+				}
+				sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
+				irodsConnection.send(message);
+
+				if (byteStreamLength > 0) {
+					dataSent += irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
+					// do not close stream, it may be sent again in a subsequent
+					// call, and will maintain its internal pointer
+				}
 
-			if (byteStreamLength > 0) {
-				dataSent += irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
-				// do not close stream, it may be sent again in a subsequent
-				// call, and will maintain its internal pointer
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("ioexception", e);
+				disconnectWithForce();
+				throw new JargonException(e);
 			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("ioexception", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			log.debug("reading message from frame send...");
+			log.debug("read commented out");
+			readMessage();
+			log.debug("message read");
+			return dataSent;
+		} finally {
+			lock.unlock();
 		}
-
-		log.debug("reading message from frame send...");
-		log.debug("read commented out");
-		readMessage();
-		log.debug("message read");
-		return dataSent;
 	}
 
 	/**
@@ -532,54 +586,59 @@ public class IRODSMidLevelProtocol {
 	 * @return {@code long} with total bytes sent.
 	 * @throws JargonException for iRODS errors
 	 */
-	public synchronized Tag irodsFunctionIncludingAllDataInStream(final IRodsPI irodsPI, final long byteStreamLength,
+	public Tag irodsFunctionIncludingAllDataInStream(final IRodsPI irodsPI, final long byteStreamLength,
 			final InputStream byteStream, final ConnectionProgressStatusListener connectionProgressStatusListener)
 			throws JargonException {
+		lock.lock();
+		try {
 
-		if (irodsPI == null) {
-			throw new IllegalArgumentException("null irodsPI");
-		}
+			if (irodsPI == null) {
+				throw new IllegalArgumentException("null irodsPI");
+			}
 
-		if (byteStream == null) {
-			throw new IllegalArgumentException("null byteStream");
-		}
+			if (byteStream == null) {
+				throw new IllegalArgumentException("null byteStream");
+			}
 
-		log.debug("calling irods function with streams");
-		log.debug("calling irods function with:{}", irodsPI);
-		log.debug("api number is:{}", irodsPI.getApiNumber());
+			log.debug("calling irods function with streams");
+			log.debug("calling irods function with:{}", irodsPI);
+			log.debug("api number is:{}", irodsPI.getApiNumber());
 
-		try {
-			int length = 0;
-			String message = irodsPI.getParsedTags();
-			if (message != null) {
-				length = message.getBytes(getEncoding()).length;
-			}
+			try {
+				int length = 0;
+				String message = irodsPI.getParsedTags();
+				if (message != null) {
+					length = message.getBytes(getEncoding()).length;
+				}
 
-			log.debug("message:{}", message);
+				log.debug("message:{}", message);
 
-			sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
-			irodsConnection.send(message);
+				sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
+				irodsConnection.send(message);
 
-			if (byteStreamLength > 0) {
-				irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
-				byteStream.close();
-			} else {
-				log.debug("no byte stream data, so flush output");
-				irodsConnection.flush();
-			}
+				if (byteStreamLength > 0) {
+					irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
+					byteStream.close();
+				} else {
+					log.debug("no byte stream data, so flush output");
+					irodsConnection.flush();
+				}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("ioexception", e);
-			disconnectWithForce();
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("ioexception", e);
+				disconnectWithForce();
 
-			throw new JargonException(e);
-		}
+				throw new JargonException(e);
+			}
 
-		log.debug("data sent, getting response");
-		return readMessage();
+			log.debug("data sent, getting response");
+			return readMessage();
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -605,50 +664,73 @@ public class IRODSMidLevelProtocol {
 	 * @throws JargonException on iRODS error
 	 */
 
-	public synchronized Tag irodsFunction(final IRodsPI irodsPI, final byte[] errorStream, final int errorOffset,
+	public Tag irodsFunction(final IRodsPI irodsPI, final byte[] errorStream, final int errorOffset,
 			final int errorLength, final byte[] bytes, final int byteOffset, final int byteStreamLength)
 			throws JargonException {
+		lock.lock();
+		try {
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-		String out = irodsPI.getParsedTags();
+			Tag message = null;
+			if (irodsPI instanceof AbstractIRODSPackingInstruction) {
+				message = ((AbstractIRODSPackingInstruction) irodsPI).getTagValue();
+			}
 
-		if (out == null || out.length() == 0) {
-			String err = "null or missing message returned from parse";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+			try {
+				if (message != null) {
+					TagWriter writer = getTagWriter();
+					int messageLength = writer.write(message);
 
-		if (log.isDebugEnabled()) {
-			log.debug(out);
-		}
+					if (log.isDebugEnabled()) {
+						log.debug(writer.toString());
+					}
 
-		try {
-			sendHeader(IRODSConstants.RODS_API_REQ, out.getBytes(getEncoding()).length, errorLength, byteStreamLength,
-					irodsPI.getApiNumber());
-			irodsConnection.send(out);
+					sendHeader(IRODSConstants.RODS_API_REQ, messageLength, errorLength, byteStreamLength,
+							irodsPI.getApiNumber());
+					irodsConnection.send(writer.getBuffer(), 0, messageLength);
+				} else {
+					String out = irodsPI.getParsedTags();
 
-			if (byteStreamLength > 0) {
-				irodsConnection.send(bytes, byteOffset, byteStreamLength);
-			}
+					if (out == null || out.length() == 0) {
+						String err = "null or missing message returned from parse";
+						log.error(err);
+						throw new IllegalArgumentException(err);
+					}
 
-			irodsConnection.flush();
-			return readMessage();
+					if (log.isDebugEnabled()) {
+						log.debug(out);
+					}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
+					sendHeader(IRODSConstants.RODS_API_REQ, out.getBytes(getEncoding()).length, errorLength,
+							byteStreamLength, irodsPI.getApiNumber());
+					irodsConnection.send(out);
+				}
 
-			throw new JargonException(e);
-		}
+				if (byteStreamLength > 0) {
+					irodsConnection.send(bytes, byteOffset, byteStreamLength);
+				}
+
+				irodsConnection.flush();
+				return readMessage();
+
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+
+				throw new JargonException(e);
+			}
 
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -663,29 +745,34 @@ public class IRODSMidLevelProtocol {
 	 * @return {@code int} with the number of bytes read
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized int read(final byte[] value, final int offset, final int length) throws JargonException {
+	public int read(final byte[] value, final int offset, final int length) throws JargonException {
+		lock.lock();
+		try {
 
-		if (value == null || value.length == 0) {
-			throw new JargonException("null or empty value");
-		}
+			if (value == null || value.length == 0) {
+				throw new JargonException("null or empty value");
+			}
 
-		if (offset < 0 || offset > value.length) {
-			throw new JargonException("offset out of range");
-		}
+			if (offset < 0 || offset > value.length) {
+				throw new JargonException("offset out of range");
+			}
 
-		if (length <= 0 || length > value.length) {
-			throw new JargonException("length out of range");
-		}
+			if (length <= 0 || length > value.length) {
+				throw new JargonException("length out of range");
+			}
 
-		try {
-			return irodsConnection.read(value, offset, length);
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				return irodsConnection.read(value, offset, length);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -700,9 +787,14 @@ public class IRODSMidLevelProtocol {
 	 * @param length      {@code long} length of data to be read and written out.
 	 * @throws JargonException indicating iRODS error
 	 */
-	public synchronized void read(final OutputStream destination, final long length) throws JargonException {
+	public void read(final OutputStream destination, final long length) throws JargonException {
+		lock.lock();
+		try {
 
-		read(destination, length, null);
+			read(destination, length, null);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -723,47 +815,279 @@ public class IRODSMidLevelProtocol {
 	 *                                peformance penalty.
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized void read(final OutputStream destination, final long length,
+	public void read(final OutputStream destination, final long length,
 			final ConnectionProgressStatusListener intraFileStatusListener) throws JargonException {
+		lock.lock();
+		try {
 
-		if (length <= 0) {
-			throw new JargonException("length out of range");
+			if (length <= 0) {
+				throw new JargonException("length out of range");
+			}
+
+			if (destination == null) {
+				throw new JargonException("destination is null");
+			}
+
+			try {
+				irodsConnection.read(destination, length, intraFileStatusListener);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
+	}
 
-		if (destination == null) {
-			throw new JargonException("destination is null");
+	/**
+	 * Create an iRODS message Tag, including header. This convenience method is
+	 * suitable for operations that do not require error or binary streams, and will
+	 * set up empty streams for the method call.
+	 * <p>
+	 * Packing instructions are serialized directly into a byte buffer that is
+	 * reused for each request on this connection.
+	 *
+	 * @param irodsPI {@link IRodsPI} with the packing instruction to execute
+	 * @return {@link Tag} with the result of the call
+	 * @throws JargonException for iRODS error
+	 */
+	public Tag irodsFunction(final IRodsPI irodsPI) throws JargonException {
+		lock.lock();
+		try {
+
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
+
+			if (irodsPI instanceof AbstractIRODSPackingInstruction) {
+				Tag message = ((AbstractIRODSPackingInstruction) irodsPI).getTagValue();
+				if (message != null) {
+					return irodsFunctionFromTag(IRODSConstants.RODS_API_REQ, message, irodsPI.getApiNumber());
+				}
+			}
+
+			return irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		} finally {
+			lock.unlock();
 		}
+	}
+
+	/**
+	 * Send the given message with no error or binary data, serializing the
+	 * {@code Tag} directly into the reusable {@link TagWriter} buffer of this
+	 * connection rather than building a {@code String} and converting it to
+	 * bytes.
+	 *
+	 * @param type    {@code String} with the protocol type
+	 * @param message {@link Tag} with the message to send
+	 * @param intInfo {@code int} with the iRODS api number
+	 * @return {@link Tag} with the iRODS protocol response
+	 * @throws JargonException on invocation of the function
+	 */
+	private Tag irodsFunctionFromTag(final String type, final Tag message, final int intInfo)
+			throws JargonException {
+
+		log.debug("api number is:{}", intInfo);
 
 		try {
-			irodsConnection.read(destination, length, intraFileStatusListener);
+			TagWriter writer = getTagWriter();
+			int messageLength = writer.write(message);
+
+			if (log.isDebugEnabled() && intInfo != 1201) {
+				log.debug("calling irods function with:{}", writer);
+			}
+
+			sendHeader(type, messageLength, 0, 0, intInfo);
+
+			if (getStartupResponseData() == null) {
+				log.debug("no ssl flush checking during negotiation");
+			} else if (isPamFlush()) {
+				log.debug("doing extra pam flush for iRODS 3.2");
+				getIrodsConnection().flush();
+			}
+
+			getIrodsConnection().send(writer.getBuffer(), 0, messageLength);
+			getIrodsConnection().flush();
+
 		} catch (UnsupportedEncodingException e) {
 			log.error("unsupported encoding", e);
 			throw new JargonException(e);
 		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
 			disconnectWithForce();
 			throw new JargonException(e);
 		}
+
+		return readMessage();
 	}
 
 	/**
-	 * Create an iRODS message Tag, including header. This convenience method is
-	 * suitable for operations that do not require error or binary streams, and will
-	 * set up empty streams for the method call.
+	 * Send a batch of independent requests, writing requests ahead of reading
+	 * their replies so that the batch does not pay a network round trip per
+	 * request. Replies are read in the order the requests were sent. At most
+	 * {@link PipelineConfiguration#getPipelinedRequestWindowSize()} requests are
+	 * outstanding at one time, bounding the reply data waiting on the socket.
+	 * <p>
+	 * This is suitable for requests that carry no binary data in either
+	 * direction, such as objStat, AVU or ACL modifications. An iRODS error
+	 * returned for a request is kept in its {@link PipelinedResponse} and the
+	 * rest of the batch continues. Any other error, such as a timeout or a reply
+	 * that cannot be parsed, may leave a reply part read, so it ends the batch,
+	 * drops the connection and is thrown.
 	 *
-	 * @param irodsPI {@link IRodsPI} with the packing instruction to execute
-	 * @return {@link Tag} with the result of the call
-	 * @throws JargonException for iRODS error
+	 * @param irodsPIs {@code List} of {@link IRodsPI} with the requests to send
+	 * @return {@code List} of {@link PipelinedResponse} with a reply for each
+	 *         request, in order
+	 * @throws JargonException for a network or protocol error that breaks the
+	 *                         connection
 	 */
-	public synchronized Tag irodsFunction(final IRodsPI irodsPI) throws JargonException {
+	public List<PipelinedResponse> irodsFunctionPipelined(final List<? extends IRodsPI> irodsPIs)
+			throws JargonException {
+		return irodsFunctionPipelined(irodsPIs, null);
+	}
+
+	/**
+	 * Send a batch of independent requests as
+	 * {@link #irodsFunctionPipelined(List)} does, where replies may carry binary
+	 * data, as for file reads. The handler is given each reply that has binary
+	 * data and must read all of it before the next reply is read.
+	 *
+	 * @param irodsPIs    {@code List} of {@link IRodsPI} with requests that send
+	 *                    no binary data
+	 * @param dataHandler {@link PipelinedReplyDataHandler} that reads the binary
+	 *                    data of a reply, or {@code null} if no reply has any
+	 * @return {@code List} of {@link PipelinedResponse} with a reply for each
+	 *         request, in order
+	 * @throws JargonException for a network or protocol error that breaks the
+	 *                         connection, or an error from the handler
+	 */
+	public List<PipelinedResponse> irodsFunctionPipelined(final List<? extends IRodsPI> irodsPIs,
+			final PipelinedReplyDataHandler dataHandler) throws JargonException {
+		lock.lock();
+		try {
+
+			if (irodsPIs == null) {
+				throw new IllegalArgumentException("null irodsPIs");
+			}
+
+			int count = irodsPIs.size();
+			int window = Math.max(1, getPipelineConfiguration().getPipelinedRequestWindowSize());
+			log.debug("pipelining {} requests with window:{}", count, window);
+
+			List<PipelinedResponse> responses = new ArrayList<PipelinedResponse>(count);
+			int sent = 0;
+
+			while (responses.size() < count) {
+				try {
+					if (sent < count && sent - responses.size() < window) {
+						while (sent < count && sent - responses.size() < window) {
+							sendRequest(irodsPIs.get(sent++));
+						}
+						getIrodsConnection().flush();
+					}
+				} catch (UnsupportedEncodingException e) {
+					log.error("unsupported encoding", e);
+					throw new JargonException(e);
+				} catch (IOException e) {
+					disconnectWithForce();
+					throw new JargonException(e);
+				}
+
+				Tag reply = null;
+				JargonException irodsError = null;
+				try {
+					Tag header = readHeader();
+					int info = header.getTags()[4].getIntValue();
+					if (info < 0) {
+						String addlMessage = readErrorReply(header.getTags()[1].getIntValue(),
+								header.getTags()[2].getIntValue(), info);
+						// the reply was read in full, so the following replies are still in step
+						try {
+							inspectErrorInfo(info, addlMessage);
+						} catch (JargonException je) {
+							log.debug("iRODS error in pipelined reply:{}", je.getMessage());
+							irodsError = je;
+						}
+					} else {
+						reply = readMessageAfterHeader(header, true);
+					}
+				} catch (JargonException | RuntimeException e) {
+					/*
+					 * anything else may have left part of a reply unread, so later replies
+					 * cannot be matched to their requests
+					 */
+					log.error("pipelined reply could not be read, abandoning the connection", e);
+					disconnectWithForce();
+					throw e;
+				}
+
+				if (irodsError != null) {
+					responses.add(PipelinedResponse.instanceForException(irodsError));
+					continue;
+				}
+
+				if (dataHandler != null && reply != null && reply.getTag(IRODSConstants.MsgHeader_PI) != null) {
+					int bytesLength = reply.getTag(IRODSConstants.MsgHeader_PI).getTag(IRODSConstants.bsLen)
+							.getIntValue();
+					if (bytesLength > 0) {
+						try {
+							dataHandler.readReplyData(responses.size(), reply, bytesLength, this);
+						} catch (JargonException je) {
+							// the unread data leaves the connection out of step with the replies
+							log.error("error reading pipelined reply data", je);
+							disconnectWithForce();
+							throw je;
+						}
+					}
+				}
+				responses.add(PipelinedResponse.instance(reply));
+			}
+
+			return responses;
+		} finally {
+			lock.unlock();
+		}
+	}
 
+	/**
+	 * Write the header and message for a request with no error or binary data,
+	 * without flushing or reading the reply
+	 */
+	private void sendRequest(final IRodsPI irodsPI) throws JargonException, IOException {
 		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
+			throw new IllegalArgumentException("null irodsPI in pipelined requests");
+		}
+
+		log.debug("api number is:{}", irodsPI.getApiNumber());
+
+		Tag message = null;
+		if (irodsPI instanceof AbstractIRODSPackingInstruction) {
+			message = ((AbstractIRODSPackingInstruction) irodsPI).getTagValue();
+		}
+
+		if (message != null) {
+			TagWriter writer = getTagWriter();
+			int messageLength = writer.write(message);
+			sendHeader(IRODSConstants.RODS_API_REQ, messageLength, 0, 0, irodsPI.getApiNumber());
+			getIrodsConnection().send(writer.getBuffer(), 0, messageLength);
+		} else {
+			String parsed = irodsPI.getParsedTags();
+			byte[] bytes = parsed == null ? new byte[0] : parsed.getBytes(getEncoding());
+			sendHeader(IRODSConstants.RODS_API_REQ, bytes.length, 0, 0, irodsPI.getApiNumber());
+			getIrodsConnection().send(bytes);
 		}
+	}
 
-		return irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+	private TagWriter getTagWriter() throws UnsupportedEncodingException {
+		if (tagWriter == null) {
+			tagWriter = new TagWriter(getEncoding());
+		}
+		return tagWriter;
 	}
 
 	/**
@@ -778,15 +1102,20 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the result of the call
 	 * @throws JargonException for an iRODS error
 	 */
-	public synchronized Tag irodsFunctionForNegotiation(final IRodsPI irodsPI) throws JargonException {
+	public Tag irodsFunctionForNegotiation(final IRodsPI irodsPI) throws JargonException {
+		lock.lock();
+		try {
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-		return irodsFunction(IRODSConstants.RODS_NEG_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+			return irodsFunction(IRODSConstants.RODS_NEG_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -867,8 +1196,13 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized Tag readMessage() throws JargonException {
-		return readMessage(true);
+	public Tag readMessage() throws JargonException {
+		lock.lock();
+		try {
+			return readMessage(true);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -881,64 +1215,86 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized Tag readMessage(final boolean decode) throws JargonException {
-		log.debug("reading message from irods");
-		Tag header = readHeader();
-		Tag message = null;
-
-		int messageLength = header.getTags()[1].getIntValue();
-		int errorLength = header.getTags()[2].getIntValue();
-		int bytesLength = header.getTags()[3].getIntValue();
-		int info = header.getTags()[4].getIntValue();
-
-		if (log.isDebugEnabled()) {
-			log.debug("message length:{}", messageLength);
-			log.debug("error length:{}", errorLength);
-			log.debug("bytesLength:{}", bytesLength);
-			log.debug("info value:{}", info);
+	public Tag readMessage(final boolean decode) throws JargonException {
+		lock.lock();
+		try {
+			log.debug("reading message from irods");
+			return readMessageAfterHeader(readHeader(), decode);
+		} finally {
+			lock.unlock();
 		}
+	}
 
-		// Reports iRODS errors, throw exception if appropriate
-		if (info < 0) {
-			processMessageInfoLessThanZero(messageLength, errorLength, info);
-			log.debug("returning null, no results");
-			// query with no results
-			return null;
-		}
+	/**
+	 * Read the rest of a message whose header has been read, throwing any iRODS
+	 * error it reports
+	 */
+	private Tag readMessageAfterHeader(final Tag header, final boolean decode) throws JargonException {
+		lock.lock();
+		try {
+			Tag message = null;
 
-		if (messageLength > 0) {
-			log.debug("message length greater than zero");
-			message = readMessageBody(messageLength, decode);
+			int messageLength = header.getTags()[1].getIntValue();
+			int errorLength = header.getTags()[2].getIntValue();
+			int bytesLength = header.getTags()[3].getIntValue();
+			int info = header.getTags()[4].getIntValue();
 
-			// squelch genqueryout data for nicer logs
 			if (log.isDebugEnabled()) {
-				String messageAsString = message.parseTag();
-				int idx = messageAsString.indexOf("GenQueryOut");
-				if (idx == -1 || ConnectionConstants.DUMP_GEN_QUERY_OUT) {
-					log.debug("message from IRODS read back:{}", messageAsString);
+				log.debug("message length:{}", messageLength);
+				log.debug("error length:{}", errorLength);
+				log.debug("bytesLength:{}", bytesLength);
+				log.debug("info value:{}", info);
+			}
+
+			// Reports iRODS errors, throw exception if appropriate
+			if (info < 0) {
+				processMessageInfoLessThanZero(messageLength, errorLength, info);
+				log.debug("returning null, no results");
+				// query with no results
+				return null;
+			}
+
+			if (messageLength > 0) {
+				log.debug("message length greater than zero");
+				message = readMessageBody(messageLength, decode);
+
+				// squelch genqueryout data for nicer logs
+				if (log.isDebugEnabled()) {
+					String messageAsString = message.parseTag();
+					int idx = messageAsString.indexOf("GenQueryOut");
+					if (idx == -1 || ConnectionConstants.DUMP_GEN_QUERY_OUT) {
+						log.debug("message from IRODS read back:{}", messageAsString);
+					}
 				}
 			}
-		}
-		// previous will have returned or thrown exception
+			// previous will have returned or thrown exception
 
-		if (errorLength != 0) {
-			return processMessageErrorNotEqualZero(errorLength);
-		}
+			if (errorLength != 0) {
+				return processMessageErrorNotEqualZero(errorLength);
+			}
 
-		if (bytesLength != 0 || info > 0) {
-			log.debug("bytes length is not zero");
-			if (message == null) {
-				message = new Tag(IRodsPI.MSG_HEADER_PI_TAG);
+			if (bytesLength != 0 || info > 0) {
+				log.debug("bytes length is not zero");
+				if (message == null) {
+					message = new Tag(IRodsPI.MSG_HEADER_PI_TAG);
+				}
+
+				message.addTag(header);
 			}
 
-			message.addTag(header);
+			return message;
+		} finally {
+			lock.unlock();
 		}
-
-		return message;
 	}
 
-	public synchronized boolean isConnected() {
-		return irodsConnection.isConnected();
+	public boolean isConnected() {
+		lock.lock();
+		try {
+			return irodsConnection.isConnected();
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -955,42 +1311,47 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void shutdown() throws JargonException {
-		log.debug("shutting down, need to send disconnect to irods");
-		if (isConnected()) {
-
-			preDisconnectAction();
-
-			log.debug("sending disconnect message");
-			try {
-				sendHeader(RequestTypes.RODS_DISCONNECT.getRequestType(), 0, 0, 0, 0);
-				irodsConnection.flush();
-				log.debug("finally, shutdown is being called on the given connection");
-				irodsConnection.shutdown();
-				if (getIrodsConnectionNonEncryptedRef() != null) {
-					getIrodsConnectionNonEncryptedRef().shutdown();
+	public void shutdown() throws JargonException {
+		lock.lock();
+		try {
+			log.debug("shutting down, need to send disconnect to irods");
+			if (isConnected()) {
+
+				preDisconnectAction();
+
+				log.debug("sending disconnect message");
+				try {
+					sendHeader(RequestTypes.RODS_DISCONNECT.getRequestType(), 0, 0, 0, 0);
+					irodsConnection.flush();
+					log.debug("finally, shutdown is being called on the given connection");
+					irodsConnection.shutdown();
+					if (getIrodsConnectionNonEncryptedRef() != null) {
+						getIrodsConnectionNonEncryptedRef().shutdown();
+					}
+				} catch (ClosedChannelException e) {
+					log.error("closed channel", e);
+					disconnectWithForce();
+
+					throw new JargonException(e);
+				} catch (InterruptedIOException e) {
+					log.error("interrupted io", e);
+					disconnectWithForce();
+
+					throw new JargonException(e);
+				} catch (IOException e) {
+					log.error("io exception", e);
+					disconnectWithForce();
+					throw new JargonException(e);
 				}
-			} catch (ClosedChannelException e) {
-				log.error("closed channel", e);
-				disconnectWithForce();
 
-				throw new JargonException(e);
-			} catch (InterruptedIOException e) {
-				log.error("interrupted io", e);
-				disconnectWithForce();
-
-				throw new JargonException(e);
-			} catch (IOException e) {
-				log.error("io exception", e);
-				disconnectWithForce();
-				throw new JargonException(e);
+			} else {
+				log.warn(
+						"disconnect called, but isConnected() is false, this is an unexpected condition that is logged and ignored");
 			}
 
-		} else {
-			log.warn(
-					"disconnect called, but isConnected() is false, this is an unexpected condition that is logged and ignored");
+		} finally {
+			lock.unlock();
 		}
-
 	}
 
 	/**
@@ -1004,10 +1365,15 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void disconnect() throws JargonException {
-		log.debug("closing connection");
-		getIrodsSession().closeSession(getIrodsAccount());
+	public void disconnect() throws JargonException {
+		lock.lock();
+		try {
+			log.debug("closing connection");
+			getIrodsSession().closeSession(getIrodsAccount());
 
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1022,16 +1388,21 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void disconnectWithForce() throws JargonException {
-		if (getIrodsAccount() != null) {
-			getIrodsSession().discardSessionForErrors(getIrodsAccount());
-		}
+	public void disconnectWithForce() throws JargonException {
+		lock.lock();
+		try {
+			if (getIrodsAccount() != null) {
+				getIrodsSession().discardSessionForErrors(getIrodsAccount());
+			}
 
-		if (getIrodsConnection().isConnected()) {
-			log.warn("partial connection, not authenticated, forcefully shut down the socket");
-			getIrodsConnection().obliterateConnectionAndDiscardErrors();
-		}
+			if (getIrodsConnection().isConnected()) {
+				log.warn("partial connection, not authenticated, forcefully shut down the socket");
+				getIrodsConnection().obliterateConnectionAndDiscardErrors();
+			}
 
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1039,8 +1410,13 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @return {@link IRODSServerProperties}
 	 */
-	public synchronized IRODSServerProperties getIRODSServerProperties() {
-		return irodsServerProperties;
+	public IRODSServerProperties getIRODSServerProperties() {
+		lock.lock();
+		try {
+			return irodsServerProperties;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1048,8 +1424,13 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @return {@link IRODSAccount}
 	 */
-	public synchronized IRODSAccount getIrodsAccount() {
-		return irodsAccount;
+	public IRODSAccount getIrodsAccount() {
+		lock.lock();
+		try {
+			return irodsAccount;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1059,10 +1440,15 @@ public class IRODSMidLevelProtocol {
 	 * @param status {@code int} with the status code to send
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void operationComplete(final int status) throws JargonException {
-		Tag message = new Tag(AbstractIRODSPackingInstruction.INT_PI,
-				new Tag[] { new Tag(AbstractIRODSPackingInstruction.MY_INT, status), });
-		irodsFunction(IRODSConstants.RODS_API_REQ, message.parseTag(), IRODSConstants.OPR_COMPLETE_AN);
+	public void operationComplete(final int status) throws JargonException {
+		lock.lock();
+		try {
+			Tag message = new Tag(AbstractIRODSPackingInstruction.INT_PI,
+					new Tag[] { new Tag(AbstractIRODSPackingInstruction.MY_INT, status), });
+			irodsFunction(IRODSConstants.RODS_API_REQ, message.parseTag(), IRODSConstants.OPR_COMPLETE_AN);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1072,12 +1458,17 @@ public class IRODSMidLevelProtocol {
 	 * @param value {@code int} with
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void sendInNetworkOrder(final int value) throws JargonException {
+	public void sendInNetworkOrder(final int value) throws JargonException {
+		lock.lock();
 		try {
-			irodsConnection.sendInNetworkOrder(value);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				irodsConnection.sendInNetworkOrder(value);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -1089,13 +1480,18 @@ public class IRODSMidLevelProtocol {
 	 * @param value {@code int} with
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void sendInNetworkOrderWithFlush(final int value) throws JargonException {
+	public void sendInNetworkOrderWithFlush(final int value) throws JargonException {
+		lock.lock();
 		try {
-			// irodsConnection.flush();
-			irodsConnection.sendInNetworkOrder(value, true);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				// irodsConnection.flush();
+				irodsConnection.sendInNetworkOrder(value, true);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -1104,8 +1500,13 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @return {@link IRODSSession}
 	 */
-	public synchronized IRODSSession getIrodsSession() {
-		return irodsSession;
+	public IRODSSession getIrodsSession() {
+		lock.lock();
+		try {
+			return irodsSession;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1113,19 +1514,29 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @param irodsSession {@link IRODSSession} to set
 	 */
-	public synchronized void setIrodsSession(final IRODSSession irodsSession) {
-		if (irodsSession == null) {
-			throw new IllegalArgumentException("null irodsSession");
+	public void setIrodsSession(final IRODSSession irodsSession) {
+		lock.lock();
+		try {
+			if (irodsSession == null) {
+				throw new IllegalArgumentException("null irodsSession");
+			}
+			irodsConnection.setIrodsSession(irodsSession);
+			this.irodsSession = irodsSession;
+		} finally {
+			lock.unlock();
 		}
-		irodsConnection.setIrodsSession(irodsSession);
-		this.irodsSession = irodsSession;
 	}
 
 	/**
 	 * @return {@link IRODSProtocolManager} set in this protocol
 	 */
-	public synchronized IRODSProtocolManager getIrodsProtocolManager() {
-		return irodsProtocolManager;
+	public IRODSProtocolManager getIrodsProtocolManager() {
+		lock.lock();
+		try {
+			return irodsProtocolManager;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1141,49 +1552,64 @@ public class IRODSMidLevelProtocol {
 	 * @param reply {@code Tag} containing status messages from IRODS
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized void processClientStatusMessages(final Tag reply) throws JargonException {
+	public void processClientStatusMessages(final Tag reply) throws JargonException {
+		lock.lock();
+		try {
 
-		boolean done = false;
-		Tag ackResult = reply;
+			boolean done = false;
+			Tag ackResult = reply;
 
-		while (!done) {
-			if (ackResult.getLength() > 0) {
-				if (ackResult.getName().equals(IRODSConstants.CollOprStat_PI)) {
-					// formulate an answer status reply
+			while (!done) {
+				if (ackResult.getLength() > 0) {
+					if (ackResult.getName().equals(IRODSConstants.CollOprStat_PI)) {
+						// formulate an answer status reply
 
-					// if the total file count is 0, then I will continue and
-					// send
-					// the coll stat reply, otherwise, just ignore and
-					// don't send the reply.
+						// if the total file count is 0, then I will continue and
+						// send
+						// the coll stat reply, otherwise, just ignore and
+						// don't send the reply.
 
-					Tag fileCountTag = ackResult.getTag("filesCnt");
-					int fileCount = Integer.parseInt((String) fileCountTag.getValue());
+						Tag fileCountTag = ackResult.getTag("filesCnt");
+						int fileCount = Integer.parseInt((String) fileCountTag.getValue());
 
-					if (fileCount < IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_SIZE) {
-						done = true;
-					} else {
-						sendInNetworkOrder(IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_REPLY);
-						ackResult = readMessage();
+						if (fileCount < IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_SIZE) {
+							done = true;
+						} else {
+							sendInNetworkOrder(IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_REPLY);
+							ackResult = readMessage();
+						}
 					}
 				}
 			}
-		}
 
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * @return {@link AuthResponse} associated with the authentication of this
 	 *         connection
 	 */
-	public synchronized AuthResponse getAuthResponse() {
-		return authResponse;
+	public AuthResponse getAuthResponse() {
+		lock.lock();
+		try {
+			return authResponse;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * @return {@link IRODSServerProperties} associated with this connection
 	 */
-	synchronized IRODSServerProperties getIrodsServerProperties() {
-		return irodsServerProperties;
+	IRODSServerProperties getIrodsServerProperties() {
+		lock.lock();
+		try {
+			return irodsServerProperties;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1191,16 +1617,26 @@ public class IRODSMidLevelProtocol {
 	 *                              connection
 	 *
 	 */
-	synchronized void setIrodsServerProperties(final IRODSServerProperties irodsServerProperties) {
-		this.irodsServerProperties = irodsServerProperties;
+	void setIrodsServerProperties(final IRODSServerProperties irodsServerProperties) {
+		lock.lock();
+		try {
+			this.irodsServerProperties = irodsServerProperties;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
 	 * @param irodsAccount {@link IRODSAccount}
 	 *
 	 */
-	synchronized void setIrodsAccount(final IRODSAccount irodsAccount) {
-		this.irodsAccount = irodsAccount;
+	void setIrodsAccount(final IRODSAccount irodsAccount) {
+		lock.lock();
+		try {
+			this.irodsAccount = irodsAccount;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1208,8 +1644,13 @@ public class IRODSMidLevelProtocol {
 	 *                     connection
 	 *
 	 */
-	protected synchronized void setAuthResponse(final AuthResponse authResponse) {
-		this.authResponse = authResponse;
+	protected void setAuthResponse(final AuthResponse authResponse) {
+		lock.lock();
+		try {
+			this.authResponse = authResponse;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	Tag readHeader() throws JargonException {
@@ -1360,13 +1801,28 @@ public class IRODSMidLevelProtocol {
 	 * @see org.irods.jargon.core.connection.IRODSManagedConnection#
 	 * obliterateConnectionAndDiscardErrors()
 	 */
-	public synchronized void obliterateConnectionAndDiscardErrors() {
-		log.warn("obliterateConnectionAndDiscardErrors() will forcefully close the connection");
-		irodsConnection.obliterateConnectionAndDiscardErrors();
+	public void obliterateConnectionAndDiscardErrors() {
+		lock.lock();
+		try {
+			log.warn("obliterateConnectionAndDiscardErrors() will forcefully close the connection");
+			irodsConnection.obliterateConnectionAndDiscardErrors();
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	void processMessageInfoLessThanZero(final int messageLength, final int errorLength, final int info)
 			throws JargonException {
+		String addlMessage = readErrorReply(messageLength, errorLength, info);
+		inspectErrorInfo(info, addlMessage);
+	}
+
+	/**
+	 * Read the rest of a reply that reports an iRODS error in its info, returning
+	 * the error message text
+	 */
+	private String readErrorReply(final int messageLength, final int errorLength, final int info)
+			throws JargonException {
 		log.debug("info is < 0");
 		byte[] messageByte = new byte[messageLength];
 		// if nothing else, read the returned bytes and throw them away
@@ -1390,15 +1846,16 @@ public class IRODSMidLevelProtocol {
 			}
 		}
 
-		String addlMessage = readAndLogErrorMessage(errorLength, info);
+		return readAndLogErrorMessage(errorLength, info);
+	}
 
+	private void inspectErrorInfo(final int info, final String addlMessage) throws JargonException {
 		if (info == ErrorEnum.CAT_SUCCESS_BUT_WITH_NO_INFO.getInt()) {
 			// handleSuccessButNoRowsFound(errorLength, info);
 			log.debug("success but no info returned from irods");
 		} else {
 			IRODSErrorScanner.inspectAndThrowIfNeeded(info, addlMessage);
 		}
-
 	}
 
 	private String readAndLogErrorMessage(final int errorLength, final int info) throws JargonException {
@@ -88,6 +88,18 @@ public class IRODSServerProperties {
 		return supports;
 	}
 
+	/**
+	 * Does the server (based on version) support the atomic apply metadata
+	 * operations API, which applies a list of AVU operations to one object in a
+	 * single transaction
+	 *
+	 * @return {@code boolean} of {@code true} if atomic metadata operations are
+	 *         supported
+	 */
+	public boolean isSupportsAtomicMetadataOperations() {
+		return isTheIrodsServerAtLeastAtTheGivenReleaseVersion("rods4.2.8");
+	}
+
 	/**
 	 * Does the server (based on version) support specific (SQL) query
 	 *
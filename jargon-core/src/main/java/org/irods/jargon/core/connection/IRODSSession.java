@@ -3,6 +3,7 @@
  */
 package org.irods.jargon.core.connection;
 
+import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.Map;
@@ -39,7 +40,10 @@ import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
 import org.irods.jargon.core.transfer.AbstractRestartManager;
 import org.irods.jargon.core.transfer.DefaultTransferControlBlock;
+import org.irods.jargon.core.transfer.FileBasedTransferRestartManager;
+import org.irods.jargon.core.transfer.FileRestartManagementException;
 import org.irods.jargon.core.transfer.MemoryBasedTransferRestartManager;
+import org.irods.jargon.core.transfer.ParallelTransferTuner;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.irods.jargon.core.utils.MiscIRODSUtils;
 import org.slf4j.Logger;
@@ -90,6 +94,12 @@ public class IRODSSession {
 	 * have no effect.
 	 */
 	private ExecutorService parallelTransferThreadPool = null;
+
+	/**
+	 * Shared pool behind scoped connection leases, lazily created on the first
+	 * lease
+	 */
+	private IRODSConnectionLeasePool connectionLeasePool = null;
 	private IRODSProtocolManager irodsProtocolManager;
 	private static final Logger log = LoggerFactory.getLogger(IRODSSession.class);
 
@@ -136,6 +146,11 @@ public class IRODSSession {
 	 */
 	private AbstractRestartManager restartManager = null;
 
+	/**
+	 * Settings learned by adaptive parallel transfers, for each host and resource
+	 */
+	private final ParallelTransferTuner parallelTransferTuner = new ParallelTransferTuner();
+
 	/**
 	 * General configuration properties for operation of jargon, buffer sizes,
 	 * thread counts, etc.
@@ -143,9 +158,23 @@ public class IRODSSession {
 	private JargonProperties jargonProperties;
 
 	/**
-	 * Factory to return a checksum computation strategy
+	 * Factory to return a checksum computation strategy, created on first use from
+	 * the jargon properties
+	 */
+	private LocalChecksumComputerFactory localChecksumComputerFactory = null;
+
+	/**
+	 * Cache of stat results shared by the access objects using this session,
+	 * created on first use when turned on in the jargon properties
+	 */
+	private ObjStatCache objStatCache = null;
+
+	/**
+	 * Cache of the AVUs on data objects, collections and resources shared by the
+	 * access objects using this session, created on first use when turned on in
+	 * the jargon properties
 	 */
-	private final LocalChecksumComputerFactory localChecksumComputerFactory = new LocalChecksumComputerFactoryImpl();
+	private AvuCache avuCache = null;
 
 	/**
 	 * Simple cache (tolerating concurrent access) for name/value props. This cache
@@ -231,6 +260,8 @@ public class IRODSSession {
 			transferOptions.setIntraFileStatusCallbacksTotalBytesInterval(
 					jargonProperties.getIntraFileStatusCallbacksTotalBytesInterval());
 			transferOptions.setChecksumEncoding(jargonProperties.getChecksumEncoding());
+			transferOptions.setConcurrentFileTransferThreads(jargonProperties.getConcurrentFileTransferThreads());
+			transferOptions.setBundleSmallFiles(jargonProperties.isBundleSmallFiles());
 
 		}
 
@@ -284,10 +315,10 @@ public class IRODSSession {
 			if (jargonProperties.isLongTransferRestart()) {
 				// by default, at startup, if the long transfer restart is
 				// selected, then start out with the default
-				// in-memory implementation. If the dev futzes with this, they
-				// have to make sure
+				// in-memory implementation, or the journal if one is configured.
+				// If the dev futzes with this, they have to make sure
 				// a restart manager is available.
-				restartManager = new MemoryBasedTransferRestartManager();
+				restartManager = buildDefaultRestartManager();
 			}
 
 		} catch (Exception e) {
@@ -483,6 +514,23 @@ public class IRODSSession {
 
 	private IRODSMidLevelProtocol connectAndAddToProtocolsMap(final IRODSAccount irodsAccount,
 			final Map<String, IRODSMidLevelProtocol> irodsProtocols) throws JargonException {
+		IRODSMidLevelProtocol irodsProtocol = createConnection(irodsAccount);
+		irodsProtocols.put(irodsAccount.toString(), irodsProtocol);
+		log.debug("put a reference to a new connection for account: {}", irodsAccount.toString());
+		sessionMap.set(irodsProtocols);
+		log.debug("returned new connection:{}", irodsProtocol);
+		return irodsProtocol;
+	}
+
+	/**
+	 * Obtain a new connection from the {@code IRODSProtocolManager}, not cached
+	 * for the thread
+	 *
+	 * @param irodsAccount {@link IRODSAccount} for the connection
+	 * @return {@link IRODSMidLevelProtocol} that is connected
+	 * @throws JargonException for iRODS error
+	 */
+	IRODSMidLevelProtocol createConnection(final IRODSAccount irodsAccount) throws JargonException {
 		IRODSMidLevelProtocol irodsProtocol;
 		irodsProtocol = irodsProtocolManager.getIRODSProtocol(irodsAccount,
 				buildPipelineConfigurationBasedOnJargonProperties(), this);
@@ -491,9 +539,6 @@ public class IRODSSession {
 			throw new JargonRuntimeException("null connection returned from connection manager");
 		}
 
-		// irodsProtocol.setIrodsSession(this);
-		irodsProtocols.put(irodsAccount.toString(), irodsProtocol);
-
 		/*
 		 * check for GSI and add user info, consider factoring out to a 'post processor'
 		 * MC
@@ -503,12 +548,221 @@ public class IRODSSession {
 			addUserInfoForGSIAccount(irodsAccount, irodsProtocol);
 		}
 
-		log.debug("put a reference to a new connection for account: {}", irodsAccount.toString());
-		sessionMap.set(irodsProtocols);
-		log.debug("returned new connection:{}", irodsProtocol);
 		return irodsProtocol;
 	}
 
+	/**
+	 * Lease a connection for the given account from a pool shared by all threads,
+	 * waiting as long as needed for one to become free. See
+	 * {@link #leaseConnection(IRODSAccount, long, TimeUnit)}.
+	 *
+	 * @param irodsAccount {@link IRODSAccount} for the connection
+	 * @return {@link IRODSConnectionLease} to be closed when the work is done
+	 * @throws JargonException for iRODS error
+	 */
+	public IRODSConnectionLease leaseConnection(final IRODSAccount irodsAccount) throws JargonException {
+		return leaseConnection(irodsAccount, 0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Lease a connection for the given account from a pool shared by all threads.
+	 * This is an alternative to the per-thread connection cache for applications
+	 * with many short lived threads, such as virtual threads, where caching a
+	 * connection per thread would open one agent connection per thread and leave
+	 * it open when the thread ends.
+	 * <p>
+	 * While the lease is open, {@link #currentConnection(IRODSAccount)} on this
+	 * thread returns the leased connection, so access objects are used as usual
+	 * within the scope of the lease:
+	 *
+	 * <pre>
+	 * try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+	 * 	accessObjectFactory.getDataObjectAO(irodsAccount).findByAbsolutePath(path);
+	 * }
+	 * </pre>
+	 *
+	 * The number of pooled connections per account is limited by
+	 * {@link JargonProperties#getConnectionLeasePoolMaxSize()}. If this thread
+	 * already holds a connection for the account, that connection is leased and
+	 * is left in place when the lease is closed.
+	 *
+	 * @param irodsAccount {@link IRODSAccount} for the connection
+	 * @param timeout      {@code long} with the maximum time to wait for a
+	 *                     connection, or 0 to wait indefinitely
+	 * @param timeUnit     {@code TimeUnit} of the timeout
+	 * @return {@link IRODSConnectionLease} to be closed when the work is done
+	 * @throws JargonException for iRODS error, or if no connection became free in
+	 *                         time
+	 */
+	public IRODSConnectionLease leaseConnection(final IRODSAccount irodsAccount, final long timeout,
+			final TimeUnit timeUnit) throws JargonException {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (timeUnit == null) {
+			throw new IllegalArgumentException("null timeUnit");
+		}
+
+		if (irodsProtocolManager == null) {
+			log.error("no irods connection manager provided");
+			throw new JargonRuntimeException(
+					"IRODSSession improperly initialized, requires the IRODSConnectionManager to be initialized");
+		}
+
+		Map<String, IRODSMidLevelProtocol> irodsProtocols = sessionMap.get();
+		if (irodsProtocols != null) {
+			IRODSMidLevelProtocol held = irodsProtocols.get(irodsAccount.toString());
+			if (held != null && held.isConnected()) {
+				log.debug("thread already holds a connection, lease it in place:{}", held);
+				return new IRODSConnectionLease(this, irodsAccount, held, null);
+			}
+		} else {
+			irodsProtocols = new HashMap<String, IRODSMidLevelProtocol>();
+		}
+
+		IRODSConnectionLeasePool pool = getConnectionLeasePool();
+		IRODSMidLevelProtocol irodsProtocol = pool.borrow(irodsAccount, timeout, timeUnit);
+		irodsProtocols.put(irodsAccount.toString(), irodsProtocol);
+		sessionMap.set(irodsProtocols);
+		return new IRODSConnectionLease(this, irodsAccount, irodsProtocol, pool);
+	}
+
+	/**
+	 * Bind a connection held by another thread to this thread until the returned
+	 * lease is closed. This lets a helper thread, such as the read ahead or write
+	 * behind thread of a stream, work on the connection where the stream's file
+	 * descriptor is open rather than on a new connection of its own. The thread
+	 * that holds the connection keeps it, and must not use it while it is lent.
+	 * A connection this thread held for the account is bound again when the lease
+	 * is closed.
+	 *
+	 * @param irodsAccount          {@link IRODSAccount} the connection is held
+	 *                              for
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol} to lend
+	 * @return {@link IRODSConnectionLease} to be closed by this thread when the
+	 *         work is done
+	 */
+	public IRODSConnectionLease lendConnection(final IRODSAccount irodsAccount,
+			final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsMidLevelProtocol == null) {
+			throw new IllegalArgumentException("null irodsMidLevelProtocol");
+		}
+
+		Map<String, IRODSMidLevelProtocol> irodsProtocols = sessionMap.get();
+		if (irodsProtocols == null) {
+			irodsProtocols = new HashMap<String, IRODSMidLevelProtocol>();
+		}
+		IRODSMidLevelProtocol displaced = irodsProtocols.put(irodsAccount.toString(), irodsMidLevelProtocol);
+		sessionMap.set(irodsProtocols);
+		log.debug("lent connection:{}", irodsMidLevelProtocol);
+		return new IRODSConnectionLease(this, irodsAccount, irodsMidLevelProtocol, null, true,
+				displaced == irodsMidLevelProtocol ? null : displaced);
+	}
+
+	/**
+	 * Called when an {@link IRODSConnectionLease} is closed, unbind the leased
+	 * connection from this thread and give it back to the pool, or to the thread
+	 * that lent it
+	 *
+	 * @param irodsConnectionLease {@link IRODSConnectionLease} being closed
+	 */
+	void endLease(final IRODSConnectionLease irodsConnectionLease) {
+		if (irodsConnectionLease.isLent()) {
+			endLentLease(irodsConnectionLease);
+			return;
+		}
+
+		if (!irodsConnectionLease.isPooled()) {
+			return;
+		}
+
+		final String key = irodsConnectionLease.getIrodsAccount().toString();
+		final Map<String, IRODSMidLevelProtocol> irodsProtocols = sessionMap.get();
+		if (irodsProtocols != null) {
+			IRODSMidLevelProtocol bound = irodsProtocols.remove(key);
+			if (irodsProtocols.isEmpty()) {
+				sessionMap.set(null);
+			}
+			if (bound != null && bound != irodsConnectionLease.getIrodsMidLevelProtocol()) {
+				// the leased connection was closed and replaced within the scope of the lease
+				log.debug("returning connection that replaced a leased connection:{}", bound);
+				try {
+					getIrodsProtocolManager().returnIRODSProtocol(bound);
+				} catch (Exception e) {
+					log.warn("error returning connection, ignored", e);
+				}
+			}
+		}
+
+		irodsConnectionLease.getConnectionLeasePool().release(irodsConnectionLease.getIrodsAccount(),
+				irodsConnectionLease.getIrodsMidLevelProtocol());
+	}
+
+	private void endLentLease(final IRODSConnectionLease irodsConnectionLease) {
+		final String key = irodsConnectionLease.getIrodsAccount().toString();
+		final Map<String, IRODSMidLevelProtocol> irodsProtocols = sessionMap.get();
+		if (irodsProtocols == null) {
+			return;
+		}
+
+		IRODSMidLevelProtocol bound = irodsProtocols.remove(key);
+		if (bound != null && bound != irodsConnectionLease.getIrodsMidLevelProtocol()) {
+			// the lent connection was closed and replaced within the scope of the lease
+			log.debug("returning connection that replaced a lent connection:{}", bound);
+			try {
+				getIrodsProtocolManager().returnIRODSProtocol(bound);
+			} catch (Exception e) {
+				log.warn("error returning connection, ignored", e);
+			}
+		}
+
+		if (irodsConnectionLease.getDisplaced() != null) {
+			irodsProtocols.put(key, irodsConnectionLease.getDisplaced());
+		} else if (irodsProtocols.isEmpty()) {
+			sessionMap.set(null);
+		}
+	}
+
+	/**
+	 * Get (lazily) the pool of connections behind
+	 * {@link #leaseConnection(IRODSAccount)}. The pool is sized from the
+	 * {@code JargonProperties} when it is first created.
+	 *
+	 * @return {@link IRODSConnectionLeasePool}
+	 */
+	public IRODSConnectionLeasePool getConnectionLeasePool() {
+		synchronized (this) {
+			if (connectionLeasePool == null) {
+				log.debug("creating connection lease pool");
+				connectionLeasePool = new IRODSConnectionLeasePool(this,
+						jargonProperties.getConnectionLeasePoolMaxSize());
+			}
+			return connectionLeasePool;
+		}
+	}
+
+	/**
+	 * Close the pool behind {@link #leaseConnection(IRODSAccount)}, disconnecting
+	 * its idle connections. Connections still leased are disconnected when their
+	 * lease is closed, and a new pool is created on the next lease.
+	 */
+	public void closeConnectionLeasePool() {
+		IRODSConnectionLeasePool pool;
+		synchronized (this) {
+			pool = connectionLeasePool;
+			connectionLeasePool = null;
+		}
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
 	private void addUserInfoForGSIAccount(final IRODSAccount irodsAccount, final IRODSMidLevelProtocol irodsCommands)
 			throws JargonException {
 		log.debug("addUserInfoForGSIAccount()");
@@ -706,6 +960,9 @@ public class IRODSSession {
 	public void setJargonProperties(final JargonProperties jargonProperties) {
 		synchronized (this) {
 			this.jargonProperties = jargonProperties;
+			localChecksumComputerFactory = null;
+			objStatCache = null;
+			avuCache = null;
 		}
 	}
 
@@ -740,26 +997,100 @@ public class IRODSSession {
 
 	/**
 	 * Get a reference to a factory that can return checksum computation strategies
-	 * on local file systems
+	 * on local file systems, reading files as given by
+	 * {@link JargonProperties#getLocalChecksumStrategy()}
 	 *
 	 * @return {@link LocalChecksumComputerFactory}
 	 */
 	public LocalChecksumComputerFactory getLocalChecksumComputerFactory() {
-		return localChecksumComputerFactory;
+		synchronized (this) {
+			if (localChecksumComputerFactory == null) {
+				localChecksumComputerFactory = new LocalChecksumComputerFactoryImpl(
+						jargonProperties.getLocalChecksumStrategy(),
+						Math.max(1, jargonProperties.getLocalChecksumThreads()));
+			}
+			return localChecksumComputerFactory;
+		}
+	}
+
+	/**
+	 * Get the cache of {@code ObjStat} results shared by the access objects using
+	 * this session, see {@link JargonProperties#isObjStatCache()}
+	 *
+	 * @return {@link ObjStatCache}, or {@code null} if stat results are not cached
+	 */
+	public ObjStatCache getObjStatCache() {
+		synchronized (this) {
+			if (!jargonProperties.isObjStatCache()) {
+				return null;
+			}
+			if (objStatCache == null) {
+				objStatCache = ObjStatCache.instance(jargonProperties);
+			}
+			return objStatCache;
+		}
+	}
+
+	/**
+	 * Get the cache of AVUs shared by the access objects using this session, see
+	 * {@link JargonProperties#isAvuCache()}
+	 *
+	 * @return {@link AvuCache}, or {@code null} if AVUs are not cached
+	 */
+	public AvuCache getAvuCache() {
+		synchronized (this) {
+			if (!jargonProperties.isAvuCache()) {
+				return null;
+			}
+			if (avuCache == null) {
+				avuCache = AvuCache.instance(jargonProperties);
+			}
+			return avuCache;
+		}
+	}
+
+	/**
+	 * Get the tuner that remembers what adaptive parallel transfers learned for
+	 * each host and resource, see {@link JargonProperties#isAdaptiveParallelTransfer()}
+	 *
+	 * @return {@link ParallelTransferTuner}
+	 */
+	public ParallelTransferTuner getParallelTransferTuner() {
+		return parallelTransferTuner;
 	}
 
 	public synchronized AbstractRestartManager getRestartManager() {
 
 		if (restartManager == null) {
 			if (jargonProperties.isLongTransferRestart()) {
-				log.warn("no restart manager provided, long file restart is on, create default memory based manager");
-				restartManager = new MemoryBasedTransferRestartManager();
+				log.warn("no restart manager provided, long file restart is on, create default manager");
+				restartManager = buildDefaultRestartManager();
 			}
 		}
 
 		return restartManager;
 	}
 
+	/**
+	 * Build the restart manager given by the jargon properties, a journal if a path
+	 * is set, otherwise in memory
+	 */
+	private AbstractRestartManager buildDefaultRestartManager() {
+		String journal = jargonProperties.getLongTransferRestartJournal();
+		if (journal == null || journal.trim().isEmpty()) {
+			return new MemoryBasedTransferRestartManager();
+		}
+
+		log.info("using restart journal:{}", journal);
+		try {
+			return new FileBasedTransferRestartManager(new File(journal.trim()),
+					Math.max(0, jargonProperties.getLongTransferRestartJournalSyncMillis()));
+		} catch (FileRestartManagementException e) {
+			log.error("unable to open restart journal:{}", journal, e);
+			throw new JargonRuntimeException("unable to open restart journal", e);
+		}
+	}
+
 	public synchronized void setRestartManager(final AbstractRestartManager restartManager) {
 		this.restartManager = restartManager;
 	}
@@ -1,6 +1,7 @@
 package org.irods.jargon.core.connection;
 
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotiationPolicy;
+import org.irods.jargon.core.checksum.LocalChecksumStrategyEnum;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO;
@@ -602,4 +603,273 @@ public interface JargonProperties {
 	 */
 	boolean isRulesSetDestinationWhenAuto();
 
+	/**
+	 * Get the maximum number of requests written to an agent connection before
+	 * their replies are read when running a batch of requests in pipelined mode.
+	 * This bounds the amount of unread reply data that can build up on the socket.
+	 *
+	 * @return {@code int} with the pipelined request window size
+	 */
+	int getPipelinedRequestWindowSize();
+
+	/**
+	 * Get the maximum number of agent connections per account held in the shared
+	 * pool that backs scoped connection leases (see
+	 * {@link IRODSSession#leaseConnection(IRODSAccount)}). Callers beyond this
+	 * number wait for a lease to be closed.
+	 *
+	 * @return {@code int} with the maximum number of leased connections per account
+	 */
+	int getConnectionLeasePoolMaxSize();
+
+	/**
+	 * Should parallel transfers move data with NIO channels, using
+	 * {@code FileChannel.transferTo} and {@code FileChannel.transferFrom} at
+	 * explicit file positions, rather than through socket streams and
+	 * {@code RandomAccessFile}? Note that the parallel socket timeout is only
+	 * applied when connecting on the NIO path, as blocking channel reads do not
+	 * honor a socket read timeout.
+	 *
+	 * @return {@code boolean} that is {@code true} to use NIO parallel transfer
+	 *         threads
+	 */
+	boolean isUseNIOForParallelTransfers();
+
+	/**
+	 * Get the default number of files moved at once, each over its own connection,
+	 * when a collection is transferred recursively. This is the default for
+	 * {@code TransferOptions}, and 0 or 1 transfers files one at a time.
+	 *
+	 * @return {@code int} with the number of concurrent file transfers
+	 */
+	int getConcurrentFileTransferThreads();
+
+	/**
+	 * Get the size at or below which a file is packed into a tar bundle when small
+	 * file bundling is enabled for a recursive put.
+	 *
+	 * @return {@code long} with the largest size in bytes of a bundled file
+	 */
+	long getSmallFileBundleMaxFileSize();
+
+	/**
+	 * Get the size at which a tar bundle of small files is closed, uploaded and
+	 * extracted, and a new bundle started.
+	 *
+	 * @return {@code long} with the size in bytes of a bundle
+	 */
+	long getSmallFileBundleMaxSize();
+
+	/**
+	 * Get the smallest number of files worth sending as a tar bundle. Fewer small
+	 * files than this are put one at a time.
+	 *
+	 * @return {@code int} with the minimum number of files in a bundle
+	 */
+	int getSmallFileBundleMinFiles();
+
+	/**
+	 * Get the default for packing small files into tar bundles that are extracted
+	 * in iRODS, on a recursive put. This is the default for
+	 * {@code TransferOptions}.
+	 *
+	 * @return {@code boolean} that is {@code true} to bundle small files
+	 */
+	boolean isBundleSmallFiles();
+
+	/**
+	 * Get whether parallel transfers measure their throughput and tune the thread
+	 * count, socket buffer sizes and copy buffer size, remembering what they learn
+	 * for each host and resource. When set, the learned settings replace
+	 * {@code getParallelCopyBufferSize()} and the parallel TCP window sizes, and
+	 * choose the thread count within {@code getMaxParallelThreads()}.
+	 *
+	 * @return {@code boolean} that is {@code true} to tune parallel transfers
+	 */
+	boolean isAdaptiveParallelTransfer();
+
+	/**
+	 * Get how long an adaptive parallel transfer runs before its copy buffer size
+	 * is tuned from the measured throughput. Transfers shorter than this are not
+	 * used to tune later transfers.
+	 *
+	 * @return {@code int} with the sampling period in milliseconds
+	 */
+	int getAdaptiveParallelSampleMillis();
+
+	/**
+	 * Compute the checksum used by {@code isComputeAndVerifyChecksumAfterTransfer()}
+	 * from the bytes as a large get or put moves them, rather than reading the local file
+	 * again. On a put the server checksum is then compared after the transfer
+	 * instead of being verified by iRODS during it.
+	 *
+	 * @return {@code boolean} if checksums should be streamed during transfer
+	 */
+	boolean isStreamingChecksum();
+
+	/**
+	 * Get how the {@code LocalChecksumComputerFactory} of the session reads local
+	 * files to checksum them, by buffered stream, by large reads overlapped with
+	 * hashing, or by mapping the file into memory.
+	 *
+	 * @return {@link LocalChecksumStrategyEnum} for local checksums
+	 */
+	LocalChecksumStrategyEnum getLocalChecksumStrategy();
+
+	/**
+	 * Get how many local files the {@code LocalChecksumComputerFactory} of the
+	 * session hashes at once, as when comparing a local tree with iRODS or
+	 * verifying many files
+	 *
+	 * @return {@code int} with the number of checksum threads
+	 */
+	int getLocalChecksumThreads();
+
+	/**
+	 * Get the path of the journal file in which long file restart information is
+	 * kept across restarts of the JVM, when {@code isLongTransferRestart()} is set.
+	 * A blank path keeps restart information in memory.
+	 *
+	 * @return {@code String} with the journal path, or blank
+	 */
+	String getLongTransferRestartJournal();
+
+	/**
+	 * Get how often segment progress is synced to the long file restart journal. A
+	 * crash loses at most this much progress, which the restarted transfer sends
+	 * again. 0 syncs every update.
+	 *
+	 * @return {@code int} with the sync interval in milliseconds
+	 */
+	int getLongTransferRestartJournalSyncMillis();
+
+	/**
+	 * Get the number of blocks cached by each {@code IRODSRandomAccessFile}, so
+	 * that small reads and writes are served from memory rather than each making
+	 * a round trip. Zero turns the cache off.
+	 *
+	 * @return {@code int} with the number of cached blocks, 0 for no cache
+	 */
+	int getRandomAccessCacheBlocks();
+
+	/**
+	 * Get the size of each block cached by an {@code IRODSRandomAccessFile}
+	 *
+	 * @return {@code int} with the block size in bytes
+	 */
+	int getRandomAccessCacheBlockSize();
+
+	/**
+	 * Get the most blocks an {@code IRODSRandomAccessFile} with a cache reads
+	 * ahead once its reads are sequential
+	 *
+	 * @return {@code int} with the most blocks read ahead, 0 for no read-ahead
+	 */
+	int getRandomAccessCacheReadAheadBlocks();
+
+	/**
+	 * Get the largest gap between two ranges asked of
+	 * {@code FileIOOperations.readRanges()} that is read through rather than
+	 * requested separately
+	 *
+	 * @return {@code int} with the gap in bytes
+	 */
+	int getFileReadRangesCoalesceGap();
+
+	/**
+	 * Should the {@code IRODSSession} keep a cache of {@code ObjStat} results
+	 * shared by every access object and {@code IRODSFile} using it. Entries expire
+	 * after {@link #getObjStatCacheTtlMillis()} and are dropped when the same
+	 * session changes the path
+	 *
+	 * @return {@code boolean} if stat results are cached
+	 */
+	boolean isObjStatCache();
+
+	/**
+	 * Most {@code ObjStat} results to keep in the session cache, the least
+	 * recently used are dropped beyond this
+	 *
+	 * @return {@code int} with the most cached stat results
+	 */
+	int getObjStatCacheMaxEntries();
+
+	/**
+	 * Estimated memory in bytes the session {@code ObjStat} cache may hold, the
+	 * least recently used are dropped beyond this
+	 *
+	 * @return {@code long} with the bytes the stat cache may hold
+	 */
+	long getObjStatCacheMaxBytes();
+
+	/**
+	 * Time in milliseconds a cached {@code ObjStat} is used before iRODS is asked
+	 * again
+	 *
+	 * @return {@code long} with the time to live of a cached stat result
+	 */
+	long getObjStatCacheTtlMillis();
+
+	/**
+	 * Time in milliseconds that a path found not to exist is answered as not found
+	 * from the session {@code ObjStat} cache, 0 to not cache missing paths
+	 *
+	 * @return {@code long} with the time to live of a cached not found
+	 */
+	long getObjStatCacheNegativeTtlMillis();
+
+	/**
+	 * Should collection listings seed the session {@code ObjStat} cache with a
+	 * stat for each child, built from the listing rows, so that stats of the
+	 * children that follow a listing are not sent to iRODS. This only applies when
+	 * {@link #isObjStatCache()} is set.
+	 *
+	 * @return {@code boolean} if listings seed the stat cache
+	 */
+	boolean isObjStatCachePrefetchListings();
+
+	/**
+	 * Send bulk AVU operations as one atomic apply metadata operations request
+	 * when the server supports it, falling back to pipelined single requests
+	 *
+	 * @return {@code boolean} of {@code true} to use the atomic metadata API for
+	 *         bulk AVU operations
+	 */
+	boolean isUseAtomicMetadataOperations();
+
+	/**
+	 * Should the {@code IRODSSession} keep a cache of the AVUs found on each data
+	 * object, collection and resource, shared by every access object using it.
+	 * Entries expire after {@link #getAvuCacheTtlMillis()} and are dropped when the
+	 * same session changes the AVUs of the object
+	 *
+	 * @return {@code boolean} if AVU lookups are cached
+	 */
+	boolean isAvuCache();
+
+	/**
+	 * Most objects to keep AVUs for in the session AVU cache, the least recently
+	 * used are dropped beyond this
+	 *
+	 * @return {@code int} with the most objects with cached AVUs
+	 */
+	int getAvuCacheMaxEntries();
+
+	/**
+	 * Most AVUs, counted over all objects, to keep in the session AVU cache, the
+	 * least recently used objects are dropped beyond this
+	 *
+	 * @return {@code int} with the most cached AVUs
+	 */
+	int getAvuCacheMaxAvus();
+
+	/**
+	 * Time in milliseconds the cached AVUs of an object are used before iRODS is
+	 * asked again, 0 to keep them until they are changed through the session or
+	 * dropped for space
+	 *
+	 * @return {@code long} with the time to live of cached AVUs
+	 */
+	long getAvuCacheTtlMillis();
+
 }
@@ -0,0 +1,467 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of {@link ObjStat} results kept by an {@link IRODSSession} so that the
+ * many stats of the same path made by {@code IRODSFile} instances, listings and
+ * transfers can be answered without a round trip to the catalog. It is turned
+ * on by {@link JargonProperties#isObjStatCache()}.
+ * <p>
+ * Results are kept for each account, as what a user may see differs, and each
+ * expires after a time to live. A path found not to exist is remembered for its
+ * own, usually shorter, time. The least recently used results are dropped once
+ * there are more than a count, or once their estimated size passes a limit.
+ * Collection listings may seed the cache with the children they find, so that
+ * the stats that usually follow a listing are answered without asking iRODS.
+ * <p>
+ * Access objects drop a path, and every collection above it, when they change
+ * it through the same session, and drop the whole tree below a collection that
+ * is removed or renamed. Changes made by other sessions or other clients are
+ * only seen once a result expires. This is safe for use by several threads.
+ */
+public class ObjStatCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ObjStatCache.class);
+
+	/**
+	 * Rough bytes held by an entry apart from its strings, the map entries, key,
+	 * dates and the {@code ObjStat} itself
+	 */
+	static final int ENTRY_OVERHEAD = 320;
+
+	private final int maxEntries;
+	private final long maxBytes;
+	private final long ttlMillis;
+	private final long negativeTtlMillis;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+	private final TreeMap<String, List<Key>> keysByPath = new TreeMap<String, List<Key>>();
+	private long bytes = 0L;
+
+	private long hits = 0L;
+	private long misses = 0L;
+	private long negativeHits = 0L;
+	private long evictions = 0L;
+	private long invalidations = 0L;
+	private long prefetched = 0L;
+
+	/**
+	 * Create a cache from the settings in the jargon properties
+	 *
+	 * @param jargonProperties {@link JargonProperties}
+	 * @return {@link ObjStatCache}
+	 */
+	public static ObjStatCache instance(final JargonProperties jargonProperties) {
+		if (jargonProperties == null) {
+			throw new IllegalArgumentException("null jargonProperties");
+		}
+
+		return new ObjStatCache(jargonProperties.getObjStatCacheMaxEntries(),
+				jargonProperties.getObjStatCacheMaxBytes(), jargonProperties.getObjStatCacheTtlMillis(),
+				jargonProperties.getObjStatCacheNegativeTtlMillis());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries        {@code int} with the most results to keep
+	 * @param maxBytes          {@code long} with the estimated bytes the results
+	 *                          may hold
+	 * @param ttlMillis         {@code long} with the milliseconds a result is
+	 *                          used, 0 or less to keep nothing
+	 * @param negativeTtlMillis {@code long} with the milliseconds a path not found
+	 *                          is remembered, 0 or less to not remember
+	 */
+	public ObjStatCache(final int maxEntries, final long maxBytes, final long ttlMillis,
+			final long negativeTtlMillis) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be positive");
+		}
+
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("maxBytes must be positive");
+		}
+
+		this.maxEntries = maxEntries;
+		this.maxBytes = maxBytes;
+		this.ttlMillis = ttlMillis;
+		this.negativeTtlMillis = negativeTtlMillis;
+	}
+
+	/**
+	 * Look up the stat of a path
+	 *
+	 * @param irodsAccount      {@link IRODSAccount} the stat is made as
+	 * @param irodsAbsolutePath {@code String} with the normalized absolute path
+	 * @return {@link ObjStat} copied from the cache, or {@code null} if it is not
+	 *         cached
+	 * @throws FileNotFoundException if the path was found not to exist
+	 */
+	public synchronized ObjStat retrieve(final IRODSAccount irodsAccount, final String irodsAbsolutePath)
+			throws FileNotFoundException {
+		Key key = new Key(irodsAccount, irodsAbsolutePath);
+		Entry entry = entries.get(key);
+		if (entry != null && entry.expiresAt <= currentTimeMillis()) {
+			remove(key);
+			entry = null;
+		}
+
+		if (entry == null) {
+			misses++;
+			return null;
+		}
+
+		if (entry.objStat == null) {
+			negativeHits++;
+			throw new FileNotFoundException("the object cannot be found (cached)");
+		}
+
+		hits++;
+		return copy(entry.objStat);
+	}
+
+	/**
+	 * Keep the stat of a path
+	 *
+	 * @param irodsAccount      {@link IRODSAccount} the stat was made as
+	 * @param irodsAbsolutePath {@code String} with the normalized absolute path
+	 * @param objStat           {@link ObjStat} returned for the path, a copy is
+	 *                          kept
+	 */
+	public synchronized void cache(final IRODSAccount irodsAccount, final String irodsAbsolutePath,
+			final ObjStat objStat) {
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+
+		if (ttlMillis > 0) {
+			put(new Key(irodsAccount, irodsAbsolutePath), copy(objStat), ttlMillis);
+		}
+	}
+
+	/**
+	 * Keep the stats of the children found by a collection listing, each under
+	 * its absolute path
+	 *
+	 * @param irodsAccount {@link IRODSAccount} the listing was made as
+	 * @param objStats     {@code List} of {@link ObjStat} built from the listing,
+	 *                     copies are kept
+	 */
+	public synchronized void cacheListing(final IRODSAccount irodsAccount, final List<ObjStat> objStats) {
+		if (objStats == null) {
+			throw new IllegalArgumentException("null objStats");
+		}
+
+		if (ttlMillis <= 0) {
+			return;
+		}
+
+		for (ObjStat objStat : objStats) {
+			put(new Key(irodsAccount, objStat.getAbsolutePath()), copy(objStat), ttlMillis);
+		}
+		prefetched += objStats.size();
+	}
+
+	/**
+	 * Remember that a path does not exist
+	 *
+	 * @param irodsAccount      {@link IRODSAccount} the stat was made as
+	 * @param irodsAbsolutePath {@code String} with the normalized absolute path
+	 */
+	public synchronized void cacheNotFound(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		if (negativeTtlMillis > 0) {
+			put(new Key(irodsAccount, irodsAbsolutePath), null, negativeTtlMillis);
+		}
+	}
+
+	/**
+	 * Drop what is known of a path that was created, written, replicated or
+	 * removed, for every account, along with every collection above it
+	 *
+	 * @param irodsAbsolutePath {@code String} with the absolute path
+	 */
+	public synchronized void invalidate(final String irodsAbsolutePath) {
+		String path = trimTrailingSlash(irodsAbsolutePath);
+		removePath(path);
+		int index = path.lastIndexOf('/');
+		while (index > 0) {
+			path = path.substring(0, index);
+			removePath(path);
+			index = path.lastIndexOf('/');
+		}
+		removePath("/");
+	}
+
+	/**
+	 * Drop what is known of a collection that was removed or renamed, with
+	 * everything below it and every collection above it
+	 *
+	 * @param irodsAbsolutePath {@code String} with the absolute path
+	 */
+	public synchronized void invalidateTree(final String irodsAbsolutePath) {
+		String path = trimTrailingSlash(irodsAbsolutePath);
+		if (path.equals("/")) {
+			clear();
+			return;
+		}
+
+		SortedMap<String, List<Key>> below = keysByPath.subMap(path + "/", path + "0");
+		for (String child : new ArrayList<String>(below.keySet())) {
+			removePath(child);
+		}
+		invalidate(path);
+	}
+
+	/**
+	 * Drop everything cached
+	 */
+	public synchronized void clear() {
+		invalidations += entries.size();
+		entries.clear();
+		keysByPath.clear();
+		bytes = 0L;
+	}
+
+	/**
+	 * @return {@code long} with the lookups answered with a cached stat
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return {@code long} with the lookups that had to ask iRODS
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return {@code long} with the lookups answered as not found from the cache
+	 */
+	public synchronized long getNegativeHits() {
+		return negativeHits;
+	}
+
+	/**
+	 * @return {@code long} with the results dropped to stay within the limits
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return {@code long} with the results dropped because the path changed
+	 */
+	public synchronized long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * @return {@code long} with the results kept from collection listings
+	 */
+	public synchronized long getPrefetched() {
+		return prefetched;
+	}
+
+	/**
+	 * @return {@code int} with the results held, some of which may have expired
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return {@code long} with the estimated bytes held
+	 */
+	public synchronized long getEstimatedBytes() {
+		return bytes;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ObjStatCache [size=").append(entries.size()).append(", bytes=").append(bytes)
+				.append(", hits=").append(hits).append(", misses=").append(misses).append(", negativeHits=")
+				.append(negativeHits).append(", evictions=").append(evictions).append(", invalidations=")
+				.append(invalidations).append(", prefetched=").append(prefetched).append("]");
+		return builder.toString();
+	}
+
+	/**
+	 * @return {@code long} with the current time, may be overridden for testing
+	 */
+	protected long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private void put(final Key key, final ObjStat objStat, final long timeToLive) {
+		remove(key);
+
+		Entry entry = new Entry(objStat, currentTimeMillis() + timeToLive, estimateSize(key, objStat));
+		entries.put(key, entry);
+		List<Key> keys = keysByPath.get(key.path);
+		if (keys == null) {
+			keys = new ArrayList<Key>(1);
+			keysByPath.put(key.path, keys);
+		}
+		keys.add(key);
+		bytes += entry.size;
+
+		Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+		while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+			Map.Entry<Key, Entry> eldest = iterator.next();
+			if (eldest.getKey().equals(key)) {
+				continue;
+			}
+			iterator.remove();
+			unindex(eldest.getKey(), eldest.getValue());
+			evictions++;
+		}
+	}
+
+	private void remove(final Key key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) {
+			unindex(key, entry);
+		}
+	}
+
+	private void unindex(final Key key, final Entry entry) {
+		bytes -= entry.size;
+		List<Key> keys = keysByPath.get(key.path);
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty()) {
+				keysByPath.remove(key.path);
+			}
+		}
+	}
+
+	private void removePath(final String path) {
+		List<Key> keys = keysByPath.remove(path);
+		if (keys == null) {
+			return;
+		}
+
+		for (Key key : keys) {
+			Entry entry = entries.remove(key);
+			if (entry != null) {
+				bytes -= entry.size;
+				invalidations++;
+			}
+		}
+		log.debug("invalidated cached stat for:{}", path);
+	}
+
+	private static String trimTrailingSlash(final String path) {
+		if (path == null || path.isEmpty()) {
+			throw new IllegalArgumentException("null or empty path");
+		}
+
+		String myPath = path;
+		while (myPath.length() > 1 && myPath.endsWith("/")) {
+			myPath = myPath.substring(0, myPath.length() - 1);
+		}
+		return myPath;
+	}
+
+	private static long estimateSize(final Key key, final ObjStat objStat) {
+		long size = ENTRY_OVERHEAD + 2L * (key.path.length() + key.account.length());
+		if (objStat != null) {
+			size += 2L * (length(objStat.getAbsolutePath()) + length(objStat.getObjectPath())
+					+ length(objStat.getChecksum()) + length(objStat.getOwnerName()) + length(objStat.getOwnerZone())
+					+ length(objStat.getCollectionPath()) + length(objStat.getCacheDir()));
+		}
+		return size;
+	}
+
+	private static int length(final String value) {
+		return value == null ? 0 : value.length();
+	}
+
+	private static ObjStat copy(final ObjStat objStat) {
+		ObjStat copy = new ObjStat();
+		copy.setAbsolutePath(objStat.getAbsolutePath());
+		copy.setObjectPath(objStat.getObjectPath());
+		copy.setObjectType(objStat.getObjectType());
+		copy.setDataId(objStat.getDataId());
+		copy.setChecksum(objStat.getChecksum());
+		copy.setOwnerName(objStat.getOwnerName());
+		copy.setOwnerZone(objStat.getOwnerZone());
+		copy.setObjSize(objStat.getObjSize());
+		copy.setCreatedAt(objStat.getCreatedAt() == null ? null : new Date(objStat.getCreatedAt().getTime()));
+		copy.setModifiedAt(objStat.getModifiedAt() == null ? null : new Date(objStat.getModifiedAt().getTime()));
+		copy.setSpecColType(objStat.getSpecColType());
+		copy.setCollectionPath(objStat.getCollectionPath());
+		copy.setCacheDir(objStat.getCacheDir());
+		copy.setCacheDirty(objStat.isCacheDirty());
+		copy.setReplNumber(objStat.getReplNumber());
+		copy.setStandInGeneratedObjStat(objStat.isStandInGeneratedObjStat());
+		return copy;
+	}
+
+	/**
+	 * A path as seen by one account
+	 */
+	private static final class Key {
+		private final String account;
+		private final String path;
+
+		private Key(final IRODSAccount irodsAccount, final String path) {
+			if (irodsAccount == null) {
+				throw new IllegalArgumentException("null irodsAccount");
+			}
+
+			account = irodsAccount.getUserName() + "#" + irodsAccount.getZone() + "@" + irodsAccount.getHost() + ":"
+					+ irodsAccount.getPort();
+			this.path = trimTrailingSlash(path);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * account.hashCode() + path.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return account.equals(other.account) && path.equals(other.path);
+		}
+	}
+
+	/**
+	 * A cached stat, or {@code null} for a path not found
+	 */
+	private static final class Entry {
+		private final ObjStat objStat;
+		private final long expiresAt;
+		private final long size;
+
+		private Entry(final ObjStat objStat, final long expiresAt, final long size) {
+			this.objStat = objStat;
+			this.expiresAt = expiresAt;
+			this.size = size;
+		}
+	}
+
+}
@@ -46,6 +46,7 @@ public class PipelineConfiguration {
 	private final int primaryTcpPerformancePrefsLatency;
 	private final int primaryTcpPerformancePrefsBandwidth;
 	private final int socketRenewalIntervalInSeconds;
+	private final int pipelinedRequestWindowSize;
 	/**
 	 * Default SSL negotiation policy, may be overrideen per request in the
 	 * IRODSAccount
@@ -117,6 +118,7 @@ public class PipelineConfiguration {
 		primaryTcpReceiveWindowSize = jargonProperties.getPrimaryTcpReceiveWindowSize();
 		primaryTcpSendWindowSize = jargonProperties.getPrimaryTcpSendWindowSize();
 		socketRenewalIntervalInSeconds = jargonProperties.getSocketRenewalIntervalInSeconds();
+		pipelinedRequestWindowSize = jargonProperties.getPipelinedRequestWindowSize();
 		negotiationPolicy = jargonProperties.getNegotiationPolicy();
 		encryptionAlgorithmEnum = jargonProperties.getEncryptionAlgorithmEnum();
 		encryptionKeySize = jargonProperties.getEncryptionKeySize();
@@ -333,6 +335,8 @@ public class PipelineConfiguration {
 		builder.append(primaryTcpPerformancePrefsBandwidth);
 		builder.append(", socketRenewalIntervalInSeconds=");
 		builder.append(socketRenewalIntervalInSeconds);
+		builder.append(", pipelinedRequestWindowSize=");
+		builder.append(pipelinedRequestWindowSize);
 		builder.append("]");
 		return builder.toString();
 	}
@@ -344,6 +348,13 @@ public class PipelineConfiguration {
 		return socketRenewalIntervalInSeconds;
 	}
 
+	/**
+	 * @return the pipelinedRequestWindowSize
+	 */
+	public int getPipelinedRequestWindowSize() {
+		return pipelinedRequestWindowSize;
+	}
+
 	public SslNegotiationPolicy getNegotiationPolicy() {
 		return negotiationPolicy;
 	}
@@ -0,0 +1,31 @@
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.Tag;
+
+/**
+ * Reads the binary data that follows a reply in a batch of pipelined requests,
+ * such as the bytes of a file read, so that the connection stays in step for
+ * the replies after it. See
+ * {@link IRODSMidLevelProtocol#irodsFunctionPipelined(java.util.List, PipelinedReplyDataHandler)}.
+ */
+public interface PipelinedReplyDataHandler {
+
+	/**
+	 * Read the binary data of a reply from the connection
+	 *
+	 * @param requestIndex
+	 *            {@code int} with the position of the request in the batch
+	 * @param reply
+	 *            {@link Tag} with the reply, including the message header
+	 * @param length
+	 *            {@code int} with the number of bytes that must be read
+	 * @param irodsProtocol
+	 *            {@link IRODSMidLevelProtocol} to read the bytes from
+	 * @throws JargonException
+	 *             if the data cannot be read
+	 */
+	void readReplyData(int requestIndex, Tag reply, int length, IRODSMidLevelProtocol irodsProtocol)
+			throws JargonException;
+
+}
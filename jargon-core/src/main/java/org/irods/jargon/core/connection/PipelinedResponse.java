@@ -0,0 +1,92 @@
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.Tag;
+
+/**
+ * Reply to one request in a batch of requests pipelined on an agent connection
+ * by {@link IRODSMidLevelProtocol#irodsFunctionPipelined(java.util.List)}.
+ * <p>
+ * An iRODS error for one request does not stop the batch, instead it is held
+ * here and thrown from {@link #getResponse()}, so that each reply may be
+ * checked in the order the requests were given.
+ */
+public class PipelinedResponse {
+
+	private final Tag response;
+	private final JargonException exception;
+
+	/**
+	 * Create a response for a request that succeeded
+	 *
+	 * @param response
+	 *            {@link Tag} with the reply from iRODS, may be {@code null} for
+	 *            requests with no reply message
+	 * @return {@link PipelinedResponse}
+	 */
+	public static PipelinedResponse instance(final Tag response) {
+		return new PipelinedResponse(response, null);
+	}
+
+	/**
+	 * Create a response for a request that iRODS returned an error for
+	 *
+	 * @param exception
+	 *            {@link JargonException} with the error
+	 * @return {@link PipelinedResponse}
+	 */
+	public static PipelinedResponse instanceForException(final JargonException exception) {
+		if (exception == null) {
+			throw new IllegalArgumentException("null exception");
+		}
+		return new PipelinedResponse(null, exception);
+	}
+
+	private PipelinedResponse(final Tag response, final JargonException exception) {
+		this.response = response;
+		this.exception = exception;
+	}
+
+	/**
+	 * Get the reply to the request, throwing the error if iRODS returned one
+	 *
+	 * @return {@link Tag} with the reply from iRODS, may be {@code null}
+	 * @throws JargonException
+	 *             the error returned by iRODS for this request
+	 */
+	public Tag getResponse() throws JargonException {
+		if (exception != null) {
+			throw exception;
+		}
+		return response;
+	}
+
+	/**
+	 * @return {@code boolean} of {@code true} if iRODS did not return an error
+	 */
+	public boolean isSuccess() {
+		return exception == null;
+	}
+
+	/**
+	 * @return {@link JargonException} returned for this request, or {@code null}
+	 *         if the request succeeded
+	 */
+	public JargonException getException() {
+		return exception;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("PipelinedResponse [");
+		if (exception != null) {
+			builder.append("exception=").append(exception.getMessage());
+		} else {
+			builder.append("success");
+		}
+		builder.append("]");
+		return builder.toString();
+	}
+
+}
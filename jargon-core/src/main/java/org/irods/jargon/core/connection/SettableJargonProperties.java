@@ -2,6 +2,7 @@ package org.irods.jargon.core.connection;
 
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotiationPolicy;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.checksum.LocalChecksumStrategyEnum;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
 
@@ -21,7 +22,7 @@ import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
 public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 
 	private boolean useParallelTransfer = true;
-	private final boolean useNIOForParallelTransfers = false;
+	private boolean useNIOForParallelTransfers = false;
 	private int maxParallelThreads = 4;
 	private int maxFilesAndDirsQueryMax = 5000;
 	private boolean useTransferThreadsPool = false;
@@ -69,6 +70,35 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 	private int socketRenewalIntervalInSeconds;
 	private boolean longTransferRestart = true;
 	private boolean rulesSetDestinationWhenAuto = true;
+	private int pipelinedRequestWindowSize = 64;
+	private int connectionLeasePoolMaxSize = 8;
+	private int concurrentFileTransferThreads = 0;
+	private long smallFileBundleMaxFileSize = 1048576L;
+	private long smallFileBundleMaxSize = 268435456L;
+	private int smallFileBundleMinFiles = 16;
+	private boolean bundleSmallFiles = false;
+	private boolean adaptiveParallelTransfer = false;
+	private int adaptiveParallelSampleMillis = 2000;
+	private boolean streamingChecksum = false;
+	private LocalChecksumStrategyEnum localChecksumStrategy = LocalChecksumStrategyEnum.STREAM;
+	private int localChecksumThreads = 4;
+	private String longTransferRestartJournal = "";
+	private int longTransferRestartJournalSyncMillis = 1000;
+	private int randomAccessCacheBlocks = 0;
+	private int randomAccessCacheBlockSize = 65536;
+	private int randomAccessCacheReadAheadBlocks = 16;
+	private int fileReadRangesCoalesceGap = 65536;
+	private boolean objStatCache = false;
+	private int objStatCacheMaxEntries = 10000;
+	private long objStatCacheMaxBytes = 16777216L;
+	private long objStatCacheTtlMillis = 5000L;
+	private long objStatCacheNegativeTtlMillis = 2000L;
+	private boolean objStatCachePrefetchListings = true;
+	private boolean useAtomicMetadataOperations = true;
+	private boolean avuCache = false;
+	private int avuCacheMaxEntries = 5000;
+	private int avuCacheMaxAvus = 100000;
+	private long avuCacheTtlMillis = 60000L;
 	private String defaultIrodsRuleEngineIdentifier = "irods_rule_engine_plugin-irods_rule_language-instance";
 	private String defaultPythonRuleEngineIdentifier = "irods_rule_engine_plugin-cpp_default_policy-instance";
 	private String defaultCppRuleEngineIdentifier = "irods_rule_engine_plugin-cpp_default_policy-instance";
@@ -207,6 +237,36 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		defaultPythonRuleEngineIdentifier = jargonProperties.getDefaultPythonRuleEngineIdentifier();
 		defaultCppRuleEngineIdentifier = jargonProperties.getDefaultCppRuleEngineIdentifier();
 		rulesSetDestinationWhenAuto = jargonProperties.isRulesSetDestinationWhenAuto();
+		pipelinedRequestWindowSize = jargonProperties.getPipelinedRequestWindowSize();
+		connectionLeasePoolMaxSize = jargonProperties.getConnectionLeasePoolMaxSize();
+		useNIOForParallelTransfers = jargonProperties.isUseNIOForParallelTransfers();
+		concurrentFileTransferThreads = jargonProperties.getConcurrentFileTransferThreads();
+		smallFileBundleMaxFileSize = jargonProperties.getSmallFileBundleMaxFileSize();
+		smallFileBundleMaxSize = jargonProperties.getSmallFileBundleMaxSize();
+		smallFileBundleMinFiles = jargonProperties.getSmallFileBundleMinFiles();
+		bundleSmallFiles = jargonProperties.isBundleSmallFiles();
+		adaptiveParallelTransfer = jargonProperties.isAdaptiveParallelTransfer();
+		adaptiveParallelSampleMillis = jargonProperties.getAdaptiveParallelSampleMillis();
+		streamingChecksum = jargonProperties.isStreamingChecksum();
+		localChecksumStrategy = jargonProperties.getLocalChecksumStrategy();
+		localChecksumThreads = jargonProperties.getLocalChecksumThreads();
+		longTransferRestartJournal = jargonProperties.getLongTransferRestartJournal();
+		longTransferRestartJournalSyncMillis = jargonProperties.getLongTransferRestartJournalSyncMillis();
+		randomAccessCacheBlocks = jargonProperties.getRandomAccessCacheBlocks();
+		randomAccessCacheBlockSize = jargonProperties.getRandomAccessCacheBlockSize();
+		randomAccessCacheReadAheadBlocks = jargonProperties.getRandomAccessCacheReadAheadBlocks();
+		fileReadRangesCoalesceGap = jargonProperties.getFileReadRangesCoalesceGap();
+		objStatCache = jargonProperties.isObjStatCache();
+		objStatCacheMaxEntries = jargonProperties.getObjStatCacheMaxEntries();
+		objStatCacheMaxBytes = jargonProperties.getObjStatCacheMaxBytes();
+		objStatCacheTtlMillis = jargonProperties.getObjStatCacheTtlMillis();
+		objStatCacheNegativeTtlMillis = jargonProperties.getObjStatCacheNegativeTtlMillis();
+		objStatCachePrefetchListings = jargonProperties.isObjStatCachePrefetchListings();
+		useAtomicMetadataOperations = jargonProperties.isUseAtomicMetadataOperations();
+		avuCache = jargonProperties.isAvuCache();
+		avuCacheMaxEntries = jargonProperties.getAvuCacheMaxEntries();
+		avuCacheMaxAvus = jargonProperties.getAvuCacheMaxAvus();
+		avuCacheTtlMillis = jargonProperties.getAvuCacheTtlMillis();
 	}
 
 	@Override
@@ -760,7 +820,36 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 				.append(", primaryTcpPerformancePrefsBandwidth=").append(primaryTcpPerformancePrefsBandwidth)
 				.append(", socketRenewalIntervalInSeconds=").append(socketRenewalIntervalInSeconds)
 				.append(", longTransferRestart=").append(longTransferRestart).append(", rulesSetDestinationWhenAuto=")
-				.append(rulesSetDestinationWhenAuto).append(", ");
+				.append(rulesSetDestinationWhenAuto).append(", pipelinedRequestWindowSize=")
+				.append(pipelinedRequestWindowSize).append(", connectionLeasePoolMaxSize=")
+				.append(connectionLeasePoolMaxSize).append(", concurrentFileTransferThreads=")
+				.append(concurrentFileTransferThreads).append(", smallFileBundleMaxFileSize=")
+				.append(smallFileBundleMaxFileSize).append(", smallFileBundleMaxSize=")
+				.append(smallFileBundleMaxSize).append(", smallFileBundleMinFiles=")
+				.append(smallFileBundleMinFiles).append(", bundleSmallFiles=")
+				.append(bundleSmallFiles).append(", adaptiveParallelTransfer=")
+				.append(adaptiveParallelTransfer).append(", adaptiveParallelSampleMillis=")
+				.append(adaptiveParallelSampleMillis).append(", streamingChecksum=")
+				.append(streamingChecksum).append(", localChecksumStrategy=")
+				.append(localChecksumStrategy).append(", localChecksumThreads=")
+				.append(localChecksumThreads).append(", longTransferRestartJournal=")
+				.append(longTransferRestartJournal).append(", longTransferRestartJournalSyncMillis=")
+				.append(longTransferRestartJournalSyncMillis).append(", randomAccessCacheBlocks=")
+				.append(randomAccessCacheBlocks).append(", randomAccessCacheBlockSize=")
+				.append(randomAccessCacheBlockSize).append(", randomAccessCacheReadAheadBlocks=")
+				.append(randomAccessCacheReadAheadBlocks).append(", fileReadRangesCoalesceGap=")
+				.append(fileReadRangesCoalesceGap).append(", objStatCache=")
+				.append(objStatCache).append(", objStatCacheMaxEntries=")
+				.append(objStatCacheMaxEntries).append(", objStatCacheMaxBytes=")
+				.append(objStatCacheMaxBytes).append(", objStatCacheTtlMillis=")
+				.append(objStatCacheTtlMillis).append(", objStatCacheNegativeTtlMillis=")
+				.append(objStatCacheNegativeTtlMillis).append(", objStatCachePrefetchListings=")
+				.append(objStatCachePrefetchListings).append(", useAtomicMetadataOperations=")
+				.append(useAtomicMetadataOperations).append(", avuCache=")
+				.append(avuCache).append(", avuCacheMaxEntries=")
+				.append(avuCacheMaxEntries).append(", avuCacheMaxAvus=")
+				.append(avuCacheMaxAvus).append(", avuCacheTtlMillis=")
+				.append(avuCacheTtlMillis).append(", ");
 		if (defaultIrodsRuleEngineIdentifier != null) {
 			builder.append("defaultIrodsRuleEngineIdentifier=").append(defaultIrodsRuleEngineIdentifier).append(", ");
 		}
@@ -922,10 +1011,6 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		this.defaultPythonRuleEngineIdentifier = defaultPythonRuleEngineIdentifier;
 	}
 
-	public boolean isUseNIOForParallelTransfers() {
-		return useNIOForParallelTransfers;
-	}
-
 	@Override
 	public String getDefaultCppRuleEngineIdentifier() {
 		return defaultCppRuleEngineIdentifier;
@@ -946,4 +1031,308 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		this.rulesSetDestinationWhenAuto = rulesSetDestinationWhenAuto;
 	}
 
+	@Override
+	public synchronized int getPipelinedRequestWindowSize() {
+		return pipelinedRequestWindowSize;
+	}
+
+	@Override
+	public synchronized void setPipelinedRequestWindowSize(final int pipelinedRequestWindowSize) {
+		this.pipelinedRequestWindowSize = pipelinedRequestWindowSize;
+	}
+
+	@Override
+	public synchronized int getConnectionLeasePoolMaxSize() {
+		return connectionLeasePoolMaxSize;
+	}
+
+	@Override
+	public synchronized void setConnectionLeasePoolMaxSize(final int connectionLeasePoolMaxSize) {
+		this.connectionLeasePoolMaxSize = connectionLeasePoolMaxSize;
+	}
+
+	@Override
+	public synchronized boolean isUseNIOForParallelTransfers() {
+		return useNIOForParallelTransfers;
+	}
+
+	@Override
+	public synchronized void setUseNIOForParallelTransfers(final boolean useNIOForParallelTransfers) {
+		this.useNIOForParallelTransfers = useNIOForParallelTransfers;
+	}
+
+	@Override
+	public synchronized int getConcurrentFileTransferThreads() {
+		return concurrentFileTransferThreads;
+	}
+
+	@Override
+	public synchronized void setConcurrentFileTransferThreads(final int concurrentFileTransferThreads) {
+		this.concurrentFileTransferThreads = concurrentFileTransferThreads;
+	}
+
+	@Override
+	public synchronized long getSmallFileBundleMaxFileSize() {
+		return smallFileBundleMaxFileSize;
+	}
+
+	@Override
+	public synchronized void setSmallFileBundleMaxFileSize(final long smallFileBundleMaxFileSize) {
+		this.smallFileBundleMaxFileSize = smallFileBundleMaxFileSize;
+	}
+
+	@Override
+	public synchronized long getSmallFileBundleMaxSize() {
+		return smallFileBundleMaxSize;
+	}
+
+	@Override
+	public synchronized void setSmallFileBundleMaxSize(final long smallFileBundleMaxSize) {
+		this.smallFileBundleMaxSize = smallFileBundleMaxSize;
+	}
+
+	@Override
+	public synchronized int getSmallFileBundleMinFiles() {
+		return smallFileBundleMinFiles;
+	}
+
+	@Override
+	public synchronized void setSmallFileBundleMinFiles(final int smallFileBundleMinFiles) {
+		this.smallFileBundleMinFiles = smallFileBundleMinFiles;
+	}
+
+	@Override
+	public synchronized boolean isBundleSmallFiles() {
+		return bundleSmallFiles;
+	}
+
+	@Override
+	public synchronized void setBundleSmallFiles(final boolean bundleSmallFiles) {
+		this.bundleSmallFiles = bundleSmallFiles;
+	}
+
+	@Override
+	public synchronized boolean isAdaptiveParallelTransfer() {
+		return adaptiveParallelTransfer;
+	}
+
+	@Override
+	public synchronized void setAdaptiveParallelTransfer(final boolean adaptiveParallelTransfer) {
+		this.adaptiveParallelTransfer = adaptiveParallelTransfer;
+	}
+
+	@Override
+	public synchronized int getAdaptiveParallelSampleMillis() {
+		return adaptiveParallelSampleMillis;
+	}
+
+	@Override
+	public synchronized void setAdaptiveParallelSampleMillis(final int adaptiveParallelSampleMillis) {
+		this.adaptiveParallelSampleMillis = adaptiveParallelSampleMillis;
+	}
+
+	@Override
+	public synchronized boolean isStreamingChecksum() {
+		return streamingChecksum;
+	}
+
+	@Override
+	public synchronized void setStreamingChecksum(final boolean streamingChecksum) {
+		this.streamingChecksum = streamingChecksum;
+	}
+
+	@Override
+	public synchronized LocalChecksumStrategyEnum getLocalChecksumStrategy() {
+		return localChecksumStrategy;
+	}
+
+	@Override
+	public synchronized void setLocalChecksumStrategy(final LocalChecksumStrategyEnum localChecksumStrategy) {
+		if (localChecksumStrategy == null) {
+			throw new IllegalArgumentException("null localChecksumStrategy");
+		}
+
+		this.localChecksumStrategy = localChecksumStrategy;
+	}
+
+	@Override
+	public synchronized int getLocalChecksumThreads() {
+		return localChecksumThreads;
+	}
+
+	@Override
+	public synchronized void setLocalChecksumThreads(final int localChecksumThreads) {
+		this.localChecksumThreads = localChecksumThreads;
+	}
+
+	@Override
+	public synchronized String getLongTransferRestartJournal() {
+		return longTransferRestartJournal;
+	}
+
+	@Override
+	public synchronized void setLongTransferRestartJournal(final String longTransferRestartJournal) {
+		this.longTransferRestartJournal = longTransferRestartJournal;
+	}
+
+	@Override
+	public synchronized int getLongTransferRestartJournalSyncMillis() {
+		return longTransferRestartJournalSyncMillis;
+	}
+
+	@Override
+	public synchronized void setLongTransferRestartJournalSyncMillis(final int longTransferRestartJournalSyncMillis) {
+		this.longTransferRestartJournalSyncMillis = longTransferRestartJournalSyncMillis;
+	}
+
+	@Override
+	public synchronized int getRandomAccessCacheBlocks() {
+		return randomAccessCacheBlocks;
+	}
+
+	@Override
+	public synchronized void setRandomAccessCacheBlocks(final int randomAccessCacheBlocks) {
+		this.randomAccessCacheBlocks = randomAccessCacheBlocks;
+	}
+
+	@Override
+	public synchronized int getRandomAccessCacheBlockSize() {
+		return randomAccessCacheBlockSize;
+	}
+
+	@Override
+	public synchronized void setRandomAccessCacheBlockSize(final int randomAccessCacheBlockSize) {
+		this.randomAccessCacheBlockSize = randomAccessCacheBlockSize;
+	}
+
+	@Override
+	public synchronized int getRandomAccessCacheReadAheadBlocks() {
+		return randomAccessCacheReadAheadBlocks;
+	}
+
+	@Override
+	public synchronized void setRandomAccessCacheReadAheadBlocks(final int randomAccessCacheReadAheadBlocks) {
+		this.randomAccessCacheReadAheadBlocks = randomAccessCacheReadAheadBlocks;
+	}
+
+	@Override
+	public synchronized int getFileReadRangesCoalesceGap() {
+		return fileReadRangesCoalesceGap;
+	}
+
+	@Override
+	public synchronized void setFileReadRangesCoalesceGap(final int fileReadRangesCoalesceGap) {
+		this.fileReadRangesCoalesceGap = fileReadRangesCoalesceGap;
+	}
+
+	@Override
+	public synchronized boolean isObjStatCache() {
+		return objStatCache;
+	}
+
+	@Override
+	public synchronized void setObjStatCache(final boolean objStatCache) {
+		this.objStatCache = objStatCache;
+	}
+
+	@Override
+	public synchronized int getObjStatCacheMaxEntries() {
+		return objStatCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheMaxEntries(final int objStatCacheMaxEntries) {
+		this.objStatCacheMaxEntries = objStatCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized long getObjStatCacheMaxBytes() {
+		return objStatCacheMaxBytes;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheMaxBytes(final long objStatCacheMaxBytes) {
+		this.objStatCacheMaxBytes = objStatCacheMaxBytes;
+	}
+
+	@Override
+	public synchronized long getObjStatCacheTtlMillis() {
+		return objStatCacheTtlMillis;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheTtlMillis(final long objStatCacheTtlMillis) {
+		this.objStatCacheTtlMillis = objStatCacheTtlMillis;
+	}
+
+	@Override
+	public synchronized long getObjStatCacheNegativeTtlMillis() {
+		return objStatCacheNegativeTtlMillis;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheNegativeTtlMillis(final long objStatCacheNegativeTtlMillis) {
+		this.objStatCacheNegativeTtlMillis = objStatCacheNegativeTtlMillis;
+	}
+
+	@Override
+	public synchronized boolean isObjStatCachePrefetchListings() {
+		return objStatCachePrefetchListings;
+	}
+
+	@Override
+	public synchronized void setObjStatCachePrefetchListings(final boolean objStatCachePrefetchListings) {
+		this.objStatCachePrefetchListings = objStatCachePrefetchListings;
+	}
+
+	@Override
+	public synchronized boolean isUseAtomicMetadataOperations() {
+		return useAtomicMetadataOperations;
+	}
+
+	@Override
+	public synchronized void setUseAtomicMetadataOperations(final boolean useAtomicMetadataOperations) {
+		this.useAtomicMetadataOperations = useAtomicMetadataOperations;
+	}
+
+	@Override
+	public synchronized boolean isAvuCache() {
+		return avuCache;
+	}
+
+	@Override
+	public synchronized void setAvuCache(final boolean avuCache) {
+		this.avuCache = avuCache;
+	}
+
+	@Override
+	public synchronized int getAvuCacheMaxEntries() {
+		return avuCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized void setAvuCacheMaxEntries(final int avuCacheMaxEntries) {
+		this.avuCacheMaxEntries = avuCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized int getAvuCacheMaxAvus() {
+		return avuCacheMaxAvus;
+	}
+
+	@Override
+	public synchronized void setAvuCacheMaxAvus(final int avuCacheMaxAvus) {
+		this.avuCacheMaxAvus = avuCacheMaxAvus;
+	}
+
+	@Override
+	public synchronized long getAvuCacheTtlMillis() {
+		return avuCacheTtlMillis;
+	}
+
+	@Override
+	public synchronized void setAvuCacheTtlMillis(final long avuCacheTtlMillis) {
+		this.avuCacheTtlMillis = avuCacheTtlMillis;
+	}
+
 }
@@ -4,6 +4,7 @@
 package org.irods.jargon.core.connection;
 
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicy.SslNegotiationPolicy;
+import org.irods.jargon.core.checksum.LocalChecksumStrategyEnum;
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
 
@@ -139,4 +140,64 @@ public interface SettableJargonPropertiesMBean extends JargonProperties {
 
 	void setMaxFilesAndDirsQueryMax(final int maxFilesAndDirsQueryMax);
 
+	void setPipelinedRequestWindowSize(final int pipelinedRequestWindowSize);
+
+	void setConnectionLeasePoolMaxSize(final int connectionLeasePoolMaxSize);
+
+	void setUseNIOForParallelTransfers(final boolean useNIOForParallelTransfers);
+
+	void setConcurrentFileTransferThreads(final int concurrentFileTransferThreads);
+
+	void setSmallFileBundleMaxFileSize(final long smallFileBundleMaxFileSize);
+
+	void setSmallFileBundleMaxSize(final long smallFileBundleMaxSize);
+
+	void setSmallFileBundleMinFiles(final int smallFileBundleMinFiles);
+
+	void setBundleSmallFiles(final boolean bundleSmallFiles);
+
+	void setAdaptiveParallelTransfer(final boolean adaptiveParallelTransfer);
+
+	void setAdaptiveParallelSampleMillis(final int adaptiveParallelSampleMillis);
+
+	void setStreamingChecksum(final boolean streamingChecksum);
+
+	void setLocalChecksumStrategy(final LocalChecksumStrategyEnum localChecksumStrategy);
+
+	void setLocalChecksumThreads(final int localChecksumThreads);
+
+	void setLongTransferRestartJournal(final String longTransferRestartJournal);
+
+	void setLongTransferRestartJournalSyncMillis(final int longTransferRestartJournalSyncMillis);
+
+	void setRandomAccessCacheBlocks(final int randomAccessCacheBlocks);
+
+	void setRandomAccessCacheBlockSize(final int randomAccessCacheBlockSize);
+
+	void setRandomAccessCacheReadAheadBlocks(final int randomAccessCacheReadAheadBlocks);
+
+	void setFileReadRangesCoalesceGap(final int fileReadRangesCoalesceGap);
+
+	void setObjStatCache(final boolean objStatCache);
+
+	void setObjStatCacheMaxEntries(final int objStatCacheMaxEntries);
+
+	void setObjStatCacheMaxBytes(final long objStatCacheMaxBytes);
+
+	void setObjStatCacheTtlMillis(final long objStatCacheTtlMillis);
+
+	void setObjStatCacheNegativeTtlMillis(final long objStatCacheNegativeTtlMillis);
+
+	void setObjStatCachePrefetchListings(final boolean objStatCachePrefetchListings);
+
+	void setUseAtomicMetadataOperations(final boolean useAtomicMetadataOperations);
+
+	void setAvuCache(final boolean avuCache);
+
+	void setAvuCacheMaxEntries(final int avuCacheMaxEntries);
+
+	void setAvuCacheMaxAvus(final int avuCacheMaxAvus);
+
+	void setAvuCacheTtlMillis(final long avuCacheTtlMillis);
+
 }
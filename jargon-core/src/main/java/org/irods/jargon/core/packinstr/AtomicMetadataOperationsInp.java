@@ -0,0 +1,208 @@
+package org.irods.jargon.core.packinstr;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.ActionType;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.MetadataTargetType;
+import org.irods.jargon.core.pub.domain.AvuData;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Request to the atomic apply metadata operations API (iRODS 4.2.8 and later),
+ * which adds or removes a list of AVUs on one collection, data object,
+ * resource or user in a single catalog transaction. The operations are sent as
+ * JSON in a {@code BytesBuf_PI}. Either all of them are applied or, on error,
+ * none are. The API has no modify operation, so a modify is sent as a remove of
+ * the current AVU followed by an add of the new one.
+ */
+public class AtomicMetadataOperationsInp extends AbstractIRODSPackingInstruction {
+
+	public static final String PI_TAG = "BytesBuf_PI";
+	public static final String BUFLEN = "buflen";
+	public static final String BUF = "buf";
+
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final String targetIdentifier;
+	private final MetadataTargetType metadataTargetType;
+	private final ActionType actionType;
+	private final List<AvuData> avuData;
+	private final List<AvuData> currentAvuData;
+
+	/**
+	 * Create an instance of the packing instruction that applies the same action
+	 * to each of the given AVUs
+	 *
+	 * @param targetIdentifier
+	 *            {@code String} with the path or unique name of the object the
+	 *            metadata belongs to
+	 * @param metadataTargetType
+	 *            {@link MetadataTargetType} of the object
+	 * @param actionType
+	 *            {@link ActionType}, either {@code ADD} or {@code REMOVE}
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to add or remove
+	 * @return {@link AtomicMetadataOperationsInp}
+	 */
+	public static AtomicMetadataOperationsInp instance(final String targetIdentifier,
+			final MetadataTargetType metadataTargetType, final ActionType actionType, final List<AvuData> avuData) {
+		if (actionType != ActionType.ADD && actionType != ActionType.REMOVE) {
+			throw new IllegalArgumentException("only add and remove are atomic metadata operations");
+		}
+
+		return new AtomicMetadataOperationsInp(targetIdentifier, metadataTargetType, actionType, avuData, null);
+	}
+
+	/**
+	 * Create an instance of the packing instruction that replaces each current AVU
+	 * with the new AVU at the same position, as a remove followed by an add
+	 *
+	 * @param targetIdentifier
+	 *            {@code String} with the path or unique name of the object the
+	 *            metadata belongs to
+	 * @param metadataTargetType
+	 *            {@link MetadataTargetType} of the object
+	 * @param currentAvuData
+	 *            {@code List} of {@link AvuData} to replace
+	 * @param newAvuData
+	 *            {@code List} of {@link AvuData} with the replacement for each
+	 *            current AVU
+	 * @return {@link AtomicMetadataOperationsInp}
+	 */
+	public static AtomicMetadataOperationsInp instanceForModify(final String targetIdentifier,
+			final MetadataTargetType metadataTargetType, final List<AvuData> currentAvuData,
+			final List<AvuData> newAvuData) {
+		if (currentAvuData == null || newAvuData == null || currentAvuData.size() != newAvuData.size()) {
+			throw new IllegalArgumentException("current and new avuData must be the same size");
+		}
+
+		return new AtomicMetadataOperationsInp(targetIdentifier, metadataTargetType, ActionType.MOD, newAvuData,
+				currentAvuData);
+	}
+
+	private AtomicMetadataOperationsInp(final String targetIdentifier, final MetadataTargetType metadataTargetType,
+			final ActionType actionType, final List<AvuData> avuData, final List<AvuData> currentAvuData) {
+		if (targetIdentifier == null || targetIdentifier.isEmpty()) {
+			throw new IllegalArgumentException("null or empty targetIdentifier");
+		}
+
+		if (metadataTargetType == null) {
+			throw new IllegalArgumentException("null metadataTargetType");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		this.targetIdentifier = targetIdentifier;
+		this.metadataTargetType = metadataTargetType;
+		this.actionType = actionType;
+		this.avuData = avuData;
+		this.currentAvuData = currentAvuData;
+		setApiNumber(MiscApiConstants.ATOMIC_APPLY_METADATA_OPERATIONS_APN);
+	}
+
+	/**
+	 * Build the JSON document the API expects
+	 *
+	 * @return {@code String} with the operations as JSON
+	 * @throws JargonException
+	 *             if the JSON cannot be written
+	 */
+	public String buildJson() throws JargonException {
+		ObjectNode request = objectMapper.createObjectNode();
+		request.put("entity_name", targetIdentifier);
+		request.put("entity_type", entityType());
+		ArrayNode operations = request.putArray("operations");
+		for (int i = 0; i < avuData.size(); i++) {
+			if (actionType == ActionType.MOD) {
+				addOperation(operations, "remove", currentAvuData.get(i));
+				addOperation(operations, "add", avuData.get(i));
+			} else {
+				addOperation(operations, actionType == ActionType.ADD ? "add" : "remove", avuData.get(i));
+			}
+		}
+
+		try {
+			return objectMapper.writeValueAsString(request);
+		} catch (JsonProcessingException e) {
+			throw new JargonException("unable to write atomic metadata request", e);
+		}
+	}
+
+	private static void addOperation(final ArrayNode operations, final String operation, final AvuData avu) {
+		ObjectNode node = operations.addObject();
+		node.put("operation", operation);
+		node.put("attribute", avu.getAttribute());
+		node.put("value", avu.getValue());
+		if (!avu.getUnit().isEmpty()) {
+			node.put("units", avu.getUnit());
+		}
+	}
+
+	private String entityType() throws JargonException {
+		switch (metadataTargetType) {
+		case COLLECTION:
+			return "collection";
+		case DATA_OBJECT:
+			return "data_object";
+		case RESOURCE:
+			return "resource";
+		case USER:
+			return "user";
+		default:
+			throw new JargonException("metadata target type is not currently supported:" + metadataTargetType);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.packinstr.AbstractIRODSPackingInstruction#getTagValue
+	 * ()
+	 */
+	@Override
+	public Tag getTagValue() throws JargonException {
+		String json = buildJson();
+		Tag message = new Tag(PI_TAG);
+		message.addTag(BUFLEN, String.valueOf(json.getBytes(StandardCharsets.UTF_8).length));
+		message.addTag(BUF, json);
+		return message;
+	}
+
+	public String getTargetIdentifier() {
+		return targetIdentifier;
+	}
+
+	public MetadataTargetType getMetadataTargetType() {
+		return metadataTargetType;
+	}
+
+	public ActionType getActionType() {
+		return actionType;
+	}
+
+	/**
+	 * @return {@code List} of {@link AvuData} added or removed, or the new AVUs
+	 *         of a modify
+	 */
+	public List<AvuData> getAvuData() {
+		return avuData;
+	}
+
+	/**
+	 * @return {@code List} of {@link AvuData} replaced by a modify, or
+	 *         {@code null} for an add or remove
+	 */
+	public List<AvuData> getCurrentAvuData() {
+		return currentAvuData;
+	}
+
+}
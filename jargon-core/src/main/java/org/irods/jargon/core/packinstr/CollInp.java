@@ -88,6 +88,27 @@ public class CollInp extends AbstractIRODSPackingInstruction {
 		return new CollInp(collectionName, true, true);
 	}
 
+	/**
+	 * Create the packing instruction to create a collection, carrying the mkdir
+	 * api number so that it may be sent in a pipelined batch of requests.
+	 *
+	 * @param collectionName
+	 *            {@code String} with the absolute path to the iRODS collection to
+	 *            be created.
+	 * @param recursiveOperation
+	 *            {@code boolean} that indicates whether missing parents are also
+	 *            created
+	 * @return {@code CollInp} packing instruction.
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public static final CollInp instanceForCreateCollection(final String collectionName,
+			final boolean recursiveOperation) throws JargonException {
+		CollInp collInp = new CollInp(collectionName, recursiveOperation);
+		collInp.setApiNumber(MKDIR_API_NBR);
+		return collInp;
+	}
+
 	public static final CollInp instance(final String collectionName, final boolean recursiveOperation)
 			throws JargonException {
 		return new CollInp(collectionName, recursiveOperation);
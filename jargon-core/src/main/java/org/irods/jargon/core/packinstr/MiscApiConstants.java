@@ -15,5 +15,6 @@ public class MiscApiConstants {
 	public static final int IES_CLIENT_HINTS_AN = 10216;
 	public static final int SERVER_REPORT_AN = 10204;
 	public static final int ZONE_REPORT_AN = 10205;
+	public static final int ATOMIC_APPLY_METADATA_OPERATIONS_APN = 20002;
 
 }
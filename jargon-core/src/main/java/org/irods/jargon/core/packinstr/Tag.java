@@ -2,6 +2,7 @@ package org.irods.jargon.core.packinstr;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -456,13 +457,50 @@ public class Tag implements Cloneable {
 		return readNextTag(data, true, encoding);
 	}
 
+	/**
+	 * Read the data buffer to discover the first tag, and build the tag along with
+	 * all of its sub tags.
+	 * <p>
+	 * For the usual ASCII compatible encodings the tag is built in one pass over
+	 * the bytes by {@link TagParser}, other encodings are decoded to a
+	 * {@code String} first and parsed from there.
+	 *
+	 * @param data
+	 *            {@code byte[]} with the packing instruction
+	 * @param decode
+	 *            {@code boolean} indicating whether entities in the tag values are
+	 *            decoded
+	 * @param encoding
+	 *            {@code String}
+	 * @return {@link Tag}
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
 	public static Tag readNextTag(final byte[] data, final boolean decode, final String encoding)
 			throws UnsupportedEncodingException {
 		if (data == null) {
 			return null;
 		}
 
-		String d = new String(data, encoding);
+		Charset charset = charsetFor(encoding);
+		if (TagParser.isSupportedEncoding(charset)) {
+			return TagParser.parse(data, 0, data.length, decode, charset);
+		}
+
+		return readNextTagFromString(new String(data, charset), decode);
+	}
+
+	private static Charset charsetFor(final String encoding) throws UnsupportedEncodingException {
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+	}
+
+	private static Tag readNextTagFromString(final String data, final boolean decode)
+			throws UnsupportedEncodingException {
+		String d = data;
 
 		// remove the random '\n'
 		// had to find the end, sometimes '\n' is there, sometimes not.
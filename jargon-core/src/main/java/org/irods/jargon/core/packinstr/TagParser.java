@@ -0,0 +1,284 @@
+package org.irods.jargon.core.packinstr;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Single pass parser that builds a {@link Tag} tree directly from the bytes of
+ * an iRODS XML packing instruction.
+ * <p>
+ * The bytes are scanned once, tag names are shared between tags of the same
+ * name in a message (so the thousands of {@code value} tags in a
+ * {@code GenQueryOut_PI} point at one {@code String}), and leaf values are
+ * decoded straight from the byte array, only going through a scratch buffer
+ * when entities need to be replaced.
+ * <p>
+ * Scanning for markup at the byte level is only valid for encodings where the
+ * ASCII markup characters can't appear inside a multi-byte sequence, see
+ * {@link #isSupportedEncoding(Charset)}. The results are the same as the
+ * original {@code String} based parsing in {@code Tag}, including the removal
+ * of a new line following a '&gt;' and the decoding of entities.
+ * <p>
+ * Instances are not thread safe, and are meant to be used for the parse of one
+ * message.
+ */
+final class TagParser {
+
+	private static final byte LT = '<';
+	private static final byte GT = '>';
+	private static final byte SLASH = '/';
+	private static final byte NEW_LINE = '\n';
+	private static final byte AMP = '&';
+	private static final byte SEMI = ';';
+
+	private final byte[] data;
+	private final int end;
+	private final boolean decode;
+	private final Charset charset;
+
+	private int pos;
+
+	/**
+	 * distinct tag names seen in this message, a message typically has a handful
+	 */
+	private String[] names = new String[16];
+	private int nameCount = 0;
+
+	/**
+	 * lazily allocated buffer used when a value needs entity decoding
+	 */
+	private byte[] scratch = null;
+
+	private TagParser(final byte[] data, final int offset, final int length, final boolean decode,
+			final Charset charset) {
+		this.data = data;
+		this.pos = offset;
+		this.end = offset + length;
+		this.decode = decode;
+		this.charset = charset;
+	}
+
+	/**
+	 * Parse the first tag found in the given bytes, including all of its sub
+	 * tags.
+	 *
+	 * @param data
+	 *            {@code byte[]} with the packing instruction
+	 * @param offset
+	 *            {@code int} with the offset in {@code data} to start at
+	 * @param length
+	 *            {@code int} with the number of bytes to consider
+	 * @param decode
+	 *            {@code boolean} indicating whether entities in values are
+	 *            decoded
+	 * @param charset
+	 *            {@link Charset} of the data, must be one where
+	 *            {@link #isSupportedEncoding(Charset)} is {@code true}
+	 * @return {@link Tag} or {@code null} if no tag was found
+	 */
+	static Tag parse(final byte[] data, final int offset, final int length, final boolean decode,
+			final Charset charset) {
+		TagParser parser = new TagParser(data, offset, length, decode, charset);
+		int start = parser.indexOf(LT, offset);
+		if (start < 0) {
+			return null;
+		}
+		parser.pos = start;
+		return parser.readTag();
+	}
+
+	/**
+	 * Check if the parser can scan bytes in the given encoding. This is the case
+	 * for encodings where the ASCII characters are single bytes that never appear
+	 * as part of another character.
+	 *
+	 * @param charset
+	 *            {@link Charset} to check
+	 * @return {@code boolean} of {@code true} if the encoding can be parsed
+	 */
+	static boolean isSupportedEncoding(final Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Read the tag starting at the current '&lt;' and leave the position after its
+	 * end tag.
+	 */
+	private Tag readTag() {
+		int nameStart = pos + 1;
+		int nameEnd = indexOf(GT, nameStart);
+		if (nameEnd < 0) {
+			nameEnd = end;
+		}
+
+		Tag tag = new Tag(nameFor(nameStart, nameEnd));
+		pos = nameEnd + 1;
+
+		int next = indexOf(LT, pos);
+		if (next < 0) {
+			pos = end;
+			return tag;
+		}
+
+		if (next + 1 < end && data[next + 1] == SLASH) {
+			tag.value = valueFor(pos, next);
+			pos = skipEndTag(next);
+			return tag;
+		}
+
+		while (next >= 0) {
+			if (next + 1 < end && data[next + 1] == SLASH) {
+				pos = skipEndTag(next);
+				return tag;
+			}
+			pos = next;
+			tag.addTag(readTag());
+			next = indexOf(LT, pos);
+		}
+
+		pos = end;
+		return tag;
+	}
+
+	private int skipEndTag(final int endTagStart) {
+		int close = indexOf(GT, endTagStart);
+		return close < 0 ? end : close + 1;
+	}
+
+	private int indexOf(final byte b, final int from) {
+		for (int i = from; i < end; i++) {
+			if (data[i] == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return a shared {@code String} for the tag name in the given range
+	 */
+	private String nameFor(final int start, final int stop) {
+		int len = stop - start;
+		for (int i = 0; i < nameCount; i++) {
+			String candidate = names[i];
+			if (candidate.length() == len && sameChars(candidate, start)) {
+				return candidate;
+			}
+		}
+
+		String name = new String(data, start, len, charset);
+		if (nameCount == names.length) {
+			String[] grown = new String[names.length * 2];
+			System.arraycopy(names, 0, grown, 0, nameCount);
+			names = grown;
+		}
+		names[nameCount++] = name;
+		return name;
+	}
+
+	private boolean sameChars(final String candidate, final int start) {
+		for (int i = 0; i < candidate.length(); i++) {
+			if (candidate.charAt(i) != (data[start + i] & 0xff)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Decode the value in the given range. A new line directly after a '&gt;'
+	 * (including the one closing the start tag) is dropped, and entities are
+	 * replaced if decoding was requested.
+	 */
+	private String valueFor(final int start, final int stop) {
+		boolean plain = true;
+		for (int i = start; i < stop; i++) {
+			byte b = data[i];
+			if (b == GT || (decode && b == AMP) || (i == start && b == NEW_LINE)) {
+				plain = false;
+				break;
+			}
+		}
+
+		if (plain) {
+			return new String(data, start, stop - start, charset);
+		}
+
+		if (scratch == null || scratch.length < stop - start) {
+			scratch = new byte[Math.max(stop - start, 256)];
+		}
+
+		int out = 0;
+		int i = start;
+		if (data[i] == NEW_LINE) {
+			i++;
+		}
+
+		while (i < stop) {
+			byte b = data[i];
+			if (b == GT && i + 1 < stop && data[i + 1] == NEW_LINE) {
+				scratch[out++] = b;
+				i += 2;
+				continue;
+			}
+
+			if (decode && b == AMP) {
+				int semi = entityEnd(i, stop);
+				byte replacement = semi < 0 ? 0 : entityValue(i + 1, semi - i - 1);
+				if (replacement != 0) {
+					scratch[out++] = replacement;
+					i = semi + 1;
+					continue;
+				}
+			}
+
+			scratch[out++] = b;
+			i++;
+		}
+
+		return new String(scratch, 0, out, charset);
+	}
+
+	/**
+	 * Find the ';' closing an entity that starts with the '&amp;' at the given
+	 * position, giving up at the length of the longest known entity or at
+	 * another '&amp;'.
+	 *
+	 * @return {@code int} with the position of the ';' or -1
+	 */
+	private int entityEnd(final int amp, final int stop) {
+		for (int i = amp + 1; i < stop && i <= amp + 5; i++) {
+			if (data[i] == SEMI) {
+				return i;
+			} else if (data[i] == AMP) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the character for the entity name in the given range, or 0 if it is not
+	 * a known entity. Mirrors the decoding in {@code Tag.setValue()}.
+	 */
+	private byte entityValue(final int start, final int len) {
+		if (matches(start, len, "amp")) {
+			return '&';
+		} else if (matches(start, len, "lt")) {
+			return '<';
+		} else if (matches(start, len, "gt")) {
+			return '>';
+		} else if (matches(start, len, "quot")) {
+			return '"';
+		} else if (matches(start, len, "apos")) {
+			return '`';
+		}
+		return 0;
+	}
+
+	private boolean matches(final int start, final int len, final String entity) {
+		return entity.length() == len && sameChars(entity, start);
+	}
+
+}
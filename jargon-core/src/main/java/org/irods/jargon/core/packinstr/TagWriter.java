@@ -0,0 +1,224 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializes a {@link Tag} tree straight into a reusable byte buffer, escaping
+ * values as they are written. The bytes produced are the same as
+ * {@code tag.parseTag().getBytes(encoding)}, without building a
+ * {@code String} for each nested tag.
+ * <p>
+ * A writer is meant to be owned by one connection and reused for each message
+ * sent, see {@code IRODSMidLevelProtocol}. The contents of the buffer are only
+ * valid until the next call to {@link #write(Tag)}. This class is not thread
+ * safe.
+ */
+public final class TagWriter {
+
+	/**
+	 * Initial size of the buffer, enough for typical API requests
+	 */
+	public static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
+	/**
+	 * A buffer grown past this size for a large message is dropped on the next
+	 * write, so that a connection does not hold on to it
+	 */
+	public static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+	private static final byte[] NULL_VALUE = { 'n', 'u', 'l', 'l' };
+
+	private final Charset charset;
+	private final boolean utf8;
+	private final boolean singleByte;
+	private final char maxSingleByteChar;
+
+	private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+	private int length = 0;
+
+	/**
+	 * Create a writer for the given encoding
+	 *
+	 * @param encoding
+	 *            {@code String} with the encoding used on the connection
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public TagWriter(final String encoding) throws UnsupportedEncodingException {
+		if (encoding == null || encoding.isEmpty()) {
+			throw new IllegalArgumentException("null or empty encoding");
+		}
+
+		try {
+			charset = Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+
+		utf8 = charset.equals(StandardCharsets.UTF_8);
+		singleByte = charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.ISO_8859_1);
+		maxSingleByteChar = charset.equals(StandardCharsets.ISO_8859_1) ? (char) 0xff : (char) 0x7f;
+	}
+
+	/**
+	 * Serialize the given tag into the buffer, replacing any previous contents.
+	 *
+	 * @param tag
+	 *            {@link Tag} to write
+	 * @return {@code int} with the number of bytes written, the bytes are found
+	 *         at the start of {@link #getBuffer()}
+	 */
+	public int write(final Tag tag) {
+		if (tag == null) {
+			throw new IllegalArgumentException("null tag");
+		}
+
+		if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+			buffer = new byte[INITIAL_BUFFER_SIZE];
+		}
+
+		length = 0;
+
+		if (utf8 || singleByte) {
+			writeTag(tag);
+		} else {
+			byte[] parsed = tag.parseTag().getBytes(charset);
+			ensureCapacity(parsed.length);
+			System.arraycopy(parsed, 0, buffer, 0, parsed.length);
+			length = parsed.length;
+		}
+
+		return length;
+	}
+
+	/**
+	 * @return {@code byte[]} holding the last message written, only the first
+	 *         {@link #getLength()} bytes are valid
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * @return {@code int} with the length of the last message written
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * Decode the last message written, for logging
+	 */
+	@Override
+	public String toString() {
+		return new String(buffer, 0, length, charset);
+	}
+
+	private void writeTag(final Tag tag) {
+		writeByte(Tag.OPEN_START_TAG);
+		writeChars(tag.tagName, false);
+		writeByte(Tag.CLOSE_START_TAG);
+
+		if (tag.tags != null) {
+			for (Tag child : tag.tags) {
+				writeTag(child);
+			}
+		} else if (tag.value == null) {
+			// parseTag() appends the null String
+			writeBytes(NULL_VALUE);
+		} else {
+			writeChars(tag.value, true);
+		}
+
+		writeByte('<');
+		writeByte('/');
+		writeChars(tag.tagName, false);
+		writeByte(Tag.CLOSE_END_TAG);
+		writeByte('\n');
+	}
+
+	private void writeChars(final String chars, final boolean escape) {
+		int count = chars.length();
+		// worst case is an entity or 3 byte UTF-8 sequence per char
+		ensureCapacity(length + count * 6);
+
+		for (int i = 0; i < count; i++) {
+			char c = chars.charAt(i);
+
+			if (escape) {
+				String entity = entityFor(c);
+				if (entity != null) {
+					for (int j = 0; j < entity.length(); j++) {
+						buffer[length++] = (byte) entity.charAt(j);
+					}
+					continue;
+				}
+			}
+
+			if (c < 0x80) {
+				buffer[length++] = (byte) c;
+			} else if (singleByte) {
+				buffer[length++] = c <= maxSingleByteChar ? (byte) c : (byte) '?';
+			} else if (c < 0x800) {
+				buffer[length++] = (byte) (0xc0 | (c >> 6));
+				buffer[length++] = (byte) (0x80 | (c & 0x3f));
+			} else if (Character.isHighSurrogate(c) && i + 1 < count
+					&& Character.isLowSurrogate(chars.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+				buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+			} else if (Character.isSurrogate(c)) {
+				// unpaired surrogate, replaced as String.getBytes() does
+				buffer[length++] = (byte) '?';
+			} else {
+				buffer[length++] = (byte) (0xe0 | (c >> 12));
+				buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				buffer[length++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+	}
+
+	/**
+	 * Entities as escaped by {@code Tag.escapeChars()}
+	 */
+	private static String entityFor(final char c) {
+		switch (c) {
+		case '&':
+			return Tag.AMP;
+		case '<':
+			return Tag.LT;
+		case '>':
+			return Tag.GT;
+		case '"':
+			return Tag.QUOTE;
+		case '`':
+			return Tag.APOS;
+		default:
+			return null;
+		}
+	}
+
+	private void writeByte(final char c) {
+		ensureCapacity(length + 1);
+		buffer[length++] = (byte) c;
+	}
+
+	private void writeBytes(final byte[] bytes) {
+		ensureCapacity(length + bytes.length);
+		System.arraycopy(bytes, 0, buffer, length, bytes.length);
+		length += bytes.length;
+	}
+
+	private void ensureCapacity(final int needed) {
+		if (needed > buffer.length) {
+			byte[] grown = new byte[Math.max(needed, buffer.length * 2)];
+			System.arraycopy(buffer, 0, grown, 0, length);
+			buffer = grown;
+		}
+	}
+
+}
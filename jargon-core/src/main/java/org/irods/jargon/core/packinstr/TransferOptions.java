@@ -75,6 +75,17 @@ public class TransferOptions {
 	 * used as a signal from the Jargon rule processing code.
 	 */
 	private boolean clientSideRuleAction = false;
+	/**
+	 * Number of files moved at once, each over its own connection, when a
+	 * collection is transferred recursively. A value of 0 or 1 transfers the files
+	 * one at a time over the caller's connection.
+	 */
+	private int concurrentFileTransferThreads = 0;
+	/**
+	 * On a recursive put, pack small files into tar bundles that are uploaded as
+	 * one stream and extracted in iRODS, rather than putting each file.
+	 */
+	private boolean bundleSmallFiles = false;
 
 	@Override
 	public synchronized String toString() {
@@ -99,7 +110,9 @@ public class TransferOptions {
 		}
 		builder.append("computeChecksumAfterTransfer=").append(computeChecksumAfterTransfer)
 				.append(", computeAndVerifyChecksumAfterTransfer=").append(computeAndVerifyChecksumAfterTransfer)
-				.append(", clientSideRuleAction=").append(clientSideRuleAction).append("]");
+				.append(", clientSideRuleAction=").append(clientSideRuleAction)
+				.append(", concurrentFileTransferThreads=").append(concurrentFileTransferThreads)
+				.append(", bundleSmallFiles=").append(bundleSmallFiles).append("]");
 		return builder.toString();
 	}
 
@@ -127,6 +140,8 @@ public class TransferOptions {
 				setPutOption(transferOptions.getPutOption());
 				setChecksumEncoding(transferOptions.getChecksumEncoding());
 				setClientSideRuleAction(transferOptions.isClientSideRuleAction());
+				setConcurrentFileTransferThreads(transferOptions.getConcurrentFileTransferThreads());
+				setBundleSmallFiles(transferOptions.isBundleSmallFiles());
 				setIntraFileStatusCallbacksNumberCallsInterval(
 						transferOptions.getIntraFileStatusCallbacksNumberCallsInterval());
 				setIntraFileStatusCallbacksTotalBytesInterval(
@@ -383,4 +398,49 @@ public class TransferOptions {
 	public synchronized void setClientSideRuleAction(boolean clientSideRuleAction) {
 		this.clientSideRuleAction = clientSideRuleAction;
 	}
+
+	/**
+	 * Get the number of files moved at once when a collection is transferred
+	 * recursively
+	 *
+	 * @return {@code int} with the number of concurrent file transfers, 0 or 1
+	 *         means files are transferred one at a time
+	 */
+	public synchronized int getConcurrentFileTransferThreads() {
+		return concurrentFileTransferThreads;
+	}
+
+	/**
+	 * Set the number of files moved at once when a collection is transferred
+	 * recursively. Each concurrent transfer uses its own connection to iRODS.
+	 *
+	 * @param concurrentFileTransferThreads {@code int} with the number of
+	 *                                      concurrent file transfers, 0 or 1
+	 *                                      transfers files one at a time
+	 */
+	public synchronized void setConcurrentFileTransferThreads(final int concurrentFileTransferThreads) {
+		this.concurrentFileTransferThreads = concurrentFileTransferThreads;
+	}
+
+	/**
+	 * Get whether small files are packed into tar bundles on a recursive put
+	 *
+	 * @return {@code boolean} that is {@code true} if small files are bundled
+	 */
+	public synchronized boolean isBundleSmallFiles() {
+		return bundleSmallFiles;
+	}
+
+	/**
+	 * Set whether small files are packed into tar bundles on a recursive put. The
+	 * bundles are extracted into the target collection in iRODS, and each file is
+	 * still reported to the status callback listener. The size limits are in
+	 * {@code JargonProperties}.
+	 *
+	 * @param bundleSmallFiles {@code boolean} that is {@code true} to bundle small
+	 *                         files
+	 */
+	public synchronized void setBundleSmallFiles(final boolean bundleSmallFiles) {
+		this.bundleSmallFiles = bundleSmallFiles;
+	}
 }
@@ -0,0 +1,224 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+
+/**
+ * Non-blocking facade over the access objects of an
+ * {@link IRODSAccessObjectFactory}. Each operation is run on one of a bounded
+ * set of worker threads, and the result is delivered through a
+ * {@code CompletableFuture}.
+ * <p>
+ * Each worker thread holds its own connection per {@link IRODSAccount}, reused
+ * across the operations it runs, so the number of agent connections is bounded
+ * by the number of workers no matter how many callers are waiting. The calling
+ * thread never holds a connection, so it is safe to call from event loop or
+ * virtual threads. Connections are returned to the {@code IRODSProtocolManager}
+ * when a worker has been idle for a while, and when this factory is closed.
+ * <p>
+ * A {@code JargonException} thrown by an operation completes the future
+ * exceptionally with that exception.
+ */
+public interface AsyncIRODSAccessObjectFactory extends AutoCloseable {
+
+	/**
+	 * Run an arbitrary operation on a worker thread. This allows any access object
+	 * to be used asynchronously.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param operation
+	 *            {@link AsyncIRODSOperation} to run
+	 * @param <T>
+	 *            type of the result of the operation
+	 * @return {@code CompletableFuture} with the result of the operation
+	 */
+	<T> CompletableFuture<T> submit(IRODSAccount irodsAccount, AsyncIRODSOperation<T> operation);
+
+	/**
+	 * Retrieve the {@link ObjStat} for a path, see
+	 * {@link CollectionAndDataObjectListAndSearchAO#retrieveObjectStatForPath(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the iRODS absolute path
+	 * @return {@code CompletableFuture} with the {@link ObjStat}
+	 */
+	CompletableFuture<ObjStat> retrieveObjectStatForPath(IRODSAccount irodsAccount, String irodsAbsolutePath);
+
+	/**
+	 * List the collections and data objects under a parent collection, see
+	 * {@link CollectionAndDataObjectListAndSearchAO#listDataObjectsAndCollectionsUnderPath(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param absolutePathToParent
+	 *            {@code String} with the parent collection path
+	 * @return {@code CompletableFuture} with the listing
+	 */
+	CompletableFuture<List<CollectionAndDataObjectListingEntry>> listDataObjectsAndCollectionsUnderPath(
+			IRODSAccount irodsAccount, String absolutePathToParent);
+
+	/**
+	 * Run a GenQuery and close the results, see
+	 * {@link IRODSGenQueryExecutor#executeIRODSQueryAndCloseResult(AbstractIRODSGenQuery, int)}.
+	 * The query is closed in iRODS before the future completes, as the worker's
+	 * connection is shared by later operations.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run
+	 * @param partialStartIndex
+	 *            {@code int} with an offset into the results
+	 * @return {@code CompletableFuture} with the {@link IRODSQueryResultSet}
+	 */
+	CompletableFuture<IRODSQueryResultSet> executeIRODSQueryAndCloseResult(IRODSAccount irodsAccount,
+			AbstractIRODSGenQuery irodsQuery, int partialStartIndex);
+
+	/**
+	 * Find the AVUs of a data object, see
+	 * {@link DataObjectAO#findMetadataValuesForDataObject(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param dataObjectAbsolutePath
+	 *            {@code String} with the data object path
+	 * @return {@code CompletableFuture} with the AVUs
+	 */
+	CompletableFuture<List<MetaDataAndDomainData>> findMetadataValuesForDataObject(IRODSAccount irodsAccount,
+			String dataObjectAbsolutePath);
+
+	/**
+	 * Find the AVUs of a collection, see
+	 * {@link CollectionAO#findMetadataValuesForCollection(String)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param collectionAbsolutePath
+	 *            {@code String} with the collection path
+	 * @return {@code CompletableFuture} with the AVUs
+	 */
+	CompletableFuture<List<MetaDataAndDomainData>> findMetadataValuesForCollection(IRODSAccount irodsAccount,
+			String collectionAbsolutePath);
+
+	/**
+	 * Add AVUs to a data object, see
+	 * {@link DataObjectAO#addBulkAVUMetadataToDataObject(String, List)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param absolutePath
+	 *            {@code String} with the data object path
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to add
+	 * @return {@code CompletableFuture} with a response per AVU
+	 */
+	CompletableFuture<List<BulkAVUOperationResponse>> addAVUMetadataToDataObject(IRODSAccount irodsAccount,
+			String absolutePath, List<AvuData> avuData);
+
+	/**
+	 * Remove AVUs from a data object, see
+	 * {@link DataObjectAO#deleteBulkAVUMetadataFromDataObject(String, List)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param absolutePath
+	 *            {@code String} with the data object path
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to remove
+	 * @return {@code CompletableFuture} with a response per AVU
+	 */
+	CompletableFuture<List<BulkAVUOperationResponse>> deleteAVUMetadataFromDataObject(IRODSAccount irodsAccount,
+			String absolutePath, List<AvuData> avuData);
+
+	/**
+	 * Add AVUs to a collection, see
+	 * {@link CollectionAO#addBulkAVUMetadataToCollection(String, List)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param absolutePath
+	 *            {@code String} with the collection path
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to add
+	 * @return {@code CompletableFuture} with a response per AVU
+	 */
+	CompletableFuture<List<BulkAVUOperationResponse>> addAVUMetadataToCollection(IRODSAccount irodsAccount,
+			String absolutePath, List<AvuData> avuData);
+
+	/**
+	 * Remove AVUs from a collection, see
+	 * {@link CollectionAO#deleteBulkAVUMetadataFromCollection(String, List)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param absolutePath
+	 *            {@code String} with the collection path
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to remove
+	 * @return {@code CompletableFuture} with a response per AVU
+	 */
+	CompletableFuture<List<BulkAVUOperationResponse>> deleteAVUMetadataFromCollection(IRODSAccount irodsAccount,
+			String absolutePath, List<AvuData> avuData);
+
+	/**
+	 * Get a data object or collection to the local file system, see
+	 * {@link DataTransferOperations#getOperation(String, String, String, TransferStatusCallbackListener, TransferControlBlock)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param irodsSourceFileAbsolutePath
+	 *            {@code String} with the iRODS source path
+	 * @param targetLocalFile
+	 *            {@code File} with the local target
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener}, may be {@code null}
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock}, may be {@code null}
+	 * @return {@code CompletableFuture} completed when the transfer is done
+	 */
+	CompletableFuture<Void> getOperation(IRODSAccount irodsAccount, String irodsSourceFileAbsolutePath,
+			File targetLocalFile, TransferStatusCallbackListener transferStatusCallbackListener,
+			TransferControlBlock transferControlBlock);
+
+	/**
+	 * Put a local file or directory to iRODS, see
+	 * {@link DataTransferOperations#putOperation(String, String, String, TransferStatusCallbackListener, TransferControlBlock)}
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @param sourceFile
+	 *            {@code File} with the local source
+	 * @param targetIrodsFileAbsolutePath
+	 *            {@code String} with the iRODS target path
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener}, may be {@code null}
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock}, may be {@code null}
+	 * @return {@code CompletableFuture} completed when the transfer is done
+	 */
+	CompletableFuture<Void> putOperation(IRODSAccount irodsAccount, File sourceFile,
+			String targetIrodsFileAbsolutePath, TransferStatusCallbackListener transferStatusCallbackListener,
+			TransferControlBlock transferControlBlock);
+
+	/**
+	 * Stop accepting operations, let queued operations finish, and return the
+	 * connections held by the worker threads
+	 */
+	@Override
+	void close();
+
+}
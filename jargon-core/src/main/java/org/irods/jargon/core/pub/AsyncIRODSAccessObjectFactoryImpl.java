@@ -0,0 +1,334 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link AsyncIRODSAccessObjectFactory} running operations on
+ * a fixed maximum number of worker threads. The connections of a worker are
+ * held in the {@code IRODSSession} for that thread, and are closed when the
+ * worker exits after being idle for {@link #IDLE_WORKER_TIMEOUT_SECONDS}, or
+ * after {@link #close()}.
+ */
+public class AsyncIRODSAccessObjectFactoryImpl implements AsyncIRODSAccessObjectFactory {
+
+	private static final Logger log = LoggerFactory.getLogger(AsyncIRODSAccessObjectFactoryImpl.class);
+
+	/**
+	 * Time after which an idle worker exits and returns its connections
+	 */
+	public static final int IDLE_WORKER_TIMEOUT_SECONDS = 60;
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Create an async factory over the given access object factory
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used by the worker threads
+	 * @param maxConnections
+	 *            {@code int} with the number of worker threads, and so the maximum
+	 *            number of agent connections held per account
+	 */
+	public AsyncIRODSAccessObjectFactoryImpl(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final int maxConnections) {
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (maxConnections <= 0) {
+			throw new IllegalArgumentException("maxConnections must be > 0");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		executor = new ThreadPoolExecutor(maxConnections, maxConnections, IDLE_WORKER_TIMEOUT_SECONDS,
+				TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new WorkerThreadFactory());
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> submit(final IRODSAccount irodsAccount, final AsyncIRODSOperation<T> operation) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (operation == null) {
+			throw new IllegalArgumentException("null operation");
+		}
+
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+
+		try {
+			executor.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (future.isDone()) {
+						log.debug("operation cancelled before it was run");
+						return;
+					}
+
+					try {
+						future.complete(operation.execute(irodsAccessObjectFactory, irodsAccount));
+					} catch (Exception e) {
+						log.debug("async operation failed", e);
+						future.completeExceptionally(e);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.error("async factory is closed, operation rejected");
+			future.completeExceptionally(new JargonException("async access object factory is closed", e));
+		}
+
+		return future;
+	}
+
+	@Override
+	public CompletableFuture<ObjStat> retrieveObjectStatForPath(final IRODSAccount irodsAccount,
+			final String irodsAbsolutePath) {
+		return submit(irodsAccount, new AsyncIRODSOperation<ObjStat>() {
+			@Override
+			public ObjStat execute(final IRODSAccessObjectFactory factory, final IRODSAccount account)
+					throws JargonException {
+				return factory.getCollectionAndDataObjectListAndSearchAO(account)
+						.retrieveObjectStatForPath(irodsAbsolutePath);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<CollectionAndDataObjectListingEntry>> listDataObjectsAndCollectionsUnderPath(
+			final IRODSAccount irodsAccount, final String absolutePathToParent) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<CollectionAndDataObjectListingEntry>>() {
+			@Override
+			public List<CollectionAndDataObjectListingEntry> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				return factory.getCollectionAndDataObjectListAndSearchAO(account)
+						.listDataObjectsAndCollectionsUnderPath(absolutePathToParent);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<IRODSQueryResultSet> executeIRODSQueryAndCloseResult(final IRODSAccount irodsAccount,
+			final AbstractIRODSGenQuery irodsQuery, final int partialStartIndex) {
+		return submit(irodsAccount, new AsyncIRODSOperation<IRODSQueryResultSet>() {
+			@Override
+			public IRODSQueryResultSet execute(final IRODSAccessObjectFactory factory, final IRODSAccount account)
+					throws JargonException {
+				try {
+					return factory.getIRODSGenQueryExecutor(account).executeIRODSQueryAndCloseResult(irodsQuery,
+							partialStartIndex);
+				} catch (JargonQueryException e) {
+					throw new JargonException("query exception running async query", e);
+				}
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<MetaDataAndDomainData>> findMetadataValuesForDataObject(
+			final IRODSAccount irodsAccount, final String dataObjectAbsolutePath) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<MetaDataAndDomainData>>() {
+			@Override
+			public List<MetaDataAndDomainData> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				return factory.getDataObjectAO(account).findMetadataValuesForDataObject(dataObjectAbsolutePath);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<MetaDataAndDomainData>> findMetadataValuesForCollection(
+			final IRODSAccount irodsAccount, final String collectionAbsolutePath) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<MetaDataAndDomainData>>() {
+			@Override
+			public List<MetaDataAndDomainData> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				try {
+					return factory.getCollectionAO(account).findMetadataValuesForCollection(collectionAbsolutePath);
+				} catch (JargonQueryException e) {
+					throw new JargonException("query exception finding collection metadata", e);
+				}
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<BulkAVUOperationResponse>> addAVUMetadataToDataObject(
+			final IRODSAccount irodsAccount, final String absolutePath, final List<AvuData> avuData) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<BulkAVUOperationResponse>>() {
+			@Override
+			public List<BulkAVUOperationResponse> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				return factory.getDataObjectAO(account).addBulkAVUMetadataToDataObject(absolutePath, avuData);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<BulkAVUOperationResponse>> deleteAVUMetadataFromDataObject(
+			final IRODSAccount irodsAccount, final String absolutePath, final List<AvuData> avuData) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<BulkAVUOperationResponse>>() {
+			@Override
+			public List<BulkAVUOperationResponse> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				return factory.getDataObjectAO(account).deleteBulkAVUMetadataFromDataObject(absolutePath, avuData);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<BulkAVUOperationResponse>> addAVUMetadataToCollection(
+			final IRODSAccount irodsAccount, final String absolutePath, final List<AvuData> avuData) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<BulkAVUOperationResponse>>() {
+			@Override
+			public List<BulkAVUOperationResponse> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				return factory.getCollectionAO(account).addBulkAVUMetadataToCollection(absolutePath, avuData);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<List<BulkAVUOperationResponse>> deleteAVUMetadataFromCollection(
+			final IRODSAccount irodsAccount, final String absolutePath, final List<AvuData> avuData) {
+		return submit(irodsAccount, new AsyncIRODSOperation<List<BulkAVUOperationResponse>>() {
+			@Override
+			public List<BulkAVUOperationResponse> execute(final IRODSAccessObjectFactory factory,
+					final IRODSAccount account) throws JargonException {
+				return factory.getCollectionAO(account).deleteBulkAVUMetadataFromCollection(absolutePath, avuData);
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> getOperation(final IRODSAccount irodsAccount,
+			final String irodsSourceFileAbsolutePath, final File targetLocalFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) {
+
+		if (targetLocalFile == null) {
+			throw new IllegalArgumentException("null targetLocalFile");
+		}
+
+		return submit(irodsAccount, new AsyncIRODSOperation<Void>() {
+			@Override
+			public Void execute(final IRODSAccessObjectFactory factory, final IRODSAccount account)
+					throws JargonException {
+				factory.getDataTransferOperations(account).getOperation(irodsSourceFileAbsolutePath,
+						targetLocalFile.getAbsolutePath(), "", transferStatusCallbackListener, transferControlBlock);
+				return null;
+			}
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> putOperation(final IRODSAccount irodsAccount, final File sourceFile,
+			final String targetIrodsFileAbsolutePath,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) {
+
+		if (sourceFile == null) {
+			throw new IllegalArgumentException("null sourceFile");
+		}
+
+		return submit(irodsAccount, new AsyncIRODSOperation<Void>() {
+			@Override
+			public Void execute(final IRODSAccessObjectFactory factory, final IRODSAccount account)
+					throws JargonException {
+				factory.getDataTransferOperations(account).putOperation(sourceFile.getAbsolutePath(),
+						targetIrodsFileAbsolutePath, "", transferStatusCallbackListener, transferControlBlock);
+				return null;
+			}
+		});
+	}
+
+	@Override
+	public void close() {
+		log.info("close()");
+		executor.shutdown();
+	}
+
+	/**
+	 * Wait for queued operations to finish after {@link #close()}
+	 *
+	 * @param timeout
+	 *            {@code long} with the maximum time to wait
+	 * @param unit
+	 *            {@code TimeUnit} of the timeout
+	 * @return {@code boolean} of {@code true} if all workers have exited and
+	 *         returned their connections
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+		return executor.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * @return {@code int} with the number of worker threads, and so connections
+	 *         per account, currently held
+	 */
+	public int getWorkerCount() {
+		return executor.getPoolSize();
+	}
+
+	/**
+	 * @return {@code int} with the number of operations waiting for a worker
+	 */
+	public int getQueuedOperationCount() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Worker threads close the connections cached for them in the
+	 * {@code IRODSSession} as they exit
+	 */
+	private class WorkerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(final Runnable r) {
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						r.run();
+					} finally {
+						log.debug("async worker exiting, closing its connections");
+						irodsAccessObjectFactory.closeSessionAndEatExceptions();
+					}
+				}
+			}, "jargon-async-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package org.irods.jargon.core.pub;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * An operation against iRODS that is run by an
+ * {@link AsyncIRODSAccessObjectFactory} on one of its worker threads. Access
+ * objects obtained from the given factory within {@code execute()} share the
+ * connection of that worker thread.
+ *
+ * @param <T>
+ *            type of the result of the operation
+ */
+public interface AsyncIRODSOperation<T> {
+
+	/**
+	 * Run the operation
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} used to obtain access objects
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation was submitted for
+	 * @return the result of the operation
+	 * @throws JargonException
+	 *             for iRODS error, used to complete the future exceptionally
+	 */
+	T execute(IRODSAccessObjectFactory irodsAccessObjectFactory, IRODSAccount irodsAccount) throws JargonException;
+
+}
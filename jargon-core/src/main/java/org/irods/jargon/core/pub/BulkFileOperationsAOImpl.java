@@ -95,6 +95,7 @@ public class BulkFileOperationsAOImpl extends IRODSGenericAO implements BulkFile
 				resourceNameWhereBundleWillBeStored);
 
 		getIRODSProtocol().irodsFunction(structFileExtAndRegInp);
+		invalidateObjStat(absolutePathToBundleFileToBeCreatedOnIrods);
 
 	}
 
@@ -129,6 +130,7 @@ public class BulkFileOperationsAOImpl extends IRODSGenericAO implements BulkFile
 				resourceNameWhereBundleWillBeStored);
 
 		getIRODSProtocol().irodsFunction(structFileExtAndRegInp);
+		invalidateObjStat(absolutePathToBundleFileToBeCreatedOnIrods);
 
 	}
 
@@ -166,6 +168,7 @@ public class BulkFileOperationsAOImpl extends IRODSGenericAO implements BulkFile
 				resourceNameWhereBundleWillBeStored);
 
 		getIRODSProtocol().irodsFunction(structFileExtAndRegInp);
+		invalidateObjStat(absolutePathToBundleFileToBeCreatedOnIrods);
 
 	}
 
@@ -210,6 +213,7 @@ public class BulkFileOperationsAOImpl extends IRODSGenericAO implements BulkFile
 				resourceNameWhereBundleWillBeStored);
 
 		getIRODSProtocol().irodsFunction(structFileExtAndRegInp);
+		invalidateObjStat(absolutePathToBundleFileToBeCreatedOnIrods);
 
 	}
 
@@ -317,6 +321,7 @@ public class BulkFileOperationsAOImpl extends IRODSGenericAO implements BulkFile
 		}
 
 		getIRODSProtocol().irodsFunction(structFileExtAndRegInp);
+		invalidateObjStatTree(absolutePathToIrodsCollectionToHoldExtractedFiles);
 
 	}
 
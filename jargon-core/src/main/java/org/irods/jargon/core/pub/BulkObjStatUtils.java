@@ -0,0 +1,470 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.ObjStatCache;
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInpForObjStat;
+import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
+import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.utils.CollectionAndPath;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Package utils to stat many paths at once. Paths are grouped by parent
+ * collection and looked up with GenQueries that match {@code COL_COLL_NAME IN}
+ * the parents and {@code COL_DATA_NAME IN} the names, then with one query for
+ * the paths still unknown and their parents as collections. A path left over
+ * because it lies in or under a special collection, or is not in the catalog
+ * by a parent that is, is given to objStat, sent pipelined on one connection.
+ */
+class BulkObjStatUtils {
+
+	/**
+	 * Most characters of values in one {@code IN} condition, iRODS limits the
+	 * size of the SQL a GenQuery is turned into
+	 */
+	static final int MAX_IN_CONDITION_CHARS = 1000;
+
+	private static final Logger log = LoggerFactory.getLogger(BulkObjStatUtils.class);
+
+	private final IRODSAccount irodsAccount;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+
+	BulkObjStatUtils(final IRODSAccount irodsAccount, final IRODSAccessObjectFactory irodsAccessObjectFactory) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		this.irodsAccount = irodsAccount;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+	}
+
+	/**
+	 * Stat each of the given paths
+	 *
+	 * @param irodsAbsolutePaths {@code List<String>} with absolute paths
+	 * @return {@code Map<String, ObjStat>} with each normalized path, in the order
+	 *         given, and its {@link ObjStat} or {@code null} where it does not
+	 *         exist
+	 * @throws JargonException {@link JargonException}
+	 */
+	Map<String, ObjStat> retrieveObjectStatsForPaths(final List<String> irodsAbsolutePaths) throws JargonException {
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		log.info("retrieveObjectStatsForPaths() for {} paths", irodsAbsolutePaths.size());
+
+		Map<String, ObjStat> objStats = new LinkedHashMap<String, ObjStat>(irodsAbsolutePaths.size() * 4 / 3 + 1);
+		ObjStatCache objStatCache = irodsAccessObjectFactory.getIrodsSession().getObjStatCache();
+		Set<String> unresolved = new LinkedHashSet<String>();
+
+		for (String irodsAbsolutePath : irodsAbsolutePaths) {
+			if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+				throw new IllegalArgumentException("null or empty path in irodsAbsolutePaths");
+			}
+			String myPath = MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
+			if (objStats.containsKey(myPath)) {
+				continue;
+			}
+			objStats.put(myPath, null);
+			if (objStatCache != null) {
+				try {
+					ObjStat cached = objStatCache.retrieve(irodsAccount, myPath);
+					if (cached != null) {
+						objStats.put(myPath, cached);
+						continue;
+					}
+				} catch (FileNotFoundException e) {
+					continue;
+				}
+			}
+			unresolved.add(myPath);
+		}
+
+		if (unresolved.isEmpty()) {
+			return objStats;
+		}
+
+		Set<String> found = new HashSet<String>();
+		Set<String> notFound = new HashSet<String>();
+		List<String> forObjStat = new ArrayList<String>();
+
+		Map<String, List<String>> queryablePathsByZone = new LinkedHashMap<String, List<String>>();
+		for (String path : unresolved) {
+			if (path.indexOf('\'') >= 0 || "/".equals(path)) {
+				// a quote cannot be put in an IN condition
+				forObjStat.add(path);
+				continue;
+			}
+			String zone = MiscIRODSUtils.getZoneInPath(path);
+			List<String> paths = queryablePathsByZone.get(zone);
+			if (paths == null) {
+				paths = new ArrayList<String>();
+				queryablePathsByZone.put(zone, paths);
+			}
+			paths.add(path);
+		}
+
+		for (Map.Entry<String, List<String>> zonePaths : queryablePathsByZone.entrySet()) {
+			String zone = zonePaths.getKey();
+			List<String> paths = zonePaths.getValue();
+
+			Map<String, List<String>> namesByParent = groupByParent(paths);
+			for (DataObjectBatch batch : batchDataObjects(namesByParent, MAX_IN_CONDITION_CHARS)) {
+				for (ObjStat objStat : queryDataObjects(batch, zone)) {
+					String path = objStat.getAbsolutePath();
+					if (objStats.containsKey(path) && objStats.get(path) == null) {
+						objStats.put(path, objStat);
+						found.add(path);
+					}
+				}
+			}
+
+			Set<String> collectionPaths = new LinkedHashSet<String>();
+			for (String path : paths) {
+				if (!found.contains(path)) {
+					collectionPaths.add(path);
+					collectionPaths.add(parentOf(path));
+				}
+			}
+
+			Map<String, CollectionAndDataObjectListingEntry> collections = new HashMap<String, CollectionAndDataObjectListingEntry>();
+			for (List<String> batch : batchValues(collectionPaths, MAX_IN_CONDITION_CHARS)) {
+				collections.putAll(queryCollections(batch, zone));
+			}
+
+			for (String path : paths) {
+				if (found.contains(path)) {
+					continue;
+				}
+				CollectionAndDataObjectListingEntry collection = collections.get(path);
+				CollectionAndDataObjectListingEntry parent = collections.get(parentOf(path));
+				if (collection != null && collection.getSpecColType() == SpecColType.NORMAL) {
+					objStats.put(path, CollectionListingUtils.objStatFromListingEntry(collection, ""));
+					found.add(path);
+				} else if (collection == null && parent != null && parent.getSpecColType() == SpecColType.NORMAL) {
+					notFound.add(path);
+				} else {
+					forObjStat.add(path);
+				}
+			}
+		}
+
+		log.debug("found {} and not found {} by query, {} left for objStat", found.size(), notFound.size(),
+				forObjStat.size());
+
+		if (!forObjStat.isEmpty()) {
+			for (Map.Entry<String, ObjStat> result : objStatViaPipeline(forObjStat).entrySet()) {
+				if (result.getValue() == null) {
+					notFound.add(result.getKey());
+				} else {
+					objStats.put(result.getKey(), result.getValue());
+					found.add(result.getKey());
+				}
+			}
+		}
+
+		if (objStatCache != null) {
+			for (String path : found) {
+				objStatCache.cache(irodsAccount, path, objStats.get(path));
+			}
+			for (String path : notFound) {
+				objStatCache.cacheNotFound(irodsAccount, path);
+			}
+		}
+
+		return objStats;
+	}
+
+	private List<ObjStat> queryDataObjects(final DataObjectBatch batch, final String zone) throws JargonException {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, false, true, null);
+		try {
+			IRODSFileSystemAOHelper.buildDataObjectQuerySelects(builder);
+			builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_CHECKSUM);
+		} catch (GenQueryBuilderException e) {
+			throw new JargonException("error building query", e);
+		}
+		builder.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.IN,
+				batch.parents);
+		builder.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_DATA_NAME, QueryConditionOperators.IN,
+				batch.names);
+
+		/*
+		 * the IN conditions match every name under every parent, and each replica is
+		 * a row, so keep the first row of each path asked for
+		 */
+		List<ObjStat> objStats = new ArrayList<ObjStat>();
+		Set<String> seen = new HashSet<String>();
+		for (IRODSQueryResultRow row : queryAllRows(builder, zone)) {
+			CollectionAndDataObjectListingEntry entry = CollectionAOHelper
+					.buildCollectionListEntryFromResultSetRowForDataObjectQuery(row, 0);
+			String path = entry.getFormattedAbsolutePath();
+			if (batch.paths.contains(path) && seen.add(path)) {
+				objStats.add(CollectionListingUtils.objStatFromListingEntry(entry, row.getColumn(9)));
+			}
+		}
+		return objStats;
+	}
+
+	private Map<String, CollectionAndDataObjectListingEntry> queryCollections(final List<String> collectionPaths,
+			final String zone) throws JargonException {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, false, true, null);
+		try {
+			CollectionAOHelper.buildSelectsNeededForCollectionsInCollectionsAndDataObjectsListingEntry(builder);
+		} catch (GenQueryBuilderException e) {
+			throw new JargonException("error building query", e);
+		}
+		builder.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.IN,
+				collectionPaths);
+
+		Map<String, CollectionAndDataObjectListingEntry> collections = new HashMap<String, CollectionAndDataObjectListingEntry>();
+		for (IRODSQueryResultRow row : queryAllRows(builder, zone)) {
+			CollectionAndDataObjectListingEntry entry = CollectionAOHelper
+					.buildCollectionListEntryFromResultSetRowForCollectionQuery(row, 0);
+			collections.put(entry.getPathOrName(), entry);
+		}
+		return collections;
+	}
+
+	private List<IRODSQueryResultRow> queryAllRows(final IRODSGenQueryBuilder builder, final String zone)
+			throws JargonException {
+		IRODSGenQueryExecutor irodsGenQueryExecutor = irodsAccessObjectFactory
+				.getIRODSGenQueryExecutor(irodsAccount);
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		IRODSQueryResultSet resultSet = null;
+		try {
+			IRODSGenQueryFromBuilder irodsQuery = builder.exportIRODSQueryFromBuilder(
+					irodsAccessObjectFactory.getIrodsSession().getJargonProperties().getMaxFilesAndDirsQueryMax());
+			resultSet = irodsGenQueryExecutor.executeIRODSQueryInZone(irodsQuery, 0, zone);
+			rows.addAll(resultSet.getResults());
+			while (resultSet.isHasMoreRecords()) {
+				resultSet = irodsGenQueryExecutor.getMoreResultsInZone(resultSet, zone);
+				rows.addAll(resultSet.getResults());
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error("error building query", e);
+			throw new JargonException("error building query", e);
+		} catch (JargonQueryException e) {
+			log.error("query exception for query", e);
+			throw new JargonException("error in query", e);
+		} finally {
+			if (resultSet != null) {
+				irodsGenQueryExecutor.closeResults(resultSet);
+			}
+		}
+		return rows;
+	}
+
+	private Map<String, ObjStat> objStatViaPipeline(final List<String> paths) throws JargonException {
+		log.info("objStat for {} paths via pipeline", paths.size());
+		List<DataObjInpForObjStat> requests = new ArrayList<DataObjInpForObjStat>(paths.size());
+		for (String path : paths) {
+			requests.add(DataObjInpForObjStat.instance(path));
+		}
+
+		List<PipelinedResponse> responses = irodsAccessObjectFactory.getIrodsSession().currentConnection(irodsAccount)
+				.irodsFunctionPipelined(requests);
+
+		CollectionListingUtils collectionListingUtils = new CollectionListingUtils(irodsAccount,
+				irodsAccessObjectFactory);
+		Map<String, ObjStat> objStats = new LinkedHashMap<String, ObjStat>();
+		for (int i = 0; i < paths.size(); i++) {
+			String path = paths.get(i);
+			PipelinedResponse response = responses.get(i);
+			if (response.isSuccess()) {
+				objStats.put(path, CollectionListingUtils.buildObjStatFromResponse(path, response.getResponse()));
+			} else if (response.getException() instanceof FileNotFoundException) {
+				try {
+					objStats.put(path,
+							collectionListingUtils.handleNoObjStatUnderRootOrHomeByLookingForPublicAndHome(path));
+				} catch (FileNotFoundException e) {
+					objStats.put(path, null);
+				}
+			} else {
+				throw response.getException();
+			}
+		}
+		return objStats;
+	}
+
+	private static String parentOf(final String path) {
+		CollectionAndPath collectionAndPath = MiscIRODSUtils.separateCollectionAndPathFromGivenAbsolutePath(path);
+		return collectionAndPath.getCollectionParent().isEmpty() ? "/" : collectionAndPath.getCollectionParent();
+	}
+
+	/**
+	 * Group paths by their parent collection
+	 *
+	 * @param paths {@code Collection<String>} with normalized absolute paths
+	 * @return {@code Map<String, List<String>>} of parent to the names under it,
+	 *         in the order given
+	 */
+	static Map<String, List<String>> groupByParent(final Collection<String> paths) {
+		Map<String, List<String>> namesByParent = new LinkedHashMap<String, List<String>>();
+		for (String path : paths) {
+			CollectionAndPath collectionAndPath = MiscIRODSUtils.separateCollectionAndPathFromGivenAbsolutePath(path);
+			String parent = collectionAndPath.getCollectionParent().isEmpty() ? "/"
+					: collectionAndPath.getCollectionParent();
+			List<String> names = namesByParent.get(parent);
+			if (names == null) {
+				names = new ArrayList<String>();
+				namesByParent.put(parent, names);
+			}
+			names.add(collectionAndPath.getChildName());
+		}
+		return namesByParent;
+	}
+
+	/**
+	 * Split values into lists whose quoted values fit in one {@code IN}
+	 * condition. A value longer than the limit is put in a list of its own.
+	 *
+	 * @param values   {@code Collection<String>} with the values
+	 * @param maxChars {@code int} with the most characters in a condition
+	 * @return {@code List} of value lists
+	 */
+	static List<List<String>> batchValues(final Collection<String> values, final int maxChars) {
+		List<List<String>> batches = new ArrayList<List<String>>();
+		List<String> batch = new ArrayList<String>();
+		int chars = 0;
+		for (String value : values) {
+			int length = inConditionLength(value);
+			if (!batch.isEmpty() && chars + length > maxChars) {
+				batches.add(batch);
+				batch = new ArrayList<String>();
+				chars = 0;
+			}
+			batch.add(value);
+			chars += length;
+		}
+		if (!batch.isEmpty()) {
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	/**
+	 * Plan the data object queries, putting parents together while both their
+	 * paths and their names fit in an {@code IN} condition, and splitting the
+	 * names of a parent with more than fit
+	 *
+	 * @param namesByParent {@code Map<String, List<String>>} from
+	 *                      {@link #groupByParent(Collection)}
+	 * @param maxChars      {@code int} with the most characters in a condition
+	 * @return {@code List} of {@link DataObjectBatch}
+	 */
+	static List<DataObjectBatch> batchDataObjects(final Map<String, List<String>> namesByParent,
+			final int maxChars) {
+		List<DataObjectBatch> batches = new ArrayList<DataObjectBatch>();
+		DataObjectBatch batch = new DataObjectBatch();
+		for (Map.Entry<String, List<String>> entry : namesByParent.entrySet()) {
+			String parent = entry.getKey();
+			int parentLength = inConditionLength(parent);
+			int namesLength = 0;
+			for (String name : entry.getValue()) {
+				namesLength += inConditionLength(name);
+			}
+
+			if (!batch.parents.isEmpty() && (batch.parentChars + parentLength > maxChars
+					|| batch.nameChars + namesLength > maxChars)) {
+				batches.add(batch);
+				batch = new DataObjectBatch();
+			}
+
+			for (String name : entry.getValue()) {
+				int nameLength = inConditionLength(name);
+				if (!batch.names.isEmpty() && batch.nameChars + nameLength > maxChars) {
+					batches.add(batch);
+					batch = new DataObjectBatch();
+				}
+				batch.add(parent, name);
+			}
+		}
+		if (!batch.parents.isEmpty()) {
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	private static int inConditionLength(final String value) {
+		// quotes and the comma
+		return value.length() + 3;
+	}
+
+	/**
+	 * Parents and names for one data object query, with the paths asked for among
+	 * all the combinations the query matches
+	 */
+	static final class DataObjectBatch {
+		private final List<String> parents = new ArrayList<String>();
+		private final List<String> names = new ArrayList<String>();
+		private final Set<String> paths = new HashSet<String>();
+		private final Set<String> nameSet = new HashSet<String>();
+		private int parentChars = 0;
+		private int nameChars = 0;
+
+		private void add(final String parent, final String name) {
+			if (parents.isEmpty() || !parents.get(parents.size() - 1).equals(parent)) {
+				parents.add(parent);
+				parentChars += inConditionLength(parent);
+			}
+			if (nameSet.add(name)) {
+				names.add(name);
+				nameChars += inConditionLength(name);
+			}
+			paths.add("/".equals(parent) ? "/" + name : parent + "/" + name);
+		}
+
+		/**
+		 * @return {@code List<String>} with the parent collections
+		 */
+		List<String> getParents() {
+			return parents;
+		}
+
+		/**
+		 * @return {@code List<String>} with the names, each once
+		 */
+		List<String> getNames() {
+			return names;
+		}
+
+		/**
+		 * @return {@code Set<String>} with the paths asked for
+		 */
+		Set<String> getPaths() {
+			return paths;
+		}
+	}
+
+}
@@ -0,0 +1,588 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.TransferOptions.ForceOption;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.pub.io.PackingIrodsOutputStream;
+import org.irods.jargon.core.transfer.TarBundleOutputStream;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatus;
+import org.irods.jargon.core.transfer.TransferStatus.TransferState;
+import org.irods.jargon.core.transfer.TransferStatus.TransferType;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener.FileStatusCallbackResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recursive put of a local directory that packs small files into tar bundles.
+ * Each bundle is streamed to a temporary data object in the target collection
+ * as its files are added, extracted with the bulk registration optimization of
+ * {@link BulkFileOperationsAO}, and then deleted. A tree of many small files
+ * then costs a few large sequential writes, rather than an open, write and
+ * close for each file.
+ * <p>
+ * Files larger than {@link JargonProperties#getSmallFileBundleMaxFileSize()},
+ * and bundles with fewer than {@link JargonProperties#getSmallFileBundleMinFiles()}
+ * files, are put one at a time as in a normal recursive put. Each bundled file
+ * gets the same start and complete callbacks a normal put sends, the complete
+ * callback once its bundle is extracted. A listener may skip a file at the
+ * start callback. If a bundle cannot be written, its files are put one at a
+ * time instead. If a bundle cannot be extracted, each of its files is reported
+ * as an error.
+ * <p>
+ * Extraction does not consult the overwrite options for each file, so a
+ * caller should only use bundling when the target collection is new, or the
+ * transfer forces overwrites, see
+ * {@link #isBundlingApplicable(TransferControlBlock, boolean)}.
+ * <p>
+ * These are used internally. See
+ * {@link org.irods.jargon.core.pub.DataTransferOperations} for public methods.
+ */
+final class BundledPutOperationsHelper {
+
+	static Logger log = LoggerFactory.getLogger(BundledPutOperationsHelper.class);
+
+	static final String BUNDLE_NAME_PREFIX = ".jargon-bundle-";
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+	private final TransferOperationsHelper transferOperationsHelper;
+	private final long maxFileSize;
+	private final long maxBundleSize;
+	private final int minFiles;
+
+	/**
+	 * Create an instance for one recursive put
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory} for the access objects used
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the transfer
+	 * @param transferOperationsHelper
+	 *            {@link TransferOperationsHelper} used for files that are not
+	 *            bundled, and to create collections
+	 * @return {@link BundledPutOperationsHelper}
+	 * @throws JargonException
+	 *             for an iRODS error
+	 */
+	static BundledPutOperationsHelper instance(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount, final TransferOperationsHelper transferOperationsHelper)
+			throws JargonException {
+		return new BundledPutOperationsHelper(irodsAccessObjectFactory, irodsAccount, transferOperationsHelper);
+	}
+
+	private BundledPutOperationsHelper(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount, final TransferOperationsHelper transferOperationsHelper)
+			throws JargonException {
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (transferOperationsHelper == null) {
+			throw new IllegalArgumentException("null transferOperationsHelper");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+		this.transferOperationsHelper = transferOperationsHelper;
+		JargonProperties jargonProperties = irodsAccessObjectFactory.getJargonProperties();
+		maxFileSize = jargonProperties.getSmallFileBundleMaxFileSize();
+		maxBundleSize = jargonProperties.getSmallFileBundleMaxSize();
+		minFiles = Math.max(1, jargonProperties.getSmallFileBundleMinFiles());
+	}
+
+	/**
+	 * Decide whether a recursive put with the given control block may bundle
+	 * small files
+	 *
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @param targetCollectionIsNew
+	 *            {@code boolean} that is {@code true} if the target collection did
+	 *            not exist before this put
+	 * @return {@code boolean} that is {@code true} if bundling is enabled, the
+	 *         transfer is not restarting from a last good path, and extraction
+	 *         cannot overwrite a file the overwrite options would protect
+	 */
+	static boolean isBundlingApplicable(final TransferControlBlock transferControlBlock,
+			final boolean targetCollectionIsNew) {
+		if (transferControlBlock == null || transferControlBlock.getTransferOptions() == null) {
+			return false;
+		}
+
+		if (!transferControlBlock.getTransferOptions().isBundleSmallFiles()) {
+			return false;
+		}
+
+		String restartAbsolutePath = transferControlBlock.getRestartAbsolutePath();
+		if (restartAbsolutePath != null && !restartAbsolutePath.isEmpty()) {
+			return false;
+		}
+
+		return targetCollectionIsNew
+				|| transferControlBlock.getTransferOptions().getForceOption() == ForceOption.USE_FORCE;
+	}
+
+	/**
+	 * Recursively put a local directory into an iRODS collection, which must
+	 * already exist, bundling the small files.
+	 *
+	 * @param sourceFile
+	 *            {@code File} with the local directory to put
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} with the collection that receives the contents
+	 *            of {@code sourceFile}
+	 * @param transferStatusCallbackListener
+	 *            optional {@link TransferStatusCallbackListener}, if {@code null}
+	 *            the first error ends the transfer and is thrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer, required
+	 * @throws JargonException
+	 *             for an error that ends the transfer
+	 */
+	void recursivelyPut(final File sourceFile, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		if (sourceFile == null) {
+			throw new IllegalArgumentException("null source file");
+		}
+
+		if (targetIrodsCollection == null) {
+			throw new IllegalArgumentException("null targetIrodsCollection");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		if (!sourceFile.isDirectory()) {
+			throw new JargonException("source file is not a directory, cannot recursively put");
+		}
+
+		log.info("putting source file with small files bundled: {}", sourceFile.getAbsolutePath());
+		log.info("    into iRODS file: {}", targetIrodsCollection.getAbsolutePath());
+		log.info("    bundling files up to:{} bytes", maxFileSize);
+
+		Bundle bundle = new Bundle(targetIrodsCollection, transferStatusCallbackListener, transferControlBlock);
+		try {
+			Deque<BundleDirectory> directories = new ArrayDeque<BundleDirectory>();
+			List<BundleDirectory> pending = new ArrayList<BundleDirectory>();
+			directories.push(new BundleDirectory(sourceFile, "", true));
+
+			while (!directories.isEmpty()) {
+				BundleDirectory directory = directories.pop();
+				if (!directory.created) {
+					createPending(targetIrodsCollection, pending);
+				}
+
+				File[] files = directory.localDirectory.listFiles();
+				if (files == null) {
+					log.warn("unable to list local directory:{}", directory.localDirectory);
+					continue;
+				}
+
+				for (File fileInSourceCollection : files) {
+
+					if (Thread.interrupted()) {
+						log.info("cancellation detected, set cancelled in tcb");
+						transferControlBlock.setCancelled(true);
+					}
+
+					if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()) {
+						log.info("will notify pause or cancel for this put");
+						bundle.abandon();
+						transferOperationsHelper.notifyPauseOrCancelCallbackForPut(
+								targetCollectionFor(targetIrodsCollection, directory.relativePath),
+								transferStatusCallbackListener, transferControlBlock, fileInSourceCollection);
+						return;
+					}
+
+					String relativePath = directory.relativePath.isEmpty() ? fileInSourceCollection.getName()
+							: directory.relativePath + "/" + fileInSourceCollection.getName();
+
+					if (fileInSourceCollection.isDirectory()) {
+						BundleDirectory child = new BundleDirectory(fileInSourceCollection, relativePath, false);
+						pending.add(child);
+						directories.push(child);
+						if (pending.size() >= ConcurrentTransferOperationsHelper.COLLECTION_BATCH_SIZE) {
+							createPending(targetIrodsCollection, pending);
+						}
+						continue;
+					}
+
+					long length = fileInSourceCollection.length();
+					if (length > maxFileSize) {
+						transferOperationsHelper.checkSocketRenewal();
+						transferOperationsHelper.processPutOfSingleFile(fileInSourceCollection,
+								targetCollectionFor(targetIrodsCollection, directory.relativePath),
+								transferStatusCallbackListener, transferControlBlock);
+						continue;
+					}
+
+					if (bundle.size() > 0 && bundle.archivedSize
+							+ TarBundleOutputStream.archivedSize(relativePath, length) > maxBundleSize) {
+						bundle.complete();
+					}
+					bundle.add(new BundledFile(fileInSourceCollection, relativePath, length));
+				}
+			}
+
+			bundle.complete();
+		} catch (JargonException je) {
+			bundle.abandon();
+			if (!transferControlBlock.isCancelled()) {
+				throw je;
+			}
+		} catch (RuntimeException e) {
+			bundle.abandon();
+			if (!transferControlBlock.isCancelled()) {
+				log.info("unanticipated exception will be transformed into a Jargon exception", e);
+				throw new JargonException(e);
+			}
+		}
+	}
+
+	private void createPending(final IRODSFile targetIrodsCollection, final List<BundleDirectory> pending)
+			throws JargonException {
+		if (pending.isEmpty()) {
+			return;
+		}
+		List<String> collectionPaths = new ArrayList<String>(pending.size());
+		for (BundleDirectory directory : pending) {
+			collectionPaths.add(targetIrodsCollection.getAbsolutePath() + "/" + directory.relativePath);
+			directory.created = true;
+		}
+		pending.clear();
+		transferOperationsHelper.createCollections(collectionPaths);
+	}
+
+	private IRODSFile targetCollectionFor(final IRODSFile targetIrodsCollection, final String relativePath)
+			throws JargonException {
+		if (relativePath.isEmpty()) {
+			return targetIrodsCollection;
+		}
+		IRODSFile collection = transferOperationsHelper
+				.instanceIRODSFileForCollectionPath(targetIrodsCollection.getAbsolutePath() + "/" + relativePath);
+		collection.setResource(targetIrodsCollection.getResource());
+		return collection;
+	}
+
+	private IRODSFileFactory getIRODSFileFactory() throws JargonException {
+		return irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount);
+	}
+
+	private static final class BundleDirectory {
+		private final File localDirectory;
+		private final String relativePath;
+		private boolean created;
+
+		BundleDirectory(final File localDirectory, final String relativePath, final boolean created) {
+			this.localDirectory = localDirectory;
+			this.relativePath = relativePath;
+			this.created = created;
+		}
+	}
+
+	private static final class BundledFile {
+		private final File file;
+		private final String relativePath;
+		private final long length;
+		private boolean announced = false;
+
+		BundledFile(final File file, final String relativePath, final long length) {
+			this.file = file;
+			this.relativePath = relativePath;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * The bundle being built. Files are held until there are enough to be worth
+	 * a bundle, then the bundle is opened in iRODS and each further file is
+	 * written to it as it is added.
+	 */
+	private final class Bundle {
+		private final IRODSFile targetIrodsCollection;
+		private final TransferStatusCallbackListener transferStatusCallbackListener;
+		private final TransferControlBlock transferControlBlock;
+		private final List<BundledFile> files = new ArrayList<BundledFile>();
+		private long archivedSize = 0;
+		private IRODSFile bundleFile = null;
+		private TarBundleOutputStream tarStream = null;
+		private boolean failed = false;
+
+		Bundle(final IRODSFile targetIrodsCollection,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) {
+			this.targetIrodsCollection = targetIrodsCollection;
+			this.transferStatusCallbackListener = transferStatusCallbackListener;
+			this.transferControlBlock = transferControlBlock;
+		}
+
+		int size() {
+			return files.size();
+		}
+
+		void add(final BundledFile bundledFile) throws JargonException {
+			if (tarStream == null && !failed) {
+				files.add(bundledFile);
+				archivedSize += TarBundleOutputStream.archivedSize(bundledFile.relativePath, bundledFile.length);
+				if (files.size() < minFiles) {
+					return;
+				}
+
+				try {
+					open();
+				} catch (JargonException e) {
+					log.warn("unable to open bundle, files will be put one at a time", e);
+					failed = true;
+					deleteBundle();
+					return;
+				}
+
+				List<BundledFile> held = new ArrayList<BundledFile>(files);
+				files.clear();
+				archivedSize = 0;
+				for (BundledFile heldFile : held) {
+					write(heldFile);
+				}
+				return;
+			}
+
+			write(bundledFile);
+		}
+
+		/**
+		 * Announce a file and write it to the open bundle, or hold it to be put on
+		 * its own once the bundle has failed. The start callback is only sent for
+		 * a file written to the bundle, as a file put on its own sends its own.
+		 */
+		private void write(final BundledFile bundledFile) throws JargonException {
+			if (!failed) {
+				if (!notifyStart(bundledFile)) {
+					return;
+				}
+				bundledFile.announced = true;
+			}
+
+			files.add(bundledFile);
+			archivedSize += TarBundleOutputStream.archivedSize(bundledFile.relativePath, bundledFile.length);
+
+			if (failed) {
+				return;
+			}
+
+			try {
+				tarStream.putFile(bundledFile.relativePath, bundledFile.file, bundledFile.length);
+			} catch (IOException e) {
+				log.warn("unable to write bundle, files will be put one at a time", e);
+				failed = true;
+				closeAndDelete();
+			}
+		}
+
+		/**
+		 * Extract the bundle and report its files, or put them one at a time if
+		 * there are too few or the bundle could not be written
+		 */
+		void complete() throws JargonException {
+			if (files.isEmpty()) {
+				return;
+			}
+
+			try {
+				if (tarStream == null) {
+					log.info("putting {} files without a bundle", files.size());
+					putEachFile();
+					return;
+				}
+
+				try {
+					tarStream.close();
+				} catch (IOException e) {
+					log.warn("unable to close bundle, files will be put one at a time", e);
+					deleteBundle();
+					putEachFile();
+					return;
+				}
+				tarStream = null;
+
+				log.info("extracting bundle of {} files:{}", files.size(), bundleFile.getAbsolutePath());
+				try {
+					irodsAccessObjectFactory.getBulkFileOperationsAO(irodsAccount)
+							.extractABundleIntoAnIrodsCollectionWithBulkOperationOptimization(
+									bundleFile.getAbsolutePath(), targetIrodsCollection.getAbsolutePath(),
+									resourceName());
+				} catch (JargonException je) {
+					log.error("unable to extract bundle:{}", bundleFile.getAbsolutePath(), je);
+					deleteBundle();
+					notifyError(je);
+					return;
+				}
+
+				deleteBundle();
+				notifyComplete();
+			} finally {
+				files.clear();
+				archivedSize = 0;
+				failed = false;
+				bundleFile = null;
+				tarStream = null;
+			}
+		}
+
+		/**
+		 * Drop the bundle without extracting it, on cancel or error
+		 */
+		void abandon() {
+			closeAndDelete();
+			files.clear();
+		}
+
+		private void open() throws JargonException {
+			bundleFile = getIRODSFileFactory().instanceIRODSFile(targetIrodsCollection.getAbsolutePath(),
+					BUNDLE_NAME_PREFIX + UUID.randomUUID().toString() + ".tar");
+			bundleFile.setResource(targetIrodsCollection.getResource());
+			log.info("opening bundle:{}", bundleFile.getAbsolutePath());
+			tarStream = new TarBundleOutputStream(
+					new PackingIrodsOutputStream(getIRODSFileFactory().instanceIRODSFileOutputStream(bundleFile)),
+					irodsAccessObjectFactory.getJargonProperties().getPutBufferSize());
+		}
+
+		private String resourceName() throws JargonException {
+			String resource = targetIrodsCollection.getResource();
+			return resource == null ? "" : resource;
+		}
+
+		private void closeAndDelete() {
+			if (tarStream != null) {
+				try {
+					tarStream.close();
+				} catch (IOException e) {
+					log.warn("error closing abandoned bundle, ignored", e);
+				}
+				tarStream = null;
+			}
+			deleteBundle();
+		}
+
+		private void deleteBundle() {
+			if (bundleFile == null) {
+				return;
+			}
+			// the bundle is scratch, so it does not go to the trash
+			if (!bundleFile.deleteWithForceOption()) {
+				log.warn("unable to delete bundle:{}", bundleFile.getAbsolutePath());
+			}
+			bundleFile = null;
+		}
+
+		/**
+		 * Put the files one at a time, without a second start callback for those
+		 * already announced when written to the bundle
+		 */
+		private void putEachFile() throws JargonException {
+			for (BundledFile bundledFile : files) {
+				transferOperationsHelper.processPutOfSingleFile(bundledFile.file, targetFileFor(bundledFile),
+						transferStatusCallbackListener, transferControlBlock, !bundledFile.announced);
+			}
+		}
+
+		private IRODSFile targetFileFor(final BundledFile bundledFile) throws JargonException {
+			IRODSFile target = getIRODSFileFactory().instanceIRODSFile(targetIrodsCollection.getAbsolutePath(),
+					bundledFile.relativePath);
+			target.setResource(targetIrodsCollection.getResource());
+			return target;
+		}
+
+		/**
+		 * Send the start callback a normal put sends
+		 *
+		 * @return {@code boolean} that is {@code false} if the listener skipped the
+		 *         file
+		 */
+		private boolean notifyStart(final BundledFile bundledFile) throws JargonException {
+			if (transferStatusCallbackListener == null) {
+				return true;
+			}
+
+			String targetPath = targetPathFor(bundledFile);
+			TransferStatus status = TransferStatus.instance(TransferType.PUT, bundledFile.file.getAbsolutePath(),
+					targetPath, targetIrodsCollection.getResource(), bundledFile.length, 0,
+					transferControlBlock.getTotalFilesTransferredSoFar(),
+					transferControlBlock.getTotalFilesSkippedSoFar(), transferControlBlock.getTotalFilesToTransfer(),
+					TransferState.IN_PROGRESS_START_FILE, irodsAccount.getHost(), irodsAccount.getZone());
+
+			if (transferStatusCallbackListener.statusCallback(status) == FileStatusCallbackResponse.SKIP) {
+				log.info("file signalled as skipped in callback response:{}", bundledFile.file.getAbsolutePath());
+				transferControlBlock.incrementFilesSkippedSoFar();
+				status = TransferStatus.instance(TransferType.PUT, bundledFile.file.getAbsolutePath(), targetPath, "",
+						0, 0, transferControlBlock.getTotalFilesTransferredSoFar(),
+						transferControlBlock.getTotalFilesSkippedSoFar(),
+						transferControlBlock.getTotalFilesToTransfer(), TransferState.SKIPPING, irodsAccount.getHost(),
+						irodsAccount.getZone());
+				transferStatusCallbackListener.statusCallback(status);
+				return false;
+			}
+			return true;
+		}
+
+		private void notifyComplete() throws JargonException {
+			for (BundledFile bundledFile : files) {
+				transferControlBlock.incrementFilesTransferredSoFar();
+				if (transferStatusCallbackListener != null) {
+					TransferStatus status = TransferStatus.instance(TransferType.PUT,
+							bundledFile.file.getAbsolutePath(), targetPathFor(bundledFile),
+							targetIrodsCollection.getResource(), bundledFile.length, bundledFile.length,
+							transferControlBlock.getTotalFilesTransferredSoFar(),
+							transferControlBlock.getTotalFilesSkippedSoFar(),
+							transferControlBlock.getTotalFilesToTransfer(), TransferState.IN_PROGRESS_COMPLETE_FILE,
+							irodsAccount.getHost(), irodsAccount.getZone());
+					transferStatusCallbackListener.statusCallback(status);
+				}
+			}
+		}
+
+		private void notifyError(final JargonException je) throws JargonException {
+			if (transferStatusCallbackListener == null) {
+				transferControlBlock.reportErrorInTransfer();
+				log.warn("exception will be re-thrown, as there is no status callback listener");
+				throw je;
+			}
+
+			for (BundledFile bundledFile : files) {
+				transferControlBlock.reportErrorInTransfer();
+				TransferStatus status = TransferStatus.instanceForException(TransferType.PUT,
+						bundledFile.file.getAbsolutePath(), targetPathFor(bundledFile),
+						targetIrodsCollection.getResource(), bundledFile.length, 0,
+						transferControlBlock.getTotalFilesTransferredSoFar(),
+						transferControlBlock.getTotalFilesSkippedSoFar(),
+						transferControlBlock.getTotalFilesToTransfer(), je, irodsAccount.getHost(),
+						irodsAccount.getZone());
+				transferStatusCallbackListener.statusCallback(status);
+			}
+		}
+
+		private String targetPathFor(final BundledFile bundledFile) {
+			return targetIrodsCollection.getAbsolutePath() + "/" + bundledFile.relativePath;
+		}
+	}
+
+}
@@ -819,6 +819,30 @@ public interface CollectionAO extends FileCatalogObjectAO {
 	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromCollection(String absolutePath, List<AvuData> avuData)
 			throws JargonException;
 
+	/**
+	 * Convenience method to modify a set of AVU metadata, replacing each current
+	 * AVU with the new AVU at the same position. When the server supports it the
+	 * modifications are sent as one atomic request, a remove of each current AVU
+	 * followed by an add of its replacement.
+	 *
+	 * This method will return a collection of individual success or failure for
+	 * each AVU.
+	 *
+	 * @param absolutePath   {@code String} with the absolute path for the
+	 *                       collection
+	 * @param currentAvuData {@code List} of
+	 *                       {@link org.irods.jargon.core.pub.domain.AvuData} with
+	 *                       the AVU values to be modified
+	 * @param newAvuData     {@code List} of
+	 *                       {@link org.irods.jargon.core.pub.domain.AvuData} with
+	 *                       the new AVU values
+	 * @return {@code List} of {@link BulkAVUOperationResponse}
+	 * @throws JargonException if an unexpected exception not anticipated by the
+	 *                         bulk AVU process occurs
+	 */
+	List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnCollection(String absolutePath,
+			List<AvuData> currentAvuData, List<AvuData> newAvuData) throws JargonException;
+
 	/**
 	 * Do a buld delete of all AVUs associated with the collection
 	 *
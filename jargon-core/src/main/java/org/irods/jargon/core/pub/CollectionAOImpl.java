@@ -3,6 +3,7 @@ package org.irods.jargon.core.pub;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.irods.jargon.core.connection.AvuCache;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.CatalogSQLException;
@@ -11,11 +12,13 @@ import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.OperationNotSupportedByThisServerException;
+import org.irods.jargon.core.packinstr.AtomicMetadataOperationsInp;
 import org.irods.jargon.core.packinstr.ModAccessControlInp;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.ActionType;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.MetadataTargetType;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.protovalues.UserTypeEnum;
-import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.RuleProcessingAO.RuleProcessingType;
 import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
 import org.irods.jargon.core.pub.domain.AvuData;
@@ -359,25 +362,20 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
 
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				addAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error("FileNotFoundException when adding an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-			} catch (DuplicateDataException dde) {
-				log.error("DuplicateDataException when adding an AVU, catch and add to response data", dde);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
-				continue;
-
-			}
+			requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(myPath, value));
+		}
 
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(myPath,
+				MetadataTargetType.COLLECTION, ActionType.ADD, avuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-814000");
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
 		}
 
 		log.info("...complete");
@@ -401,21 +399,70 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolutePath");
+		}
 
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				deleteAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error("FileNotFoundException when deleti an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
+			requests.add(ModAvuMetadataInp.instanceForDeleteCollectionMetadata(myPath, value));
+		}
 
-			}
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(myPath,
+				MetadataTargetType.COLLECTION, ActionType.REMOVE, avuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-814000");
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
+		}
+
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.CollectionAO#modifyBulkAVUMetadataOnCollection
+	 * (java.lang.String, java.util.List, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnCollection(final String absolutePath,
+			final List<AvuData> currentAvuData, final List<AvuData> newAvuData) throws JargonException {
+
+		log.info("modifyBulkAVUMetadataOnCollection()");
+
+		if (currentAvuData == null || newAvuData == null || currentAvuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		if (currentAvuData.size() != newAvuData.size()) {
+			throw new IllegalArgumentException("currentAvuData and newAvuData must be the same size");
+		}
+
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolutePath");
+		}
+
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
 
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(newAvuData.size());
+		for (int i = 0; i < newAvuData.size(); i++) {
+			requests.add(ModAvuMetadataInp.instanceForModifyCollectionMetadata(myPath, currentAvuData.get(i),
+					newAvuData.get(i)));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instanceForModify(myPath,
+				MetadataTargetType.COLLECTION, currentAvuData, newAvuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-814000");
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
 		}
 
 		log.info("...complete");
@@ -464,6 +511,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 			log.error("jargon exception adding AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
 		}
 
 		log.debug("metadata added");
@@ -510,6 +559,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 			log.error("jargon exception adding AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
 		}
 
 		log.debug("metadata added");
@@ -554,6 +605,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 			log.error("jargon exception removing AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
 		}
 
 		log.debug("metadata removed");
@@ -583,6 +636,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 			return;
 		}
 
+		// delete every AVU now on the collection, not those last cached
+		invalidateAvus(MetadataDomain.COLLECTION, String.valueOf(objStat.getDataId()));
 		List<MetaDataAndDomainData> metadatas;
 		try {
 			metadatas = this.findMetadataValuesForCollection(objStat, 0);
@@ -710,6 +765,8 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 			log.error("jargon exception modifying AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvusByName(MetadataDomain.COLLECTION, myPath);
 		}
 
 		log.debug("metadata rewritten");
@@ -857,6 +914,17 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 		log.info("absPath for querying iCAT:{}", absPath);
 
+		AvuCache avuCache = getAvuCache();
+		String collectionId = String.valueOf(objStat.getDataId());
+		if (avuCache != null && partialStartIndex == 0) {
+			List<MetaDataAndDomainData> cached = avuCache.retrieve(getIRODSAccount(), MetadataDomain.COLLECTION,
+					collectionId, absPath);
+			if (cached != null) {
+				log.debug("AVUs found in cache");
+				return cached;
+			}
+		}
+
 		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
 		IRODSQueryResultSetInterface resultSet;
 
@@ -878,8 +946,12 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 			throw new JargonException("error executing query", jqe);
 		}
 
-		return AccessObjectQueryProcessingUtils.buildMetaDataAndDomainDatalistFromResultSet(MetadataDomain.COLLECTION,
-				resultSet);
+		List<MetaDataAndDomainData> metadata = AccessObjectQueryProcessingUtils
+				.buildMetaDataAndDomainDatalistFromResultSet(MetadataDomain.COLLECTION, resultSet);
+		if (avuCache != null && partialStartIndex == 0) {
+			avuCache.cache(getIRODSAccount(), MetadataDomain.COLLECTION, collectionId, absPath, metadata);
+		}
+		return metadata;
 
 	}
 
@@ -1,6 +1,7 @@
 package org.irods.jargon.core.pub;
 
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
@@ -494,6 +495,24 @@ public interface CollectionAndDataObjectListAndSearchAO extends IRODSAccessObjec
 	 */
 	ObjStat retrieveObjectStatForPath(String irodsAbsolutePath) throws FileNotFoundException, JargonException;
 
+	/**
+	 * Retrieve the {@code ObjStat} for each of many collections or data objects.
+	 * Paths are grouped by parent collection and looked up with as few GenQueries
+	 * as possible, falling back to pipelined objStat calls for paths in special
+	 * collections and those the queries cannot answer. Results kept by the
+	 * session {@code ObjStatCache}, when it is enabled, are used and filled.
+	 *
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with absolute paths to iRODS collections or
+	 *            data objects
+	 * @return {@code Map<String, ObjStat>} with each normalized path, in the order
+	 *         given, and its {@link ObjStat}, or {@code null} where the path does
+	 *         not exist or cannot be seen
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	Map<String, ObjStat> retrieveObjectStatsForPaths(List<String> irodsAbsolutePaths) throws JargonException;
+
 	/**
 	 * Return the {@code CollectionAndDataObjectListingEntry} that is associated
 	 * with the given iRODS absolute path. This is equivalent to doing an 'objStat'
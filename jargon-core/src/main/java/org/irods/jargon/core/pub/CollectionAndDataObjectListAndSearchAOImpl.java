@@ -2,6 +2,7 @@ package org.irods.jargon.core.pub;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
@@ -1472,4 +1473,17 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		return collectionListingUtils.retrieveObjectStatForPath(irodsAbsolutePath);
 
 	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * retrieveObjectStatsForPaths(java.util.List)
+	 */
+	@Override
+	public Map<String, ObjStat> retrieveObjectStatsForPaths(final List<String> irodsAbsolutePaths)
+			throws JargonException {
+		BulkObjStatUtils bulkObjStatUtils = new BulkObjStatUtils(getIRODSAccount(), getIRODSAccessObjectFactory());
+		return bulkObjStatUtils.retrieveObjectStatsForPaths(irodsAbsolutePaths);
+	}
 }
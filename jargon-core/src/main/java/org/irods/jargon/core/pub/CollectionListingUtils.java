@@ -8,6 +8,8 @@ import java.util.Date;
 import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.ObjStatCache;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.FileDriverError;
 import org.irods.jargon.core.exception.FileNotFoundException;
@@ -623,6 +625,8 @@ class CollectionListingUtils {
 
 		subdirs = new ArrayList<>(resultSet.getResults().size());
 		CollectionAndDataObjectListingEntry collectionAndDataObjectListingEntry = null;
+		ObjStatCache objStatCache = objStatCacheForPrefetch(objStat);
+		List<ObjStat> prefetched = new ArrayList<>();
 
 		for (IRODSQueryResultRow row : resultSet.getResults()) {
 			collectionAndDataObjectListingEntry = CollectionAOHelper
@@ -639,9 +643,16 @@ class CollectionListingUtils {
 			 */
 			if (!collectionAndDataObjectListingEntry.getPathOrName().equals("/")) {
 				subdirs.add(collectionAndDataObjectListingEntry);
+				if (objStatCache != null && collectionAndDataObjectListingEntry.getSpecColType() == SpecColType.NORMAL) {
+					prefetched.add(objStatFromListingEntry(collectionAndDataObjectListingEntry, ""));
+				}
 			}
 		}
 
+		if (objStatCache != null) {
+			objStatCache.cacheListing(irodsAccount, prefetched);
+		}
+
 		return subdirs;
 	}
 
@@ -736,6 +747,20 @@ class CollectionListingUtils {
 		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, false, true, null);
 
 		IRODSFileSystemAOHelper.buildQueryListAllDataObjectsWithSizeAndDateInfo(effectiveAbsolutePath, builder);
+
+		/*
+		 * when seeding the stat cache the checksum is needed as well, it is the last
+		 * column
+		 */
+		ObjStatCache objStatCache = objStatCacheForPrefetch(objStat);
+		if (objStatCache != null) {
+			try {
+				builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_CHECKSUM);
+			} catch (GenQueryBuilderException e) {
+				throw new JargonException("error building query", e);
+			}
+		}
+
 		IRODSQueryResultSet resultSet;
 
 		try {
@@ -754,6 +779,7 @@ class CollectionListingUtils {
 		String lastPath = "";
 		String currentPath = "";
 		CollectionAndDataObjectListingEntry entry;
+		List<ObjStat> prefetched = new ArrayList<>();
 		for (IRODSQueryResultRow row : resultSet.getResults()) {
 			entry = CollectionAOHelper.buildCollectionListEntryFromResultSetRowForDataObjectQuery(row,
 					resultSet.getTotalRecords());
@@ -775,6 +801,13 @@ class CollectionListingUtils {
 
 			lastPath = currentPath;
 			files.add(entry);
+			if (objStatCache != null) {
+				prefetched.add(objStatFromListingEntry(entry, row.getColumn(9)));
+			}
+		}
+
+		if (objStatCache != null) {
+			objStatCache.cacheListing(irodsAccount, prefetched);
 		}
 		return files;
 	}
@@ -1038,7 +1071,51 @@ class CollectionListingUtils {
 	}
 
 	/**
-	 * Retrieve an iRODS ObjStat object for the given iRODS path
+	 * Get the stat cache to seed with the children of a listing, only for normal
+	 * collections, as paths under special collections are rewritten
+	 *
+	 * @param objStat {@link ObjStat} of the collection being listed
+	 * @return {@link ObjStatCache} or {@code null} if listings are not to seed it
+	 */
+	private ObjStatCache objStatCacheForPrefetch(final ObjStat objStat) {
+		if (objStat.getSpecColType() != SpecColType.NORMAL || objStat.isStandInGeneratedObjStat()) {
+			return null;
+		}
+
+		IRODSSession irodsSession = irodsAccessObjectFactory.getIrodsSession();
+		ObjStatCache objStatCache = irodsSession.getObjStatCache();
+		if (objStatCache == null || !irodsSession.getJargonProperties().isObjStatCachePrefetchListings()) {
+			return null;
+		}
+		return objStatCache;
+	}
+
+	/**
+	 * Build the stat iRODS would give for a child found by a listing
+	 *
+	 * @param entry    {@link CollectionAndDataObjectListingEntry} from the listing
+	 * @param checksum {@code String} with the checksum of a data object, or blank
+	 * @return {@link ObjStat}
+	 */
+	static ObjStat objStatFromListingEntry(final CollectionAndDataObjectListingEntry entry, final String checksum) {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(entry.getFormattedAbsolutePath());
+		objStat.setObjectType(entry.getObjectType());
+		objStat.setDataId(entry.getId());
+		objStat.setChecksum(checksum == null ? "" : checksum);
+		objStat.setOwnerName(entry.getOwnerName());
+		objStat.setOwnerZone(entry.getOwnerZone());
+		objStat.setObjSize(entry.getDataSize());
+		objStat.setCreatedAt(entry.getCreatedAt());
+		objStat.setModifiedAt(entry.getModifiedAt());
+		objStat.setSpecColType(SpecColType.NORMAL);
+		return objStat;
+	}
+
+	/**
+	 * Retrieve an iRODS ObjStat object for the given iRODS path. When the session
+	 * keeps an {@link ObjStatCache} the result, or the path not being found, is
+	 * answered from it while fresh and kept in it otherwise.
 	 *
 	 * @param irodsAbsolutePath <code>String</code> with an absolute path to an
 	 *                          irods object
@@ -1055,9 +1132,32 @@ class CollectionListingUtils {
 
 		String myPath = MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
 
+		ObjStatCache objStatCache = irodsAccessObjectFactory.getIrodsSession().getObjStatCache();
+		if (objStatCache == null) {
+			return retrieveObjectStatFromIrods(myPath);
+		}
+
+		ObjStat objStat = objStatCache.retrieve(irodsAccount, myPath);
+		if (objStat != null) {
+			log.debug("objStat from cache:{}", objStat);
+			return objStat;
+		}
+
+		try {
+			objStat = retrieveObjectStatFromIrods(myPath);
+		} catch (FileNotFoundException e) {
+			objStatCache.cacheNotFound(irodsAccount, myPath);
+			throw e;
+		}
+
+		objStatCache.cache(irodsAccount, myPath, objStat);
+		return objStat;
+	}
+
+	private ObjStat retrieveObjectStatFromIrods(final String myPath) throws FileNotFoundException, JargonException {
+
 		DataObjInpForObjStat dataObjInp = DataObjInpForObjStat.instance(myPath);
 		Tag response;
-		ObjStat objStat;
 		try {
 			response = irodsAccessObjectFactory.getIrodsSession().currentConnection(irodsAccount)
 					.irodsFunction(dataObjInp);
@@ -1067,12 +1167,24 @@ class CollectionListingUtils {
 		}
 
 		log.debug("response from objStat: {}", response.parseTag());
+		return buildObjStatFromResponse(myPath, response);
+	}
+
+	/**
+	 * Build the {@code ObjStat} from the reply to an objStat request
+	 *
+	 * @param myPath   {@code String} with the normalized path that was asked for
+	 * @param response {@link Tag} with the reply
+	 * @return {@link ObjStat}
+	 * @throws JargonException {@link JargonException}
+	 */
+	static ObjStat buildObjStatFromResponse(final String myPath, final Tag response) throws JargonException {
 
 		/**
 		 * For spec cols - soft link - phyPath = parent canonical dir -objPath =
 		 * canonical path
 		 */
-		objStat = new ObjStat();
+		ObjStat objStat = new ObjStat();
 		objStat.setAbsolutePath(myPath);
 		objStat.setChecksum(response.getTag("chksum").getStringValue());
 		objStat.setDataId(response.getTag("dataId").getIntValue());
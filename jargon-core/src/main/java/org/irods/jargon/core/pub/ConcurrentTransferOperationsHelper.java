@@ -0,0 +1,733 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatus;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recursive get and put of a collection with several files in flight at once.
+ * The calling thread walks the source tree and queues each file. A fixed number
+ * of worker threads take files from the queue, each moving them over its own
+ * connection with the single file methods of {@link TransferOperationsHelper}.
+ * On a put, the target collections found by the walk are created a batch at a
+ * time in one pipelined exchange, before any of their files are queued.
+ * <p>
+ * The {@link TransferControlBlock} is shared by the workers, so cancel, pause,
+ * error counts and totals behave as in a sequential transfer. Callbacks to the
+ * {@link TransferStatusCallbackListener} are made one at a time, though not in
+ * the order of the walk. The restart filter depends on walk order, so a
+ * transfer that restarts from a last good path is done sequentially instead, see
+ * {@link #isConcurrentTransferApplicable(TransferControlBlock)}.
+ * <p>
+ * These are used internally. See
+ * {@link org.irods.jargon.core.pub.DataTransferOperations} for public methods.
+ */
+final class ConcurrentTransferOperationsHelper {
+
+	static Logger log = LoggerFactory.getLogger(ConcurrentTransferOperationsHelper.class);
+
+	/**
+	 * Files queued ahead of the workers, per worker, which bounds the memory used
+	 * by a walk of a very large tree
+	 */
+	static final int QUEUE_DEPTH_PER_WORKER = 64;
+
+	/**
+	 * Largest number of collections created in one pipelined batch
+	 */
+	static final int COLLECTION_BATCH_SIZE = 256;
+
+	private static final AtomicInteger transferCount = new AtomicInteger();
+
+	private final IRODSSession irodsSession;
+	private final IRODSAccount irodsAccount;
+	private final TransferOperationsHelper transferOperationsHelper;
+	private final int numberOfWorkers;
+
+	/**
+	 * Create an instance for one recursive transfer
+	 *
+	 * @param irodsSession
+	 *            {@link IRODSSession} the workers obtain their connections from
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the transfer
+	 * @param transferOperationsHelper
+	 *            {@link TransferOperationsHelper} on the calling thread's
+	 *            connection, used for the walk and for creating collections
+	 * @param numberOfWorkers
+	 *            {@code int} with the number of files moved at once
+	 * @return {@link ConcurrentTransferOperationsHelper}
+	 */
+	static ConcurrentTransferOperationsHelper instance(final IRODSSession irodsSession,
+			final IRODSAccount irodsAccount, final TransferOperationsHelper transferOperationsHelper,
+			final int numberOfWorkers) {
+		return new ConcurrentTransferOperationsHelper(irodsSession, irodsAccount, transferOperationsHelper,
+				numberOfWorkers);
+	}
+
+	private ConcurrentTransferOperationsHelper(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+			final TransferOperationsHelper transferOperationsHelper, final int numberOfWorkers) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (transferOperationsHelper == null) {
+			throw new IllegalArgumentException("null transferOperationsHelper");
+		}
+
+		if (numberOfWorkers < 1) {
+			throw new IllegalArgumentException("numberOfWorkers must be at least 1");
+		}
+
+		this.irodsSession = irodsSession;
+		this.irodsAccount = irodsAccount;
+		this.transferOperationsHelper = transferOperationsHelper;
+		this.numberOfWorkers = numberOfWorkers;
+	}
+
+	/**
+	 * Decide whether a recursive transfer with the given control block may move
+	 * files concurrently
+	 *
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @return {@code boolean} that is {@code true} if more than one concurrent
+	 *         file transfer is configured, and the transfer is not restarting from
+	 *         a last good path
+	 */
+	static boolean isConcurrentTransferApplicable(final TransferControlBlock transferControlBlock) {
+		if (transferControlBlock == null || transferControlBlock.getTransferOptions() == null) {
+			return false;
+		}
+
+		if (transferControlBlock.getTransferOptions().getConcurrentFileTransferThreads() <= 1) {
+			return false;
+		}
+
+		String restartAbsolutePath = transferControlBlock.getRestartAbsolutePath();
+		return restartAbsolutePath == null || restartAbsolutePath.isEmpty();
+	}
+
+	/**
+	 * Recursively put a local directory into an iRODS collection, which must
+	 * already exist.
+	 *
+	 * @param sourceFile
+	 *            {@code File} with the local directory to put
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} with the collection that receives the contents
+	 *            of {@code sourceFile}
+	 * @param transferStatusCallbackListener
+	 *            optional {@link TransferStatusCallbackListener}, if {@code null}
+	 *            the first error ends the transfer and is thrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer, required
+	 * @throws JargonException
+	 *             for an error that ends the transfer
+	 */
+	void recursivelyPut(final File sourceFile, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		if (sourceFile == null) {
+			throw new IllegalArgumentException("null source file");
+		}
+
+		if (targetIrodsCollection == null) {
+			throw new IllegalArgumentException("null targetIrodsCollection");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		if (!sourceFile.isDirectory()) {
+			throw new JargonException("source file is not a directory, cannot recursively put");
+		}
+
+		log.info("concurrently putting source file: {}", sourceFile.getAbsolutePath());
+		log.info("    into iRODS file: {}", targetIrodsCollection.getAbsolutePath());
+		log.info("    with workers:{}", numberOfWorkers);
+
+		transferTree(new PutTreeWalker(sourceFile, targetIrodsCollection), transferStatusCallbackListener,
+				transferControlBlock);
+	}
+
+	/**
+	 * Recursively get an iRODS collection into a local directory, which must
+	 * already exist.
+	 *
+	 * @param irodsSourceFile
+	 *            {@link IRODSFile} with the collection to get
+	 * @param targetLocalFile
+	 *            {@code File} with the local directory that receives the contents
+	 *            of {@code irodsSourceFile}
+	 * @param transferStatusCallbackListener
+	 *            optional {@link TransferStatusCallbackListener}, if {@code null}
+	 *            the first error ends the transfer and is thrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer, required
+	 * @throws JargonException
+	 *             for an error that ends the transfer
+	 */
+	void recursivelyGet(final IRODSFile irodsSourceFile, final File targetLocalFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		if (irodsSourceFile == null) {
+			throw new IllegalArgumentException("null irodsSourceFile");
+		}
+
+		if (targetLocalFile == null) {
+			throw new IllegalArgumentException("null targetLocalFile");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		log.info("concurrently getting source file: {}", irodsSourceFile.getAbsolutePath());
+		log.info("    into local file: {}", targetLocalFile.getAbsolutePath());
+		log.info("    with workers:{}", numberOfWorkers);
+
+		transferTree(new GetTreeWalker(irodsSourceFile, targetLocalFile), transferStatusCallbackListener,
+				transferControlBlock);
+	}
+
+	/**
+	 * Run the walk on this thread, feeding the workers, then wait for the workers
+	 * to finish the queued files
+	 *
+	 * @param treeWalker
+	 *            {@link TreeWalker} that produces the files to transfer
+	 * @param transferStatusCallbackListener
+	 *            optional {@link TransferStatusCallbackListener}
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @throws JargonException
+	 *             for the first error that ended the transfer
+	 */
+	void transferTree(final TreeWalker treeWalker, final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		final TransferStatusCallbackListener workerListener = transferStatusCallbackListener == null ? null
+				: new SerializedTransferStatusCallbackListener(transferStatusCallbackListener);
+		final TreeTransfer treeTransfer = new TreeTransfer(transferControlBlock, workerListener);
+
+		final int transferNumber = transferCount.incrementAndGet();
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfWorkers, new ThreadFactory() {
+			private final AtomicInteger threadCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable,
+						"jargon-tree-transfer-" + transferNumber + "-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		for (int i = 0; i < numberOfWorkers; i++) {
+			executor.execute(new Worker(treeTransfer));
+		}
+
+		try {
+			treeWalker.walk(treeTransfer);
+		} catch (JargonException | RuntimeException e) {
+			if (!transferControlBlock.isCancelled()) {
+				log.error("error walking source tree, transfer will end", e);
+				treeTransfer.fail(e);
+			}
+		} finally {
+			treeTransfer.endOfWalk(numberOfWorkers);
+			executor.shutdown();
+			awaitWorkers(executor, transferControlBlock);
+		}
+
+		TransferItem stoppedAt = treeTransfer.stoppedAt.get();
+		if (transferStatusCallbackListener != null && stoppedAt != null
+				&& (transferControlBlock.isCancelled() || transferControlBlock.isPaused())) {
+			log.info("will notify pause or cancel for this transfer");
+			stoppedAt.notifyPauseOrCancel(transferOperationsHelper, workerListener, transferControlBlock);
+		}
+
+		Throwable failure = treeTransfer.failure.get();
+		if (failure != null && !transferControlBlock.isCancelled()) {
+			if (failure instanceof JargonException) {
+				throw (JargonException) failure;
+			}
+			throw new JargonException(failure);
+		}
+	}
+
+	private void awaitWorkers(final ExecutorService executor, final TransferControlBlock transferControlBlock) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				log.info("cancellation detected, set cancelled in tcb");
+				transferControlBlock.setCancelled(true);
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * State shared by the walk and the workers of one transfer
+	 */
+	final class TreeTransfer {
+		private final TransferItem endOfWalk = new EndOfWalk();
+		private final BlockingQueue<TransferItem> queue;
+		private final TransferControlBlock transferControlBlock;
+		private final TransferStatusCallbackListener transferStatusCallbackListener;
+		private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		private final AtomicReference<TransferItem> stoppedAt = new AtomicReference<TransferItem>();
+
+		TreeTransfer(final TransferControlBlock transferControlBlock,
+				final TransferStatusCallbackListener transferStatusCallbackListener) {
+			queue = new ArrayBlockingQueue<TransferItem>(numberOfWorkers * QUEUE_DEPTH_PER_WORKER);
+			this.transferControlBlock = transferControlBlock;
+			this.transferStatusCallbackListener = transferStatusCallbackListener;
+		}
+
+		/**
+		 * @return {@code boolean} that is {@code true} if no more files should be
+		 *         started, because of a cancel, pause or error
+		 */
+		boolean isStopped() {
+			if (Thread.currentThread().isInterrupted()) {
+				log.info("cancellation detected, set cancelled in tcb");
+				transferControlBlock.setCancelled(true);
+			}
+			return failure.get() != null || transferControlBlock.isCancelled() || transferControlBlock.isPaused();
+		}
+
+		/**
+		 * Queue a file for the workers, waiting while the queue is full
+		 *
+		 * @param transferItem
+		 *            {@link TransferItem} to queue
+		 * @return {@code boolean} that is {@code false} if the transfer has stopped
+		 *         and the walk should end
+		 */
+		boolean accept(final TransferItem transferItem) {
+			while (true) {
+				if (isStopped()) {
+					stoppedAt.compareAndSet(null, transferItem);
+					return false;
+				}
+				try {
+					if (queue.offer(transferItem, 100, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		void fail(final Throwable throwable) {
+			failure.compareAndSet(null, throwable);
+		}
+
+		/**
+		 * Signal each worker to exit once the queue is drained. Workers keep
+		 * draining after a failure, so there is always room eventually.
+		 */
+		private void endOfWalk(final int workers) {
+			boolean interrupted = Thread.interrupted();
+			for (int i = 0; i < workers; i++) {
+				while (true) {
+					try {
+						queue.put(endOfWalk);
+						break;
+					} catch (InterruptedException e) {
+						transferControlBlock.setCancelled(true);
+						interrupted = true;
+					}
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * Create a batch of collections on the walking thread's connection
+		 */
+		void createCollections(final List<String> collectionPaths) throws JargonException {
+			transferOperationsHelper.createCollections(collectionPaths);
+		}
+	}
+
+	/**
+	 * Takes files from the queue and moves them over the connection cached for
+	 * the worker thread, returning that connection when the walk is over
+	 */
+	private final class Worker implements Runnable {
+		private final TreeTransfer treeTransfer;
+
+		Worker(final TreeTransfer treeTransfer) {
+			this.treeTransfer = treeTransfer;
+		}
+
+		@Override
+		public void run() {
+			TransferOperationsHelper workerHelper = null;
+			try {
+				while (true) {
+					TransferItem transferItem;
+					try {
+						transferItem = treeTransfer.queue.take();
+					} catch (InterruptedException e) {
+						log.info("worker interrupted, set cancelled in tcb");
+						treeTransfer.transferControlBlock.setCancelled(true);
+						continue;
+					}
+
+					if (transferItem == treeTransfer.endOfWalk) {
+						break;
+					}
+
+					if (treeTransfer.isStopped()) {
+						treeTransfer.stoppedAt.compareAndSet(null, transferItem);
+						continue;
+					}
+
+					try {
+						if (workerHelper == null) {
+							workerHelper = createWorkerHelper();
+						}
+						workerHelper.checkSocketRenewal();
+						transferItem.transfer(workerHelper, treeTransfer.transferStatusCallbackListener,
+								treeTransfer.transferControlBlock);
+					} catch (Throwable e) {
+						if (!treeTransfer.transferControlBlock.isCancelled()) {
+							log.error("error in concurrent transfer, transfer will end", e);
+							treeTransfer.fail(e);
+						}
+					}
+				}
+			} finally {
+				try {
+					irodsSession.closeSession(irodsAccount);
+				} catch (Exception e) {
+					log.warn("error closing worker connection, ignored", e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create the helper for a worker thread, which connects on that thread
+	 *
+	 * @return {@link TransferOperationsHelper} for the worker
+	 * @throws JargonException
+	 *             if the connection cannot be made
+	 */
+	TransferOperationsHelper createWorkerHelper() throws JargonException {
+		return TransferOperationsHelper.instance(irodsSession, irodsAccount);
+	}
+
+	/**
+	 * Produces the files of a tree, on the calling thread
+	 */
+	interface TreeWalker {
+		/**
+		 * Walk the source, handing each file to
+		 * {@link TreeTransfer#accept(TransferItem)}, and ending early when it
+		 * returns {@code false}
+		 *
+		 * @param treeTransfer
+		 *            {@link TreeTransfer} receiving the files
+		 * @throws JargonException
+		 *             for an error that ends the walk
+		 */
+		void walk(TreeTransfer treeTransfer) throws JargonException;
+	}
+
+	/**
+	 * One file to move
+	 */
+	interface TransferItem {
+		/**
+		 * Move the file on a worker thread
+		 */
+		void transfer(TransferOperationsHelper workerHelper,
+				TransferStatusCallbackListener transferStatusCallbackListener,
+				TransferControlBlock transferControlBlock) throws JargonException;
+
+		/**
+		 * Send the callback for a transfer that was cancelled or paused before
+		 * this file
+		 */
+		void notifyPauseOrCancel(TransferOperationsHelper helper,
+				TransferStatusCallbackListener transferStatusCallbackListener,
+				TransferControlBlock transferControlBlock) throws JargonException;
+	}
+
+	private static final class EndOfWalk implements TransferItem {
+		@Override
+		public void transfer(final TransferOperationsHelper workerHelper,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) {
+		}
+
+		@Override
+		public void notifyPauseOrCancel(final TransferOperationsHelper helper,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) {
+		}
+	}
+
+	/**
+	 * Breadth first walk of a local directory. A level of the tree is walked
+	 * before the next, so the collections for a level are created together just
+	 * before the first of them is listed.
+	 */
+	private static final class PutTreeWalker implements TreeWalker {
+		private final File sourceFile;
+		private final IRODSFile targetIrodsCollection;
+
+		PutTreeWalker(final File sourceFile, final IRODSFile targetIrodsCollection) {
+			this.sourceFile = sourceFile;
+			this.targetIrodsCollection = targetIrodsCollection;
+		}
+
+		@Override
+		public void walk(final TreeTransfer treeTransfer) throws JargonException {
+			Deque<PutDirectory> directories = new ArrayDeque<PutDirectory>();
+			List<PutDirectory> pending = new ArrayList<PutDirectory>();
+			directories.add(new PutDirectory(sourceFile, targetIrodsCollection.getAbsolutePath(), true));
+
+			while (!directories.isEmpty()) {
+				if (treeTransfer.isStopped()) {
+					return;
+				}
+
+				PutDirectory directory = directories.poll();
+				if (!directory.created) {
+					createPending(treeTransfer, pending);
+				}
+
+				File[] files = directory.localDirectory.listFiles();
+				if (files == null) {
+					log.warn("unable to list local directory:{}", directory.localDirectory);
+					continue;
+				}
+
+				for (File fileInSourceCollection : files) {
+					if (fileInSourceCollection.isDirectory()) {
+						PutDirectory child = new PutDirectory(fileInSourceCollection,
+								directory.irodsCollectionPath + "/" + fileInSourceCollection.getName(), false);
+						pending.add(child);
+						directories.add(child);
+						if (pending.size() >= COLLECTION_BATCH_SIZE) {
+							createPending(treeTransfer, pending);
+						}
+					} else if (!treeTransfer.accept(new PutItem(fileInSourceCollection,
+							directory.irodsCollectionPath, targetIrodsCollection.getResource()))) {
+						return;
+					}
+				}
+			}
+		}
+
+		private void createPending(final TreeTransfer treeTransfer, final List<PutDirectory> pending)
+				throws JargonException {
+			if (pending.isEmpty()) {
+				return;
+			}
+			List<String> collectionPaths = new ArrayList<String>(pending.size());
+			for (PutDirectory directory : pending) {
+				collectionPaths.add(directory.irodsCollectionPath);
+				directory.created = true;
+			}
+			pending.clear();
+			treeTransfer.createCollections(collectionPaths);
+		}
+	}
+
+	private static final class PutDirectory {
+		private final File localDirectory;
+		private final String irodsCollectionPath;
+		private boolean created;
+
+		PutDirectory(final File localDirectory, final String irodsCollectionPath, final boolean created) {
+			this.localDirectory = localDirectory;
+			this.irodsCollectionPath = irodsCollectionPath;
+			this.created = created;
+		}
+	}
+
+	private static final class PutItem implements TransferItem {
+		private final File sourceFile;
+		private final String irodsCollectionPath;
+		private final String resource;
+
+		PutItem(final File sourceFile, final String irodsCollectionPath, final String resource) {
+			this.sourceFile = sourceFile;
+			this.irodsCollectionPath = irodsCollectionPath;
+			this.resource = resource;
+		}
+
+		@Override
+		public void transfer(final TransferOperationsHelper workerHelper,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) throws JargonException {
+			workerHelper.processPutOfSingleFile(sourceFile, targetCollection(workerHelper),
+					transferStatusCallbackListener, transferControlBlock);
+		}
+
+		@Override
+		public void notifyPauseOrCancel(final TransferOperationsHelper helper,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) throws JargonException {
+			helper.notifyPauseOrCancelCallbackForPut(targetCollection(helper), transferStatusCallbackListener,
+					transferControlBlock, sourceFile);
+		}
+
+		private IRODSFile targetCollection(final TransferOperationsHelper helper) throws JargonException {
+			IRODSFile targetIrodsCollection = helper.instanceIRODSFileForCollectionPath(irodsCollectionPath);
+			targetIrodsCollection.setResource(resource);
+			return targetIrodsCollection;
+		}
+	}
+
+	/**
+	 * Breadth first walk of an iRODS collection, listing each collection on the
+	 * walking thread's connection and making the local directories as they are
+	 * found
+	 */
+	private static final class GetTreeWalker implements TreeWalker {
+		private final IRODSFile irodsSourceFile;
+		private final File targetLocalFile;
+
+		GetTreeWalker(final IRODSFile irodsSourceFile, final File targetLocalFile) {
+			this.irodsSourceFile = irodsSourceFile;
+			this.targetLocalFile = targetLocalFile;
+		}
+
+		@Override
+		public void walk(final TreeTransfer treeTransfer) throws JargonException {
+			Deque<IRODSFile> sources = new ArrayDeque<IRODSFile>();
+			Deque<File> targets = new ArrayDeque<File>();
+			sources.add(irodsSourceFile);
+			targets.add(targetLocalFile);
+
+			while (!sources.isEmpty()) {
+				if (treeTransfer.isStopped()) {
+					return;
+				}
+
+				IRODSFile sourceCollection = sources.poll();
+				File targetDirectory = targets.poll();
+
+				for (File fileInSourceCollection : sourceCollection.listFiles()) {
+					IRODSFile irodsFile = (IRODSFile) fileInSourceCollection;
+					irodsFile.setResource(sourceCollection.getResource());
+
+					if (irodsFile.isDirectory()) {
+						File newSubCollection = new File(targetDirectory, irodsFile.getName());
+						log.info("recursively creating parent directory in local file system at: {}",
+								newSubCollection);
+						if (!newSubCollection.mkdirs() && !newSubCollection.isDirectory()) {
+							log.warn("unable to make directories in local file system, log and proceed");
+						}
+						sources.add(irodsFile);
+						targets.add(newSubCollection);
+					} else if (!treeTransfer.accept(new GetItem(irodsFile, targetDirectory))) {
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	private static final class GetItem implements TransferItem {
+		private final IRODSFile irodsSourceFile;
+		private final File targetLocalFile;
+
+		GetItem(final IRODSFile irodsSourceFile, final File targetLocalFile) {
+			this.irodsSourceFile = irodsSourceFile;
+			this.targetLocalFile = targetLocalFile;
+		}
+
+		@Override
+		public void transfer(final TransferOperationsHelper workerHelper,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) throws JargonException {
+			workerHelper.processGetOfSingleFile(irodsSourceFile, targetLocalFile, transferStatusCallbackListener,
+					transferControlBlock);
+		}
+
+		@Override
+		public void notifyPauseOrCancel(final TransferOperationsHelper helper,
+				final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) throws JargonException {
+			helper.notifyPauseOrCancelCallbackForGet(targetLocalFile, transferStatusCallbackListener,
+					transferControlBlock, (File) irodsSourceFile);
+		}
+	}
+
+	/**
+	 * Hands callbacks from the workers to the caller's listener one at a time, as
+	 * listeners are written for a sequential transfer
+	 */
+	static final class SerializedTransferStatusCallbackListener implements TransferStatusCallbackListener {
+		private final TransferStatusCallbackListener transferStatusCallbackListener;
+
+		SerializedTransferStatusCallbackListener(final TransferStatusCallbackListener transferStatusCallbackListener) {
+			this.transferStatusCallbackListener = transferStatusCallbackListener;
+		}
+
+		@Override
+		public synchronized FileStatusCallbackResponse statusCallback(final TransferStatus transferStatus)
+				throws JargonException {
+			return transferStatusCallbackListener.statusCallback(transferStatus);
+		}
+
+		@Override
+		public synchronized void overallStatusCallback(final TransferStatus transferStatus) throws JargonException {
+			transferStatusCallbackListener.overallStatusCallback(transferStatus);
+		}
+
+		@Override
+		public synchronized CallbackResponse transferAsksWhetherToForceOperation(final String irodsAbsolutePath,
+				final boolean isCollection) {
+			return transferStatusCallbackListener.transferAsksWhetherToForceOperation(irodsAbsolutePath,
+					isCollection);
+		}
+	}
+
+}
@@ -14,6 +14,7 @@ import java.util.List;
 import org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy;
 import org.irods.jargon.core.checksum.ChecksumManager;
 import org.irods.jargon.core.checksum.ChecksumManagerImpl;
+import org.irods.jargon.core.checksum.StreamingChecksum;
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
@@ -292,12 +293,16 @@ public final class DataAOHelper extends AOHelper {
 	 * @param transferOptions                {@link TransferOptions}
 	 * @param transferStatusCallbackListener {@link TransferStatusCallbackListener}
 	 * @param transferControlBlock           {@link TransferControlBlock}
+	 * @param streamingChecksum              {@link StreamingChecksum} to feed with
+	 *                                       the data as it arrives, or
+	 *                                       {@code null}
 	 * @throws JargonException for iRODS error
 	 */
 	void processNormalGetTransfer(final File localFileToHoldData, final long length,
 			final IRODSMidLevelProtocol irodsProtocol, final TransferOptions transferOptions,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener) throws JargonException {
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final StreamingChecksum streamingChecksum) throws JargonException {
 
 		log.info("normal file transfer started, get output stream for local destination file");
 
@@ -345,7 +350,11 @@ public final class DataAOHelper extends AOHelper {
 		}
 
 		// read the message byte stream into the local file
-		irodsProtocol.read(localFileOutputStream, length, intraFileStatusListener);
+		if (streamingChecksum == null) {
+			irodsProtocol.read(localFileOutputStream, length, intraFileStatusListener);
+		} else {
+			irodsProtocol.read(streamingChecksum.wrap(localFileOutputStream), length, intraFileStatusListener);
+		}
 		log.info("transfer is complete");
 		try {
 			localFileOutputStream.flush();
@@ -507,9 +516,19 @@ public final class DataAOHelper extends AOHelper {
 
 	}
 
+	/**
+	 * Get the checksum encoding that iRODS will use for new data objects
+	 *
+	 * @return {@link ChecksumEncodingEnum}
+	 * @throws JargonException for iRODS error
+	 */
+	ChecksumEncodingEnum determineChecksumEncodingForTargetServer() throws JargonException {
+		return checksumManager.determineChecksumEncodingForTargetServer();
+	}
+
 	void putReadWriteLoop(final File localFile, final boolean overwrite, final IRODSFile targetFile, final int fd,
 			final IRODSMidLevelProtocol irodsProtocol, final TransferControlBlock transferControlBlock,
-			final ConnectionProgressStatusListener intraFileStatusListener)
+			final ConnectionProgressStatusListener intraFileStatusListener, final StreamingChecksum streamingChecksum)
 			throws JargonException, FileNotFoundException {
 
 		log.info("put read/write loop");
@@ -546,6 +565,11 @@ public final class DataAOHelper extends AOHelper {
 			fileInputStream = new BufferedInputStream(fileInputStream, inputStreamBuffSize);
 		}
 
+		if (streamingChecksum != null) {
+			log.debug("feeding streaming checksum from the local file input stream");
+			fileInputStream = streamingChecksum.wrap(fileInputStream);
+		}
+
 		try {
 
 			log.info("starting read/write loop to send data to iRODS");
@@ -678,12 +702,16 @@ public final class DataAOHelper extends AOHelper {
 	 * @param fd                             {@code int}
 	 * @param transferStatusCallbackListener {@link TransferStatusCallbackListener}
 	 * @param transferControlBlock           {@link TransferControlBlock}
+	 * @param streamingChecksum              {@link StreamingChecksum} to feed with
+	 *                                       the data as it arrives, or
+	 *                                       {@code null}
 	 * @throws JargonException for iRODS error
 	 */
 	void processGetTransferViaRead(final IRODSFile irodsFile, final File localFileToHoldData,
 			final long irodsFileLength, final TransferOptions transferOptions, final int fd,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener) throws JargonException {
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final StreamingChecksum streamingChecksum) throws JargonException {
 		log.info("processGetTransferViaRead()");
 
 		if (localFileToHoldData == null) {
@@ -701,8 +729,12 @@ public final class DataAOHelper extends AOHelper {
 		log.info("streaming file transfer started, get output stream for local destination file");
 
 		try {
-			IRODSFileInputStream ifis = irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount)
+			IRODSFileInputStream irodsFileInputStream = irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount)
 					.instanceIRODSFileInputStreamGivingFD(irodsFile, fd);
+			InputStream ifis = irodsFileInputStream;
+			if (streamingChecksum != null) {
+				ifis = streamingChecksum.wrap(irodsFileInputStream);
+			}
 
 			Stream2StreamAO stream2StreamAO = irodsAccessObjectFactory.getStream2StreamAO(irodsAccount);
 
@@ -590,6 +590,24 @@ public interface DataObjectAO extends FileCatalogObjectAO {
 	List<MetaDataAndDomainData> findMetadataValuesForDataObject(String dataObjectAbsolutePath)
 			throws FileNotFoundException, JargonException;
 
+	/**
+	 * Fill the session AVU cache with the metadata of every data object in a
+	 * collection using one query, so that the
+	 * {@link #findMetadataValuesForDataObject(String)} lookups that follow, as
+	 * when showing the contents of the collection, do not each query iRODS. This
+	 * does nothing unless the AVU cache is turned on in the jargon properties.
+	 * <p>
+	 * Only data objects that have AVUs are found by the query, so the lookup of a
+	 * data object without any is still sent to iRODS.
+	 * </p>
+	 *
+	 * @param irodsCollectionAbsolutePath {@code String} with the absolute path of
+	 *                                    the collection
+	 * @return {@code int} with the number of data objects whose AVUs were cached
+	 * @throws JargonException {@link JargonException}
+	 */
+	int warmAVUCacheForCollection(String irodsCollectionAbsolutePath) throws JargonException;
+
 	/**
 	 * This is a special method to modify the Avu value for a given attribute name
 	 * and unit. Often, it is the case that applications want to keep unique values
@@ -1012,6 +1030,27 @@ public interface DataObjectAO extends FileCatalogObjectAO {
 	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromDataObject(String absolutePath, List<AvuData> avuData)
 			throws JargonException;
 
+	/**
+	 * Given a list of current avu metadata and a list of their replacements,
+	 * modify each on the data object. A response will be returned giving
+	 * individual success/failure information for each new AVU. The modifications
+	 * are sent as one atomic request, a remove of each current AVU followed by an
+	 * add of its replacement, when the server supports it.
+	 *
+	 * @param absolutePath   {@code String} with the absolute path to the data
+	 *                       object
+	 * @param currentAvuData {@code List} of {@link AvuData} for each AVU to be
+	 *                       modified
+	 * @param newAvuData     {@code List} of {@link AvuData} with the new value of
+	 *                       the AVU at the same position in
+	 *                       {@code currentAvuData}
+	 * @return {@link BulkAVUOperationResponse} with details on the success or
+	 *         failure of the modify of each AVU.
+	 * @throws JargonException {@link JargonException}
+	 */
+	List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnDataObject(String absolutePath,
+			List<AvuData> currentAvuData, List<AvuData> newAvuData) throws JargonException;
+
 	/**
 	 * Clear all AVUs from the given data object by doing a bulk delete operation
 	 *
@@ -12,6 +12,8 @@ import java.util.Date;
 import java.util.List;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.checksum.StreamingChecksum;
+import org.irods.jargon.core.connection.AvuCache;
 import org.irods.jargon.core.connection.ConnectionConstants;
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
@@ -30,10 +32,13 @@ import org.irods.jargon.core.exception.OperationNotSupportedByThisServerExceptio
 import org.irods.jargon.core.exception.OperationNotSupportedForCollectionTypeException;
 import org.irods.jargon.core.exception.OverwriteException;
 import org.irods.jargon.core.exception.ResourceDoesNotExistException;
+import org.irods.jargon.core.packinstr.AtomicMetadataOperationsInp;
 import org.irods.jargon.core.packinstr.DataObjCopyInp;
 import org.irods.jargon.core.packinstr.DataObjInp;
 import org.irods.jargon.core.packinstr.ModAccessControlInp;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.ActionType;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.MetadataTargetType;
 import org.irods.jargon.core.packinstr.ModDataObjMetaInp;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.packinstr.TransferOptions;
@@ -59,6 +64,7 @@ import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.IRODSQueryResultSetInterface;
 import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
 import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.query.SpecificQuery;
@@ -75,6 +81,7 @@ import org.irods.jargon.core.transfer.FileRestartManagementException;
 import org.irods.jargon.core.transfer.GetTransferRestartProcessor;
 import org.irods.jargon.core.transfer.ParallelGetFileTransferStrategy;
 import org.irods.jargon.core.transfer.ParallelPutFileTransferStrategy;
+import org.irods.jargon.core.transfer.ParallelTransferTuner;
 import org.irods.jargon.core.transfer.PutTransferRestartProcessor;
 import org.irods.jargon.core.transfer.RestartFailedException;
 import org.irods.jargon.core.transfer.TransferControlBlock;
@@ -392,8 +399,12 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		TransferControlBlock effectiveTransferControlBlock = checkTransferControlBlockForOptionsAndSetDefaultsIfNotSpecified(
 				transferControlBlock);
 
-		putCommonProcessing(localFile, irodsFileDestination, ignoreChecks, effectiveTransferControlBlock,
-				transferStatusCallbackListener);
+		try {
+			putCommonProcessing(localFile, irodsFileDestination, ignoreChecks, effectiveTransferControlBlock,
+					transferStatusCallbackListener);
+		} finally {
+			invalidateObjStatTree(irodsFileDestination.getAbsolutePath());
+		}
 
 	}
 
@@ -435,7 +446,11 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		if (overwrite) {
 			effectiveTransferControlBlock.getTransferOptions().setForceOption(ForceOption.USE_FORCE);
 		}
-		putCommonProcessing(localFile, irodsFileDestination, false, effectiveTransferControlBlock, null);
+		try {
+			putCommonProcessing(localFile, irodsFileDestination, false, effectiveTransferControlBlock, null);
+		} finally {
+			invalidateObjStatTree(irodsFileDestination.getAbsolutePath());
+		}
 
 	}
 
@@ -482,7 +497,11 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				transferControlBlock);
 
 		// no callback listener for client side operations, may add later
-		putCommonProcessing(localFile, irodsFileDestination, true, effectiveTransferControlBlock, null);
+		try {
+			putCommonProcessing(localFile, irodsFileDestination, true, effectiveTransferControlBlock, null);
+		} finally {
+			invalidateObjStatTree(irodsFileDestination.getAbsolutePath());
+		}
 
 	}
 
@@ -769,9 +788,13 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		TransferOptions myTransferOptions = new TransferOptions(transferControlBlock.getTransferOptions());
 
+		String adaptiveTuningKey = null;
 		if (!myTransferOptions.isUseParallelTransfer()) {
 			log.info("no parallel transfer set in transferOptions");
 			myTransferOptions.setMaxThreads(-1);
+		} else {
+			adaptiveTuningKey = adaptiveTuningKeyIfConfigured(targetFile.getResource());
+			recommendThreadsIfAdaptive(myTransferOptions, adaptiveTuningKey);
 		}
 
 		ConnectionProgressStatusListener intraFileStatusListener = null;
@@ -787,6 +810,26 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		 * object to aggregate and channel within-file progress reports to the caller.
 		 */
 
+		/*
+		 * A streamed checksum cannot be known when iRODS is asked to verify at the
+		 * open, so the checksum flags are held back and the comparison is done here
+		 * once the data has moved
+		 */
+		boolean checksumAfterStreaming = false;
+		boolean verifyAfterStreaming = false;
+		StreamingChecksum streamingChecksum = null;
+		if ((myTransferOptions.isComputeAndVerifyChecksumAfterTransfer()
+				|| myTransferOptions.isComputeChecksumAfterTransfer()) && isStreamingChecksumApplicable()) {
+			checksumAfterStreaming = true;
+			verifyAfterStreaming = myTransferOptions.isComputeAndVerifyChecksumAfterTransfer();
+			myTransferOptions.setComputeAndVerifyChecksumAfterTransfer(false);
+			myTransferOptions.setComputeChecksumAfterTransfer(false);
+			if (verifyAfterStreaming) {
+				streamingChecksum = StreamingChecksum.instanceForLocalFile(
+						dataAOHelper.determineChecksumEncodingForTargetServer(), localFile);
+			}
+		}
+
 		DataObjInp dataObjInp = DataObjInp.instanceForParallelPut(targetFile.getAbsolutePath(), localFile.length(),
 				targetFile.getResource(), overwrite, myTransferOptions, execFlag);
 
@@ -819,7 +862,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				 * restart processing is done inside of the parallel put code
 				 */
 				parallelPutTransfer(localFile, targetFile.getAbsolutePath(), responseToInitialCallForPut,
-						numberOfThreads, localFile.length(), transferControlBlock, transferStatusCallbackListener);
+						numberOfThreads, localFile.length(), transferControlBlock, transferStatusCallbackListener,
+						adaptiveTuningKey, streamingChecksum);
 			} else {
 				log.info(
 						"parallel operation deferred by server sending 0 threads back in PortalOperOut, revert to single thread transfer");
@@ -830,7 +874,16 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 							transferControlBlock.getTransferOptions());
 				}
 				dataAOHelper.putReadWriteLoop(localFile, overwrite, targetFile, fd, getIRODSProtocol(),
-						transferControlBlock, intraFileStatusListener);
+						transferControlBlock, intraFileStatusListener, streamingChecksum);
+			}
+
+			if (checksumAfterStreaming && !transferControlBlock.isCancelled()) {
+				ChecksumValue irodsChecksum = getIRODSAccessObjectFactory()
+						.getDataObjectChecksumUtilitiesAO(getIRODSAccount()).computeChecksumOnDataObject(targetFile);
+				log.info("irods checksum after put:{}", irodsChecksum);
+				if (verifyAfterStreaming) {
+					verifyLocalChecksum(localFile, irodsChecksum, streamingChecksum, "put");
+				}
 			}
 
 		} catch (DataNotFoundException dnf) {
@@ -847,6 +900,10 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (Throwable e) {
 			log.error(ERROR_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(ERROR_IN_PARALLEL_TRANSFER, e);
+		} finally {
+			if (streamingChecksum != null) {
+				streamingChecksum.abandon();
+			}
 		}
 	}
 
@@ -863,11 +920,18 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 	 * @param transferLength
 	 * @param transferControlBlock
 	 * @param transferStatusCallbackListener
+	 * @param adaptiveTuningKey
+	 *            {@code String} with the host and resource key for adaptive
+	 *            tuning, or {@code null} if not tuned
+	 * @param streamingChecksum
+	 *            {@link StreamingChecksum} to feed as the data moves, or
+	 *            {@code null}
 	 */
 	private void parallelPutTransfer(final File localFile, final String irodsAbsolutePath,
 			final Tag responseToInitialCallForPut, final int numberOfThreads, final long transferLength,
 			final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener)
+			final TransferStatusCallbackListener transferStatusCallbackListener, final String adaptiveTuningKey,
+			final StreamingChecksum streamingChecksum)
 			throws DataNotFoundException, OverwriteException, JargonException {
 
 		/*
@@ -889,6 +953,12 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				numberOfThreads, pass, localFile, getIRODSAccessObjectFactory(), transferLength, transferControlBlock,
 				transferStatusCallbackListener, fileRestartInfo,
 				getIRODSProtocol().getStartupResponseData().getNegotiatedClientServerConfiguration());
+		if (adaptiveTuningKey != null) {
+			parallelPutFileStrategy.setAdaptiveTuningKey(adaptiveTuningKey);
+		}
+		if (streamingChecksum != null) {
+			parallelPutFileStrategy.setStreamingChecksum(streamingChecksum);
+		}
 		log.info("getting ready to initiate parallel file transfer strategy:{}", parallelPutFileStrategy);
 
 		try {
@@ -1056,6 +1126,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				if (!thisFileTransferOptions.isUseParallelTransfer()) {
 					log.info("no parallel transfer set in transferOptions");
 					thisFileTransferOptions.setMaxThreads(-1);
+				} else {
+					recommendThreadsIfAdaptive(thisFileTransferOptions,
+							adaptiveTuningKeyIfConfigured(irodsFileToGet.getResource()));
 				}
 			} else {
 				thisFileTransferOptions.setMaxThreads(0);
@@ -1350,6 +1423,18 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		}
 
 		LocalFileUtils.createLocalFileIfNotExists(localFileToHoldData);
+
+		/*
+		 * Settle the checksum encoding before the get is opened, as no query may be
+		 * issued while iRODS is sending
+		 */
+		StreamingChecksum streamingChecksum = null;
+		if (thisFileTransferOptions.isComputeAndVerifyChecksumAfterTransfer() && !clientSideAction
+				&& isStreamingChecksumApplicable()) {
+			streamingChecksum = StreamingChecksum.instanceForLocalFile(
+					dataAOHelper.determineChecksumEncodingForTargetServer(), localFileToHoldData);
+		}
+
 		Tag message;
 		try {
 			message = getIRODSProtocol().irodsFunction(dataObjInp);
@@ -1409,7 +1494,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				try {
 					checkNbrThreadsAndProcessAsParallelIfMoreThanZeroThreads(irodsFileToGet, localFileToHoldData,
 							thisFileTransferOptions, message, lengthFromIrodsResponse, irodsFileLength,
-							transferControlBlock, transferStatusCallbackListener, clientSideAction);
+							transferControlBlock, transferStatusCallbackListener, clientSideAction, streamingChecksum);
 
 					if (!getIRODSServerProperties().isTheIrodsServerAtLeastAtTheGivenReleaseVersion("rods4.1.6")) {
 						getIRODSProtocol().operationComplete(l1descInx);
@@ -1447,7 +1532,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			} else {
 				log.debug("process as a single-buffer transfer based on the advertised iRODS length");
 				dataAOHelper.processNormalGetTransfer(localFileToHoldData, lengthFromIrodsResponse, getIRODSProtocol(),
-						thisFileTransferOptions, transferControlBlock, transferStatusCallbackListener);
+						thisFileTransferOptions, transferControlBlock, transferStatusCallbackListener,
+						streamingChecksum);
 			}
 
 			/*
@@ -1472,17 +1558,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 						.getDataObjectChecksumUtilitiesAO(getIRODSAccount());
 
 				ChecksumValue irodsChecksum = checksumUtils.computeChecksumOnDataObject(irodsFileToGet);
-
-				log.info("computing a checksum on the file at:{}", localFileToHoldData.getAbsolutePath());
-
-				ChecksumValue localFileChecksum = dataAOHelper.computeLocalFileChecksum(localFileToHoldData,
-						irodsChecksum.getChecksumEncoding());
-
-				log.info("local file checksum is:{}", localFileChecksum);
-				log.info("irods checksum:{}", irodsChecksum);
-				if (!(irodsChecksum.getChecksumStringValue().equals(localFileChecksum.getChecksumStringValue()))) {
-					throw new FileIntegrityException("checksum verification after get fails");
-				}
+				verifyLocalChecksum(localFileToHoldData, irodsChecksum, streamingChecksum, "get");
 			}
 
 			if (!clientSideAction) {
@@ -1497,6 +1573,10 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (Throwable e) {
 			log.error(ERROR_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(ERROR_IN_PARALLEL_TRANSFER, e);
+		} finally {
+			if (streamingChecksum != null) {
+				streamingChecksum.abandon();
+			}
 		}
 
 		return l1descInx;
@@ -1521,8 +1601,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 	private void checkNbrThreadsAndProcessAsParallelIfMoreThanZeroThreads(final IRODSFile irodsSourceFile,
 			final File localFileToHoldData, final TransferOptions transferOptions, final Tag message, final long length,
 			final long irodsFileLength, final TransferControlBlock transferControlBlock,
-			final TransferStatusCallbackListener transferStatusCallbackListener, final boolean clientSideAction)
-			throws JargonException {
+			final TransferStatusCallbackListener transferStatusCallbackListener, final boolean clientSideAction,
+			final StreamingChecksum streamingChecksum) throws JargonException {
 
 		final String host = message.getTag(IRODSConstants.PortList_PI).getTag(IRODSConstants.hostAddr).getStringValue();
 		int port = message.getTag(IRODSConstants.PortList_PI).getTag(IRODSConstants.portNum).getIntValue();
@@ -1548,7 +1628,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 					"number of threads is zero, possibly parallel transfers were turned off via rule, process as normal");
 			int fd = message.getTag(IRODSConstants.L1_DESC_INX).getIntValue();
 			dataAOHelper.processGetTransferViaRead(irodsSourceFile, localFileToHoldData, irodsFileLength,
-					transferOptions, fd, transferControlBlock, transferStatusCallbackListener);
+					transferOptions, fd, transferControlBlock, transferStatusCallbackListener, streamingChecksum);
 		} else {
 			log.info("process as a parallel transfer");
 			if (transferStatusCallbackListener == null) {
@@ -1562,6 +1642,14 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 					irodsFileLength, transferControlBlock, transferStatusCallbackListener, fileRestartInfo,
 					getIRODSProtocol().getStartupResponseData().getNegotiatedClientServerConfiguration());
 
+			String adaptiveTuningKey = adaptiveTuningKeyIfConfigured(irodsSourceFile.getResource());
+			if (adaptiveTuningKey != null) {
+				parallelGetTransferStrategy.setAdaptiveTuningKey(adaptiveTuningKey);
+			}
+			if (streamingChecksum != null) {
+				parallelGetTransferStrategy.setStreamingChecksum(streamingChecksum);
+			}
+
 			try {
 				parallelGetTransferStrategy.transfer();
 
@@ -1574,6 +1662,91 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		}
 	}
 
+	/**
+	 * Checksums are streamed during transfer when configured, except where a
+	 * restart could send parts of the file again
+	 *
+	 * @return {@code boolean} if a {@link StreamingChecksum} should be used
+	 * @throws FileRestartManagementException
+	 *             if restart is configured without a restart manager
+	 */
+	private boolean isStreamingChecksumApplicable() throws FileRestartManagementException {
+		return getJargonProperties().isStreamingChecksum() && !checkIfConfiguredForLongFileRestart();
+	}
+
+	/**
+	 * Compare the checksum iRODS computed with that of the local file, taken from
+	 * the streamed checksum when it used the same encoding, otherwise by reading
+	 * the local file
+	 *
+	 * @param localFile
+	 *            {@link File} that was transferred
+	 * @param irodsChecksum
+	 *            {@link ChecksumValue} from iRODS
+	 * @param streamingChecksum
+	 *            {@link StreamingChecksum} fed during the transfer, or
+	 *            {@code null}
+	 * @param operation
+	 *            {@code String} naming the operation for the error message
+	 * @throws FileIntegrityException
+	 *             if the checksums differ
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	private void verifyLocalChecksum(final File localFile, final ChecksumValue irodsChecksum,
+			final StreamingChecksum streamingChecksum, final String operation) throws JargonException {
+		ChecksumValue localFileChecksum;
+		if (streamingChecksum != null && streamingChecksum.getChecksumEncoding() == irodsChecksum.getChecksumEncoding()) {
+			log.info("using checksum streamed during transfer of:{}", localFile.getAbsolutePath());
+			localFileChecksum = streamingChecksum.finish(localFile.length());
+		} else {
+			log.info("computing a checksum on the file at:{}", localFile.getAbsolutePath());
+			localFileChecksum = dataAOHelper.computeLocalFileChecksum(localFile, irodsChecksum.getChecksumEncoding());
+		}
+
+		log.info("local file checksum is:{}", localFileChecksum);
+		log.info("irods checksum:{}", irodsChecksum);
+		if (!(irodsChecksum.getChecksumStringValue().equals(localFileChecksum.getChecksumStringValue()))) {
+			throw new FileIntegrityException("checksum verification after " + operation + " fails");
+		}
+	}
+
+	/**
+	 * Get the key under which parallel transfers to the connected host and the
+	 * given resource are tuned, if adaptive parallel transfer is configured
+	 *
+	 * @param resource
+	 *            {@code String} with the resource, blank for the default
+	 * @return {@code String} with the key, or {@code null} if not configured
+	 */
+	private String adaptiveTuningKeyIfConfigured(final String resource) {
+		if (!getJargonProperties().isAdaptiveParallelTransfer()) {
+			return null;
+		}
+		return ParallelTransferTuner.key(getIRODSAccount().getHost(), resource);
+	}
+
+	/**
+	 * Ask iRODS for the number of threads learned for this host and resource,
+	 * within the maximum in the jargon properties. That is the ceiling the tuner
+	 * learns under, so it replaces the thread count in the transfer options
+	 * rather than being capped by it.
+	 *
+	 * @param transferOptions
+	 *            {@link TransferOptions} for this file, updated in place
+	 * @param adaptiveTuningKey
+	 *            {@code String} with the key, or {@code null} if not tuned
+	 */
+	private void recommendThreadsIfAdaptive(final TransferOptions transferOptions, final String adaptiveTuningKey) {
+		if (adaptiveTuningKey == null) {
+			return;
+		}
+		int threads = getIRODSSession().getParallelTransferTuner().recommendThreads(adaptiveTuningKey,
+				getJargonProperties().getMaxParallelThreads());
+		log.info("adaptive tuning requests {} threads for {}", threads, adaptiveTuningKey);
+		transferOptions.setMaxThreads(threads);
+	}
+
 	/**
 	 * See if jargon props say to do long file restarts, and a restart manager is
 	 * configured
@@ -1803,27 +1976,25 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<>();
+		ObjStat objStat = resolveBulkAVUTarget(absolutePath);
+		if (objStat == null) {
+			return buildMissingTargetResponses(avuData);
+		}
 
+		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+		List<ModAvuMetadataInp> requests = new ArrayList<>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				addAVUMetadata(absolutePath, value);
-			} catch (DataNotFoundException dnf) {
-				log.error("dataNotFoundException when adding an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-			} catch (DuplicateDataException dde) {
-				log.error("DuplicateDataException when adding an AVU, catch and add to response data", dde);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
-				continue;
-
-			}
-
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+			requests.add(ModAvuMetadataInp.instanceForAddDataObjectMetadata(absPath, value));
 		}
 
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(absPath,
+				MetadataTargetType.DATA_OBJECT, ActionType.ADD, avuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-817000");
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
+		}
 		log.info("...complete");
 		return responses;
 	}
@@ -1834,31 +2005,123 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		log.info("deleteBulkAVUMetadataFromDataObject()");
 
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException(NULL_OR_EMPTY_ABSOLUTE_PATH);
+		}
+
 		if (avuData == null) {
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<>();
+		if (avuData.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		ObjStat objStat = resolveBulkAVUTarget(absolutePath);
+		if (objStat == null) {
+			return buildMissingTargetResponses(avuData);
+		}
 
+		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+		List<ModAvuMetadataInp> requests = new ArrayList<>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				deleteAVUMetadata(absolutePath, value);
-			} catch (DataNotFoundException dnf) {
-				log.error("dataNotFoundException when deleti an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
+			requests.add(ModAvuMetadataInp.instanceForDeleteDataObjectMetadata(absPath, value));
+		}
 
-			}
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(absPath,
+				MetadataTargetType.DATA_OBJECT, ActionType.REMOVE, avuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-817000");
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
+		}
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.DataObjectAO#modifyBulkAVUMetadataOnDataObject
+	 * (java.lang.String, java.util.List, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnDataObject(final String absolutePath,
+			final List<AvuData> currentAvuData, final List<AvuData> newAvuData) throws JargonException {
+
+		log.info("modifyBulkAVUMetadataOnDataObject()");
+
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException(NULL_OR_EMPTY_ABSOLUTE_PATH);
+		}
 
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+		if (currentAvuData == null || newAvuData == null || currentAvuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
 		}
 
+		if (currentAvuData.size() != newAvuData.size()) {
+			throw new IllegalArgumentException("currentAvuData and newAvuData must be the same size");
+		}
+
+		ObjStat objStat = resolveBulkAVUTarget(absolutePath);
+		if (objStat == null) {
+			return buildMissingTargetResponses(newAvuData);
+		}
+
+		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+		List<ModAvuMetadataInp> requests = new ArrayList<>(newAvuData.size());
+		for (int i = 0; i < newAvuData.size(); i++) {
+			requests.add(ModAvuMetadataInp.instanceForModifyDataObjectMetadata(absPath, currentAvuData.get(i),
+					newAvuData.get(i)));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instanceForModify(absPath,
+				MetadataTargetType.DATA_OBJECT, currentAvuData, newAvuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-817000");
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
+		}
 		log.info("...complete");
 		return responses;
 	}
 
+	/**
+	 * Stat the target of a bulk AVU operation once for the batch, returning
+	 * {@code null} if the data object does not exist
+	 */
+	private ObjStat resolveBulkAVUTarget(final String absolutePath) throws JargonException {
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
+
+		ObjStat objStat;
+		try {
+			objStat = this.retrieveObjStat(myPath);
+		} catch (FileNotFoundException e) {
+			log.error("data object not found for bulk AVU operation:{}", myPath);
+			return null;
+		}
+
+		if (objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			log.info("objStat indicates collection type that does not support this operation:{}", objStat);
+			throw new OperationNotSupportedForCollectionTypeException(
+					"The special collection type does not support this operation");
+		}
+
+		return objStat;
+	}
+
+	private List<BulkAVUOperationResponse> buildMissingTargetResponses(final List<AvuData> avuData) {
+		List<BulkAVUOperationResponse> responses = new ArrayList<>(avuData.size());
+		for (AvuData value : avuData) {
+			responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
+					"Target dataObject was not found"));
+		}
+		return responses;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -1921,6 +2184,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 			log.error("jargon exception adding AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
 		}
 
 		log.debug("metadata added");
@@ -2059,6 +2324,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 			log.error("jargon exception adding AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
 		}
 
 		log.debug("metadata added");
@@ -2095,6 +2362,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			return;
 		}
 
+		// delete every AVU now on the object, not those last cached
+		invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
 		List<MetaDataAndDomainData> metadatas = this.findMetadataValuesForDataObject(objStat);
 
 		List<AvuData> avusToDelete = new ArrayList<>();
@@ -2162,6 +2431,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 			log.error("jargon exception removing AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
 		}
 
 		log.debug("metadata removed");
@@ -2375,6 +2646,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error replicating irods file", je);
 			throw je;
+		} finally {
+			invalidateObjStat(myPath);
 		}
 		log.info("replication complete");
 	}
@@ -2529,6 +2802,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error copying irods file", je);
 			throw je;
+		} finally {
+			invalidateObjStat(myTargetFile.getAbsolutePath());
 		}
 		log.info("copy complete");
 
@@ -2565,6 +2840,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error replicating irods file to resource group", je);
 			throw je;
+		} finally {
+			invalidateObjStat(myPath);
 		}
 		log.info("replication complete");
 	}
@@ -2753,17 +3030,94 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 					"The special collection type does not support this operation");
 		}
 
+		AvuCache avuCache = getAvuCache();
+		String dataId = String.valueOf(objStat.getDataId());
+		String absPath = resolveAbsolutePathGivenObjStat(objStat);
+		if (avuCache != null) {
+			List<MetaDataAndDomainData> cached = avuCache.retrieve(getIRODSAccount(), MetadataDomain.DATA, dataId,
+					absPath);
+			if (cached != null) {
+				log.debug("AVUs found in cache");
+				return cached;
+			}
+		}
+
 		List<AVUQueryElement> queryElements = new ArrayList<>();
 		CollectionAndPath collectionAndName = MiscIRODSUtils
 				.separateCollectionAndPathFromGivenAbsolutePath(objStat.getAbsolutePath());
 
+		List<MetaDataAndDomainData> metadata;
 		try {
-			return this.findMetadataValuesForDataObjectUsingAVUQuery(queryElements,
+			metadata = this.findMetadataValuesForDataObjectUsingAVUQuery(queryElements,
 					collectionAndName.getCollectionParent(), collectionAndName.getChildName());
 		} catch (JargonQueryException e) {
 			log.error("query exception looking up data object:{}", objStat.getAbsolutePath(), e);
 			throw new JargonException(e);
 		}
+
+		if (avuCache != null) {
+			avuCache.cache(getIRODSAccount(), MetadataDomain.DATA, dataId, absPath, metadata);
+		}
+		return metadata;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.DataObjectAO#warmAVUCacheForCollection(java.lang.
+	 * String)
+	 */
+	@Override
+	public int warmAVUCacheForCollection(final String irodsCollectionAbsolutePath) throws JargonException {
+
+		if (irodsCollectionAbsolutePath == null || irodsCollectionAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException(NULL_OR_EMPTY_IRODS_COLLECTION_ABSOLUTE_PATH);
+		}
+
+		AvuCache avuCache = getAvuCache();
+		if (avuCache == null) {
+			log.debug("AVU cache not in use, nothing to warm");
+			return 0;
+		}
+
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(irodsCollectionAbsolutePath);
+		log.info("warmAVUCacheForCollection:{}", myPath);
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		IRODSQueryResultSet resultSet = null;
+		List<MetaDataAndDomainData> metadata = new ArrayList<>();
+
+		try {
+			addMetadataAndDomainDataSelectsToBuilder(builder);
+			builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.EQUAL,
+					myPath);
+
+			IRODSGenQueryFromBuilder irodsQuery = builder
+					.exportIRODSQueryFromBuilder(getJargonProperties().getMaxFilesAndDirsQueryMax());
+			String zone = MiscIRODSUtils.getZoneInPath(myPath);
+			resultSet = irodsGenQueryExecutor.executeIRODSQueryInZone(irodsQuery, 0, zone);
+			metadata.addAll(DataAOHelper.buildMetaDataAndDomainDataListFromResultSet(resultSet));
+			while (resultSet.isHasMoreRecords()) {
+				resultSet = irodsGenQueryExecutor.getMoreResultsInZone(resultSet, zone);
+				metadata.addAll(DataAOHelper.buildMetaDataAndDomainDataListFromResultSet(resultSet));
+			}
+
+		} catch (GenQueryBuilderException e) {
+			log.error("error building query", e);
+			throw new JargonException("error building query", e);
+		} catch (JargonQueryException jqe) {
+			log.error("error executing query", jqe);
+			throw new JargonException("error executing query", jqe);
+		} finally {
+			if (resultSet != null) {
+				irodsGenQueryExecutor.closeResults(resultSet);
+			}
+		}
+
+		int warmed = avuCache.cacheAll(getIRODSAccount(), MetadataDomain.DATA, metadata);
+		log.info("cached AVUs of {} data objects", warmed);
+		return warmed;
 	}
 
 	/*
@@ -3503,6 +3857,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 			log.error("jargon exception modifying AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.DATA, String.valueOf(objStat.getDataId()));
 		}
 
 		log.debug("metadata rewritten");
@@ -4091,6 +4447,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			} else {
 				throw e;
 			}
+		} finally {
+			invalidateObjStat(sb.toString());
 		}
 
 	}
@@ -135,6 +135,9 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 		} catch (JargonException je) {
 			log.error("jargon exception in move operation", je);
 			throw je;
+		} finally {
+			invalidateObjStatTree(irodsSourceFile.getAbsolutePath());
+			invalidateObjStatTree(actualTargetFile.getAbsolutePath());
 		}
 	}
 
@@ -597,8 +600,29 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 
 		log.debug("new parent directory created locally:{}", newParentDirectory.getAbsolutePath());
 
-		transferOperationsHelper.recursivelyGet(irodsSourceFile, newParentDirectory, transferStatusCallbackListener,
-				transferControlBlock);
+		if (ConcurrentTransferOperationsHelper.isConcurrentTransferApplicable(transferControlBlock)) {
+			concurrentTransferOperationsHelper(transferControlBlock).recursivelyGet(irodsSourceFile,
+					newParentDirectory, transferStatusCallbackListener, transferControlBlock);
+		} else {
+			transferOperationsHelper.recursivelyGet(irodsSourceFile, newParentDirectory,
+					transferStatusCallbackListener, transferControlBlock);
+		}
+	}
+
+	/**
+	 * Create the helper for a recursive transfer that moves several files at once,
+	 * with the number of workers in the transfer options
+	 *
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @return {@link ConcurrentTransferOperationsHelper}
+	 */
+	private ConcurrentTransferOperationsHelper concurrentTransferOperationsHelper(
+			final TransferControlBlock transferControlBlock) {
+		int numberOfWorkers = transferControlBlock.getTransferOptions().getConcurrentFileTransferThreads();
+		log.info("recursive transfer will move {} files at once", numberOfWorkers);
+		return ConcurrentTransferOperationsHelper.instance(getIRODSSession(), getIRODSAccount(),
+				transferOperationsHelper, numberOfWorkers);
 	}
 
 	/*
@@ -1030,6 +1054,15 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 			return;
 		}
 
+		/*
+		 * Small files may only be bundled when extraction cannot overwrite a file the
+		 * force option would protect, so check whether the target is new
+		 */
+		boolean bundleSmallFiles = transferControlBlock.getTransferOptions() != null
+				&& transferControlBlock.getTransferOptions().isBundleSmallFiles()
+				&& BundledPutOperationsHelper.isBundlingApplicable(transferControlBlock,
+						!newIrodsParentDirectory.exists());
+
 		try {
 			newIrodsParentDirectory.mkdirs();
 		} catch (Exception e) {
@@ -1037,8 +1070,18 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 			throw new JargonException(e);
 		}
 
-		transferOperationsHelper.recursivelyPut(sourceFile, newIrodsParentDirectory, transferStatusCallbackListener,
-				transferControlBlock);
+		if (bundleSmallFiles) {
+			log.info("small files will be bundled");
+			BundledPutOperationsHelper.instance(getIRODSAccessObjectFactory(), getIRODSAccount(),
+					transferOperationsHelper).recursivelyPut(sourceFile, newIrodsParentDirectory,
+							transferStatusCallbackListener, transferControlBlock);
+		} else if (ConcurrentTransferOperationsHelper.isConcurrentTransferApplicable(transferControlBlock)) {
+			concurrentTransferOperationsHelper(transferControlBlock).recursivelyPut(sourceFile,
+					newIrodsParentDirectory, transferStatusCallbackListener, transferControlBlock);
+		} else {
+			transferOperationsHelper.recursivelyPut(sourceFile, newIrodsParentDirectory,
+					transferStatusCallbackListener, transferControlBlock);
+		}
 
 		/**
 		 * Send an overall status callback. If the state is cancelled, see if it was
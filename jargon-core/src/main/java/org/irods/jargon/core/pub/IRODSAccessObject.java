@@ -3,12 +3,16 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.List;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSServerProperties;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.PipelinedResponse;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.IRodsPI;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.packinstr.TransferOptions;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
@@ -109,6 +113,23 @@ public interface IRODSAccessObject {
 	 */
 	Tag operationComplete(int status) throws JargonException;
 
+	/**
+	 * Send a batch of independent requests on the connection of this access
+	 * object, writing requests ahead of reading their replies so that the batch
+	 * does not pay a network round trip per request. See
+	 * {@link IRODSMidLevelProtocol#irodsFunctionPipelined(List)}.
+	 *
+	 * @param irodsPIs
+	 *            {@code List} of {@link IRodsPI} with requests that carry no
+	 *            binary data
+	 * @return {@code List} of {@link PipelinedResponse} with the reply to each
+	 *         request, in order
+	 * @throws JargonException
+	 *             for a network or protocol error, iRODS errors for individual
+	 *             requests are held in the responses
+	 */
+	List<PipelinedResponse> executePipelinedRequests(List<? extends IRodsPI> irodsPIs) throws JargonException;
+
 	/**
 	 * Upon creation, refer to jargon properties and see if this code should be
 	 * instrumented
@@ -879,6 +879,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
 				DataObjInp.CREATE_FILE_API_NBR);
+		invalidateObjStat(absolutePath);
 		if (response == null) {
 			String msg = "null response from IRODS call";
 			log.error(msg);
@@ -922,6 +923,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.info("directory already exists in mkdir, log and ignore");
 		}
 
+		invalidateObjStat(irodsFile.getAbsolutePath());
+
 		log.debug("mkdir succesful");
 	}
 
@@ -982,6 +985,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce(irodsFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
 				DataObjInp.DELETE_FILE_API_NBR);
+		invalidateObjStat(irodsFile.getAbsolutePath());
 
 		if (response != null) {
 			String msg = "unexpected response from irods, expected null message - logged and ignored ";
@@ -1024,6 +1028,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 					"duplicate data exception logged and ignored, see GForge: [#639] 809000 errors on delete operations when trash file already exists");
 		}
 
+		invalidateObjStat(irodsFile.getAbsolutePath());
+
 	}
 
 	/*
@@ -1055,7 +1061,11 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
 				CollInp.RMDIR_API_NBR);
 
-		processClientStatusMessages(response);
+		try {
+			processClientStatusMessages(response);
+		} finally {
+			invalidateObjStatTree(irodsFile.getAbsolutePath());
+		}
 
 		log.info("deletion successful");
 
@@ -1088,7 +1098,11 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
 				CollInp.RMDIR_API_NBR);
 
-		processClientStatusMessages(response);
+		try {
+			processClientStatusMessages(response);
+		} finally {
+			invalidateObjStatTree(irodsFile.getAbsolutePath());
+		}
 
 		log.info("deletion successful");
 
@@ -1145,6 +1159,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				toFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				DataObjCopyInp.RENAME_FILE_API_NBR);
+		invalidateObjStatTree(fromFile.getAbsolutePath());
+		invalidateObjStatTree(toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1175,6 +1191,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				toFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				DataObjCopyInp.RENAME_FILE_API_NBR);
+		invalidateObjStatTree(fromFile.getAbsolutePath());
+		invalidateObjStatTree(toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1285,6 +1303,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				apiNbr);
+		invalidateObjStat(absolutePathToSourceFile);
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
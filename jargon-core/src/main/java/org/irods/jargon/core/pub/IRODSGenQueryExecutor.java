@@ -5,6 +5,7 @@ package org.irods.jargon.core.pub;
 
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryResultIterator;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
 
@@ -217,4 +218,45 @@ public interface IRODSGenQueryExecutor extends IRODSAccessObject {
 	IRODSQueryResultSet getMoreResults(IRODSQueryResultSet irodsQueryResultSet)
 			throws JargonException, JargonQueryException;
 
+	/**
+	 * Execute an iquest-like query and return an iterator over all of the
+	 * results. Pages of results are requested from iRODS as the iterator is
+	 * consumed, with the next page fetched in the background while the current
+	 * page is processed, so that at most two pages are held in memory.
+	 * <p>
+	 * The iterator must be closed if it is not read to the end, so that the query
+	 * is closed in iRODS. The iterator uses the connection of this access object,
+	 * and should be closed before that connection is closed.
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that will wrap the given query
+	 * @return {@link GenQueryResultIterator} over the results of the query
+	 * @throws JargonException
+	 *             for iRODS error
+	 * @throws JargonQueryException
+	 *             for query error
+	 */
+	GenQueryResultIterator iterateIRODSQuery(AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query and return an iterator over all of the
+	 * results, as in {@link #iterateIRODSQuery(AbstractIRODSGenQuery)}.
+	 * <p>
+	 * This method allows optional specification of a target zone for the query.
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that will wrap the given query
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that indicates
+	 *            an optional zone for the query
+	 * @return {@link GenQueryResultIterator} over the results of the query
+	 * @throws JargonException
+	 *             for iRODS error
+	 * @throws JargonQueryException
+	 *             for query error
+	 */
+	GenQueryResultIterator iterateIRODSQueryInZone(AbstractIRODSGenQuery irodsQuery, String zoneName)
+			throws JargonException, JargonQueryException;
+
 }
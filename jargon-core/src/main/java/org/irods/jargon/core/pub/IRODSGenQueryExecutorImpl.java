@@ -5,6 +5,7 @@ import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
 import org.irods.jargon.core.query.GenQueryProcessor;
+import org.irods.jargon.core.query.GenQueryResultIterator;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
@@ -251,4 +252,44 @@ public final class IRODSGenQueryExecutorImpl extends IRODSGenericAO implements I
 		genQueryProcessor.closeResults(irodsQueryResultSet);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSGenQueryExecutor#iterateIRODSQuery(org.irods
+	 * .jargon.core.query.AbstractIRODSGenQuery)
+	 */
+	@Override
+	public GenQueryResultIterator iterateIRODSQuery(final AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException {
+		log.info("iterateIRODSQuery()");
+		return iterateIRODSQueryInZone(irodsQuery, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSGenQueryExecutor#iterateIRODSQueryInZone(org
+	 * .irods.jargon.core.query.AbstractIRODSGenQuery, java.lang.String)
+	 */
+	@Override
+	public GenQueryResultIterator iterateIRODSQueryInZone(final AbstractIRODSGenQuery irodsQuery,
+			final String zoneName) throws JargonException, JargonQueryException {
+
+		log.info("iterateIRODSQueryInZone()");
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		log.info("query: {}", irodsQuery);
+
+		GenQueryProcessor genQueryProcessor = new GenQueryProcessor(getIRODSProtocol());
+
+		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor.translateProvidedQuery(irodsQuery);
+
+		return GenQueryResultIterator.instance(genQueryProcessor, translatedIRODSQuery, zoneName, true);
+	}
+
 }
@@ -3,16 +3,31 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.connection.AvuCache;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSServerProperties;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.ObjStatCache;
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.exception.DataNotFoundException;
+import org.irods.jargon.core.exception.DuplicateDataException;
+import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.AtomicMetadataOperationsInp;
+import org.irods.jargon.core.packinstr.IRodsPI;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
 import org.irods.jargon.core.packinstr.OperationComplete;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
+import org.irods.jargon.core.pub.domain.AvuData;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -180,6 +195,16 @@ public abstract class IRODSGenericAO implements IRODSAccessObject {
 		return getIRODSProtocol().irodsFunction(operationComplete);
 	}
 
+	@Override
+	public List<PipelinedResponse> executePipelinedRequests(final List<? extends IRodsPI> irodsPIs)
+			throws JargonException {
+		if (irodsPIs == null) {
+			throw new IllegalArgumentException("null irodsPIs");
+		}
+
+		return getIRODSProtocol().irodsFunctionPipelined(irodsPIs);
+	}
+
 	@Override
 	public void closeSession() throws JargonException {
 
@@ -228,6 +253,168 @@ public abstract class IRODSGenericAO implements IRODSAccessObject {
 
 	}
 
+	/**
+	 * Send the AVU modifications for one target as a pipelined batch, and
+	 * translate each reply into a {@link BulkAVUOperationResponse}. A missing
+	 * target, a duplicate AVU or any other iRODS error is reported in the
+	 * response for its AVU, as the other AVUs in the batch have been applied. An
+	 * error that abandons the batch, such as a lost connection, is thrown.
+	 *
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} in the same order as the requests
+	 * @param requests
+	 *            {@code List} of {@link ModAvuMetadataInp} to send
+	 * @param missingTargetStatus
+	 *            {@code String} with the iRODS status that indicates the target
+	 *            does not exist, found in the error message or as the error code
+	 * @return {@code List} of {@link BulkAVUOperationResponse}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	protected List<BulkAVUOperationResponse> sendBulkAVURequests(final List<AvuData> avuData,
+			final List<ModAvuMetadataInp> requests, final String missingTargetStatus) throws JargonException {
+
+		log.info("sendBulkAVURequests()");
+
+		List<PipelinedResponse> replies = executePipelinedRequests(requests);
+		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>(replies.size());
+
+		for (int i = 0; i < replies.size(); i++) {
+			PipelinedResponse reply = replies.get(i);
+			AvuData value = avuData.get(i);
+
+			if (reply.isSuccess()) {
+				responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+				continue;
+			}
+
+			JargonException je = reply.getException();
+			String message = je.getMessage() == null ? "" : je.getMessage();
+
+			if (je instanceof FileNotFoundException || je instanceof DataNotFoundException
+					|| message.indexOf(missingTargetStatus) > -1
+					|| String.valueOf(je.getUnderlyingIRODSExceptionCode()).equals(missingTargetStatus)) {
+				log.error("target not found for AVU, add to response data", je);
+				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
+						je.getMessage()));
+			} else if (je instanceof DuplicateDataException || message.indexOf("-809000") > -1) {
+				log.error("duplicate AVU, add to response data", je);
+				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, je.getMessage()));
+			} else {
+				log.error("jargon exception in bulk AVU operation, add to response data", je);
+				responses.add(BulkAVUOperationResponse.instance(ResultStatus.OTHER_ERROR, value, je.getMessage()));
+			}
+		}
+
+		return responses;
+	}
+
+	/**
+	 * Send AVU additions, removals or modifications for one target. When the
+	 * server supports it and
+	 * {@link JargonProperties#isUseAtomicMetadataOperations()} is set, they go as
+	 * one atomic request and are all reported as applied. An atomic request that
+	 * fails has applied nothing, so the AVUs are then sent as a pipelined batch of
+	 * single requests, as they are to older servers, to report on each.
+	 *
+	 * @param atomicRequest
+	 *            {@link AtomicMetadataOperationsInp} with every AVU
+	 * @param requests
+	 *            {@code List} of {@link ModAvuMetadataInp} with the same AVUs, in
+	 *            the same order
+	 * @param missingTargetStatus
+	 *            {@code String} with the iRODS status that indicates the target
+	 *            does not exist
+	 * @return {@code List} of {@link BulkAVUOperationResponse}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	protected List<BulkAVUOperationResponse> sendBulkAVURequests(final AtomicMetadataOperationsInp atomicRequest,
+			final List<ModAvuMetadataInp> requests, final String missingTargetStatus) throws JargonException {
+
+		if (getJargonProperties().isUseAtomicMetadataOperations()
+				&& getIRODSServerProperties().isSupportsAtomicMetadataOperations()) {
+			try {
+				getIRODSProtocol().irodsFunction(atomicRequest);
+				List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>(
+						atomicRequest.getAvuData().size());
+				for (AvuData value : atomicRequest.getAvuData()) {
+					responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+				}
+				return responses;
+			} catch (JargonException je) {
+				log.info("atomic metadata request not applied, send each AVU to report on it:{}", je.getMessage());
+			}
+		}
+
+		return sendBulkAVURequests(atomicRequest.getAvuData(), requests, missingTargetStatus);
+	}
+
+	/**
+	 * Drop any cached stat of a path this object has changed, see
+	 * {@link ObjStatCache#invalidate(String)}
+	 *
+	 * @param irodsAbsolutePath {@code String} with the absolute path
+	 */
+	protected void invalidateObjStat(final String irodsAbsolutePath) {
+		ObjStatCache objStatCache = irodsSession.getObjStatCache();
+		if (objStatCache != null) {
+			objStatCache.invalidate(irodsAbsolutePath);
+		}
+	}
+
+	/**
+	 * Drop any cached stat of a collection this object has removed or renamed,
+	 * and of everything below it, see {@link ObjStatCache#invalidateTree(String)}
+	 *
+	 * @param irodsAbsolutePath {@code String} with the absolute path
+	 */
+	protected void invalidateObjStatTree(final String irodsAbsolutePath) {
+		ObjStatCache objStatCache = irodsSession.getObjStatCache();
+		if (objStatCache != null) {
+			objStatCache.invalidateTree(irodsAbsolutePath);
+		}
+	}
+
+	/**
+	 * Get the session cache of AVUs, if it is turned on
+	 *
+	 * @return {@link AvuCache}, or {@code null} if AVUs are not cached
+	 */
+	protected AvuCache getAvuCache() {
+		return irodsSession.getAvuCache();
+	}
+
+	/**
+	 * Drop any cached AVUs of an object this object has changed the metadata of,
+	 * see {@link AvuCache#invalidate(MetadataDomain, String)}
+	 *
+	 * @param metadataDomain {@link MetadataDomain} of the object
+	 * @param objectId       {@code String} with the id of the object, or the name
+	 *                       of a resource
+	 */
+	protected void invalidateAvus(final MetadataDomain metadataDomain, final String objectId) {
+		AvuCache avuCache = irodsSession.getAvuCache();
+		if (avuCache != null) {
+			avuCache.invalidate(metadataDomain, objectId);
+		}
+	}
+
+	/**
+	 * Drop any cached AVUs of an object this object has changed the metadata of,
+	 * when only its path or name is known, see
+	 * {@link AvuCache#invalidateName(MetadataDomain, String)}
+	 *
+	 * @param metadataDomain {@link MetadataDomain} of the object
+	 * @param uniqueName     {@code String} with the absolute path or resource name
+	 */
+	protected void invalidateAvusByName(final MetadataDomain metadataDomain, final String uniqueName) {
+		AvuCache avuCache = irodsSession.getAvuCache();
+		if (avuCache != null) {
+			avuCache.invalidateName(metadataDomain, uniqueName);
+		}
+	}
+
 	/**
 	 * This method serves as a shim to inject an {@link IRODSAccessObjectFactory}
 	 * when testing. While this is a code smell, it is a small one. The use of this
@@ -175,6 +175,58 @@ public interface ResourceAO extends IRODSAccessObject {
 	 */
 	void deleteAVUMetadata(String resourceName, AvuData avuData) throws InvalidResourceException, JargonException;
 
+	/**
+	 * Add a list of AVUs to the resource. They are sent as one atomic request when
+	 * the server supports it, otherwise as a pipelined batch of single requests.
+	 * Duplicate AVUs and a missing resource are reported in the responses.
+	 *
+	 * @param resourceName
+	 *            {@code String} with the name of the resource
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to add
+	 * @return {@code List} of {@link BulkAVUOperationResponse}, one for each AVU
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<BulkAVUOperationResponse> addBulkAVUMetadataToResource(String resourceName, List<AvuData> avuData)
+			throws JargonException;
+
+	/**
+	 * Remove a list of AVUs from the resource. They are sent as one atomic request
+	 * when the server supports it, otherwise as a pipelined batch of single
+	 * requests. A missing resource is reported in the responses.
+	 *
+	 * @param resourceName
+	 *            {@code String} with the name of the resource
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to remove
+	 * @return {@code List} of {@link BulkAVUOperationResponse}, one for each AVU
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromResource(String resourceName, List<AvuData> avuData)
+			throws JargonException;
+
+	/**
+	 * Replace a list of AVUs on the resource with the AVUs at the same position in
+	 * a second list. They are sent as one atomic request, a remove of each
+	 * current AVU followed by an add of its replacement, when the server supports
+	 * it, otherwise as a pipelined batch of single modify requests. A missing
+	 * resource is reported in the responses.
+	 *
+	 * @param resourceName
+	 *            {@code String} with the name of the resource
+	 * @param currentAvuData
+	 *            {@code List} of {@link AvuData} to replace
+	 * @param newAvuData
+	 *            {@code List} of {@link AvuData} with the replacements
+	 * @return {@code List} of {@link BulkAVUOperationResponse}, one for each AVU
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnResource(String resourceName,
+			List<AvuData> currentAvuData, List<AvuData> newAvuData) throws JargonException;
+
 	/**
 	 * Add a new resource
 	 *
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.irods.jargon.core.connection.AvuCache;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.DataNotFoundException;
@@ -11,8 +12,11 @@ import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.InvalidResourceException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.ResourceHierarchyException;
+import org.irods.jargon.core.packinstr.AtomicMetadataOperationsInp;
 import org.irods.jargon.core.packinstr.GeneralAdminInpForResources;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.ActionType;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.MetadataTargetType;
 import org.irods.jargon.core.protovalues.ErrorEnum;
 import org.irods.jargon.core.pub.domain.AvuData;
 import org.irods.jargon.core.pub.domain.Resource;
@@ -188,6 +192,7 @@ public final class ResourceAOImpl extends IRODSGenericAO implements ResourceAO {
 		} catch (DataNotFoundException e) {
 			log.warn("data not found deleting resource, silently ignore", e);
 		}
+		invalidateAvus(MetadataDomain.RESOURCE, resourceName);
 		getIRODSAccessObjectFactory().closeSession(getIRODSAccount());
 
 		log.info("complete");
@@ -818,12 +823,28 @@ public final class ResourceAOImpl extends IRODSGenericAO implements ResourceAO {
 		}
 		log.info("list resource metadata for {}", resourceName);
 
+		AvuCache avuCache = getAvuCache();
+		List<MetaDataAndDomainData> metadata = null;
+		if (avuCache != null) {
+			metadata = avuCache.retrieve(getIRODSAccount(), MetadataDomain.RESOURCE, resourceName, resourceName);
+		}
+
+		if (metadata != null) {
+			log.debug("AVUs found in cache");
+			return asAvuData(metadata);
+		}
+
 		IRODSQueryResultSet resultSet = null;
 		try {
 			IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
-			builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_META_RESC_ATTR_NAME)
+			builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_R_RESC_ID)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_R_RESC_NAME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_R_CREATE_TIME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_R_MODIFY_TIME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_META_RESC_ATTR_NAME)
 					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_META_RESC_ATTR_VALUE)
-					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_META_RESC_ATTR_UNITS).addConditionAsGenQueryField(
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_META_RESC_ATTR_UNITS)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_META_RESC_ATTR_ID).addConditionAsGenQueryField(
 							RodsGenQueryEnum.COL_R_RESC_NAME, QueryConditionOperators.EQUAL, resourceName);
 
 			IRODSGenQueryExecutor irodsGenQueryExecutor = getIRODSAccessObjectFactory()
@@ -839,7 +860,20 @@ public final class ResourceAOImpl extends IRODSGenericAO implements ResourceAO {
 			throw new JargonException(e);
 		}
 
-		return AccessObjectQueryProcessingUtils.buildAvuDataListFromResultSet(resultSet);
+		metadata = AccessObjectQueryProcessingUtils.buildMetaDataAndDomainDatalistFromResultSet(MetadataDomain.RESOURCE,
+				resultSet);
+		if (avuCache != null) {
+			avuCache.cache(getIRODSAccount(), MetadataDomain.RESOURCE, resourceName, resourceName, metadata);
+		}
+		return asAvuData(metadata);
+	}
+
+	private static List<AvuData> asAvuData(final List<MetaDataAndDomainData> metadata) {
+		List<AvuData> avuData = new ArrayList<AvuData>(metadata.size());
+		for (MetaDataAndDomainData value : metadata) {
+			avuData.add(value.asAvu());
+		}
+		return avuData;
 	}
 
 	/**
@@ -1013,6 +1047,8 @@ public final class ResourceAOImpl extends IRODSGenericAO implements ResourceAO {
 
 			log.error("jargon exception adding AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.RESOURCE, resourceName);
 		}
 
 		log.debug("metadata added");
@@ -1057,12 +1093,130 @@ public final class ResourceAOImpl extends IRODSGenericAO implements ResourceAO {
 
 			log.error("jargon exception setting AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.RESOURCE, resourceName);
 		}
 
 		log.debug("metadata set");
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.ResourceAO#addBulkAVUMetadataToResource(java.lang.String,
+	 * java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> addBulkAVUMetadataToResource(final String resourceName,
+			final List<AvuData> avuData) throws JargonException {
+
+		log.info("addBulkAVUMetadataToResource()");
+
+		if (resourceName == null || resourceName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty resource name");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
+		for (AvuData value : avuData) {
+			requests.add(ModAvuMetadataInp.instanceForAddResourceMetadata(resourceName, value));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(resourceName,
+				MetadataTargetType.RESOURCE, ActionType.ADD, avuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-831000");
+		} finally {
+			invalidateAvus(MetadataDomain.RESOURCE, resourceName);
+		}
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.ResourceAO#deleteBulkAVUMetadataFromResource(java.lang.String,
+	 * java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromResource(final String resourceName,
+			final List<AvuData> avuData) throws JargonException {
+
+		log.info("deleteBulkAVUMetadataFromResource()");
+
+		if (resourceName == null || resourceName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty resource name");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
+		for (AvuData value : avuData) {
+			requests.add(ModAvuMetadataInp.instanceForDeleteResourceMetadata(resourceName, value));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(resourceName,
+				MetadataTargetType.RESOURCE, ActionType.REMOVE, avuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-831000");
+		} finally {
+			invalidateAvus(MetadataDomain.RESOURCE, resourceName);
+		}
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.ResourceAO#modifyBulkAVUMetadataOnResource(java.lang.String,
+	 * java.util.List, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnResource(final String resourceName,
+			final List<AvuData> currentAvuData, final List<AvuData> newAvuData) throws JargonException {
+
+		log.info("modifyBulkAVUMetadataOnResource()");
+
+		if (resourceName == null || resourceName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty resource name");
+		}
+
+		if (currentAvuData == null || newAvuData == null || currentAvuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		if (currentAvuData.size() != newAvuData.size()) {
+			throw new IllegalArgumentException("currentAvuData and newAvuData must be the same size");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(newAvuData.size());
+		for (int i = 0; i < newAvuData.size(); i++) {
+			requests.add(ModAvuMetadataInp.instanceForModifyResourceMetadata(resourceName, currentAvuData.get(i),
+					newAvuData.get(i)));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instanceForModify(resourceName,
+				MetadataTargetType.RESOURCE, currentAvuData, newAvuData);
+		List<BulkAVUOperationResponse> responses;
+		try {
+			responses = sendBulkAVURequests(atomicRequest, requests, "-831000");
+		} finally {
+			invalidateAvus(MetadataDomain.RESOURCE, resourceName);
+		}
+		log.info("...complete");
+		return responses;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -1099,6 +1253,8 @@ public final class ResourceAOImpl extends IRODSGenericAO implements ResourceAO {
 
 			log.error("jargon exception removing AVU metadata", je);
 			throw je;
+		} finally {
+			invalidateAvus(MetadataDomain.RESOURCE, resourceName);
 		}
 
 		log.debug("metadata removed");
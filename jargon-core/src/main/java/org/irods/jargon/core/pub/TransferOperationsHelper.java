@@ -1,13 +1,19 @@
 package org.irods.jargon.core.pub;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.ObjStatCache;
+import org.irods.jargon.core.connection.PipelinedResponse;
+import org.irods.jargon.core.exception.CatalogAlreadyHasItemByThatNameException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.OverwriteException;
+import org.irods.jargon.core.packinstr.CollInp;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.irods.jargon.core.transfer.TransferStatus;
@@ -113,23 +119,8 @@ final class TransferOperationsHelper {
 			if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()) {
 				log.info("transfer cancelled or paused");
 				if (transferStatusCallbackListener != null) {
-					TransferState interruptStatus;
-					if (transferControlBlock.shouldTransferBeAbandonedDueToNumberOfErrors()) {
-						interruptStatus = TransferState.FAILURE;
-					} else if (transferControlBlock.isCancelled()) {
-						interruptStatus = TransferState.CANCELLED;
-					} else {
-						interruptStatus = TransferState.PAUSED;
-					}
-
-					TransferStatus status = TransferStatus.instance(TransferType.GET,
-							fileInSourceCollection.getAbsolutePath(), targetLocalFile.getAbsolutePath(), "",
-							fileInSourceCollection.length(), fileInSourceCollection.length(),
-							transferControlBlock.getTotalFilesTransferredSoFar(),
-							transferControlBlock.getTotalFilesSkippedSoFar(),
-							transferControlBlock.getTotalFilesToTransfer(), interruptStatus,
-							dataObjectAO.getIRODSAccount().getHost(), dataObjectAO.getIRODSAccount().getZone());
-					transferStatusCallbackListener.statusCallback(status);
+					notifyPauseOrCancelCallbackForGet(targetLocalFile, transferStatusCallbackListener,
+							transferControlBlock, fileInSourceCollection);
 					return;
 				}
 			}
@@ -174,6 +165,104 @@ final class TransferOperationsHelper {
 		}
 	}
 
+	/**
+	 * A get operation has been cancelled or paused, give the appropriate callback
+	 *
+	 * @param targetLocalFile
+	 *            {@link File} that is the target of the get
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener} that receives the call-back
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} that contains information about the
+	 *            transfer
+	 * @param fileInSourceCollection
+	 *            {@link File} that was the current source of the get
+	 * @throws JargonException
+	 */
+	void notifyPauseOrCancelCallbackForGet(final File targetLocalFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final File fileInSourceCollection) throws JargonException {
+
+		TransferState interruptStatus;
+		if (transferControlBlock.shouldTransferBeAbandonedDueToNumberOfErrors()) {
+			interruptStatus = TransferState.FAILURE;
+		} else if (transferControlBlock.isCancelled()) {
+			interruptStatus = TransferState.CANCELLED;
+		} else {
+			interruptStatus = TransferState.PAUSED;
+		}
+
+		TransferStatus status = TransferStatus.instance(TransferType.GET, fileInSourceCollection.getAbsolutePath(),
+				targetLocalFile.getAbsolutePath(), "", fileInSourceCollection.length(), fileInSourceCollection.length(),
+				transferControlBlock.getTotalFilesTransferredSoFar(), transferControlBlock.getTotalFilesSkippedSoFar(),
+				transferControlBlock.getTotalFilesToTransfer(), interruptStatus,
+				dataObjectAO.getIRODSAccount().getHost(), dataObjectAO.getIRODSAccount().getZone());
+		transferStatusCallbackListener.statusCallback(status);
+	}
+
+	/**
+	 * Close and renew the socket for this thread if the socket renewal interval
+	 * has passed
+	 *
+	 * @throws JargonException
+	 */
+	void checkSocketRenewal() throws JargonException {
+		if (collectionAO.getIRODSProtocol().getPipelineConfiguration().getSocketRenewalIntervalInSeconds() > 0) {
+			collectionAO.getIRODSSession().currentConnectionCheckRenewalOfSocket(collectionAO.getIRODSAccount());
+		}
+	}
+
+	/**
+	 * Create a batch of collections in one pipelined exchange. Collections that
+	 * already exist are not an error, any other failure is logged and left for
+	 * the transfer of the files in that collection to report.
+	 *
+	 * @param collectionPaths
+	 *            {@code List} of {@code String} with absolute paths of the
+	 *            collections to create, parents before children
+	 * @return {@code int} with the number of collections that could not be
+	 *         created
+	 * @throws JargonException
+	 *             for a network error
+	 */
+	int createCollections(final List<String> collectionPaths) throws JargonException {
+		log.info("creating batch of {} collections", collectionPaths.size());
+		List<CollInp> requests = new ArrayList<CollInp>(collectionPaths.size());
+		for (String collectionPath : collectionPaths) {
+			requests.add(CollInp.instanceForCreateCollection(collectionPath, false));
+		}
+
+		int failed = 0;
+		List<PipelinedResponse> responses = collectionAO.executePipelinedRequests(requests);
+		ObjStatCache objStatCache = collectionAO.getIRODSSession().getObjStatCache();
+		if (objStatCache != null) {
+			for (String collectionPath : collectionPaths) {
+				objStatCache.invalidate(collectionPath);
+			}
+		}
+		for (int i = 0; i < responses.size(); i++) {
+			PipelinedResponse response = responses.get(i);
+			if (!response.isSuccess()
+					&& !(response.getException() instanceof CatalogAlreadyHasItemByThatNameException)) {
+				log.warn("unable to create collection:{}", collectionPaths.get(i), response.getException());
+				failed++;
+			}
+		}
+		return failed;
+	}
+
+	/**
+	 * Create an {@link IRODSFile} for a collection on this helper's connection
+	 *
+	 * @param collectionPath
+	 *            {@code String} with the absolute path of the collection
+	 * @return {@link IRODSFile}
+	 * @throws JargonException
+	 */
+	IRODSFile instanceIRODSFileForCollectionPath(final String collectionPath) throws JargonException {
+		return collectionAO.instanceIRODSFileForCollectionPath(collectionPath);
+	}
+
 	/**
 	 * In a transfer operation, process the given iRODS file as a data object to be
 	 * retrieved.
@@ -452,7 +541,7 @@ final class TransferOperationsHelper {
 	 *            {@link File} that was the current source of the put
 	 * @throws JargonException
 	 */
-	private void notifyPauseOrCancelCallbackForPut(final IRODSFile targetIrodsCollection,
+	void notifyPauseOrCancelCallbackForPut(final IRODSFile targetIrodsCollection,
 			final TransferStatusCallbackListener transferStatusCallbackListener,
 			final TransferControlBlock transferControlBlock, final File fileInSourceCollection) throws JargonException {
 
@@ -734,6 +823,36 @@ final class TransferOperationsHelper {
 			final TransferStatusCallbackListener transferStatusCallbackListener,
 			final TransferControlBlock transferControlBlock)
 			throws OverwriteException, DataNotFoundException, JargonException {
+		processPutOfSingleFile(sourceFile, targetIrodsFile, transferStatusCallbackListener, transferControlBlock,
+				true);
+	}
+
+	/**
+	 * Put a single file to iRODS, optionally without the start callback, for a
+	 * file whose start was already sent, as by a bundled put that falls back to
+	 * putting its files one at a time.
+	 *
+	 * @param sourceFile
+	 *            {@code File} on the local file system that will be the source of
+	 *            the put.
+	 * @param targetIrodsFile
+	 *            {@link org.irods.jargon.core.pub.io.File} that is the remote file
+	 *            on iRODS which is the target of the put.
+	 * @param transferStatusCallbackListener
+	 *            {@link org.irods.jargon.core.transfer.TransferStatusCallbackListener}
+	 *            implementation that will receive callbacks, may be {@code null}
+	 * @param transferControlBlock
+	 *            {@link org.irods.jargon.core.transfer.TransferControlBlock} for
+	 *            the transfer
+	 * @param notifyStart
+	 *            {@code boolean} to send the start callback, where the listener
+	 *            may skip the file
+	 * @throws JargonException
+	 */
+	void processPutOfSingleFile(final File sourceFile, final IRODSFile targetIrodsFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final boolean notifyStart)
+			throws OverwriteException, DataNotFoundException, JargonException {
 
 		log.info("put of single file");
 
@@ -785,7 +904,7 @@ final class TransferOperationsHelper {
 				return;
 			}
 
-			if (transferStatusCallbackListener != null) {
+			if (transferStatusCallbackListener != null && notifyStart) {
 				TransferStatus status = TransferStatus.instance(TransferType.PUT, sourceFile.getAbsolutePath(),
 						targetFileAsFile.getAbsolutePath(), targetFileAsFile.getResource(), sourceFile.length(), 0,
 						transferControlBlock.getTotalFilesTransferredSoFar(),
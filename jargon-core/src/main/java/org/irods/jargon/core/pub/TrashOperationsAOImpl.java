@@ -330,6 +330,7 @@ public class TrashOperationsAOImpl extends IRODSGenericAO implements TrashOperat
 			}
 		}
 
+		invalidateObjStatTree(irodsPath);
 		log.info("deletion successful");
 
 	}
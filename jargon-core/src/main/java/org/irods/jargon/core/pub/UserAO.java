@@ -238,6 +238,58 @@ public interface UserAO extends IRODSAccessObject {
 	 */
 	void deleteAVUMetadata(String userName, AvuData avuData) throws DataNotFoundException, JargonException;
 
+	/**
+	 * Add a list of AVUs to the user. They are sent as one atomic request when
+	 * the server supports it, otherwise as a pipelined batch of single requests.
+	 * Duplicate AVUs and a missing user are reported in the responses.
+	 *
+	 * @param userName
+	 *            {@code String} with the name of the user
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to add
+	 * @return {@code List} of {@link BulkAVUOperationResponse}, one for each AVU
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<BulkAVUOperationResponse> addBulkAVUMetadataToUser(String userName, List<AvuData> avuData)
+			throws JargonException;
+
+	/**
+	 * Remove a list of AVUs from the user. They are sent as one atomic request
+	 * when the server supports it, otherwise as a pipelined batch of single
+	 * requests. A missing user is reported in the responses.
+	 *
+	 * @param userName
+	 *            {@code String} with the name of the user
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} to remove
+	 * @return {@code List} of {@link BulkAVUOperationResponse}, one for each AVU
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromUser(String userName, List<AvuData> avuData)
+			throws JargonException;
+
+	/**
+	 * Replace a list of AVUs on the user with the AVUs at the same position in a
+	 * second list. They are sent as one atomic request, a remove of each current
+	 * AVU followed by an add of its replacement, when the server supports it,
+	 * otherwise as a pipelined batch of single modify requests. A missing user is
+	 * reported in the responses.
+	 *
+	 * @param userName
+	 *            {@code String} with the name of the user
+	 * @param currentAvuData
+	 *            {@code List} of {@link AvuData} to replace
+	 * @param newAvuData
+	 *            {@code List} of {@link AvuData} with the replacements
+	 * @return {@code List} of {@link BulkAVUOperationResponse}, one for each AVU
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnUser(String userName, List<AvuData> currentAvuData,
+			List<AvuData> newAvuData) throws JargonException;
+
 	/**
 	 * Modify the given AVU metadata from the user. This is only possible when a
 	 * rods admin.
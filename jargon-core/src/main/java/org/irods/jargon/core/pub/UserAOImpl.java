@@ -14,10 +14,13 @@ import org.irods.jargon.core.exception.InvalidUserException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.NoMoreRulesException;
 import org.irods.jargon.core.exception.OperationNotSupportedByThisServerException;
+import org.irods.jargon.core.packinstr.AtomicMetadataOperationsInp;
 import org.irods.jargon.core.packinstr.GeneralAdminInp;
 import org.irods.jargon.core.packinstr.GetTempPasswordForOther;
 import org.irods.jargon.core.packinstr.GetTempPasswordIn;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.ActionType;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.MetadataTargetType;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.packinstr.UserAdminInp;
 import org.irods.jargon.core.protovalues.UserTypeEnum;
@@ -871,6 +874,107 @@ public final class UserAOImpl extends IRODSGenericAO implements UserAO {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.UserAO#addBulkAVUMetadataToUser(java.lang.String,
+	 * java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> addBulkAVUMetadataToUser(final String userName,
+			final List<AvuData> avuData) throws JargonException {
+
+		log.info("addBulkAVUMetadataToUser()");
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
+		for (AvuData value : avuData) {
+			requests.add(ModAvuMetadataInp.instanceForAddUserMetadata(userName, value));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(userName,
+				MetadataTargetType.USER, ActionType.ADD, avuData);
+		List<BulkAVUOperationResponse> responses = sendBulkAVURequests(atomicRequest, requests, "-827000");
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.UserAO#deleteBulkAVUMetadataFromUser(java.lang.String,
+	 * java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromUser(final String userName,
+			final List<AvuData> avuData) throws JargonException {
+
+		log.info("deleteBulkAVUMetadataFromUser()");
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (avuData == null || avuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
+		for (AvuData value : avuData) {
+			requests.add(ModAvuMetadataInp.instanceForDeleteUserMetadata(userName, value));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instance(userName,
+				MetadataTargetType.USER, ActionType.REMOVE, avuData);
+		List<BulkAVUOperationResponse> responses = sendBulkAVURequests(atomicRequest, requests, "-827000");
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.UserAO#modifyBulkAVUMetadataOnUser(java.lang.String,
+	 * java.util.List, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> modifyBulkAVUMetadataOnUser(final String userName,
+			final List<AvuData> currentAvuData, final List<AvuData> newAvuData) throws JargonException {
+
+		log.info("modifyBulkAVUMetadataOnUser()");
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (currentAvuData == null || newAvuData == null || currentAvuData.isEmpty()) {
+			throw new IllegalArgumentException("null or empty avuData");
+		}
+
+		if (currentAvuData.size() != newAvuData.size()) {
+			throw new IllegalArgumentException("currentAvuData and newAvuData must be the same size");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(newAvuData.size());
+		for (int i = 0; i < newAvuData.size(); i++) {
+			requests.add(ModAvuMetadataInp.instanceForModifyUserMetadata(userName, currentAvuData.get(i),
+					newAvuData.get(i)));
+		}
+
+		AtomicMetadataOperationsInp atomicRequest = AtomicMetadataOperationsInp.instanceForModify(userName,
+				MetadataTargetType.USER, currentAvuData, newAvuData);
+		List<BulkAVUOperationResponse> responses = sendBulkAVURequests(atomicRequest, requests, "-827000");
+		log.info("...complete");
+		return responses;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
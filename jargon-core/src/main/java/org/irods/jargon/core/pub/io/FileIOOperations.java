@@ -4,6 +4,8 @@
 package org.irods.jargon.core.pub.io;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.exception.JargonException;
@@ -108,6 +110,47 @@ public interface FileIOOperations extends IRODSAccessObject {
 	 */
 	public long seek(int fd, long seek, SeekWhenceType whence) throws JargonException;
 
+	/**
+	 * Read many ranges of an open file. Ranges that overlap or lie within
+	 * {@code file.read.ranges.coalesce.gap} bytes of each other are read as one,
+	 * up to the get buffer size, and the seek and read for each are sent back to
+	 * back without waiting for replies. This leaves the file offset after the
+	 * last range read.
+	 *
+	 * @param fd
+	 *            {@code int} with the file descriptor
+	 * @param ranges
+	 *            {@code List} of {@link ReadRange}, in any order
+	 * @return {@code List} of read only {@link ByteBuffer}, one for each range
+	 *         in the order given, with fewer bytes remaining than asked where the
+	 *         range passes the end of the file
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<ByteBuffer> readRanges(int fd, List<ReadRange> ranges) throws JargonException;
+
+	/**
+	 * Read many ranges of a file as {@link #readRanges(int, List)} does, splitting
+	 * ranges far apart in the file across up to {@code connections} connections.
+	 * The first group is read through the open file. Each other group is read on
+	 * a connection of its own, with the file opened read only on the same
+	 * resource, and that connection is closed afterwards.
+	 *
+	 * @param irodsFile
+	 *            {@link IRODSFile} that is open for reading
+	 * @param ranges
+	 *            {@code List} of {@link ReadRange}, in any order
+	 * @param connections
+	 *            {@code int} with the most connections to read on, including
+	 *            that of the open file
+	 * @return {@code List} of read only {@link ByteBuffer}, one for each range
+	 *         in the order given
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<ByteBuffer> readRanges(IRODSFile irodsFile, List<ReadRange> ranges, int connections)
+			throws JargonException;
+
 	/**
 	 * Convenience method to compute a checksum on a given iRODS file
 	 *
@@ -4,12 +4,24 @@
 package org.irods.jargon.core.pub.io;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.PipelinedReplyDataHandler;
+import org.irods.jargon.core.connection.PipelinedResponse;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.IRodsPI;
 import org.irods.jargon.core.packinstr.OpenedDataObjInp;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.pub.DataObjectChecksumUtilitiesAO;
@@ -188,6 +200,174 @@ public final class FileIOOperationsAOImpl extends IRODSGenericAO implements File
 		return message.getTag(IRODSConstants.offset).getLongValue();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.io.FileIOOperations#readRanges(int,
+	 * java.util.List)
+	 */
+	@Override
+	public List<ByteBuffer> readRanges(final int fd, final List<ReadRange> ranges) throws JargonException {
+
+		log.info("readRanges()");
+
+		if (fd <= 0) {
+			throw new IllegalArgumentException("invalid file descriptor");
+		}
+
+		ReadRangePlan readRangePlan = planReadRanges(ranges);
+		readSpans(fd, readRangePlan.getSpans());
+		return readRangePlan.views();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.io.FileIOOperations#readRanges(org.irods.jargon.
+	 * core.pub.io.IRODSFile, java.util.List, int)
+	 */
+	@Override
+	public List<ByteBuffer> readRanges(final IRODSFile irodsFile, final List<ReadRange> ranges,
+			final int connections) throws JargonException {
+
+		log.info("readRanges() on up to {} connections", connections);
+
+		if (irodsFile == null) {
+			throw new IllegalArgumentException("null irodsFile");
+		}
+
+		if (irodsFile.getFileDescriptor() <= 0) {
+			throw new IllegalArgumentException("irodsFile is not open");
+		}
+
+		if (connections <= 0) {
+			throw new IllegalArgumentException("connections must be at least 1");
+		}
+
+		ReadRangePlan readRangePlan = planReadRanges(ranges);
+		List<List<ReadRangePlan.Span>> groups = readRangePlan.partition(connections);
+		if (groups.size() <= 1) {
+			readSpans(irodsFile.getFileDescriptor(), readRangePlan.getSpans());
+			return readRangePlan.views();
+		}
+
+		log.info("reading {} spans in {} groups", readRangePlan.getSpans().size(), groups.size());
+		final String absolutePath = irodsFile.getAbsolutePath();
+		final String resource = irodsFile.getResource();
+		ExecutorService executor = Executors.newFixedThreadPool(groups.size() - 1, new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "jargon-read-ranges");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		try {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (final List<ReadRangePlan.Span> group : groups.subList(1, groups.size())) {
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws JargonException {
+						readSpansOnOwnConnection(absolutePath, resource, group);
+						return null;
+					}
+				}));
+			}
+
+			readSpans(irodsFile.getFileDescriptor(), groups.get(0));
+
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new JargonException("interrupted reading ranges", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof JargonException) {
+						throw (JargonException) e.getCause();
+					}
+					throw new JargonException("error reading ranges", e.getCause());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return readRangePlan.views();
+	}
+
+	private ReadRangePlan planReadRanges(final List<ReadRange> ranges) {
+		if (ranges == null) {
+			throw new IllegalArgumentException("null ranges");
+		}
+
+		return new ReadRangePlan(ranges, getJargonProperties().getFileReadRangesCoalesceGap(),
+				getJargonProperties().getGetBufferSize());
+	}
+
+	/**
+	 * Open the file on the connection of the calling thread, read the spans, and
+	 * close the file and the connection
+	 */
+	private void readSpansOnOwnConnection(final String absolutePath, final String resource,
+			final List<ReadRangePlan.Span> spans) throws JargonException {
+		try {
+			IRODSFile replica = getIRODSFileFactory().instanceIRODSFile(absolutePath);
+			replica.setResource(resource);
+			int fd = replica.openReadOnly();
+			try {
+				readSpans(fd, spans);
+			} finally {
+				replica.close();
+			}
+		} finally {
+			getIRODSSession().closeSession(getIRODSAccount());
+		}
+	}
+
+	/**
+	 * Pipeline a seek and a read for each span, reading the data of each read
+	 * reply into its span
+	 */
+	private void readSpans(final int fd, final List<ReadRangePlan.Span> spans) throws JargonException {
+		if (spans.isEmpty()) {
+			return;
+		}
+
+		List<IRodsPI> requests = new ArrayList<IRodsPI>(spans.size() * 2);
+		for (ReadRangePlan.Span span : spans) {
+			requests.add(OpenedDataObjInp.instanceForFileSeek(span.getOffset(), fd,
+					SeekWhenceType.SEEK_START.ordinal()));
+			requests.add(OpenedDataObjInp.instanceForFileRead(fd, span.getLength()));
+		}
+
+		log.debug("pipelining {} seeks and reads", spans.size());
+		List<PipelinedResponse> responses = getIRODSProtocol().irodsFunctionPipelined(requests,
+				new PipelinedReplyDataHandler() {
+					@Override
+					public void readReplyData(final int requestIndex, final Tag reply, final int length,
+							final IRODSMidLevelProtocol irodsProtocol) throws JargonException {
+						ReadRangePlan.Span span = spans.get(requestIndex / 2);
+						if (requestIndex % 2 == 0 || length > span.getLength()) {
+							throw new JargonException("unexpected data of " + length + " bytes in reply "
+									+ requestIndex + " of pipelined reads");
+						}
+						byte[] data = span.getData();
+						int read = 0;
+						while (read < length) {
+							read += irodsProtocol.read(data, read, length - read);
+						}
+						span.setFilled(length);
+					}
+				});
+
+		for (PipelinedResponse response : responses) {
+			response.getResponse();
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -14,6 +14,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.irods.jargon.core.connection.ObjStatCache;
 import org.irods.jargon.core.exception.CatNoAccessException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -1323,6 +1324,13 @@ public class IRODSFileImpl extends File implements IRODSFile {
 
 		setFileDescriptor(-1);
 
+		if (openFlags != OpenFlags.READ && irodsFileSystemAO.getIRODSSession() != null) {
+			ObjStatCache objStatCache = irodsFileSystemAO.getIRODSSession().getObjStatCache();
+			if (objStatCache != null) {
+				objStatCache.invalidate(getAbsolutePath());
+			}
+		}
+
 	}
 
 	/*
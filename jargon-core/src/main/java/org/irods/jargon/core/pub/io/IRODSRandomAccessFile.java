@@ -9,6 +9,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.UTFDataFormatException;
 
+import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
 import org.irods.jargon.core.utils.BinaryDataFormat;
@@ -50,6 +51,12 @@ import org.slf4j.LoggerFactory;
  * <b>Note:</b> This class offers features that extend those found in
  * java.io.RandomAccessFile. However, it <i>is not</i> a subclass, due to the
  * unfortunate use of final methods in java.io.RandomAccessFile.
+ * <p>
+ * When {@code random.access.cache.blocks} is set in the jargon properties, reads
+ * and writes go through a cache of that many blocks, read ahead once reads are
+ * sequential, so that the small reads of formats such as HDF5 do not each make
+ * a round trip. Changed blocks are written back on {@link #seek}, on
+ * {@link #flush()}, on {@link #close()}, and when evicted.
  *
  *
  * @author Mike Conway - DICE (www.irods.org) adopted from original Jargon
@@ -63,6 +70,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	private final IRODSFile irodsFile;
 	private long filePointer = 0;
 	private BinaryDataFormat fileFormat = new BinaryDataFormat();
+	private final RandomAccessBlockCache blockCache;
 
 	/**
 	 * Create an instance of the IRODS implementation of a random access file
@@ -100,6 +108,17 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 		this.irodsFile = irodsFile;
 		this.fileIOOperations = fileIOOperations;
 
+		JargonProperties jargonProperties = fileIOOperations.getJargonProperties();
+		if (jargonProperties.getRandomAccessCacheBlocks() > 0) {
+			log.info("caching {} blocks of {} bytes", jargonProperties.getRandomAccessCacheBlocks(),
+					jargonProperties.getRandomAccessCacheBlockSize());
+			blockCache = new RandomAccessBlockCache(irodsFile, fileIOOperations,
+					jargonProperties.getRandomAccessCacheBlockSize(), jargonProperties.getRandomAccessCacheBlocks(),
+					jargonProperties.getRandomAccessCacheReadAheadBlocks());
+		} else {
+			blockCache = null;
+		}
+
 	}
 
 	/**
@@ -503,7 +522,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 			newPosition = length;
 		}
 
-		seek(newPosition, SeekWhenceType.SEEK_CURRENT);
+		seek(newPosition, SeekWhenceType.SEEK_START);
 
 		return (int) (newPosition - position);
 	}
@@ -848,18 +867,8 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	public int read() throws IOException {
 		byte buffer[] = new byte[1];
-		int offset = 0;
-		int read;
-		try {
-			read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), buffer, offset, 1);
-		} catch (JargonException e) {
-			log.error("JargonException reading file", e);
-			throw new IOException(e);
-		}
-		if (read == 1) {
-			filePointer += 1;
-
-			return buffer[0];
+		if (readBytes(buffer, 0, 1) == 1) {
+			return buffer[0] & 0xff;
 		}
 		return -1;
 
@@ -881,12 +890,18 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	protected int readBytes(final byte buffer[], final int offset, final int len) throws IOException {
 		int read;
 		try {
-			read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), buffer, offset, len);
+			if (blockCache == null) {
+				read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), buffer, offset, len);
+			} else {
+				read = blockCache.read(filePointer, buffer, offset, len);
+			}
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
 			throw new IOException(e);
 		}
-		filePointer += read;
+		if (read > 0) {
+			filePointer += read;
+		}
 
 		return read;
 	}
@@ -905,7 +920,12 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	protected void writeBytes(final byte buffer[], final int offset, final int len) throws IOException {
 		try {
-			filePointer += fileIOOperations.write(irodsFile.getFileDescriptor(), buffer, offset, len);
+			if (blockCache == null) {
+				filePointer += fileIOOperations.write(irodsFile.getFileDescriptor(), buffer, offset, len);
+			} else {
+				blockCache.write(filePointer, buffer, offset, len);
+				filePointer += len;
+			}
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
 			throw new IOException(e);
@@ -948,13 +968,55 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 			throw new IllegalArgumentException();
 		}
 
+		if (blockCache == null) {
+			try {
+				fileIOOperations.seek(irodsFile.getFileDescriptor(), position, origin);
+			} catch (JargonException e) {
+				log.error("JargonException reading file", e);
+				throw new IOException(e);
+			}
+			filePointer = position;
+			return;
+		}
+
 		try {
-			fileIOOperations.seek(irodsFile.getFileDescriptor(), position, origin);
+			blockCache.writeBack();
+			/*
+			 * the remote offset is where the cache last read or wrote, not the caller's
+			 * position, so only the end of the file needs asking for
+			 */
+			if (origin == null || origin == SeekWhenceType.SEEK_START) {
+				filePointer = position;
+			} else if (origin == SeekWhenceType.SEEK_CURRENT) {
+				filePointer += position;
+			} else {
+				filePointer = fileIOOperations.seek(irodsFile.getFileDescriptor(), position, origin);
+				blockCache.remoteSeeked(filePointer);
+			}
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
 			throw new IOException(e);
 		}
-		filePointer = position;
+	}
+
+	/**
+	 * Write any changed cached blocks back to iRODS. Without a cache, writes are
+	 * sent as they are made and this does nothing.
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void flush() throws IOException {
+		if (blockCache == null) {
+			return;
+		}
+
+		try {
+			blockCache.writeBack();
+		} catch (JargonException e) {
+			log.error("JargonException writing cached blocks", e);
+			throw new IOException(e);
+		}
 	}
 
 	/**
@@ -988,6 +1050,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 *             if an I/O error occurs.
 	 */
 	public long length() throws IOException {
+		flush();
 		return irodsFile.length();
 	}
 
@@ -1053,6 +1116,14 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	public void close() throws IOException {
 		try {
 			log.debug("closing: {}", irodsFile.getAbsolutePath());
+			if (blockCache != null) {
+				try {
+					blockCache.clear();
+				} finally {
+					irodsFile.close();
+				}
+				return;
+			}
 			irodsFile.close();
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
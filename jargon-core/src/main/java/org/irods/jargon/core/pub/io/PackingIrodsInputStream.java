@@ -23,6 +23,7 @@ public class PackingIrodsInputStream extends InputStream {
 	private final IRODSFileInputStream irodsFileInputStream;
 	private ByteArrayInputStream byteArrayInputStream = null;
 	private final int bufferSizeForIrods;
+	private byte[] bufferForIrods = null;
 	private final Logger log = LoggerFactory.getLogger(this.getClass());
 	private boolean done = false;
 
@@ -52,13 +53,18 @@ public class PackingIrodsInputStream extends InputStream {
 
 	/**
 	 * Fill up a new byte array input stream from iRODS using the requested buffer
-	 * size, tries to fill that buffer
+	 * size, tries to fill that buffer. The buffer is reused, as the previous stream
+	 * over it has been read through. See {@link ReadAheadPackingIrodsInputStream}
+	 * to fetch the next buffer while this one is read.
 	 *
 	 * @throws IOException
 	 */
 	private void fillByteBufferFromIrods() throws IOException {
 
-		byte[] b = new byte[bufferSizeForIrods];
+		if (bufferForIrods == null) {
+			bufferForIrods = new byte[bufferSizeForIrods];
+		}
+		byte[] b = bufferForIrods;
 
 		int length = irodsFileInputStream.read(b);
 
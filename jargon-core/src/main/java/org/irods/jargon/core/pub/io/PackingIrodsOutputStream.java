@@ -3,10 +3,18 @@
  */
 package org.irods.jargon.core.pub.io;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 
+import org.irods.jargon.core.connection.IRODSConnectionLease;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.exception.JargonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +28,16 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Flush and close are used and behave as expected, and will properly handle the
  * close of the underlying iRODS File and stream.
+ * <p>
+ * In write-behind mode, a full buffer is handed to a sender thread that writes
+ * it to iRODS while the caller fills the next one, with at most a given number
+ * of buffers waiting or being sent. Buffers are recycled. An error sending a
+ * buffer is thrown from the next {@code write}, {@code flush} or {@code close}.
+ * The file is open on the connection of the thread that opened the stream, so
+ * that connection is lent to the sender while it sends. Only the sender uses
+ * the underlying stream until a flush or close waits for it to finish, and the
+ * writing thread should not use the same account for other iRODS work until
+ * the stream is closed.
  *
  *
  * @author Mike Conway - DICE
@@ -29,12 +47,26 @@ public class PackingIrodsOutputStream extends OutputStream {
 
 	private final Logger log = LoggerFactory.getLogger(this.getClass());
 
-	private int byteBufferSizeMax;
-	private ByteArrayOutputStream byteArrayOutputStream = null;
+	private final int byteBufferSizeMax;
 	private final IRODSFileOutputStream irodsFileOutputStream;
-	private long controlByteCount = 0;
+	private byte[] buffer;
+	private int bufferCount = 0;
 	private long controlBytesIn = 0;
 
+	/*
+	 * write-behind state, shared with the sender and guarded by this
+	 */
+	private final int maxBuffersInFlight;
+	private final ExecutorService senderExecutor;
+	private final boolean ownsSenderExecutor;
+	private final ArrayDeque<byte[]> freeBuffers = new ArrayDeque<byte[]>();
+	private final ArrayDeque<PendingBuffer> pendingBuffers = new ArrayDeque<PendingBuffer>();
+	private int buffersInFlight = 0;
+	private boolean sending = false;
+	private long controlByteCount = 0;
+	private volatile IOException sendFailure = null;
+	private IRODSMidLevelProtocol writerConnection = null;
+
 	/**
 	 * Constructor
 	 *
@@ -42,16 +74,73 @@ public class PackingIrodsOutputStream extends OutputStream {
 	 *            {@link IRODSFileOutputStream} that underlies this stream
 	 */
 	public PackingIrodsOutputStream(final IRODSFileOutputStream irodsFileOutputStream) {
+		this(irodsFileOutputStream, null, 0);
+	}
+
+	/**
+	 * Constructor for write-behind mode, sending on a thread of the stream's own
+	 * that ends at {@link #close()}
+	 *
+	 * @param irodsFileOutputStream
+	 *            {@link IRODSFileOutputStream} that underlies this stream
+	 * @param maxBuffersInFlight
+	 *            {@code int} with the number of full buffers that may be waiting
+	 *            or being sent before {@code write} blocks, 0 to send on the
+	 *            calling thread
+	 */
+	public PackingIrodsOutputStream(final IRODSFileOutputStream irodsFileOutputStream, final int maxBuffersInFlight) {
+		this(irodsFileOutputStream, null, maxBuffersInFlight);
+	}
+
+	/**
+	 * Constructor for write-behind mode
+	 *
+	 * @param irodsFileOutputStream
+	 *            {@link IRODSFileOutputStream} that underlies this stream
+	 * @param senderExecutor
+	 *            {@link ExecutorService} to send on, shared by many streams, or
+	 *            {@code null} for a thread of the stream's own
+	 * @param maxBuffersInFlight
+	 *            {@code int} with the number of full buffers that may be waiting
+	 *            or being sent before {@code write} blocks, 0 to send on the
+	 *            calling thread
+	 */
+	public PackingIrodsOutputStream(final IRODSFileOutputStream irodsFileOutputStream,
+			final ExecutorService senderExecutor, final int maxBuffersInFlight) {
 		if (irodsFileOutputStream == null) {
 			throw new IllegalArgumentException("null irodsFileOutputStream");
 		}
 
+		if (maxBuffersInFlight < 0) {
+			throw new IllegalArgumentException("negative maxBuffersInFlight");
+		}
+
 		byteBufferSizeMax = irodsFileOutputStream.getFileIOOperations().getJargonProperties().getPutBufferSize();
 		if (byteBufferSizeMax <= 0) {
 			throw new IllegalStateException("cannot have a zero or negative buffer size");
 		}
-		byteArrayOutputStream = new ByteArrayOutputStream();
 		this.irodsFileOutputStream = irodsFileOutputStream;
+		this.maxBuffersInFlight = maxBuffersInFlight;
+
+		if (maxBuffersInFlight == 0) {
+			this.senderExecutor = null;
+			ownsSenderExecutor = false;
+		} else if (senderExecutor == null) {
+			this.senderExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "jargon-write-behind");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			ownsSenderExecutor = true;
+		} else {
+			this.senderExecutor = senderExecutor;
+			ownsSenderExecutor = false;
+		}
+		log.info("packing output stream with buffer size:{} and buffers in flight:{}", byteBufferSizeMax,
+				maxBuffersInFlight);
 	}
 
 	/*
@@ -63,26 +152,151 @@ public class PackingIrodsOutputStream extends OutputStream {
 	@Override
 	public void write(final byte[] b, final int off, final int len) throws IOException {
 		log.debug("write()");
+		checkSendFailure();
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
 		controlBytesIn += len;
-		log.debug("controlBytesIn:{}", controlBytesIn);
-		int projectedLen = byteArrayOutputStream.size() + (len - off);
-		log.info("projectedLen:{}", projectedLen);
-		if (projectedLen < byteBufferSizeMax) {
-			log.debug("less than buffer max so cache until full");
-			byteArrayOutputStream.write(b, off, len);
-		} else {
-			log.debug("buffer is full, write to irods and reset");
-			byteArrayOutputStream.write(b, off, len);
-			flushAndResetBufferStream();
+		int written = 0;
+		while (written < len) {
+			if (buffer == null) {
+				buffer = takeBuffer();
+			}
+			int toCopy = Math.min(len - written, byteBufferSizeMax - bufferCount);
+			System.arraycopy(b, off + written, buffer, bufferCount, toCopy);
+			bufferCount += toCopy;
+			written += toCopy;
+			if (bufferCount == byteBufferSizeMax) {
+				log.debug("buffer is full, write to irods and reset");
+				flushAndResetBufferStream();
+			}
 		}
 	}
 
 	private void flushAndResetBufferStream() throws IOException {
-		if (byteArrayOutputStream.size() > 0) {
-			irodsFileOutputStream.write(byteArrayOutputStream.toByteArray());
-			controlByteCount += byteArrayOutputStream.size();
+		if (bufferCount == 0) {
+			return;
+		}
+
+		if (senderExecutor == null) {
+			irodsFileOutputStream.write(buffer, 0, bufferCount);
+			controlByteCount += bufferCount;
 			log.debug("controlByteCount:{}", controlByteCount);
-			byteArrayOutputStream.reset();
+			bufferCount = 0;
+			return;
+		}
+
+		synchronized (this) {
+			while (buffersInFlight >= maxBuffersInFlight && sendFailure == null) {
+				awaitSender();
+			}
+			checkSendFailure();
+			pendingBuffers.addLast(new PendingBuffer(buffer, bufferCount));
+			buffersInFlight++;
+			buffer = null;
+			bufferCount = 0;
+			scheduleSend();
+		}
+	}
+
+	private byte[] takeBuffer() {
+		synchronized (this) {
+			byte[] free = freeBuffers.pollFirst();
+			if (free != null) {
+				return free;
+			}
+		}
+		return new byte[byteBufferSizeMax];
+	}
+
+	/**
+	 * Start the sender if it is idle, called holding the lock on the writing
+	 * thread, which holds the connection the file is open on
+	 */
+	private void scheduleSend() throws IOException {
+		if (sending) {
+			return;
+		}
+
+		if (writerConnection == null) {
+			try {
+				writerConnection = irodsFileOutputStream.getFileIOOperations().getIRODSProtocol();
+			} catch (JargonException e) {
+				log.error("unable to find the connection the file is open on", e);
+				throw new IOException("unable to find the connection the file is open on", e);
+			}
+		}
+
+		final IRODSMidLevelProtocol connection = writerConnection;
+		sending = true;
+		try {
+			senderExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					IRODSConnectionLease lease = irodsFileOutputStream.getFileIOOperations().getIRODSSession()
+							.lendConnection(irodsFileOutputStream.getFileIOOperations().getIRODSAccount(), connection);
+					try {
+						sendPendingBuffers();
+					} finally {
+						lease.close();
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			sending = false;
+			throw new IOException("unable to schedule write behind", e);
+		}
+	}
+
+	private void sendPendingBuffers() {
+		while (true) {
+			PendingBuffer pending;
+			synchronized (this) {
+				pending = pendingBuffers.pollFirst();
+				if (pending == null || sendFailure != null) {
+					sending = false;
+					notifyAll();
+					return;
+				}
+			}
+
+			try {
+				irodsFileOutputStream.write(pending.buffer, 0, pending.length);
+			} catch (IOException | RuntimeException e) {
+				log.error("error writing behind to iRODS", e);
+				synchronized (this) {
+					sendFailure = e instanceof IOException ? (IOException) e : new IOException(e);
+					pendingBuffers.clear();
+					buffersInFlight = 0;
+					sending = false;
+					notifyAll();
+				}
+				return;
+			}
+
+			synchronized (this) {
+				controlByteCount += pending.length;
+				buffersInFlight--;
+				freeBuffers.addLast(pending.buffer);
+				notifyAll();
+			}
+		}
+	}
+
+	private void awaitSender() throws InterruptedIOException {
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted waiting to write behind to iRODS");
+		}
+	}
+
+	private void checkSendFailure() throws IOException {
+		IOException failure = sendFailure;
+		if (failure != null) {
+			throw new IOException("error writing behind to iRODS", failure);
 		}
 	}
 
@@ -115,12 +329,20 @@ public class PackingIrodsOutputStream extends OutputStream {
 	 */
 	@Override
 	public void close() throws IOException {
-		flush();
-		log.info("closing underlying stream");
-		if (controlByteCount != controlBytesIn) {
-			throw new IOException("control balance error in stream");
+		try {
+			flush();
+			log.info("closing underlying stream");
+			synchronized (this) {
+				if (controlByteCount != controlBytesIn) {
+					throw new IOException("control balance error in stream");
+				}
+			}
+		} finally {
+			if (ownsSenderExecutor) {
+				senderExecutor.shutdown();
+			}
+			irodsFileOutputStream.close();
 		}
-		irodsFileOutputStream.close();
 	}
 
 	/*
@@ -131,11 +353,35 @@ public class PackingIrodsOutputStream extends OutputStream {
 	@Override
 	public void flush() throws IOException {
 		log.debug("flush()...see if any bytes are buffered");
-		if (byteArrayOutputStream.size() > 0) {
+		checkSendFailure();
+		boolean buffered = bufferCount > 0;
+		if (buffered) {
 			log.debug("flushing buffered bytes and resetting");
 			flushAndResetBufferStream();
+		}
+
+		if (senderExecutor != null) {
+			synchronized (this) {
+				while (sending && sendFailure == null) {
+					awaitSender();
+				}
+			}
+			checkSendFailure();
+		}
+
+		if (buffered) {
 			log.debug("now flushing the underlying iRODS stream");
 			irodsFileOutputStream.flush();
 		}
 	}
+
+	private static final class PendingBuffer {
+		private final byte[] buffer;
+		private final int length;
+
+		private PendingBuffer(final byte[] buffer, final int length) {
+			this.buffer = buffer;
+			this.length = length;
+		}
+	}
 }
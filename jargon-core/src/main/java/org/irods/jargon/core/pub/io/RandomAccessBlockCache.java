@@ -0,0 +1,410 @@
+package org.irods.jargon.core.pub.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Least recently used cache of fixed size blocks of an open iRODS file, used by
+ * {@link IRODSRandomAccessFile} so that small reads and writes do not each make
+ * a round trip.
+ * <p>
+ * A miss loads the block from iRODS. When misses follow one another through
+ * the file, the next blocks are read in the same call, doubling up to a limit
+ * while the reads stay sequential and dropping back to one block when they
+ * jump. Writes go into cached blocks, loading a block first unless the write
+ * covers all of it, and only the changed range of a dirty block is written
+ * back, when it is evicted, when the owner writes back, and before the next
+ * load so that iRODS never returns data older than the cache.
+ * <p>
+ * The cache keeps its own idea of the iRODS file offset and seeks only when a
+ * load or write back needs another one. This is not thread safe.
+ */
+class RandomAccessBlockCache {
+
+	private static final Logger log = LoggerFactory.getLogger(RandomAccessBlockCache.class);
+
+	private final FileIOOperations fileIOOperations;
+	private final IRODSFile irodsFile;
+	private final int blockSize;
+	private final int capacity;
+	private final int maxReadAheadBlocks;
+	private final LinkedHashMap<Long, Block> blocks;
+
+	private long remotePointer = -1L;
+	private long nextSequentialBlock = -1L;
+	private int readAheadBlocks = 0;
+	private int dirtyBlocks = 0;
+
+	private long hits = 0L;
+	private long misses = 0L;
+	private long remoteReads = 0L;
+	private long remoteWrites = 0L;
+
+	/**
+	 * Constructor
+	 *
+	 * @param irodsFile
+	 *            {@link IRODSFile} that is open
+	 * @param fileIOOperations
+	 *            {@link FileIOOperations} to read and write the file
+	 * @param blockSize
+	 *            {@code int} with the size of a block
+	 * @param capacity
+	 *            {@code int} with the number of blocks to keep
+	 * @param maxReadAheadBlocks
+	 *            {@code int} with the most blocks to read ahead of a sequential
+	 *            miss
+	 */
+	RandomAccessBlockCache(final IRODSFile irodsFile, final FileIOOperations fileIOOperations, final int blockSize,
+			final int capacity, final int maxReadAheadBlocks) {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("blockSize must be positive");
+		}
+
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive");
+		}
+
+		if (maxReadAheadBlocks < 0) {
+			throw new IllegalArgumentException("negative maxReadAheadBlocks");
+		}
+
+		this.irodsFile = irodsFile;
+		this.fileIOOperations = fileIOOperations;
+		this.blockSize = blockSize;
+		this.capacity = capacity;
+		this.maxReadAheadBlocks = Math.min(maxReadAheadBlocks, capacity - 1);
+		blocks = new LinkedHashMap<Long, Block>(capacity * 4 / 3 + 1, 0.75f, true);
+	}
+
+	/**
+	 * Read from the cache, loading blocks as needed
+	 *
+	 * @param position
+	 *            {@code long} with the file offset to read from
+	 * @param buffer
+	 *            {@code byte[]} to read into
+	 * @param offset
+	 *            {@code int} with the start in the buffer
+	 * @param length
+	 *            {@code int} with the most bytes to read
+	 * @return {@code int} with the bytes read, or -1 at the end of the file
+	 * @throws JargonException
+	 *             if iRODS cannot be read
+	 */
+	int read(final long position, final byte[] buffer, final int offset, final int length) throws JargonException {
+		if (length == 0) {
+			return 0;
+		}
+
+		int total = 0;
+		while (total < length) {
+			long current = position + total;
+			Block block = getBlock(current / blockSize);
+			int inBlock = (int) (current % blockSize);
+			if (inBlock >= block.length) {
+				break;
+			}
+			int count = Math.min(length - total, block.length - inBlock);
+			System.arraycopy(block.data, inBlock, buffer, offset + total, count);
+			total += count;
+			if (block.length < blockSize) {
+				break;
+			}
+		}
+		return total == 0 ? -1 : total;
+	}
+
+	/**
+	 * Write into the cache, to be written back to iRODS later
+	 *
+	 * @param position
+	 *            {@code long} with the file offset to write at
+	 * @param buffer
+	 *            {@code byte[]} with the data
+	 * @param offset
+	 *            {@code int} with the start in the buffer
+	 * @param length
+	 *            {@code int} with the number of bytes to write
+	 * @throws JargonException
+	 *             if a block cannot be loaded or an evicted one written back
+	 */
+	void write(final long position, final byte[] buffer, final int offset, final int length) throws JargonException {
+		int total = 0;
+		while (total < length) {
+			long current = position + total;
+			long index = current / blockSize;
+			int inBlock = (int) (current % blockSize);
+			int count = Math.min(length - total, blockSize - inBlock);
+
+			Block block = blocks.get(index);
+			if (block == null) {
+				if (inBlock == 0 && count == blockSize) {
+					block = new Block(new byte[blockSize], 0);
+					putBlock(index, block);
+				} else {
+					block = getBlock(index);
+				}
+			} else {
+				hits++;
+			}
+
+			System.arraycopy(buffer, offset + total, block.data, inBlock, count);
+			if (!block.isDirty()) {
+				dirtyBlocks++;
+			}
+			block.markDirty(inBlock, inBlock + count);
+			block.length = Math.max(block.length, inBlock + count);
+			total += count;
+		}
+
+		if (length > 0) {
+			/*
+			 * iRODS fills a gap with zeros once the write is sent, so blocks cached as
+			 * the end of the file before it now hold zeros to their end
+			 */
+			long lastIndex = (position + length - 1) / blockSize;
+			for (Map.Entry<Long, Block> entry : blocks.entrySet()) {
+				if (entry.getKey() < lastIndex && entry.getValue().length < blockSize) {
+					entry.getValue().length = blockSize;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write every dirty block back to iRODS, in file order
+	 *
+	 * @throws JargonException
+	 *             if iRODS cannot be written
+	 */
+	void writeBack() throws JargonException {
+		if (dirtyBlocks == 0) {
+			return;
+		}
+
+		List<Map.Entry<Long, Block>> dirty = new ArrayList<Map.Entry<Long, Block>>();
+		for (Map.Entry<Long, Block> entry : blocks.entrySet()) {
+			if (entry.getValue().isDirty()) {
+				dirty.add(entry);
+			}
+		}
+
+		Collections.sort(dirty, new Comparator<Map.Entry<Long, Block>>() {
+			@Override
+			public int compare(final Map.Entry<Long, Block> first, final Map.Entry<Long, Block> second) {
+				return first.getKey().compareTo(second.getKey());
+			}
+		});
+
+		for (Map.Entry<Long, Block> entry : dirty) {
+			writeBack(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Write back dirty blocks and drop everything cached
+	 *
+	 * @throws JargonException
+	 *             if iRODS cannot be written
+	 */
+	void clear() throws JargonException {
+		writeBack();
+		blocks.clear();
+		nextSequentialBlock = -1L;
+		readAheadBlocks = 0;
+	}
+
+	/**
+	 * Note that the iRODS file offset was moved by someone other than the cache
+	 *
+	 * @param position
+	 *            {@code long} with the new offset
+	 */
+	void remoteSeeked(final long position) {
+		remotePointer = position;
+	}
+
+	private Block getBlock(final long index) throws JargonException {
+		Block block = blocks.get(index);
+		if (block != null) {
+			hits++;
+			return block;
+		}
+
+		misses++;
+		if (index == nextSequentialBlock) {
+			readAheadBlocks = readAheadBlocks == 0 ? Math.min(1, maxReadAheadBlocks)
+					: Math.min(readAheadBlocks * 2, maxReadAheadBlocks);
+		} else {
+			readAheadBlocks = 0;
+		}
+
+		int count = 1;
+		while (count <= readAheadBlocks && !blocks.containsKey(index + count)) {
+			count++;
+		}
+
+		writeBack();
+
+		long start = index * blockSize;
+		byte[] data = new byte[count * blockSize];
+		int loaded = readRemote(start, data);
+		log.debug("loaded {} bytes for {} blocks at block {}", loaded, count, index);
+
+		Block first = null;
+		int loadedBlocks = 0;
+		for (int i = 0; i < count; i++) {
+			int length = Math.max(0, Math.min(blockSize, loaded - i * blockSize));
+			if (i > 0 && length == 0) {
+				break;
+			}
+			byte[] blockData;
+			if (count == 1) {
+				blockData = data;
+			} else {
+				blockData = new byte[blockSize];
+				System.arraycopy(data, i * blockSize, blockData, 0, length);
+			}
+			Block loadedBlock = new Block(blockData, length);
+			if (first == null) {
+				first = loadedBlock;
+			}
+			loadedBlocks++;
+			if (i > 0) {
+				putBlock(index + i, loadedBlock);
+			}
+		}
+		putBlock(index, first);
+		nextSequentialBlock = index + loadedBlocks;
+		return first;
+	}
+
+	private int readRemote(final long start, final byte[] data) throws JargonException {
+		seekRemote(start);
+		int total = 0;
+		while (total < data.length) {
+			int read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), data, total, data.length - total);
+			remoteReads++;
+			if (read <= 0) {
+				break;
+			}
+			total += read;
+		}
+		remotePointer = start + total;
+		return total;
+	}
+
+	private void putBlock(final long index, final Block block) throws JargonException {
+		blocks.put(index, block);
+		Iterator<Map.Entry<Long, Block>> iterator = blocks.entrySet().iterator();
+		while (blocks.size() > capacity && iterator.hasNext()) {
+			Map.Entry<Long, Block> eldest = iterator.next();
+			if (eldest.getKey() == index) {
+				continue;
+			}
+			if (eldest.getValue().isDirty()) {
+				writeBack(eldest.getKey(), eldest.getValue());
+			}
+			iterator.remove();
+		}
+	}
+
+	private void writeBack(final long index, final Block block) throws JargonException {
+		long start = index * blockSize + block.dirtyFrom;
+		seekRemote(start);
+		int length = block.dirtyTo - block.dirtyFrom;
+		int written = fileIOOperations.write(irodsFile.getFileDescriptor(), block.data, block.dirtyFrom, length);
+		remoteWrites++;
+		if (written != length) {
+			remotePointer = -1L;
+			throw new JargonException("wrote " + written + " of " + length + " cached bytes at " + start);
+		}
+		remotePointer = start + written;
+		block.clean();
+		dirtyBlocks--;
+	}
+
+	private void seekRemote(final long position) throws JargonException {
+		if (remotePointer != position) {
+			remotePointer = -1L;
+			remotePointer = fileIOOperations.seek(irodsFile.getFileDescriptor(), position,
+					SeekWhenceType.SEEK_START);
+		}
+	}
+
+	/**
+	 * @return {@code long} with the reads and writes served from a cached block
+	 */
+	long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return {@code long} with the reads and writes that had to load a block
+	 */
+	long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return {@code long} with the reads made against iRODS
+	 */
+	long getRemoteReads() {
+		return remoteReads;
+	}
+
+	/**
+	 * @return {@code long} with the writes made against iRODS
+	 */
+	long getRemoteWrites() {
+		return remoteWrites;
+	}
+
+	/**
+	 * @return {@code int} with the size of a block
+	 */
+	int getBlockSize() {
+		return blockSize;
+	}
+
+	/**
+	 * A cached block, with the range that differs from iRODS
+	 */
+	private static final class Block {
+		private final byte[] data;
+		private int length;
+		private int dirtyFrom = Integer.MAX_VALUE;
+		private int dirtyTo = 0;
+
+		private Block(final byte[] data, final int length) {
+			this.data = data;
+			this.length = length;
+		}
+
+		private boolean isDirty() {
+			return dirtyTo > dirtyFrom;
+		}
+
+		private void markDirty(final int from, final int to) {
+			dirtyFrom = Math.min(dirtyFrom, from);
+			dirtyTo = Math.max(dirtyTo, to);
+		}
+
+		private void clean() {
+			dirtyFrom = Integer.MAX_VALUE;
+			dirtyTo = 0;
+		}
+	}
+
+}
@@ -0,0 +1,525 @@
+/**
+ *
+ */
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import org.irods.jargon.core.connection.IRODSConnectionLease;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wrap an iRODS input stream so that the next chunks of the file are fetched
+ * from iRODS in the background while the caller consumes the current one, so
+ * that network reads from iRODS overlap whatever the caller does with the data,
+ * such as writing it to an HTTP client.
+ * <p>
+ * A fixed number of buffers is recycled between the fetching thread and the
+ * reader, so at most that many chunks are held. Chunks start small so the first
+ * bytes arrive quickly, and double in size each time the reader finds nothing
+ * fetched yet, up to a maximum, by default the get buffer size in the jargon
+ * properties. A reader slower than iRODS keeps small chunks.
+ * <p>
+ * The file is open on the connection of the thread that opened the stream, so
+ * that connection is lent to the fetching thread for each fetch. Only one read
+ * from iRODS is outstanding at a time, and the reader never uses the underlying
+ * stream while a fetch is running, so the connection is not shared
+ * concurrently. Like other streams this is meant for one reading thread, which
+ * should not use the same account for other iRODS work until the stream is
+ * closed.
+ */
+public class ReadAheadPackingIrodsInputStream extends InputStream {
+
+	/**
+	 * Default number of buffers, one being read while the others are fetched
+	 */
+	public static final int DEFAULT_NUMBER_OF_BUFFERS = 3;
+
+	/**
+	 * Default size of the first chunk fetched
+	 */
+	public static final int DEFAULT_INITIAL_CHUNK_SIZE = 64 * 1024;
+
+	private static final Logger log = LoggerFactory.getLogger(ReadAheadPackingIrodsInputStream.class);
+
+	private final IRODSFileInputStream irodsFileInputStream;
+	private final ExecutorService fetchExecutor;
+	private final boolean ownsFetchExecutor;
+	private final int numberOfBuffers;
+	private final int maxChunkSize;
+
+	/*
+	 * state shared with the fetching thread, guarded by this
+	 */
+	private final ArrayDeque<Chunk> fetchedChunks = new ArrayDeque<Chunk>();
+	private final ArrayDeque<byte[]> freeBuffers = new ArrayDeque<byte[]>();
+	private int allocatedBuffers = 0;
+	private int chunkSize;
+	private boolean fetching = false;
+	private boolean paused = false;
+	private boolean endOfFile = false;
+	private boolean closed = false;
+	private IOException fetchFailure = null;
+	private long fetchedPosition = 0L;
+	private IRODSMidLevelProtocol readerConnection = null;
+
+	/*
+	 * chunk being read, used only by the reading thread
+	 */
+	private Chunk current = null;
+
+	/**
+	 * Constructor reading ahead on a thread of its own, with chunks of up to the
+	 * get buffer size in the jargon properties
+	 *
+	 * @param irodsFileInputStream
+	 *            {@link IRODSFileInputStream} to read from
+	 */
+	public ReadAheadPackingIrodsInputStream(final IRODSFileInputStream irodsFileInputStream) {
+		this(irodsFileInputStream, null, DEFAULT_NUMBER_OF_BUFFERS, DEFAULT_INITIAL_CHUNK_SIZE,
+				getBufferSizeFromProperties(irodsFileInputStream));
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param irodsFileInputStream
+	 *            {@link IRODSFileInputStream} to read from
+	 * @param fetchExecutor
+	 *            {@link ExecutorService} to fetch on, shared by many streams, or
+	 *            {@code null} for a thread of the stream's own that ends at
+	 *            {@link #close()}
+	 * @param numberOfBuffers
+	 *            {@code int} with the number of buffers, at least 2
+	 * @param initialChunkSize
+	 *            {@code int} with the size of the first chunk fetched
+	 * @param maxChunkSize
+	 *            {@code int} with the size chunks may grow to
+	 */
+	public ReadAheadPackingIrodsInputStream(final IRODSFileInputStream irodsFileInputStream,
+			final ExecutorService fetchExecutor, final int numberOfBuffers, final int initialChunkSize,
+			final int maxChunkSize) {
+		super();
+		if (irodsFileInputStream == null) {
+			throw new IllegalArgumentException("null irodsFileInputStream");
+		}
+
+		if (numberOfBuffers < 2) {
+			throw new IllegalArgumentException("numberOfBuffers must be at least 2");
+		}
+
+		if (initialChunkSize <= 0 || maxChunkSize <= 0) {
+			throw new IllegalArgumentException("chunk sizes must be positive");
+		}
+
+		this.irodsFileInputStream = irodsFileInputStream;
+		this.numberOfBuffers = numberOfBuffers;
+		this.maxChunkSize = maxChunkSize;
+		chunkSize = Math.min(initialChunkSize, maxChunkSize);
+
+		if (fetchExecutor == null) {
+			this.fetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "jargon-read-ahead");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			ownsFetchExecutor = true;
+		} else {
+			this.fetchExecutor = fetchExecutor;
+			ownsFetchExecutor = false;
+		}
+
+		log.info("read ahead with {} buffers of up to {} bytes", numberOfBuffers, maxChunkSize);
+	}
+
+	private static int getBufferSizeFromProperties(final IRODSFileInputStream irodsFileInputStream) {
+		if (irodsFileInputStream == null) {
+			throw new IllegalArgumentException("null irodsFileInputStream");
+		}
+		int bufferSize = irodsFileInputStream.getFileIOOperations().getJargonProperties().getGetBufferSize();
+		if (bufferSize <= 0) {
+			throw new JargonRuntimeException("misconfiguration in jargon.properties, getBufferSize is <= 0");
+		}
+		return bufferSize;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!nextChunk(true)) {
+			return -1;
+		}
+		return current.buffer[current.position++] & 0xFF;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.io.InputStream#read(byte[])
+	 */
+	@Override
+	public int read(final byte[] b) throws IOException {
+		return this.read(b, 0, b.length);
+	}
+
+	/**
+	 * Read what is already fetched, up to {@code len} bytes, blocking only if
+	 * nothing is fetched yet
+	 */
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if (b == null) {
+			throw new IllegalArgumentException("null b");
+		}
+
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		int totalRead = 0;
+		while (totalRead < len && nextChunk(totalRead == 0)) {
+			int toCopy = Math.min(len - totalRead, current.remaining());
+			System.arraycopy(current.buffer, current.position, b, off + totalRead, toCopy);
+			current.position += toCopy;
+			totalRead += toCopy;
+		}
+
+		return totalRead > 0 ? totalRead : -1;
+	}
+
+	/**
+	 * Skip within the fetched chunks, then move the underlying stream past the
+	 * rest, never beyond the end of the file
+	 */
+	@Override
+	public long skip(final long n) throws IOException {
+		if (n <= 0) {
+			return 0;
+		}
+
+		long skipped = 0;
+		while (skipped < n && nextChunk(false)) {
+			int toSkip = (int) Math.min(n - skipped, current.remaining());
+			current.position += toSkip;
+			skipped += toSkip;
+		}
+
+		if (skipped == n) {
+			return skipped;
+		}
+
+		synchronized (this) {
+			paused = true;
+			try {
+				awaitFetchIdle();
+				checkFailure();
+				while (skipped < n && !fetchedChunks.isEmpty()) {
+					Chunk chunk = fetchedChunks.peekFirst();
+					int toSkip = (int) Math.min(n - skipped, chunk.remaining());
+					chunk.position += toSkip;
+					skipped += toSkip;
+					if (chunk.remaining() == 0) {
+						releaseBuffer(fetchedChunks.pollFirst().buffer);
+					}
+				}
+
+				if (skipped < n && !endOfFile) {
+					long remainingInFile = irodsFileInputStream.availableAsLong() - fetchedPosition;
+					long toSkip = Math.min(n - skipped, Math.max(0, remainingInFile));
+					if (toSkip == remainingInFile) {
+						endOfFile = true;
+					} else if (toSkip > 0) {
+						irodsFileInputStream.skip(toSkip);
+					}
+					fetchedPosition += toSkip;
+					skipped += toSkip;
+				}
+			} finally {
+				paused = false;
+			}
+			scheduleFetch();
+		}
+
+		return skipped;
+	}
+
+	/**
+	 * @return {@code int} with the bytes fetched and not yet read, which can be read
+	 *         without blocking
+	 */
+	@Override
+	public int available() throws IOException {
+		long available = current == null ? 0 : current.remaining();
+		synchronized (this) {
+			if (closed) {
+				throw new IOException("stream is closed");
+			}
+			for (Chunk chunk : fetchedChunks) {
+				available += chunk.remaining();
+			}
+		}
+		return (int) Math.min(Integer.MAX_VALUE, available);
+	}
+
+	/**
+	 * Wait for any fetch in progress, then close the underlying stream
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				awaitFetchIdle();
+			} finally {
+				fetchedChunks.clear();
+				freeBuffers.clear();
+				current = null;
+				if (ownsFetchExecutor) {
+					fetchExecutor.shutdown();
+				}
+			}
+		}
+		irodsFileInputStream.close();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	/**
+	 * @return {@code int} with the size of the next chunk to be fetched
+	 */
+	public synchronized int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Make sure the current chunk has bytes left, taking the next fetched chunk if
+	 * needed
+	 *
+	 * @param block
+	 *            {@code boolean} to wait for a chunk if none is fetched yet
+	 * @return {@code boolean} that is {@code true} if the current chunk has bytes,
+	 *         {@code false} at the end of the file, or if none are fetched and not
+	 *         blocking
+	 */
+	private boolean nextChunk(final boolean block) throws IOException {
+		if (current != null && current.remaining() > 0) {
+			return true;
+		}
+
+		synchronized (this) {
+			if (closed) {
+				throw new IOException("stream is closed");
+			}
+
+			if (current != null) {
+				releaseBuffer(current.buffer);
+				current = null;
+			}
+
+			if (fetchedChunks.isEmpty() && block) {
+				scheduleFetch();
+				if (fetchedChunks.isEmpty() && !endOfFile && fetchFailure == null && chunkSize < maxChunkSize) {
+					// the reader is waiting on iRODS, so fetch more per round trip
+					chunkSize = (int) Math.min(maxChunkSize, 2L * chunkSize);
+					log.debug("reader waiting on iRODS, chunk size now:{}", chunkSize);
+				}
+				while (fetchedChunks.isEmpty() && (fetching || !endOfFile) && fetchFailure == null && !closed) {
+					scheduleFetch();
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("interrupted waiting for data from iRODS");
+					}
+				}
+			}
+
+			if (closed) {
+				throw new IOException("stream is closed");
+			}
+			checkFailure();
+			current = fetchedChunks.pollFirst();
+			scheduleFetch();
+			return current != null;
+		}
+	}
+
+	private void checkFailure() throws IOException {
+		if (fetchFailure != null) {
+			throw new IOException("error reading ahead from iRODS", fetchFailure);
+		}
+	}
+
+	private void awaitFetchIdle() throws InterruptedIOException {
+		while (fetching) {
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("interrupted waiting for read ahead to finish");
+			}
+		}
+	}
+
+	/**
+	 * Keep a buffer for reuse unless chunks have outgrown it
+	 */
+	private void releaseBuffer(final byte[] buffer) {
+		if (buffer.length >= chunkSize) {
+			freeBuffers.addLast(buffer);
+		} else {
+			allocatedBuffers--;
+		}
+	}
+
+	/**
+	 * Start fetching if there is a buffer to fetch into and the fetcher is idle,
+	 * called holding the lock on the reading thread, which holds the connection
+	 * the file is open on
+	 */
+	private void scheduleFetch() {
+		if (fetching || paused || closed || endOfFile || fetchFailure != null) {
+			return;
+		}
+
+		if (freeBuffers.isEmpty() && allocatedBuffers >= numberOfBuffers) {
+			return;
+		}
+
+		if (readerConnection == null) {
+			try {
+				readerConnection = irodsFileInputStream.getFileIOOperations().getIRODSProtocol();
+			} catch (JargonException e) {
+				log.error("unable to find the connection the file is open on", e);
+				fetchFailure = new IOException("unable to find the connection the file is open on", e);
+				return;
+			}
+		}
+
+		final IRODSMidLevelProtocol connection = readerConnection;
+		fetching = true;
+		try {
+			fetchExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					IRODSConnectionLease lease = irodsFileInputStream.getFileIOOperations().getIRODSSession()
+							.lendConnection(irodsFileInputStream.getFileIOOperations().getIRODSAccount(), connection);
+					try {
+						fetchWhileBuffersFree();
+					} finally {
+						lease.close();
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.error("unable to schedule read ahead", e);
+			fetching = false;
+			fetchFailure = new IOException("unable to schedule read ahead", e);
+		}
+	}
+
+	private void fetchWhileBuffersFree() {
+		try {
+			while (true) {
+				byte[] buffer;
+				int size;
+				synchronized (this) {
+					if (paused || closed || endOfFile || (freeBuffers.isEmpty() && allocatedBuffers >= numberOfBuffers)) {
+						fetching = false;
+						notifyAll();
+						return;
+					}
+					size = chunkSize;
+					buffer = freeBuffers.pollFirst();
+					if (buffer == null) {
+						allocatedBuffers++;
+					}
+				}
+
+				if (buffer == null || buffer.length < size) {
+					buffer = new byte[size];
+				}
+
+				int length = readFully(buffer, size);
+
+				synchronized (this) {
+					if (length > 0) {
+						fetchedChunks.addLast(new Chunk(buffer, length));
+						fetchedPosition += length;
+					} else {
+						releaseBuffer(buffer);
+					}
+					if (length < size) {
+						endOfFile = true;
+					}
+					notifyAll();
+				}
+			}
+		} catch (IOException e) {
+			log.error("error reading ahead from iRODS", e);
+			synchronized (this) {
+				fetchFailure = e;
+				fetching = false;
+				notifyAll();
+			}
+		} catch (RuntimeException e) {
+			log.error("error reading ahead from iRODS", e);
+			synchronized (this) {
+				fetchFailure = new IOException(e);
+				fetching = false;
+				notifyAll();
+			}
+		}
+	}
+
+	private int readFully(final byte[] buffer, final int size) throws IOException {
+		int length = 0;
+		while (length < size) {
+			int read = irodsFileInputStream.read(buffer, length, size - length);
+			if (read <= 0) {
+				break;
+			}
+			length += read;
+		}
+		return length;
+	}
+
+	private static final class Chunk {
+		private final byte[] buffer;
+		private final int length;
+		private int position = 0;
+
+		private Chunk(final byte[] buffer, final int length) {
+			this.buffer = buffer;
+			this.length = length;
+		}
+
+		private int remaining() {
+			return length - position;
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package org.irods.jargon.core.pub.io;
+
+/**
+ * A range of bytes to read from a file, as given to
+ * {@link FileIOOperations#readRanges(int, java.util.List)}. This is immutable.
+ */
+public final class ReadRange {
+
+	private final long offset;
+	private final int length;
+
+	/**
+	 * Create a range
+	 *
+	 * @param offset
+	 *            {@code long} with the file offset of the first byte
+	 * @param length
+	 *            {@code int} with the number of bytes
+	 * @return {@link ReadRange}
+	 */
+	public static ReadRange instance(final long offset, final int length) {
+		if (offset < 0) {
+			throw new IllegalArgumentException("negative offset");
+		}
+
+		if (length < 0) {
+			throw new IllegalArgumentException("negative length");
+		}
+
+		return new ReadRange(offset, length);
+	}
+
+	private ReadRange(final long offset, final int length) {
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * @return {@code long} with the file offset of the first byte
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return {@code int} with the number of bytes
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return {@code long} with the file offset after the last byte
+	 */
+	public long getEnd() {
+		return offset + length;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ReadRange [offset=").append(offset).append(", length=").append(length).append("]");
+		return builder.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.valueOf(offset).hashCode() + length;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ReadRange)) {
+			return false;
+		}
+		ReadRange other = (ReadRange) obj;
+		return offset == other.offset && length == other.length;
+	}
+
+}
@@ -0,0 +1,208 @@
+package org.irods.jargon.core.pub.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plans the reads for {@link FileIOOperations#readRanges(int, List)}. Ranges
+ * are sorted and merged into spans when they overlap or lie within a gap of
+ * each other, as long as the span stays under a size limit, so that nearby
+ * small ranges cost one read. Once the spans are filled, each range is handed
+ * back as a view of its span in the order the ranges were given.
+ */
+final class ReadRangePlan {
+
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+	private final List<ReadRange> ranges;
+	private final List<Span> spans = new ArrayList<Span>();
+	private final Span[] spanForRange;
+
+	/**
+	 * Plan the reads for a list of ranges
+	 *
+	 * @param ranges
+	 *            {@code List} of {@link ReadRange}, in any order
+	 * @param coalesceGap
+	 *            {@code int} with the largest gap to read through between two
+	 *            ranges
+	 * @param maxSpanLength
+	 *            {@code int} with the longest span to merge ranges into, a
+	 *            single range longer than this is read as it is
+	 */
+	ReadRangePlan(final List<ReadRange> ranges, final int coalesceGap, final int maxSpanLength) {
+		if (ranges == null) {
+			throw new IllegalArgumentException("null ranges");
+		}
+
+		this.ranges = ranges;
+		spanForRange = new Span[ranges.size()];
+
+		List<Integer> order = new ArrayList<Integer>(ranges.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			if (ranges.get(i) == null) {
+				throw new IllegalArgumentException("null range at " + i);
+			}
+			if (ranges.get(i).getLength() > 0) {
+				order.add(i);
+			}
+		}
+
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer first, final Integer second) {
+				return Long.compare(ranges.get(first).getOffset(), ranges.get(second).getOffset());
+			}
+		});
+
+		Span current = null;
+		for (Integer index : order) {
+			ReadRange range = ranges.get(index);
+			if (current != null && range.getOffset() <= current.getEnd() + coalesceGap
+					&& Math.max(current.getEnd(), range.getEnd()) - current.offset <= maxSpanLength) {
+				current.length = (int) (Math.max(current.getEnd(), range.getEnd()) - current.offset);
+			} else if (current != null && range.getEnd() <= current.getEnd()) {
+				// inside a span already longer than the limit
+			} else {
+				current = new Span(range.getOffset(), range.getLength());
+				spans.add(current);
+			}
+			spanForRange[index] = current;
+		}
+	}
+
+	/**
+	 * @return {@code List} of {@link Span} to read, in file order
+	 */
+	List<Span> getSpans() {
+		return spans;
+	}
+
+	/**
+	 * Split the spans into at most {@code parts} groups of neighbouring spans,
+	 * cutting at the widest gaps, so that ranges far apart in the file may be
+	 * read on separate connections
+	 *
+	 * @param parts
+	 *            {@code int} with the most groups
+	 * @return {@code List} of groups of {@link Span}, each in file order
+	 */
+	List<List<Span>> partition(final int parts) {
+		List<List<Span>> groups = new ArrayList<List<Span>>();
+		if (spans.isEmpty()) {
+			return groups;
+		}
+
+		int cuts = Math.min(Math.max(parts, 1), spans.size()) - 1;
+		Integer[] byGap = new Integer[spans.size() - 1];
+		for (int i = 0; i < byGap.length; i++) {
+			byGap[i] = i + 1;
+		}
+		Arrays.sort(byGap, new Comparator<Integer>() {
+			@Override
+			public int compare(final Integer first, final Integer second) {
+				return Long.compare(gapBefore(second), gapBefore(first));
+			}
+		});
+		Integer[] cutAt = Arrays.copyOf(byGap, cuts);
+		Arrays.sort(cutAt);
+
+		int start = 0;
+		for (Integer cut : cutAt) {
+			groups.add(spans.subList(start, cut));
+			start = cut;
+		}
+		groups.add(spans.subList(start, spans.size()));
+		return groups;
+	}
+
+	private long gapBefore(final int spanIndex) {
+		return spans.get(spanIndex).offset - spans.get(spanIndex - 1).getEnd();
+	}
+
+	/**
+	 * Get the data for each range once the spans are filled
+	 *
+	 * @return {@code List} of read only {@link ByteBuffer}, one for each range in
+	 *         the order given, holding fewer bytes than asked where the file ended
+	 */
+	List<ByteBuffer> views() {
+		List<ByteBuffer> views = new ArrayList<ByteBuffer>(ranges.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			Span span = spanForRange[i];
+			if (span == null) {
+				views.add(EMPTY);
+				continue;
+			}
+			ReadRange range = ranges.get(i);
+			int position = (int) (range.getOffset() - span.offset);
+			int available = Math.max(0, Math.min(range.getLength(), span.filled - position));
+			if (available == 0) {
+				views.add(EMPTY);
+			} else {
+				views.add(ByteBuffer.wrap(span.data, position, available).slice().asReadOnlyBuffer());
+			}
+		}
+		return views;
+	}
+
+	/**
+	 * A contiguous part of the file read with one request
+	 */
+	static final class Span {
+		private final long offset;
+		private int length;
+		private byte[] data;
+		private int filled = 0;
+
+		private Span(final long offset, final int length) {
+			this.offset = offset;
+			this.length = length;
+		}
+
+		/**
+		 * @return {@code long} with the file offset of the span
+		 */
+		long getOffset() {
+			return offset;
+		}
+
+		/**
+		 * @return {@code int} with the length of the span
+		 */
+		int getLength() {
+			return length;
+		}
+
+		/**
+		 * @return {@code long} with the file offset after the span
+		 */
+		long getEnd() {
+			return offset + length;
+		}
+
+		/**
+		 * @return {@code byte[]} to read the span into
+		 */
+		byte[] getData() {
+			if (data == null) {
+				data = new byte[length];
+			}
+			return data;
+		}
+
+		/**
+		 * @param filled
+		 *            {@code int} with the bytes read, fewer than the length where
+		 *            the file ended
+		 */
+		void setFilled(final int filled) {
+			this.filled = filled;
+		}
+	}
+
+}
@@ -0,0 +1,245 @@
+package org.irods.jargon.core.query;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over all of the rows of a GenQuery, fetching the continuation pages
+ * from iRODS as needed.
+ * <p>
+ * When prefetch is enabled, the next page is requested on a background thread
+ * as soon as the current page arrives, so that the network round trip overlaps
+ * with the processing of the current page. At most the current page and the
+ * next page are held in memory. The fetches of every iterator run on one shared
+ * pool of daemon threads that end once idle, so an iterator that is dropped
+ * without being closed does not keep a thread.
+ * <p>
+ * The query is held open in iRODS until the last page is read. Callers that
+ * stop early must call {@link #close()} (or use try-with-resources) so that the
+ * statement is closed in iRODS. The background fetch uses the connection that
+ * was used to run the query, so the iterator should be consumed and closed
+ * before that connection is closed.
+ * <p>
+ * {@code JargonException}s raised while paging are rethrown from
+ * {@link #hasNext()} and {@link #next()} as {@link JargonRuntimeException}.
+ * This class is not thread safe.
+ */
+public class GenQueryResultIterator implements Iterator<IRODSQueryResultRow>, AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(GenQueryResultIterator.class);
+
+	private static final AtomicInteger prefetchThreadCount = new AtomicInteger(0);
+
+	/**
+	 * Each iterator has at most one fetch in flight, idle threads end after a
+	 * minute
+	 */
+	private static final ExecutorService prefetchExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(final Runnable r) {
+			Thread thread = new Thread(r, "jargon-genquery-prefetch-" + prefetchThreadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final GenQueryProcessor genQueryProcessor;
+	private final String zoneName;
+	private final boolean prefetch;
+
+	private IRODSQueryResultSet currentPage;
+	private Iterator<IRODSQueryResultRow> currentRows;
+	private Future<IRODSQueryResultSet> nextPage = null;
+	private boolean closed = false;
+
+	/**
+	 * Run the query and return an iterator positioned at the first row
+	 *
+	 * @param genQueryProcessor
+	 *            {@link GenQueryProcessor} bound to the connection that will run
+	 *            the query and fetch the following pages
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery} to run
+	 * @param zoneName
+	 *            {@code String} with an optional zone for the query, may be
+	 *            {@code null}
+	 * @param prefetch
+	 *            {@code boolean} of {@code true} if the next page should be fetched
+	 *            in the background while the current page is consumed
+	 * @return {@link GenQueryResultIterator}
+	 * @throws JargonException
+	 *             for iRODS error running the query
+	 */
+	public static GenQueryResultIterator instance(final GenQueryProcessor genQueryProcessor,
+			final TranslatedIRODSGenQuery translatedIRODSGenQuery, final String zoneName, final boolean prefetch)
+			throws JargonException {
+
+		if (genQueryProcessor == null) {
+			throw new IllegalArgumentException("null genQueryProcessor");
+		}
+
+		if (translatedIRODSGenQuery == null) {
+			throw new IllegalArgumentException("null translatedIRODSGenQuery");
+		}
+
+		GenQueryResultIterator iterator = new GenQueryResultIterator(genQueryProcessor, zoneName, prefetch);
+		iterator.setPage(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, zoneName));
+		return iterator;
+	}
+
+	private GenQueryResultIterator(final GenQueryProcessor genQueryProcessor, final String zoneName,
+			final boolean prefetch) {
+		this.genQueryProcessor = genQueryProcessor;
+		this.zoneName = zoneName;
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Get a sequential {@code Stream} over the remaining rows. Closing the stream
+	 * closes this iterator.
+	 *
+	 * @return {@code Stream} of {@link IRODSQueryResultRow}
+	 */
+	public Stream<IRODSQueryResultRow> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(new Runnable() {
+					@Override
+					public void run() {
+						close();
+					}
+				});
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+
+		while (!currentRows.hasNext()) {
+			if (!advance()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public IRODSQueryResultRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return currentRows.next();
+	}
+
+	/**
+	 * Close the query in iRODS if there are pages that were not read, waiting for
+	 * any background fetch. This method may be called more than once.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		log.debug("close()");
+		closed = true;
+		currentRows = Collections.<IRODSQueryResultRow>emptyList().iterator();
+
+		try {
+			IRODSQueryResultSet openPage = currentPage;
+			if (nextPage != null) {
+				openPage = waitForNextPage();
+			}
+
+			if (openPage.isHasMoreRecords()) {
+				log.debug("closing query with unread pages");
+				genQueryProcessor.closeResults(openPage);
+			}
+		} catch (JargonException e) {
+			log.error("unable to close query results", e);
+			throw new JargonRuntimeException("unable to close query results", e);
+		}
+	}
+
+	/**
+	 * Move to the next page, returning {@code false} if there are no more pages
+	 */
+	private boolean advance() {
+		if (!currentPage.isHasMoreRecords()) {
+			log.debug("no more pages");
+			return false;
+		}
+
+		try {
+			IRODSQueryResultSet page;
+			if (nextPage != null) {
+				page = waitForNextPage();
+			} else {
+				page = fetchPageAfter(currentPage);
+			}
+			setPage(page);
+			return true;
+		} catch (JargonException e) {
+			closed = true;
+			throw new JargonRuntimeException("error getting next page of query results", e);
+		}
+	}
+
+	private void setPage(final IRODSQueryResultSet page) {
+		currentPage = page;
+		currentRows = page.getResults().iterator();
+
+		if (prefetch && page.isHasMoreRecords()) {
+			nextPage = prefetchExecutor.submit(new Callable<IRODSQueryResultSet>() {
+				@Override
+				public IRODSQueryResultSet call() throws Exception {
+					return fetchPageAfter(page);
+				}
+			});
+		}
+	}
+
+	private IRODSQueryResultSet fetchPageAfter(final IRODSQueryResultSet page) throws JargonException {
+		log.debug("fetching page at continuation:{}", page.getContinuationIndex());
+		return genQueryProcessor.executeTranslatedIRODSQuery(page.getTranslatedIRODSQuery(),
+				page.getContinuationIndex(), 0, QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+	}
+
+	private IRODSQueryResultSet waitForNextPage() throws JargonException {
+		Future<IRODSQueryResultSet> pending = nextPage;
+		nextPage = null;
+		try {
+			return pending.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted waiting for next page of query results", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof JargonException) {
+				throw (JargonException) e.getCause();
+			}
+			throw new JargonException("error fetching next page of query results", e.getCause());
+		}
+	}
+
+}
@@ -25,6 +25,11 @@ public class IRODSQueryResultRow {
 	private final int recordCount;
 	private final boolean lastResult;
 	private final List<String> columnNames;
+	/**
+	 * page of results this row is a view over, or {@code null} if the row was
+	 * built from a list of values
+	 */
+	private final QueryResultColumns resultColumns;
 
 	/**
 	 * Build a result row from a column of results produced by an IRODS GenQuery
@@ -117,9 +122,33 @@ public class IRODSQueryResultRow {
 		this.lastResult = lastResult;
 		this.recordCount = recordCount;
 		this.columnNames = columnNames;
+		resultColumns = null;
 
 	}
 
+	/**
+	 * Build a result row as a view over one row of a page of results held by
+	 * column. The values are not copied, and column names are resolved through
+	 * the position map shared by all of the rows of the page.
+	 *
+	 * @param resultColumns
+	 *            {@link QueryResultColumns} with the page of results
+	 * @param row
+	 *            {@code int} with the index of the row in the page
+	 * @param recordCount
+	 *            {@code int} with the index of the current record
+	 * @param lastResult
+	 *            {@code boolean} of {@code true} if there are more records to page
+	 */
+	IRODSQueryResultRow(final QueryResultColumns resultColumns, final int row, final int recordCount,
+			final boolean lastResult) {
+		queryResultColumns = resultColumns.rowView(row);
+		columnNames = resultColumns.getColumnNames();
+		this.resultColumns = resultColumns;
+		this.recordCount = recordCount;
+		this.lastResult = lastResult;
+	}
+
 	/**
 	 * Given a columnNumber, return the value of the column in the result set.
 	 *
@@ -250,6 +279,10 @@ public class IRODSQueryResultRow {
 	 * @return {@code int}
 	 */
 	protected int getColumnNamePosition(final String columnName) {
+		if (resultColumns != null) {
+			return resultColumns.getColumnPosition(columnName);
+		}
+
 		int colPos = -1;
 		int i = 0;
 		for (String colNameInList : columnNames) {
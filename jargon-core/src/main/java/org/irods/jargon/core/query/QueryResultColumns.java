@@ -0,0 +1,167 @@
+package org.irods.jargon.core.query;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryOut;
+import org.irods.jargon.core.packinstr.Tag;
+
+/**
+ * Column oriented holder for one page of GenQuery or specific query results.
+ * <p>
+ * A {@code GenQueryOut_PI} response carries its results as one
+ * {@code SqlResult_PI} per column, each holding a value per row. The values of
+ * each column are pulled out of the response once into a {@code String[]}, and
+ * the {@link IRODSQueryResultRow} instances for the page are views over these
+ * arrays, sharing a single map of column names to positions.
+ */
+final class QueryResultColumns {
+
+	/**
+	 * Position of the first {@code SqlResult_PI} in the {@code GenQueryOut_PI},
+	 * after rowCnt, attriCnt, continueInx and totalRowCount
+	 */
+	static final int FIRST_SQL_RESULT_INDEX = 4;
+
+	/**
+	 * Position of the first value in a {@code SqlResult_PI}, after attriInx and
+	 * reslen
+	 */
+	static final int FIRST_VALUE_INDEX = 2;
+
+	private final String[][] values;
+	private final int rowCount;
+	private final List<String> columnNames;
+	private final Map<String, Integer> columnPositions;
+
+	/**
+	 * Pull the column values out of a {@code GenQueryOut_PI} response
+	 *
+	 * @param queryResponse
+	 *            {@link Tag} with the GenQuery response from iRODS
+	 * @param columnNames
+	 *            {@code List<String>} with the column names
+	 * @return {@link QueryResultColumns}
+	 * @throws JargonException
+	 *             if the response is missing the expected columns or rows
+	 */
+	static QueryResultColumns instance(final Tag queryResponse, final List<String> columnNames)
+			throws JargonException {
+
+		if (queryResponse == null) {
+			throw new IllegalArgumentException("null queryResponse");
+		}
+
+		if (columnNames == null) {
+			throw new JargonException("columnNames is null");
+		}
+
+		int rows = queryResponse.getTag(GenQueryOut.ROW_CNT).getIntValue();
+		int attributes = queryResponse.getTag(GenQueryOut.ATTRIB_CNT).getIntValue();
+
+		Tag[] responseTags = queryResponse.getTags();
+		if (responseTags.length < FIRST_SQL_RESULT_INDEX + attributes) {
+			throw new JargonException("query response is missing result columns");
+		}
+
+		String[][] values = new String[attributes][];
+		for (int j = 0; j < attributes; j++) {
+			Tag[] columnTags = responseTags[FIRST_SQL_RESULT_INDEX + j].getTags();
+			if (columnTags == null || columnTags.length < FIRST_VALUE_INDEX + rows) {
+				throw new JargonException("query response is missing values for column:" + j);
+			}
+
+			String[] column = new String[rows];
+			for (int i = 0; i < rows; i++) {
+				column[i] = columnTags[FIRST_VALUE_INDEX + i].getStringValue();
+			}
+			values[j] = column;
+		}
+
+		return new QueryResultColumns(values, rows, columnNames);
+	}
+
+	private QueryResultColumns(final String[][] values, final int rowCount, final List<String> columnNames) {
+		this.values = values;
+		this.rowCount = rowCount;
+		this.columnNames = columnNames;
+		columnPositions = new HashMap<String, Integer>(columnNames.size() * 2);
+		int i = 0;
+		for (String columnName : columnNames) {
+			// first occurrence wins, as in a scan of the list
+			if (!columnPositions.containsKey(columnName)) {
+				columnPositions.put(columnName, i);
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of rows in this page
+	 */
+	int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return {@code int} with the number of columns in this page
+	 */
+	int getColumnCount() {
+		return values.length;
+	}
+
+	/**
+	 * @return {@code List<String>} with the column names
+	 */
+	List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * Get the value at the given row and column
+	 */
+	String getValue(final int row, final int column) {
+		return values[column][row];
+	}
+
+	/**
+	 * Get the position of the given column name, or -1 if not in the results
+	 */
+	int getColumnPosition(final String columnName) {
+		Integer position = columnPositions.get(columnName);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Get an unmodifiable {@code List} view of the values of the given row
+	 */
+	List<String> rowView(final int row) {
+		return new RowView(row);
+	}
+
+	private final class RowView extends AbstractList<String> {
+
+		private final int row;
+
+		RowView(final int row) {
+			this.row = row;
+		}
+
+		@Override
+		public String get(final int index) {
+			if (index < 0 || index >= values.length) {
+				throw new IndexOutOfBoundsException("index:" + index);
+			}
+			return values[index][row];
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+	}
+
+}
@@ -25,7 +25,8 @@ public class QueryResultProcessingUtils {
 
 	/**
 	 * Given the raw response from iRODS, translate into a list of result rows for
-	 * easier processing.
+	 * easier processing. The values are extracted once per column, and the rows
+	 * are views over the column values.
 	 *
 	 * @param queryResponse
 	 *            {@code Tag} set with the raw GenQuery response from iRODS.
@@ -53,11 +54,11 @@ public class QueryResultProcessingUtils {
 			return new ArrayList<IRODSQueryResultRow>();
 		}
 
-		int rows = queryResponse.getTag(GenQueryOut.ROW_CNT).getIntValue();
+		QueryResultColumns resultColumns = QueryResultColumns.instance(queryResponse, columnNames);
+		int rows = resultColumns.getRowCount();
 		log.info("rows returned from iRODS query: {}", rows);
 
 		List<IRODSQueryResultRow> resultSet = new ArrayList<IRODSQueryResultRow>(rows);
-		List<String> row;
 
 		int recordCount;
 		if (partialStartIndex == 0) {
@@ -69,17 +70,8 @@ public class QueryResultProcessingUtils {
 		boolean lastRecord = (continuation == 0);
 		log.debug("is this the last record? {}", lastRecord);
 
-		int attributes = queryResponse.getTag(GenQueryOut.ATTRIB_CNT).getIntValue();
-
 		for (int i = 0; i < rows; i++) {
-			// new row
-			row = new ArrayList<String>();
-			for (int j = 0; j < attributes; j++) {
-
-				row.add(queryResponse.getTags()[4 + j].getTags()[2 + i].getStringValue());
-			}
-
-			resultSet.add(IRODSQueryResultRow.instance(row, columnNames, recordCount++, lastRecord));
+			resultSet.add(new IRODSQueryResultRow(resultColumns, i, recordCount++, lastRecord));
 		}
 
 		return resultSet;
@@ -1,16 +1,25 @@
 package org.irods.jargon.core.transfer;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SocketChannel;
 
+import org.irods.jargon.core.connection.PipelineConfiguration;
 import org.irods.jargon.core.exception.JargonException;
-import org.irods.jargon.core.utils.Host;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Abstract superclasss for a parallel file transfer operation via NIO
+ * Abstract superclasss for a parallel file transfer operation via NIO. Data
+ * moves between the {@code SocketChannel} and the local file with
+ * {@code FileChannel.transferTo} and {@code FileChannel.transferFrom} at
+ * explicit positions, so no file pointer is shared or moved and, where the
+ * platform supports it, the bytes are not copied through the java heap.
+ * <p>
+ * Header fields are read into a single buffer held by the thread rather than a
+ * new buffer per read.
  *
  * @author Mike Conway - DICE (www.irods.org)
  *
@@ -20,6 +29,8 @@ public class AbstractNIOParallelTransferThread {
 	protected static final String IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER = "IOException occurred during parallel file transfer";
 	protected static final String IO_EXEPTION_IN_PARALLEL_TRANSFER = "IOExeption in parallel transfer";
 	private SocketChannel s;
+	private final int threadNumber;
+	private final ByteBuffer headerBuffer = ByteBuffer.allocate(8);
 
 	private Exception exceptionInTransfer = null;
 	public static final int DONE_OPR = 9999;
@@ -29,53 +40,217 @@ public class AbstractNIOParallelTransferThread {
 	public static final Logger log = LoggerFactory.getLogger(AbstractNIOParallelTransferThread.class);
 
 	protected AbstractNIOParallelTransferThread() {
-		super();
+		this(0);
 	}
 
-	private ByteBuffer readLenFromSocket(final int length) throws JargonException {
-		final ByteBuffer b = ByteBuffer.allocate(length);
+	protected AbstractNIOParallelTransferThread(final int threadNumber) {
+		super();
+		this.threadNumber = threadNumber;
+	}
 
-		int read;
-		int tot = 0;
+	/**
+	 * Open the channel to the iRODS parallel transfer port with the socket
+	 * options in the pipeline configuration, and send the cookie that identifies
+	 * the transfer
+	 *
+	 * @param parallelFileTransferStrategy
+	 *            {@link AbstractParallelFileTransferStrategy} controlling this
+	 *            thread
+	 * @throws JargonException
+	 *             if the channel cannot be opened
+	 */
+	protected void connect(final AbstractParallelFileTransferStrategy parallelFileTransferStrategy)
+			throws JargonException {
+		log.info("opening channel to parallel transfer (high) port at port:{}", parallelFileTransferStrategy.getPort());
+		PipelineConfiguration pipelineConfiguration = parallelFileTransferStrategy.getPipelineConfiguration();
+		SocketChannel channel = null;
 		try {
+			channel = SocketChannel.open();
+			if (parallelFileTransferStrategy.getSocketSendBufferSize() > 0) {
+				channel.socket().setSendBufferSize(parallelFileTransferStrategy.getSocketSendBufferSize());
+			}
+
+			if (parallelFileTransferStrategy.getSocketReceiveBufferSize() > 0) {
+				channel.socket().setReceiveBufferSize(parallelFileTransferStrategy.getSocketReceiveBufferSize());
+			}
 
-			read = getS().read(b);
-			while (read != -1) {
+			channel.socket().setPerformancePreferences(pipelineConfiguration.getParallelTcpPerformancePrefsConnectionTime(),
+					pipelineConfiguration.getParallelTcpPerformancePrefsLatency(),
+					pipelineConfiguration.getParallelTcpPerformancePrefsBandwidth());
+			channel.socket().setKeepAlive(pipelineConfiguration.isParallelTcpKeepAlive());
+
+			// assume reuse, nodelay
+			channel.socket().setReuseAddress(true);
+			channel.socket().setTcpNoDelay(false);
+			long connectStart = System.nanoTime();
+			channel.socket().connect(
+					new InetSocketAddress(parallelFileTransferStrategy.getHost(), parallelFileTransferStrategy.getPort()),
+					parallelFileTransferStrategy.getParallelSocketTimeoutInSecs() * 1000);
+			parallelFileTransferStrategy.recordConnectTime(System.nanoTime() - connectStart);
+			setS(channel);
+		} catch (IOException e) {
+			log.error("unable to open parallel transfer channel", e);
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException e1) {
+					// ignore
+				}
+			}
+			throw new JargonException("unable to open parallel transfer channel", e);
+		}
+
+		log.debug("channel established, sending cookie to iRODS listener");
+		writeInt(parallelFileTransferStrategy.getPassword());
+	}
+
+	/**
+	 * Fill the remaining space in the buffer from the channel
+	 *
+	 * @param buffer
+	 *            {@code ByteBuffer} to fill
+	 * @throws JargonException
+	 *             if the stream ends early, or on an i/o error
+	 */
+	protected void readFully(final ByteBuffer buffer) throws JargonException {
+		try {
+			while (buffer.hasRemaining()) {
 				if (Thread.interrupted()) {
 					throw new IOException(
 
 							"interrupted, consider connection corrupted and return IOException to clear");
 				}
-				tot += read;
-				if (tot == length) {
-					break;
+				if (getS().read(buffer) < 0) {
+					throw new IOException("unexpected end of stream in parallel transfer");
 				}
-				read = getS().read(b);
+			}
+		} catch (IOException e) {
+			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
+			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
+		}
+	}
 
+	/**
+	 * Write all of the remaining content of the given buffers to the channel
+	 *
+	 * @param buffers
+	 *            {@code ByteBuffer} array to write in order
+	 * @throws JargonException
+	 *             on an i/o error
+	 */
+	protected void writeFully(final ByteBuffer... buffers) throws JargonException {
+		try {
+			while (hasRemaining(buffers)) {
+				if (Thread.interrupted()) {
+					throw new IOException(
+
+							"interrupted, consider connection corrupted and return IOException to clear");
+				}
+				getS().write(buffers);
 			}
-		} catch (Exception e) {
+		} catch (IOException e) {
 			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
 		}
-		return b;
+	}
+
+	private static boolean hasRemaining(final ByteBuffer[] buffers) {
+		for (ByteBuffer buffer : buffers) {
+			if (buffer.hasRemaining()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	protected int readInt() throws JargonException {
-		int len = 4;
-		final byte[] bAsByte = new byte[len];
-		ByteBuffer b = readLenFromSocket(len);
-		b.flip();
-		b.get(bAsByte);
-		return Host.castToInt(bAsByte);
+		headerBuffer.clear();
+		headerBuffer.limit(4);
+		readFully(headerBuffer);
+		headerBuffer.flip();
+		return headerBuffer.getInt();
 	}
 
 	protected long readLong() throws JargonException {
-		int len = 8;
-		final byte[] bAsByte = new byte[len];
-		ByteBuffer b = readLenFromSocket(len);
-		b.flip();
-		b.get(bAsByte);
-		return Host.castToLong(bAsByte);
+		headerBuffer.clear();
+		readFully(headerBuffer);
+		headerBuffer.flip();
+		return headerBuffer.getLong();
+	}
+
+	/**
+	 * Send an int in network (big-endian) order
+	 *
+	 * @param value
+	 *            {@code int} to send
+	 * @throws JargonException
+	 *             on an i/o error
+	 */
+	protected void writeInt(final int value) throws JargonException {
+		headerBuffer.clear();
+		headerBuffer.putInt(value);
+		headerBuffer.flip();
+		writeFully(headerBuffer);
+	}
+
+	/**
+	 * Move up to {@code count} bytes from the channel into the local file at the
+	 * given position, without going through the file pointer
+	 *
+	 * @param fileChannel
+	 *            {@code FileChannel} for the local file
+	 * @param position
+	 *            {@code long} with the position in the file to write
+	 * @param count
+	 *            {@code long} with the maximum number of bytes to move
+	 * @return {@code long} with the number of bytes moved, always at least 1
+	 * @throws JargonException
+	 *             if the stream has ended, or on an i/o error
+	 */
+	protected long transferToFile(final FileChannel fileChannel, final long position, final long count)
+			throws JargonException {
+		try {
+			long transferred = fileChannel.transferFrom(getS(), position, count);
+			if (transferred <= 0) {
+				// a blocking channel only comes back empty at end of stream
+				throw new IOException("unexpected end of stream in parallel transfer");
+			}
+			return transferred;
+		} catch (IOException e) {
+			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
+			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
+		}
+	}
+
+	/**
+	 * Move up to {@code count} bytes from the local file at the given position
+	 * down the channel, without going through the file pointer
+	 *
+	 * @param fileChannel
+	 *            {@code FileChannel} for the local file
+	 * @param position
+	 *            {@code long} with the position in the file to read
+	 * @param count
+	 *            {@code long} with the maximum number of bytes to move
+	 * @return {@code long} with the number of bytes moved, always at least 1
+	 * @throws JargonException
+	 *             if the file ends before the position, or on an i/o error
+	 */
+	protected long transferFromFile(final FileChannel fileChannel, final long position, final long count)
+			throws JargonException {
+		try {
+			long transferred = fileChannel.transferTo(position, count, getS());
+			if (transferred <= 0) {
+				if (position >= fileChannel.size()) {
+					throw new IOException("local file ended before the requested position:" + position);
+				}
+				throw new IOException("no progress writing to parallel transfer channel");
+			}
+			return transferred;
+		} catch (IOException e) {
+			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
+			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
+		}
 	}
 
 	public void close() throws JargonException {
@@ -98,6 +273,14 @@ public class AbstractNIOParallelTransferThread {
 		this.s = s;
 	}
 
+	/**
+	 * @return {@code int} with the sequential number of this thread within the
+	 *         transfer
+	 */
+	public int getThreadNumber() {
+		return threadNumber;
+	}
+
 	/**
 	 * Any exception that occurs in this transfer thread is saved so that the
 	 * parallel transfer process can access it and handle any errors.
@@ -112,4 +295,4 @@ public class AbstractNIOParallelTransferThread {
 	protected void setExceptionInTransfer(final Exception exceptionInTransfer) {
 		this.exceptionInTransfer = exceptionInTransfer;
 	}
-}
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package org.irods.jargon.core.transfer;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.irods.jargon.core.checksum.StreamingChecksum;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -55,6 +58,20 @@ public abstract class AbstractParallelFileTransferStrategy {
 	private final int parallelSocketTimeoutInSecs;
 	private final JargonProperties jargonProperties;
 
+	/**
+	 * Key of the host and resource when this transfer is adaptively tuned, see
+	 * {@link #setAdaptiveTuningKey(String)}, otherwise {@code null}
+	 */
+	private String adaptiveTuningKey = null;
+	private final AtomicLong bytesTransferred = new AtomicLong(0L);
+	private final AtomicLong minimumConnectNanos = new AtomicLong(Long.MAX_VALUE);
+	private volatile long transferStartNanos = 0L;
+	private volatile boolean copyBufferSampled = false;
+	private volatile int copyBufferSize;
+	private int socketSendBufferSize;
+	private int socketReceiveBufferSize;
+	private StreamingChecksum streamingChecksum = null;
+
 	/**
 	 * Constructor for a parallel file transfer runner. This runner will create the
 	 * parallel transfer threads and process the transfer.
@@ -151,7 +168,179 @@ public abstract class AbstractParallelFileTransferStrategy {
 
 		parallelSocketTimeoutInSecs = jargonProperties.getIRODSParallelTransferSocketTimeout();
 		this.negotiatedClientServerConfiguration = negotiatedClientServerConfiguration;
+		copyBufferSize = jargonProperties.getParallelCopyBufferSize();
+		socketSendBufferSize = Math.max(0, pipelineConfiguration.getParallelTcpSendWindowSize() * 1024);
+		socketReceiveBufferSize = Math.max(0, pipelineConfiguration.getParallelTcpReceiveWindowSize() * 1024);
+
+	}
+
+	/**
+	 * Tune this transfer from what earlier transfers to the same host and resource
+	 * achieved, and record what this one achieves, if
+	 * {@code JargonProperties.isAdaptiveParallelTransfer()} is set. The learned
+	 * socket buffer and copy buffer sizes replace the configured ones, and once
+	 * the sample period has passed the copy buffer is resized to the throughput
+	 * seen so far. Call before {@link #transfer()}.
+	 *
+	 * @param adaptiveTuningKey
+	 *            {@code String} from {@link ParallelTransferTuner#key(String, String)}
+	 */
+	public void setAdaptiveTuningKey(final String adaptiveTuningKey) {
+		if (adaptiveTuningKey == null || adaptiveTuningKey.isEmpty()) {
+			throw new IllegalArgumentException("null or empty adaptiveTuningKey");
+		}
+
+		if (!jargonProperties.isAdaptiveParallelTransfer()) {
+			log.debug("adaptive parallel transfer not configured, ignoring tuning key");
+			return;
+		}
+
+		this.adaptiveTuningKey = adaptiveTuningKey;
+		ParallelTransferTuning tuning = getParallelTransferTuner().getTuning(adaptiveTuningKey);
+		if (tuning == null) {
+			log.debug("no tuning yet for:{}", adaptiveTuningKey);
+			return;
+		}
+
+		log.debug("applying learned tuning:{}", tuning);
+		copyBufferSize = tuning.getCopyBufferSize();
+		if (tuning.getSocketBufferSize() > 0) {
+			socketSendBufferSize = tuning.getSocketBufferSize();
+			socketReceiveBufferSize = tuning.getSocketBufferSize();
+		}
+	}
+
+	/**
+	 * Feed the checksum with the segments of the local file as the threads move
+	 * them. Call before {@link #transfer()}.
+	 *
+	 * @param streamingChecksum
+	 *            {@link StreamingChecksum} for the local file, able to read back
+	 *            segments that complete out of order
+	 */
+	public void setStreamingChecksum(final StreamingChecksum streamingChecksum) {
+		if (streamingChecksum == null) {
+			throw new IllegalArgumentException("null streamingChecksum");
+		}
+
+		if (fileRestartInfo != null) {
+			throw new IllegalStateException("cannot stream a checksum for a restartable transfer");
+		}
+
+		this.streamingChecksum = streamingChecksum;
+	}
+
+	/**
+	 * @return {@link StreamingChecksum} fed by the threads, or {@code null}
+	 */
+	StreamingChecksum getStreamingChecksum() {
+		return streamingChecksum;
+	}
+
+	/**
+	 * Note the start of the data movement, called by subclasses before launching
+	 * the transfer threads
+	 */
+	protected void startAdaptiveMeasurement() {
+		bytesTransferred.set(0L);
+		copyBufferSampled = false;
+		transferStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Report what the transfer achieved to the {@link ParallelTransferTuner},
+	 * called by subclasses after the transfer threads complete successfully.
+	 * Transfers shorter than the sample period are not reported, as their
+	 * throughput is dominated by setup.
+	 */
+	protected void finishAdaptiveMeasurement() {
+		if (adaptiveTuningKey == null) {
+			return;
+		}
+
+		long elapsed = System.nanoTime() - transferStartNanos;
+		long bytes = bytesTransferred.get();
+		if (elapsed < sampleNanos() || bytes <= 0) {
+			log.debug("transfer too short to tune from, {} bytes in {} ns", bytes, elapsed);
+			return;
+		}
+
+		long roundTrip = minimumConnectNanos.get();
+		getParallelTransferTuner().recordTransfer(adaptiveTuningKey, numberOfThreads, bytes, elapsed,
+				roundTrip == Long.MAX_VALUE ? 0L : roundTrip, jargonProperties.getMaxParallelThreads());
+	}
+
+	/**
+	 * Count bytes moved by a transfer thread, resizing the copy buffer once the
+	 * sample period has passed
+	 *
+	 * @param bytes
+	 *            {@code long} with the bytes just moved
+	 */
+	void recordBytesTransferred(final long bytes) {
+		if (adaptiveTuningKey == null) {
+			return;
+		}
+
+		long total = bytesTransferred.addAndGet(bytes);
+		if (copyBufferSampled) {
+			return;
+		}
+
+		long elapsed = System.nanoTime() - transferStartNanos;
+		if (elapsed >= sampleNanos()) {
+			copyBufferSampled = true;
+			long perStream = (long) (total * (double) TimeUnit.SECONDS.toNanos(1) / elapsed) / numberOfThreads;
+			copyBufferSize = ParallelTransferTuner.copyBufferSizeFor(perStream);
+			log.debug("copy buffer resized to {} after sampling {} bytes/s per stream", copyBufferSize,
+					perStream);
+		}
+	}
+
+	/**
+	 * Note how long a parallel socket took to connect, the smallest of which is
+	 * used as the round trip time
+	 *
+	 * @param nanos
+	 *            {@code long} with the connect time
+	 */
+	void recordConnectTime(final long nanos) {
+		long current = minimumConnectNanos.get();
+		while (nanos < current && !minimumConnectNanos.compareAndSet(current, nanos)) {
+			current = minimumConnectNanos.get();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the size in bytes of each copy between socket and
+	 *         file, which may change during an adaptively tuned transfer
+	 */
+	int getCopyBufferSize() {
+		return copyBufferSize;
+	}
+
+	/**
+	 * @return {@code int} with the send buffer size in bytes for each parallel
+	 *         socket, or 0 to leave the platform default
+	 */
+	int getSocketSendBufferSize() {
+		return socketSendBufferSize;
+	}
+
+	/**
+	 * @return {@code int} with the receive buffer size in bytes for each parallel
+	 *         socket, or 0 to leave the platform default
+	 */
+	int getSocketReceiveBufferSize() {
+		return socketReceiveBufferSize;
+	}
+
+	private long sampleNanos() {
+		return TimeUnit.MILLISECONDS.toNanos(jargonProperties.getAdaptiveParallelSampleMillis());
+	}
 
+	private ParallelTransferTuner getParallelTransferTuner() {
+		return irodsAccessObjectFactory.getIrodsSession().getParallelTransferTuner();
 	}
 
 	/*
@@ -136,7 +136,7 @@ public abstract class AbstractRestartManager {
 			}
 
 			dataSegment.setLength(dataSegment.getLength() + length);
-			storeRestart(info);
+			storeSegment(info, dataSegment);
 		}
 
 	}
@@ -174,11 +174,29 @@ public abstract class AbstractRestartManager {
 			FileRestartDataSegment dataSegment = info.getFileRestartDataSegments().get(threadNumber);
 			dataSegment.setOffset(offset);
 			dataSegment.setLength(0);
-			storeRestart(info);
+			storeSegment(info, dataSegment);
 		}
 
 	}
 
+	/**
+	 * Persist a change to one segment of restart information already stored. This
+	 * is called for every buffer a long transfer moves, so implementations that
+	 * write the information out may record just the segment, or defer it. The
+	 * default stores the whole info.
+	 *
+	 * @param fileRestartInfo
+	 *            {@link FileRestartInfo} that contains the segment
+	 * @param fileRestartDataSegment
+	 *            {@link FileRestartDataSegment} that was changed
+	 * @throws FileRestartManagementException
+	 *             for restart error
+	 */
+	protected void storeSegment(final FileRestartInfo fileRestartInfo,
+			final FileRestartDataSegment fileRestartDataSegment) throws FileRestartManagementException {
+		storeRestart(fileRestartInfo);
+	}
+
 	/**
 	 * Store the restart information
 	 *
@@ -0,0 +1,714 @@
+/**
+ *
+ */
+package org.irods.jargon.core.transfer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.irods.jargon.core.connection.ConnectionConstants;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartStatus;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restart manager that survives a restart of the JVM by keeping restart
+ * information in an append-only journal file, so that a long transfer
+ * interrupted by a deploy or crash resumes where it left off.
+ * <p>
+ * The journal is memory-mapped. Storing or deleting restart information
+ * appends a record and syncs it to disk before returning. Segment updates,
+ * which transfers make for every buffer, only mark the segment dirty. Every
+ * {@code syncMillis} the latest offset and length of each dirty segment is
+ * appended and synced in one batch, so a crash loses at most that much
+ * progress, and the transfer resends it. Records are checksummed, and a torn
+ * record at the end of the journal is discarded when it is opened. When the
+ * journal grows to several times its live size it is compacted into a new file
+ * that replaces it atomically.
+ * <p>
+ * One journal may be open in one manager at a time. Call {@link #close()} to
+ * sync and release it.
+ */
+public class FileBasedTransferRestartManager extends AbstractRestartManager {
+
+	private static final Logger log = LoggerFactory.getLogger(FileBasedTransferRestartManager.class);
+
+	/**
+	 * Default interval between syncs of segment updates
+	 */
+	public static final long DEFAULT_SYNC_MILLIS = 1000L;
+
+	static final int MAGIC = 0x4a52524a;
+	static final int VERSION = 1;
+	static final int HEADER_LENGTH = 8;
+	static final int RECORD_OVERHEAD = 8;
+	static final int MIN_MAPPED_SIZE = 1024 * 1024;
+	static final long MIN_COMPACTION_LENGTH = 4L * 1024 * 1024;
+
+	private static final byte RECORD_STORE = 1;
+	private static final byte RECORD_SEGMENT = 2;
+	private static final byte RECORD_DELETE = 3;
+
+	private final File journalFile;
+	private final long syncMillis;
+	private final Map<FileRestartInfoIdentifier, JournalEntry> entries = new HashMap<FileRestartInfoIdentifier, JournalEntry>();
+	/**
+	 * Segments changed since the last sync, keyed by journal id and thread number
+	 */
+	private final Map<Long, FileRestartDataSegment> dirtySegments = new LinkedHashMap<Long, FileRestartDataSegment>();
+	private final ScheduledExecutorService syncExecutor;
+	private int nextId = 1;
+	private long compactionLength = MIN_COMPACTION_LENGTH;
+	private RandomAccessFile journal = null;
+	private FileLock journalLock = null;
+	private MappedByteBuffer mapped = null;
+
+	/**
+	 * Open or create a journal, syncing segment updates every
+	 * {@link #DEFAULT_SYNC_MILLIS}
+	 *
+	 * @param journalFile
+	 *            {@link File} with the journal
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be opened or is not a restart journal
+	 */
+	public FileBasedTransferRestartManager(final File journalFile) throws FileRestartManagementException {
+		this(journalFile, DEFAULT_SYNC_MILLIS);
+	}
+
+	/**
+	 * Open or create a journal
+	 *
+	 * @param journalFile
+	 *            {@link File} with the journal
+	 * @param syncMillis
+	 *            {@code long} with the interval between syncs of segment updates,
+	 *            or 0 to sync every update
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be opened or is not a restart journal
+	 */
+	public FileBasedTransferRestartManager(final File journalFile, final long syncMillis)
+			throws FileRestartManagementException {
+
+		if (journalFile == null) {
+			throw new IllegalArgumentException("null journalFile");
+		}
+
+		if (syncMillis < 0) {
+			throw new IllegalArgumentException("negative syncMillis");
+		}
+
+		this.journalFile = journalFile;
+		this.syncMillis = syncMillis;
+
+		try {
+			openJournal();
+		} catch (IOException e) {
+			closeJournal();
+			log.error("unable to open restart journal:{}", journalFile, e);
+			throw new FileRestartManagementException("unable to open restart journal:" + journalFile, e);
+		}
+
+		if (syncMillis > 0) {
+			syncExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(final Runnable runnable) {
+					Thread thread = new Thread(runnable, "jargon-restart-journal-sync");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			syncExecutor.scheduleWithFixedDelay(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						flush();
+					} catch (FileRestartManagementException e) {
+						log.error("unable to sync restart journal", e);
+					}
+				}
+			}, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+		} else {
+			syncExecutor = null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#storeRestart(org
+	 * .irods.jargon.core.transfer.FileRestartInfo)
+	 */
+	@Override
+	public FileRestartInfoIdentifier storeRestart(final FileRestartInfo fileRestartInfo)
+			throws FileRestartManagementException {
+
+		log.info("storeRestart()");
+		if (fileRestartInfo == null) {
+			throw new IllegalArgumentException("null fileRestartInfo");
+		}
+
+		FileRestartInfoIdentifier identifier;
+
+		synchronized (this) {
+			checkOpen();
+			identifier = FileRestartInfoIdentifier.instanceFromFileRestartInfo(fileRestartInfo);
+			JournalEntry entry = entries.get(identifier);
+			if (entry == null) {
+				entry = new JournalEntry(nextId++, fileRestartInfo);
+				entries.put(identifier, entry);
+			} else {
+				entry.fileRestartInfo = fileRestartInfo;
+			}
+			clearDirtySegments(entry.id);
+			try {
+				append(storeRecord(entry));
+				mapped.force();
+			} catch (IOException e) {
+				log.error("unable to journal restart:{}", fileRestartInfo, e);
+				throw new FileRestartManagementException("unable to journal restart", e);
+			}
+		}
+		return identifier;
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#deleteRestart(org
+	 * .irods.jargon.core.transfer.FileRestartInfoIdentifier)
+	 */
+	@Override
+	public void deleteRestart(final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+
+		log.info("deleteRestart()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+
+		synchronized (this) {
+			checkOpen();
+			JournalEntry entry = entries.remove(fileRestartInfoIdentifier);
+			if (entry == null) {
+				return;
+			}
+			clearDirtySegments(entry.id);
+			try {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(bytes);
+				out.writeByte(RECORD_DELETE);
+				out.writeInt(entry.id);
+				append(bytes.toByteArray());
+				mapped.force();
+			} catch (IOException e) {
+				log.error("unable to journal restart deletion:{}", fileRestartInfoIdentifier, e);
+				throw new FileRestartManagementException("unable to journal restart deletion", e);
+			}
+		}
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#retrieveRestart
+	 * (org.irods.jargon.core.transfer.FileRestartInfoIdentifier)
+	 */
+	@Override
+	public FileRestartInfo retrieveRestart(final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+
+		log.info("retrieveRestart()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+		synchronized (this) {
+			JournalEntry entry = entries.get(fileRestartInfoIdentifier);
+			return entry == null ? null : entry.fileRestartInfo;
+		}
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#updateSegment(org
+	 * .irods.jargon.core.transfer.FileRestartInfo,
+	 * org.irods.jargon.core.transfer.FileRestartDataSegment)
+	 */
+	@Override
+	public void updateSegment(final FileRestartInfo fileRestartInfo,
+			final FileRestartDataSegment fileRestartDataSegment) throws FileRestartManagementException {
+
+		log.info("updateSegment()");
+
+		if (fileRestartInfo == null) {
+			throw new IllegalArgumentException("null fileRestartInfo");
+		}
+
+		if (fileRestartDataSegment == null) {
+			throw new IllegalArgumentException("null fileRestartDataSegment");
+		}
+
+		synchronized (this) {
+			FileRestartInfo actualRestartInfo = retrieveRestart(fileRestartInfo.identifierFromThisInfo());
+			if (actualRestartInfo == null || actualRestartInfo.getFileRestartDataSegments()
+					.size() <= fileRestartDataSegment.getThreadNumber()) {
+				log.error("fileRestartInfo does not contain the given segment:{}", fileRestartInfo);
+				throw new FileRestartManagementException("unable to find segment");
+			}
+			FileRestartDataSegment actualSegment = actualRestartInfo.getFileRestartDataSegments()
+					.get(fileRestartDataSegment.getThreadNumber());
+			if (actualSegment.getThreadNumber() != fileRestartDataSegment.getThreadNumber()) {
+				log.error("mismatch in thread number in update request for segment:{}", fileRestartDataSegment);
+				throw new FileRestartManagementException("file segment does not match thread number");
+			}
+
+			actualRestartInfo.getFileRestartDataSegments().set(actualSegment.getThreadNumber(), fileRestartDataSegment);
+			storeSegment(actualRestartInfo, fileRestartDataSegment);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#
+	 * incrementRestartAttempts(org.irods.jargon.core.transfer.FileRestartInfo)
+	 */
+	@Override
+	public FileRestartInfo incrementRestartAttempts(final FileRestartInfo fileRestartInfo)
+			throws RestartFailedException, FileRestartManagementException {
+
+		log.info("incrementRestartAttempts()");
+		if (fileRestartInfo == null) {
+			log.info("no restart to increment, returning null");
+			return null;
+		}
+		log.info("fileRestartInfo:{}", fileRestartInfo);
+
+		synchronized (this) {
+			FileRestartInfo actualRestartInfo = retrieveRestart(fileRestartInfo.identifierFromThisInfo());
+			if (actualRestartInfo == null) {
+				log.error("nothing to increment!");
+				return null;
+			}
+			int currentRestarts = actualRestartInfo.getNumberRestarts();
+			currentRestarts++;
+			if (currentRestarts > ConnectionConstants.MAX_FILE_RESTART_ATTEMPTS) {
+				log.error("violates max restart attempts, go ahead and fail the restart attempt");
+				throw new RestartFailedException("restart failed with too many attempts");
+			}
+			actualRestartInfo.setNumberRestarts(currentRestarts);
+			storeRestart(actualRestartInfo);
+			return fileRestartInfo;
+		}
+
+	}
+
+	/**
+	 * Mark the segment dirty, to be journaled at the next sync
+	 */
+	@Override
+	protected void storeSegment(final FileRestartInfo fileRestartInfo,
+			final FileRestartDataSegment fileRestartDataSegment) throws FileRestartManagementException {
+
+		synchronized (this) {
+			JournalEntry entry = entries.get(fileRestartInfo.identifierFromThisInfo());
+			if (entry == null || entry.fileRestartInfo != fileRestartInfo) {
+				storeRestart(fileRestartInfo);
+				return;
+			}
+
+			dirtySegments.put(segmentKey(entry.id, fileRestartDataSegment.getThreadNumber()), fileRestartDataSegment);
+			if (syncMillis == 0) {
+				flush();
+			}
+		}
+	}
+
+	/**
+	 * Journal and sync the segment updates made since the last sync, compacting
+	 * the journal if it has grown large. This is done periodically, and may be
+	 * called to sync sooner.
+	 *
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be written
+	 */
+	public synchronized void flush() throws FileRestartManagementException {
+		if (mapped == null || dirtySegments.isEmpty()) {
+			return;
+		}
+
+		try {
+			for (Map.Entry<Long, FileRestartDataSegment> dirty : dirtySegments.entrySet()) {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+				DataOutputStream out = new DataOutputStream(bytes);
+				out.writeByte(RECORD_SEGMENT);
+				out.writeInt((int) (dirty.getKey() >>> 32));
+				out.writeInt(dirty.getValue().getThreadNumber());
+				out.writeLong(dirty.getValue().getOffset());
+				out.writeLong(dirty.getValue().getLength());
+				append(bytes.toByteArray());
+			}
+			log.debug("journaled {} segment updates", dirtySegments.size());
+			dirtySegments.clear();
+			mapped.force();
+
+			if (mapped.position() > compactionLength) {
+				compact();
+			}
+		} catch (IOException e) {
+			log.error("unable to journal segment updates", e);
+			throw new FileRestartManagementException("unable to journal segment updates", e);
+		}
+	}
+
+	/**
+	 * Sync outstanding segment updates and release the journal. The manager may
+	 * not be used afterwards.
+	 *
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be written
+	 */
+	public void close() throws FileRestartManagementException {
+		log.info("close()");
+		if (syncExecutor != null) {
+			syncExecutor.shutdown();
+		}
+		synchronized (this) {
+			try {
+				flush();
+			} finally {
+				closeJournal();
+			}
+		}
+	}
+
+	/**
+	 * @return {@link File} with the journal
+	 */
+	public File getJournalFile() {
+		return journalFile;
+	}
+
+	/**
+	 * @return {@code long} with the interval between syncs of segment updates
+	 */
+	public long getSyncMillis() {
+		return syncMillis;
+	}
+
+	/**
+	 * Sync and compact the journal now, regardless of its length
+	 */
+	synchronized void compactNow() throws FileRestartManagementException {
+		checkOpen();
+		flush();
+		try {
+			compact();
+		} catch (IOException e) {
+			throw new FileRestartManagementException("unable to compact restart journal", e);
+		}
+	}
+
+	/**
+	 * @return {@code long} with the length of the journal in use
+	 */
+	synchronized long getJournalLength() {
+		return mapped == null ? 0 : mapped.position();
+	}
+
+	private void checkOpen() throws FileRestartManagementException {
+		if (mapped == null) {
+			throw new FileRestartManagementException("restart journal is closed");
+		}
+	}
+
+	private void openJournal() throws IOException, FileRestartManagementException {
+		journal = new RandomAccessFile(journalFile, "rw");
+		FileChannel channel = journal.getChannel();
+		try {
+			journalLock = channel.tryLock();
+		} catch (OverlappingFileLockException e) {
+			journalLock = null;
+		}
+		if (journalLock == null) {
+			throw new FileRestartManagementException("restart journal is in use:" + journalFile);
+		}
+
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE) {
+			throw new FileRestartManagementException("restart journal is too large:" + journalFile);
+		}
+
+		mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, MIN_MAPPED_SIZE));
+		if (size < HEADER_LENGTH) {
+			mapped.putInt(MAGIC);
+			mapped.putInt(VERSION);
+			mapped.force();
+			return;
+		}
+
+		if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+			throw new FileRestartManagementException("not a restart journal:" + journalFile);
+		}
+		replay();
+		compactionLength = Math.max(MIN_COMPACTION_LENGTH, 4L * mapped.position());
+	}
+
+	private void replay() throws IOException {
+		Map<Integer, FileRestartInfoIdentifier> identifiersById = new HashMap<Integer, FileRestartInfoIdentifier>();
+		CRC32 crc = new CRC32();
+		int records = 0;
+
+		while (mapped.remaining() >= RECORD_OVERHEAD) {
+			int start = mapped.position();
+			int length = mapped.getInt();
+			if (length == 0) {
+				mapped.position(start);
+				break;
+			}
+
+			int expectedCrc = mapped.getInt();
+			if (length < 0 || length > mapped.remaining()) {
+				discardTornTail(start);
+				break;
+			}
+
+			byte[] payload = new byte[length];
+			mapped.get(payload);
+			crc.reset();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() != expectedCrc) {
+				discardTornTail(start);
+				break;
+			}
+
+			applyRecord(payload, identifiersById);
+			records++;
+		}
+
+		log.info("replayed {} records from restart journal, {} restarts outstanding", records, entries.size());
+	}
+
+	private void applyRecord(final byte[] payload, final Map<Integer, FileRestartInfoIdentifier> identifiersById)
+			throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		byte type = in.readByte();
+		int id = in.readInt();
+		nextId = Math.max(nextId, id + 1);
+
+		if (type == RECORD_STORE) {
+			FileRestartInfo fileRestartInfo = new FileRestartInfo();
+			fileRestartInfo.setIrodsAccountIdentifier(in.readUTF());
+			fileRestartInfo.setLocalAbsolutePath(in.readUTF());
+			fileRestartInfo.setIrodsAbsolutePath(in.readUTF());
+			fileRestartInfo.setRestartStatus(RestartStatus.valueOf(in.readUTF()));
+			fileRestartInfo.setRestartType(RestartType.valueOf(in.readUTF()));
+			fileRestartInfo.setNumberRestarts(in.readInt());
+			int segments = in.readInt();
+			for (int i = 0; i < segments; i++) {
+				FileRestartDataSegment segment = new FileRestartDataSegment(in.readInt());
+				segment.setOffset(in.readLong());
+				segment.setLength(in.readLong());
+				fileRestartInfo.getFileRestartDataSegments().add(segment);
+			}
+			FileRestartInfoIdentifier identifier = fileRestartInfo.identifierFromThisInfo();
+			identifiersById.put(id, identifier);
+			entries.put(identifier, new JournalEntry(id, fileRestartInfo));
+		} else if (type == RECORD_SEGMENT) {
+			FileRestartInfoIdentifier identifier = identifiersById.get(id);
+			JournalEntry entry = identifier == null ? null : entries.get(identifier);
+			int threadNumber = in.readInt();
+			if (entry != null && threadNumber < entry.fileRestartInfo.getFileRestartDataSegments().size()) {
+				FileRestartDataSegment segment = entry.fileRestartInfo.getFileRestartDataSegments().get(threadNumber);
+				segment.setOffset(in.readLong());
+				segment.setLength(in.readLong());
+			}
+		} else if (type == RECORD_DELETE) {
+			FileRestartInfoIdentifier identifier = identifiersById.remove(id);
+			if (identifier != null) {
+				entries.remove(identifier);
+			}
+		} else {
+			throw new IOException("unknown restart journal record type:" + type);
+		}
+	}
+
+	/**
+	 * Drop a record left partly written by a crash, and anything after it, so that
+	 * new records are not followed by stale bytes
+	 */
+	private void discardTornTail(final int start) {
+		log.warn("discarding torn restart journal record at:{}", start);
+		mapped.position(start);
+		while (mapped.hasRemaining()) {
+			mapped.put((byte) 0);
+		}
+		mapped.position(start);
+		mapped.force();
+	}
+
+	private byte[] storeRecord(final JournalEntry entry) throws IOException {
+		FileRestartInfo fileRestartInfo = entry.fileRestartInfo;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeByte(RECORD_STORE);
+		out.writeInt(entry.id);
+		out.writeUTF(nullToEmpty(fileRestartInfo.getIrodsAccountIdentifier()));
+		out.writeUTF(nullToEmpty(fileRestartInfo.getLocalAbsolutePath()));
+		out.writeUTF(nullToEmpty(fileRestartInfo.getIrodsAbsolutePath()));
+		out.writeUTF(fileRestartInfo.getRestartStatus().name());
+		out.writeUTF(fileRestartInfo.getRestartType().name());
+		out.writeInt(fileRestartInfo.getNumberRestarts());
+		out.writeInt(fileRestartInfo.getFileRestartDataSegments().size());
+		for (FileRestartDataSegment segment : fileRestartInfo.getFileRestartDataSegments()) {
+			out.writeInt(segment.getThreadNumber());
+			out.writeLong(segment.getOffset());
+			out.writeLong(segment.getLength());
+		}
+		return bytes.toByteArray();
+	}
+
+	private void append(final byte[] payload) throws IOException {
+		int needed = RECORD_OVERHEAD + payload.length;
+		if (mapped.remaining() < needed) {
+			long newSize = Math.max(2L * mapped.capacity(), (long) mapped.position() + needed + MIN_MAPPED_SIZE);
+			if (newSize > Integer.MAX_VALUE) {
+				throw new IOException("restart journal is too large:" + journalFile);
+			}
+			int position = mapped.position();
+			mapped.force();
+			mapped = journal.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+			mapped.position(position);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(payload, 0, payload.length);
+		int start = mapped.position();
+		// the length goes in last, so a record cut short reads as the end
+		mapped.position(start + 4);
+		mapped.putInt((int) crc.getValue());
+		mapped.put(payload);
+		mapped.putInt(start, payload.length);
+	}
+
+	/**
+	 * Rewrite the journal as one store record per outstanding restart, replacing
+	 * the old journal with a rename. Ids are kept, so segment records that follow
+	 * still apply.
+	 */
+	private void compact() throws IOException, FileRestartManagementException {
+		log.info("compacting restart journal of {} bytes with {} restarts", mapped.position(), entries.size());
+		File compactFile = new File(journalFile.getPath() + ".compact");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		CRC32 crc = new CRC32();
+		for (JournalEntry entry : entries.values()) {
+			byte[] payload = storeRecord(entry);
+			crc.reset();
+			crc.update(payload, 0, payload.length);
+			out.writeInt(payload.length);
+			out.writeInt((int) crc.getValue());
+			out.write(payload);
+		}
+
+		byte[] compacted = bytes.toByteArray();
+		FileOutputStream compactOut = new FileOutputStream(compactFile);
+		try {
+			compactOut.write(compacted);
+			compactOut.getFD().sync();
+		} finally {
+			compactOut.close();
+		}
+
+		try {
+			Files.move(compactFile.toPath(), journalFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.warn("unable to replace restart journal with compacted copy, continuing with the old journal", e);
+			compactFile.delete();
+			compactionLength = 2 * compactionLength;
+			return;
+		}
+
+		closeJournal();
+		journal = new RandomAccessFile(journalFile, "rw");
+		journalLock = journal.getChannel().tryLock();
+		if (journalLock == null) {
+			throw new FileRestartManagementException("restart journal was taken during compaction:" + journalFile);
+		}
+		mapped = journal.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+				Math.max(compacted.length, MIN_MAPPED_SIZE));
+		mapped.position(compacted.length);
+		compactionLength = Math.max(MIN_COMPACTION_LENGTH, 4L * compacted.length);
+		log.info("compacted restart journal to {} bytes", compacted.length);
+	}
+
+	private void clearDirtySegments(final int id) {
+		Iterator<Long> keys = dirtySegments.keySet().iterator();
+		while (keys.hasNext()) {
+			if ((int) (keys.next() >>> 32) == id) {
+				keys.remove();
+			}
+		}
+	}
+
+	private void closeJournal() {
+		mapped = null;
+		if (journal != null) {
+			try {
+				journal.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			journal = null;
+			journalLock = null;
+		}
+	}
+
+	private static long segmentKey(final int id, final int threadNumber) {
+		return ((long) id << 32) | (threadNumber & 0xffffffffL);
+	}
+
+	private static String nullToEmpty(final String value) {
+		return value == null ? "" : value;
+	}
+
+	private static final class JournalEntry {
+		private final int id;
+		private FileRestartInfo fileRestartInfo;
+
+		private JournalEntry(final int id, final FileRestartInfo fileRestartInfo) {
+			this.id = id;
+			this.fileRestartInfo = fileRestartInfo;
+		}
+	}
+
+}
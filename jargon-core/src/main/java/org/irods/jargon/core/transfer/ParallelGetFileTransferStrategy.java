@@ -4,8 +4,11 @@
 package org.irods.jargon.core.transfer;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -136,16 +139,24 @@ public final class ParallelGetFileTransferStrategy extends AbstractParallelFileT
 	}
 
 	private void transferWithExecutor(final ExecutorService executor) throws JargonException {
-		final List<ParallelGetTransferThread> parallelGetTransferThreads = new ArrayList<ParallelGetTransferThread>();
+		final List<Callable<ParallelTransferResult>> parallelGetTransferThreads = new ArrayList<Callable<ParallelTransferResult>>();
 
 		try {
 
+			if (getJargonProperties().isUseNIOForParallelTransfers()) {
+				preallocateLocalFile();
+			}
+
 			for (int i = 0; i < numberOfThreads; i++) {
-				final ParallelGetTransferThread parallelTransfer = ParallelGetTransferThread.instance(this, i);
-				parallelGetTransferThreads.add(parallelTransfer);
+				if (getJargonProperties().isUseNIOForParallelTransfers()) {
+					parallelGetTransferThreads.add(ParallelGetNIOTransferThread.instance(this, i));
+				} else {
+					parallelGetTransferThreads.add(ParallelGetTransferThread.instance(this, i));
+				}
 			}
 			log.info("invoking executor threads for get");
 			log.info("invoking executor threads for put");
+			startAdaptiveMeasurement();
 			List<Future<ParallelTransferResult>> transferThreadStates = executor.invokeAll(parallelGetTransferThreads);
 
 			for (Future<ParallelTransferResult> transferState : transferThreadStates) {
@@ -157,6 +168,7 @@ public final class ParallelGetFileTransferStrategy extends AbstractParallelFileT
 
 			}
 
+			finishAdaptiveMeasurement();
 			log.info("executor completed");
 		} catch (InterruptedException e) {
 			log.error("interrupted exception in thread", e);
@@ -167,6 +179,35 @@ public final class ParallelGetFileTransferStrategy extends AbstractParallelFileT
 		}
 	}
 
+	/**
+	 * Positional writes past the end of a file are dropped by
+	 * {@code FileChannel.transferFrom}, so size the local file up front, letting
+	 * each NIO thread write its segments wherever they fall
+	 *
+	 * @throws JargonException
+	 *             if the local file cannot be sized
+	 */
+	private void preallocateLocalFile() throws JargonException {
+		RandomAccessFile local = null;
+		try {
+			local = new RandomAccessFile(localFile, "rw");
+			if (local.length() < transferLength) {
+				log.info("presizing local file to:{}", transferLength);
+				local.setLength(transferLength);
+			}
+		} catch (IOException e) {
+			log.error("unable to presize local file for parallel get", e);
+			throw new JargonException("unable to presize local file for parallel get", e);
+		} finally {
+			if (local != null) {
+				try {
+					local.close();
+				} catch (IOException e) {
+				}
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -0,0 +1,220 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+
+import org.irods.jargon.core.connection.ConnectionProgressStatus;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handle parallel file transfer get operation within Jargon using NIO channels.
+ * Each segment iRODS sends is written to the local file at its offset with
+ * {@code FileChannel.transferFrom}, so threads share no file pointer and
+ * unencrypted data is not copied through a java buffer. Encrypted data is
+ * decrypted through a buffer held by the thread. See
+ * {@link org.irods.jargon.core.pub.DataTransferOperations} for the public API
+ * to transfer files.
+ */
+public final class ParallelGetNIOTransferThread extends AbstractNIOParallelTransferThread
+		implements Callable<ParallelTransferResult> {
+
+	private final ParallelGetFileTransferStrategy parallelGetFileTransferStrategy;
+
+	/**
+	 * Will contain the symmetric decryption handler if ssl negotiation dictates
+	 */
+	private ParallelDecryptionCipherWrapper parallelDecryptionCipherWrapper;
+
+	/**
+	 * Reused for encrypted chunks, which are normally all the same size
+	 */
+	private byte[] encryptedBuffer = new byte[0];
+
+	public static final Logger log = LoggerFactory.getLogger(ParallelGetNIOTransferThread.class);
+
+	/**
+	 * Represents a thread used in a parallel file transfer. There will be multiple
+	 * threads controlled from the {@code ParallelGetFileTransferStrategy}.
+	 *
+	 * @param parallelGetFileTransferStrategy
+	 *            {@link org.irods.jargon.core.transfer.ParallelGetFileTransferStrategy}
+	 *            that controls the transfer threads.
+	 * @param threadNumber
+	 *            {@code int} with the thread number
+	 * @return {@code ParallelGetNIOTransferThread}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public static ParallelGetNIOTransferThread instance(
+			final ParallelGetFileTransferStrategy parallelGetFileTransferStrategy, final int threadNumber)
+			throws JargonException {
+		return new ParallelGetNIOTransferThread(parallelGetFileTransferStrategy, threadNumber);
+	}
+
+	private ParallelGetNIOTransferThread(final ParallelGetFileTransferStrategy parallelGetFileTransferStrategy,
+			final int threadNumber) throws JargonException {
+
+		super(threadNumber);
+		if (parallelGetFileTransferStrategy == null) {
+			throw new JargonException("parallelGetFileTransferStrategy is null");
+		}
+
+		this.parallelGetFileTransferStrategy = parallelGetFileTransferStrategy;
+		log.info("setting up the encryption if so negotiated");
+		if (this.parallelGetFileTransferStrategy.doEncryption()) {
+			log.debug("am doing encryption, enable the cypher");
+			parallelDecryptionCipherWrapper = this.parallelGetFileTransferStrategy.initializeCypherForDecryption();
+			log.debug("cypher initialized");
+		}
+	}
+
+	@Override
+	public ParallelTransferResult call() throws JargonException {
+		RandomAccessFile local = null;
+		try {
+			connect(parallelGetFileTransferStrategy);
+			log.info("channel is open and password sent, now begin the get operation");
+			local = new RandomAccessFile(parallelGetFileTransferStrategy.getLocalFile(), "rw");
+			processingLoopForGetData(local.getChannel());
+			log.info("exiting get and returning the finish object");
+			ParallelTransferResult result = new ParallelTransferResult();
+			result.transferException = getExceptionInTransfer();
+			return result;
+		} catch (JargonException je) {
+			log.error("a jargon exception occurred in the get loop", je);
+			throw je;
+		} catch (Throwable e) {
+			log.error("unchecked exception in transfer", e);
+			throw new JargonException(e);
+		} finally {
+			log.info("closing channel, this close eats exceptions");
+			close();
+			if (local != null) {
+				try {
+					local.close();
+				} catch (IOException e) {
+				}
+			}
+		}
+	}
+
+	private void processingLoopForGetData(final FileChannel local) throws JargonException, IOException {
+
+		int operation = readInt();
+		readInt();
+		long offset = readLong();
+		long length = readLong();
+		log.info(">>>new offset:{}", offset);
+		log.info(">>>new length:{}", length);
+
+		if (operation != GET_OPR) {
+			log.error("Parallel transfer expected GET,  server requested {}", operation);
+			throw new JargonException("parallel get transfer, unexpected transfer type from iRODS:" + operation);
+		}
+
+		while (true) {
+			/*
+			 * If restarting, maintain a reference to the offset, the length is counted
+			 * from here
+			 */
+			if (parallelGetFileTransferStrategy.getFileRestartInfo() != null) {
+				parallelGetFileTransferStrategy.getRestartManager().updateOffsetForSegment(
+						parallelGetFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(),
+						getThreadNumber(), offset);
+			}
+
+			long position = offset;
+			long totalWrittenSinceLastRestartUpdate = 0;
+
+			while (length > 0) {
+				if (Thread.interrupted()) {
+					throw new IOException(
+							"interrupted, consider connection corrupted and return IOException to clear");
+				}
+
+				long read;
+				if (parallelGetFileTransferStrategy.doEncryption()) {
+					// length is littleEndian
+					int newSize = Integer.reverseBytes(readInt());
+					log.debug("new size of encrypted traffic:{}", newSize);
+					if (newSize <= 0) {
+						return;
+					}
+					read = decryptToFile(local, position, newSize);
+				} else {
+					read = transferToFile(local, position,
+							Math.min(parallelGetFileTransferStrategy.getCopyBufferSize(), length));
+				}
+
+				if (parallelGetFileTransferStrategy.getStreamingChecksum() != null) {
+					parallelGetFileTransferStrategy.getStreamingChecksum().segmentComplete(position, read);
+				}
+
+				position += read;
+				length -= read;
+				totalWrittenSinceLastRestartUpdate += read;
+				parallelGetFileTransferStrategy.recordBytesTransferred(read);
+
+				if (length < 0) {
+					String msg = "length < 0 passed in header from iRODS during parallel get operation";
+					log.error(msg);
+					throw new JargonException(msg);
+				}
+
+				/*
+				 * Make an intra-file status call-back if a listener is configured
+				 */
+				if (parallelGetFileTransferStrategy.getConnectionProgressStatusListener() != null) {
+					parallelGetFileTransferStrategy.getConnectionProgressStatusListener()
+							.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForReceive(read));
+				}
+			}
+
+			if (parallelGetFileTransferStrategy.getFileRestartInfo() != null && totalWrittenSinceLastRestartUpdate > 0) {
+				parallelGetFileTransferStrategy.getRestartManager().updateLengthForSegment(
+						parallelGetFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(),
+						getThreadNumber(), totalWrittenSinceLastRestartUpdate);
+				log.debug("signal storage of new info");
+			}
+
+			// read the next header
+			operation = readInt();
+			readInt();
+			offset = readLong();
+			length = readLong();
+			log.info(">>>new offset:{}", offset);
+			log.info(">>>new length:{}", length);
+
+			if (operation == DONE_OPR) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Read one encrypted chunk, including its initialization vector, and write the
+	 * plain text at the given position
+	 */
+	private long decryptToFile(final FileChannel local, final long position, final int encryptedSize)
+			throws JargonException, IOException {
+		if (encryptedBuffer.length != encryptedSize) {
+			// the cipher takes the whole array, so it must be exactly the chunk size
+			encryptedBuffer = new byte[encryptedSize];
+		}
+		readFully(ByteBuffer.wrap(encryptedBuffer));
+		ByteBuffer plain = ByteBuffer.wrap(parallelDecryptionCipherWrapper.decrypt(encryptedBuffer));
+		long written = plain.remaining();
+		long filePosition = position;
+		while (plain.hasRemaining()) {
+			filePosition += local.write(plain, filePosition);
+		}
+		return written;
+	}
+
+}
@@ -83,16 +83,12 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 	public ParallelTransferResult call() throws JargonException {
 		try {
 			Socket s = new Socket();
-			if (parallelGetFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize() > 0) {
-				s.setSendBufferSize(
-						parallelGetFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize()
-								* 1024);
+			if (parallelGetFileTransferStrategy.getSocketSendBufferSize() > 0) {
+				s.setSendBufferSize(parallelGetFileTransferStrategy.getSocketSendBufferSize());
 			}
 
-			if (parallelGetFileTransferStrategy.getPipelineConfiguration().getParallelTcpReceiveWindowSize() > 0) {
-				s.setReceiveBufferSize(
-						parallelGetFileTransferStrategy.getPipelineConfiguration().getParallelTcpReceiveWindowSize()
-								* 1024);
+			if (parallelGetFileTransferStrategy.getSocketReceiveBufferSize() > 0) {
+				s.setReceiveBufferSize(parallelGetFileTransferStrategy.getSocketReceiveBufferSize());
 			}
 
 			s.setPerformancePreferences(
@@ -112,7 +108,9 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 			// assume reuse, nodelay
 			s.setReuseAddress(true);
 			s.setTcpNoDelay(false);
+			long connectStart = System.nanoTime();
 			s.connect(address);
+			parallelGetFileTransferStrategy.recordConnectTime(System.nanoTime() - connectStart);
 			setS(s);
 			byte[] outputBuffer = new byte[4];
 			Host.copyInt(parallelGetFileTransferStrategy.getPassword(), outputBuffer);
@@ -260,9 +258,7 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 					log.debug("new size of encrypted traffic:{}", newSize);
 
 				} else {
-					newSize = Math.min(
-							parallelGetFileTransferStrategy.getJargonProperties().getParallelCopyBufferSize(),
-							(int) length);
+					newSize = (int) Math.min(parallelGetFileTransferStrategy.getCopyBufferSize(), length);
 					log.debug("newSize of non-encrypted traffic:{}", newSize);
 
 				}
@@ -290,10 +286,11 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 				totalWrittenSinceLastRestartUpdate += read;
 
 				if (read > 0) {
+					parallelGetFileTransferStrategy.recordBytesTransferred(read);
 					length -= read;
 					if (length == 0) {
 
-						local.write(buffer, 0, read);
+						writeToLocalFile(local, buffer, read);
 
 						/*
 						 * Make an intra-file status call-back if a listener is configured
@@ -339,7 +336,7 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 						throw new JargonException(msg);
 					} else {
 
-						local.write(buffer, 0, read);
+						writeToLocalFile(local, buffer, read);
 						/*
 						 * Make an intra-file status call-back if a listener is configured
 						 */
@@ -452,4 +449,28 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 			}
 		}
 	}
+
+	/**
+	 * Write data read from iRODS at the current position of the local file, and
+	 * hand it to the streaming checksum when one is being computed
+	 *
+	 * @param local
+	 *            {@link RandomAccessFile} positioned where the data goes
+	 * @param buffer
+	 *            {@code byte[]} with the data
+	 * @param read
+	 *            {@code int} with the bytes in the buffer to write
+	 * @throws IOException
+	 *             if the local write fails
+	 * @throws JargonException
+	 *             if the checksum cannot be updated
+	 */
+	private void writeToLocalFile(final RandomAccessFile local, final byte[] buffer, final int read)
+			throws IOException, JargonException {
+		long position = local.getFilePointer();
+		local.write(buffer, 0, read);
+		if (parallelGetFileTransferStrategy.getStreamingChecksum() != null) {
+			parallelGetFileTransferStrategy.getStreamingChecksum().update(position, buffer, 0, read);
+		}
+	}
 }
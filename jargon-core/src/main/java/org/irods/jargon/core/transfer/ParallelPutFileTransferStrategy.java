@@ -6,6 +6,7 @@ package org.irods.jargon.core.transfer;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -139,13 +140,16 @@ public final class ParallelPutFileTransferStrategy extends AbstractParallelFileT
 
 	private void transferWithExecutor(final ExecutorService executor) throws JargonException {
 		log.info("initiating transfer for: {} without executor", toString());
-		final List<ParallelPutTransferThread> parallelPutTransferThreads = new ArrayList<ParallelPutTransferThread>();
-		localFile.length();
-		ParallelPutTransferThread parallelTransferThread;
+		final List<Callable<ParallelTransferResult>> parallelPutTransferThreads = new ArrayList<Callable<ParallelTransferResult>>();
+		Callable<ParallelTransferResult> parallelTransferThread;
 
 		for (int i = 0; i < numberOfThreads; i++) {
 
-			parallelTransferThread = ParallelPutTransferThread.instance(this, i);
+			if (getJargonProperties().isUseNIOForParallelTransfers()) {
+				parallelTransferThread = ParallelPutNIOTransferThread.instance(this, i);
+			} else {
+				parallelTransferThread = ParallelPutTransferThread.instance(this, i);
+			}
 			parallelPutTransferThreads.add(parallelTransferThread);
 			log.info("created transfer thread:{}", parallelTransferThread);
 
@@ -153,6 +157,7 @@ public final class ParallelPutFileTransferStrategy extends AbstractParallelFileT
 
 		try {
 			log.info("invoking executor threads for put");
+			startAdaptiveMeasurement();
 			List<Future<ParallelTransferResult>> transferThreadStates = executor.invokeAll(parallelPutTransferThreads);
 
 			for (Future<ParallelTransferResult> transferState : transferThreadStates) {
@@ -163,6 +168,7 @@ public final class ParallelPutFileTransferStrategy extends AbstractParallelFileT
 				}
 			}
 
+			finishAdaptiveMeasurement();
 			log.info("executor completed");
 		} catch (InterruptedException e) {
 			log.error("interrupted exception in thread", e);
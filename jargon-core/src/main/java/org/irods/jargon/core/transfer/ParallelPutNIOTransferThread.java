@@ -0,0 +1,215 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import org.irods.jargon.core.connection.ConnectionConstants;
+import org.irods.jargon.core.connection.ConnectionProgressStatus;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.transfer.encrypt.EncryptionBuffer;
+import org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Handle parallel file transfer put operation using NIO channels. Each segment
+ * iRODS asks for is sent from its offset in the local file with
+ * {@code FileChannel.transferTo}, so threads share no file pointer and
+ * unencrypted data is not copied through a java buffer. Data to be encrypted is
+ * read through a buffer held by the thread. This is used within jargon.core,
+ * and is not meant for public API use. See
+ * {@link org.irods.jargon.core.pub.DataTransferOperations} for public API used
+ * for file transfers.
+ */
+public final class ParallelPutNIOTransferThread extends AbstractNIOParallelTransferThread
+		implements Callable<ParallelTransferResult> {
+
+	private final ParallelPutFileTransferStrategy parallelPutFileTransferStrategy;
+	private ParallelEncryptionCipherWrapper parallelEncryptionCipherWrapper = null;
+
+	/**
+	 * Plain text buffer when encrypting, allocated on first use
+	 */
+	private ByteBuffer plainBuffer = null;
+
+	public static final Logger log = LoggerFactory.getLogger(ParallelPutNIOTransferThread.class);
+
+	/**
+	 * Represents a thread used in a parallel file transfer. There will be multiple
+	 * threads controlled from the {@code ParallelPutFileTransferStrategy}.
+	 *
+	 * @param parallelPutFileTransferStrategy
+	 *            {@link org.irods.jargon.core.transfer.ParallelPutFileTransferStrategy}
+	 *            that controls the transfer threads.
+	 * @param threadNumber
+	 *            {@code int} with the sequential thread number
+	 * @return {@code ParallelPutNIOTransferThread}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public static ParallelPutNIOTransferThread instance(
+			final ParallelPutFileTransferStrategy parallelPutFileTransferStrategy, final int threadNumber)
+			throws JargonException {
+		return new ParallelPutNIOTransferThread(parallelPutFileTransferStrategy, threadNumber);
+	}
+
+	private ParallelPutNIOTransferThread(final ParallelPutFileTransferStrategy parallelPutFileTransferStrategy,
+			final int threadNumber) throws JargonException {
+
+		super(threadNumber);
+
+		if (parallelPutFileTransferStrategy == null) {
+			throw new JargonException("parallelPutFileTransferStrategy is null");
+		}
+
+		this.parallelPutFileTransferStrategy = parallelPutFileTransferStrategy;
+
+		log.info("setting up the encryption if so negotiated");
+		if (this.parallelPutFileTransferStrategy.doEncryption()) {
+			log.debug("am doing encryption, enable the cypher");
+			parallelEncryptionCipherWrapper = this.parallelPutFileTransferStrategy.initializeCypherForEncryption();
+			log.debug("cypher initialized");
+		}
+	}
+
+	@Override
+	public ParallelTransferResult call() throws JargonException {
+		RandomAccessFile local = null;
+		try {
+			connect(parallelPutFileTransferStrategy);
+			log.debug("cookie written for output thread...calling put() to start read/write loop");
+			local = new RandomAccessFile(parallelPutFileTransferStrategy.getLocalFile(), "r");
+			put(local.getChannel());
+			log.debug("put operation completed");
+			return new ParallelTransferResult();
+		} catch (Throwable e) {
+			log.error("An exception occurred during a parallel file put operation", e);
+			throw new JargonException("error during parallel file put", e);
+		} finally {
+			log.info("closing channel, this eats any exceptions");
+			close();
+			if (local != null) {
+				try {
+					local.close();
+				} catch (IOException e) {
+				}
+			}
+		}
+	}
+
+	private void put(final FileChannel local) throws JargonException, IOException {
+		log.info("put()..");
+
+		while (true) {
+			int operation = readInt();
+			if (operation == DONE_OPR) {
+				log.info("done received");
+				break;
+			} else if (operation != PUT_OPR) {
+				throw new JargonException("unknown operation received");
+			}
+
+			readInt();
+			long offset = readLong();
+			long length = readLong();
+			log.info(">>>new offset:{}", offset);
+			log.info(">>>new length:{}", length);
+
+			/*
+			 * If restarting, maintain a reference to the offset
+			 */
+			if (parallelPutFileTransferStrategy.getFileRestartInfo() != null) {
+				parallelPutFileTransferStrategy.getRestartManager().updateOffsetForSegment(
+						parallelPutFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(),
+						getThreadNumber(), offset);
+			}
+
+			sendSegment(local, offset, length);
+		}
+	}
+
+	private void sendSegment(final FileChannel local, final long offset, final long length)
+			throws JargonException, IOException {
+		long position = offset;
+		long remaining = length;
+		long totalWrittenSinceLastRestartUpdate = 0;
+
+		while (remaining > 0) {
+			long written;
+			long copyBufferSize = parallelPutFileTransferStrategy.getCopyBufferSize();
+			if (parallelPutFileTransferStrategy.doEncryption()) {
+				written = encryptFromFile(local, position, (int) Math.min(copyBufferSize, remaining));
+				if (written <= 0) {
+					log.debug("no read...break out of read/write");
+					break;
+				}
+			} else {
+				written = transferFromFile(local, position, Math.min(copyBufferSize, remaining));
+			}
+
+			if (parallelPutFileTransferStrategy.getStreamingChecksum() != null) {
+				parallelPutFileTransferStrategy.getStreamingChecksum().segmentComplete(position, written);
+			}
+
+			position += written;
+			remaining -= written;
+			totalWrittenSinceLastRestartUpdate += written;
+			parallelPutFileTransferStrategy.recordBytesTransferred(written);
+
+			/*
+			 * Make an intra-file status call-back if a listener is configured
+			 */
+			if (parallelPutFileTransferStrategy.getConnectionProgressStatusListener() != null) {
+				parallelPutFileTransferStrategy.getConnectionProgressStatusListener()
+						.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForSend(written));
+			}
+
+			if (parallelPutFileTransferStrategy.getFileRestartInfo() != null
+					&& totalWrittenSinceLastRestartUpdate >= ConnectionConstants.MIN_FILE_RESTART_SIZE) {
+				parallelPutFileTransferStrategy.getRestartManager().updateLengthForSegment(
+						parallelPutFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(),
+						getThreadNumber(), totalWrittenSinceLastRestartUpdate);
+				totalWrittenSinceLastRestartUpdate = 0;
+			}
+		}
+
+		if (parallelPutFileTransferStrategy.getFileRestartInfo() != null && totalWrittenSinceLastRestartUpdate > 0) {
+			parallelPutFileTransferStrategy.getRestartManager().updateLengthForSegment(
+					parallelPutFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(), getThreadNumber(),
+					totalWrittenSinceLastRestartUpdate);
+		}
+	}
+
+	/**
+	 * Read a chunk of plain text at the given position and send it encrypted, as
+	 * a little endian length, the initialization vector, then the data
+	 *
+	 * @return {@code int} with the number of plain text bytes sent, or -1 at end
+	 *         of file
+	 */
+	private int encryptFromFile(final FileChannel local, final long position, final int size)
+			throws JargonException, IOException {
+		if (plainBuffer == null || plainBuffer.capacity() < size) {
+			plainBuffer = ByteBuffer.allocate(size);
+		}
+		plainBuffer.clear();
+		plainBuffer.limit(size);
+		int read = local.read(plainBuffer, position);
+		if (read <= 0) {
+			return -1;
+		}
+
+		EncryptionBuffer encryptedBuff = parallelEncryptionCipherWrapper
+				.encrypt(Arrays.copyOf(plainBuffer.array(), read));
+		writeInt(Integer.reverseBytes(
+				encryptedBuff.getEncryptedData().length + encryptedBuff.getInitializationVector().length));
+		writeFully(ByteBuffer.wrap(encryptedBuff.getInitializationVector()),
+				ByteBuffer.wrap(encryptedBuff.getEncryptedData()));
+		return read;
+	}
+
+}
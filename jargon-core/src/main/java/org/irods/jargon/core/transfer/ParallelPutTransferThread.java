@@ -73,16 +73,12 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 			log.info("opening socket to parallel transfer (high) port at port:{}",
 					parallelPutFileTransferStrategy.getPort());
 			Socket s = new Socket();
-			if (parallelPutFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize() > 0) {
-				s.setSendBufferSize(
-						parallelPutFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize()
-								* 1024);
+			if (parallelPutFileTransferStrategy.getSocketSendBufferSize() > 0) {
+				s.setSendBufferSize(parallelPutFileTransferStrategy.getSocketSendBufferSize());
 			}
 
-			if (parallelPutFileTransferStrategy.getPipelineConfiguration().getParallelTcpReceiveWindowSize() > 0) {
-				s.setReceiveBufferSize(
-						parallelPutFileTransferStrategy.getPipelineConfiguration().getParallelTcpReceiveWindowSize()
-								* 1024);
+			if (parallelPutFileTransferStrategy.getSocketReceiveBufferSize() > 0) {
+				s.setReceiveBufferSize(parallelPutFileTransferStrategy.getSocketReceiveBufferSize());
 			}
 
 			s.setPerformancePreferences(
@@ -102,7 +98,9 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 			// assume reuse, nodelay
 			s.setReuseAddress(true);
 			s.setTcpNoDelay(false);
+			long connectStart = System.nanoTime();
 			s.connect(address);
+			parallelPutFileTransferStrategy.recordConnectTime(System.nanoTime() - connectStart);
 			setS(s);
 			int inputBuffSize = this.parallelPutFileTransferStrategy.getJargonProperties()
 					.getInternalInputStreamBufferSize();
@@ -196,7 +194,7 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 		boolean done = false;
 		// c code - size_t buf_size = 2 * TRANS_BUF_SZ * sizeof( unsigned char
 		// );
-		buffer = new byte[parallelPutFileTransferStrategy.getJargonProperties().getParallelCopyBufferSize()];
+		buffer = new byte[parallelPutFileTransferStrategy.getCopyBufferSize()];
 		long currentOffset = 0;
 
 		try {
@@ -278,7 +276,7 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 		}
 	}
 
-	private void readWriteLoopForCurrentHeaderDirective(final byte[] buffer, final long length)
+	private void readWriteLoopForCurrentHeaderDirective(byte[] buffer, final long length)
 			throws IOException, JargonException {
 		int read = 0;
 		long totalRead = 0;
@@ -296,10 +294,13 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 
 				log.debug("read/write loop at top");
 
-				read = localRandomAccessFile.read(buffer, 0,
-						(int) Math.min(
-								parallelPutFileTransferStrategy.getJargonProperties().getParallelCopyBufferSize(),
-								transferLength));
+				int copyBufferSize = parallelPutFileTransferStrategy.getCopyBufferSize();
+				if (buffer.length < copyBufferSize) {
+					buffer = new byte[copyBufferSize];
+				}
+
+				long position = localRandomAccessFile.getFilePointer();
+				read = localRandomAccessFile.read(buffer, 0, (int) Math.min(copyBufferSize, transferLength));
 
 				log.debug("bytes read: {}", read);
 
@@ -307,6 +308,9 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 
 					totalRead += read;
 					transferLength -= read;
+					if (parallelPutFileTransferStrategy.getStreamingChecksum() != null) {
+						parallelPutFileTransferStrategy.getStreamingChecksum().update(position, buffer, 0, read);
+					}
 					log.debug("getting ready to write to iRODS, new txfr length:{}", transferLength);
 
 					/*
@@ -347,6 +351,7 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 					}
 
 					log.debug("wrote data to the buffer");
+					parallelPutFileTransferStrategy.recordBytesTransferred(read);
 					totalWritten += read;
 					totalWrittenSinceLastRestartUpdate += read;
 
@@ -0,0 +1,271 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers what parallel transfers to each host and resource achieved, and
+ * recommends the thread count, socket buffer size and copy buffer size for the
+ * next transfer there. One tuner is kept by the {@code IRODSSession}, and is
+ * consulted when {@code JargonProperties.isAdaptiveParallelTransfer()} is set.
+ * <p>
+ * The thread count is found by climbing from half the configured maximum:
+ * after the first measured transfer the tuner asks for half as many threads
+ * again, and keeps climbing while the aggregate throughput improves by more
+ * than a tenth, up to the configured maximum. If the first step up does not
+ * pay, the target cannot use more streams, so the tuner descends instead,
+ * dropping a third of the threads at a time while throughput stays within a
+ * tenth of the best seen. Once a step does not pay, it settles on the best
+ * count, and searches again only if throughput at that count later falls by
+ * half, as when the path to the host changes.
+ * <p>
+ * Socket buffers are sized to twice the bandwidth-delay product of one stream,
+ * using the time to connect a parallel socket as the round trip time. The copy
+ * buffer is sized to hold about ten milliseconds of one stream's data.
+ * <p>
+ * This is thread safe.
+ */
+public final class ParallelTransferTuner {
+
+	public static final Logger log = LoggerFactory.getLogger(ParallelTransferTuner.class);
+
+	/**
+	 * Thread ceiling when the configured maximum is 0, meaning no maximum
+	 */
+	public static final int DEFAULT_MAX_THREADS = 16;
+
+	static final int MIN_BUFFER_SIZE = 64 * 1024;
+	static final int MAX_COPY_BUFFER_SIZE = 8 * 1024 * 1024;
+	static final int MAX_SOCKET_BUFFER_SIZE = 16 * 1024 * 1024;
+	static final int MAX_TARGETS = 1024;
+
+	private final Map<String, TargetState> targets = new LinkedHashMap<String, TargetState>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<String, TargetState> eldest) {
+			return size() > MAX_TARGETS;
+		}
+	};
+
+	/**
+	 * Build the key under which transfers to a host and resource are remembered
+	 *
+	 * @param host
+	 *            {@code String} with the iRODS host
+	 * @param resource
+	 *            {@code String} with the resource, blank or {@code null} for the
+	 *            default resource
+	 * @return {@code String} with the key
+	 */
+	public static String key(final String host, final String resource) {
+		if (host == null || host.isEmpty()) {
+			throw new IllegalArgumentException("null or empty host");
+		}
+		return host + "/" + (resource == null ? "" : resource);
+	}
+
+	/**
+	 * Get the number of threads to request for a transfer
+	 *
+	 * @param key
+	 *            {@code String} from {@link #key(String, String)}
+	 * @param configuredMaxThreads
+	 *            {@code int} with the configured maximum, 0 for no maximum
+	 * @return {@code int} with the thread count to request, which is half the
+	 *         maximum until a transfer has been measured
+	 */
+	public synchronized int recommendThreads(final String key, final int configuredMaxThreads) {
+		TargetState state = targets.get(key);
+		if (state == null) {
+			return Math.max(1, ceiling(configuredMaxThreads) / 2);
+		}
+		return Math.min(state.nextThreads, ceiling(configuredMaxThreads));
+	}
+
+	/**
+	 * Get the learned settings for a host and resource
+	 *
+	 * @param key
+	 *            {@code String} from {@link #key(String, String)}
+	 * @return {@link ParallelTransferTuning}, or {@code null} if no transfer has
+	 *         been measured
+	 */
+	public synchronized ParallelTransferTuning getTuning(final String key) {
+		TargetState state = targets.get(key);
+		if (state == null) {
+			return null;
+		}
+		return new ParallelTransferTuning(state.nextThreads, state.socketBufferSize, state.copyBufferSize,
+				state.bestBytesPerSecond);
+	}
+
+	/**
+	 * Record a completed transfer and update the recommendations
+	 *
+	 * @param key
+	 *            {@code String} from {@link #key(String, String)}
+	 * @param numberOfThreads
+	 *            {@code int} with the threads the transfer used
+	 * @param bytes
+	 *            {@code long} with the bytes moved
+	 * @param elapsedNanos
+	 *            {@code long} with the duration of the transfer
+	 * @param roundTripNanos
+	 *            {@code long} with the round trip time estimate, or 0 if unknown
+	 * @param configuredMaxThreads
+	 *            {@code int} with the configured maximum, 0 for no maximum
+	 * @return {@link ParallelTransferTuning} with the updated settings
+	 */
+	public synchronized ParallelTransferTuning recordTransfer(final String key, final int numberOfThreads,
+			final long bytes, final long elapsedNanos, final long roundTripNanos, final int configuredMaxThreads) {
+		if (numberOfThreads <= 0 || bytes <= 0 || elapsedNanos <= 0) {
+			throw new IllegalArgumentException("threads, bytes and elapsed time must be positive");
+		}
+
+		long bytesPerSecond = (long) (bytes * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+		long perStream = bytesPerSecond / numberOfThreads;
+		int ceiling = ceiling(configuredMaxThreads);
+
+		TargetState state = targets.get(key);
+		if (state == null) {
+			state = new TargetState();
+			state.bestThreads = numberOfThreads;
+			state.bestBytesPerSecond = bytesPerSecond;
+			search(state, ceiling);
+			targets.put(key, state);
+		} else if (numberOfThreads != state.bestThreads) {
+			if (state.settled) {
+				// a transfer that started before the tuner settled
+				if (bytesPerSecond > state.bestBytesPerSecond + state.bestBytesPerSecond / 10) {
+					state.bestThreads = numberOfThreads;
+					state.bestBytesPerSecond = bytesPerSecond;
+					state.nextThreads = numberOfThreads;
+				}
+			} else if (stepPays(state, bytesPerSecond)) {
+				state.bestThreads = numberOfThreads;
+				state.bestBytesPerSecond = Math.max(state.bestBytesPerSecond, bytesPerSecond);
+				state.climbed = state.climbed || state.step > 0;
+				state.nextThreads = step(numberOfThreads, state.step, ceiling);
+				state.settled = state.nextThreads == numberOfThreads;
+			} else if (state.step > 0 && !state.climbed) {
+				// more streams did not help, see whether fewer do as well
+				state.step = -1;
+				state.nextThreads = step(state.bestThreads, state.step, ceiling);
+				state.settled = state.nextThreads == state.bestThreads;
+			} else {
+				// a step that did not pay
+				state.nextThreads = state.bestThreads;
+				state.settled = true;
+			}
+		} else if (bytesPerSecond < state.bestBytesPerSecond / 2) {
+			log.info("throughput to {} has fallen to {} bytes/s, tuning again", key, bytesPerSecond);
+			state.bestBytesPerSecond = bytesPerSecond;
+			search(state, ceiling);
+		} else {
+			state.bestBytesPerSecond = (state.bestBytesPerSecond * 3 + bytesPerSecond) / 4;
+			state.nextThreads = numberOfThreads;
+			state.settled = true;
+		}
+
+		state.copyBufferSize = copyBufferSizeFor(perStream);
+		if (roundTripNanos > 0) {
+			state.socketBufferSize = socketBufferSizeFor(perStream, roundTripNanos);
+		}
+
+		ParallelTransferTuning tuning = new ParallelTransferTuning(state.nextThreads, state.socketBufferSize,
+				state.copyBufferSize, state.bestBytesPerSecond);
+		log.info("transfer to {} with {} threads ran at {} bytes/s, now {}", key, numberOfThreads, bytesPerSecond,
+				tuning);
+		return tuning;
+	}
+
+	/**
+	 * Forget everything learned, as when the network changes
+	 */
+	public synchronized void clear() {
+		targets.clear();
+	}
+
+	/**
+	 * Size a copy buffer to hold about ten milliseconds of one stream's data
+	 *
+	 * @param bytesPerSecondPerStream
+	 *            {@code long} with the throughput of one stream
+	 * @return {@code int} with the copy buffer size in bytes
+	 */
+	static int copyBufferSizeFor(final long bytesPerSecondPerStream) {
+		return clampAndRound(bytesPerSecondPerStream / 100, MAX_COPY_BUFFER_SIZE);
+	}
+
+	/**
+	 * Size a socket buffer to twice the bandwidth-delay product of one stream
+	 *
+	 * @param bytesPerSecondPerStream
+	 *            {@code long} with the throughput of one stream
+	 * @param roundTripNanos
+	 *            {@code long} with the round trip time
+	 * @return {@code int} with the socket buffer size in bytes
+	 */
+	static int socketBufferSizeFor(final long bytesPerSecondPerStream, final long roundTripNanos) {
+		double bandwidthDelay = bytesPerSecondPerStream * (double) roundTripNanos / TimeUnit.SECONDS.toNanos(1);
+		return clampAndRound((long) (2 * bandwidthDelay), MAX_SOCKET_BUFFER_SIZE);
+	}
+
+	private static int clampAndRound(final long size, final int max) {
+		long rounded = (size + MIN_BUFFER_SIZE - 1) / MIN_BUFFER_SIZE * MIN_BUFFER_SIZE;
+		return (int) Math.max(MIN_BUFFER_SIZE, Math.min(max, rounded));
+	}
+
+	/**
+	 * Start a search from the best count, climbing unless already at the ceiling
+	 */
+	private static void search(final TargetState state, final int ceiling) {
+		state.climbed = false;
+		state.step = 1;
+		state.nextThreads = step(state.bestThreads, state.step, ceiling);
+		if (state.nextThreads == state.bestThreads) {
+			state.step = -1;
+			state.nextThreads = step(state.bestThreads, state.step, ceiling);
+		}
+		state.settled = state.nextThreads == state.bestThreads;
+	}
+
+	/**
+	 * A step up pays if throughput improves by more than a tenth, a step down if
+	 * it stays within a tenth of the best seen
+	 */
+	private static boolean stepPays(final TargetState state, final long bytesPerSecond) {
+		if (state.step > 0) {
+			return bytesPerSecond > state.bestBytesPerSecond + state.bestBytesPerSecond / 10;
+		}
+		return bytesPerSecond >= state.bestBytesPerSecond - state.bestBytesPerSecond / 10;
+	}
+
+	private static int step(final int numberOfThreads, final int step, final int ceiling) {
+		if (step > 0) {
+			return Math.min(ceiling, numberOfThreads + Math.max(1, numberOfThreads / 2));
+		}
+		return Math.max(1, numberOfThreads - Math.max(1, numberOfThreads / 3));
+	}
+
+	private static int ceiling(final int configuredMaxThreads) {
+		return configuredMaxThreads > 0 ? configuredMaxThreads : DEFAULT_MAX_THREADS;
+	}
+
+	private static final class TargetState {
+		private int bestThreads;
+		private long bestBytesPerSecond;
+		private int nextThreads;
+		private boolean settled;
+		private int step;
+		private boolean climbed;
+		private int socketBufferSize = 0;
+		private int copyBufferSize;
+	}
+
+}
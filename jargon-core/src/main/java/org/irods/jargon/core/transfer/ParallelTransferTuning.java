@@ -0,0 +1,76 @@
+package org.irods.jargon.core.transfer;
+
+/**
+ * Settings learned for parallel transfers to one host and resource, see
+ * {@link ParallelTransferTuner}. This is an immutable value.
+ */
+public final class ParallelTransferTuning {
+
+	private final int numberOfThreads;
+	private final int socketBufferSize;
+	private final int copyBufferSize;
+	private final long bytesPerSecond;
+
+	/**
+	 * Constructor
+	 *
+	 * @param numberOfThreads
+	 *            {@code int} with the number of threads to ask iRODS for
+	 * @param socketBufferSize
+	 *            {@code int} with the send and receive buffer size in bytes for
+	 *            each parallel socket, or 0 to use the configured window sizes
+	 * @param copyBufferSize
+	 *            {@code int} with the size in bytes of each copy between socket
+	 *            and file
+	 * @param bytesPerSecond
+	 *            {@code long} with the best aggregate throughput seen
+	 */
+	public ParallelTransferTuning(final int numberOfThreads, final int socketBufferSize, final int copyBufferSize,
+			final long bytesPerSecond) {
+		this.numberOfThreads = numberOfThreads;
+		this.socketBufferSize = socketBufferSize;
+		this.copyBufferSize = copyBufferSize;
+		this.bytesPerSecond = bytesPerSecond;
+	}
+
+	/**
+	 * @return {@code int} with the number of threads to ask iRODS for
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * @return {@code int} with the send and receive buffer size in bytes for each
+	 *         parallel socket, or 0 to use the configured window sizes
+	 */
+	public int getSocketBufferSize() {
+		return socketBufferSize;
+	}
+
+	/**
+	 * @return {@code int} with the size in bytes of each copy between socket and
+	 *         file
+	 */
+	public int getCopyBufferSize() {
+		return copyBufferSize;
+	}
+
+	/**
+	 * @return {@code long} with the best aggregate throughput seen, in bytes per
+	 *         second
+	 */
+	public long getBytesPerSecond() {
+		return bytesPerSecond;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("ParallelTransferTuning [numberOfThreads=").append(numberOfThreads)
+				.append(", socketBufferSize=").append(socketBufferSize).append(", copyBufferSize=")
+				.append(copyBufferSize).append(", bytesPerSecond=").append(bytesPerSecond).append("]");
+		return builder.toString();
+	}
+
+}
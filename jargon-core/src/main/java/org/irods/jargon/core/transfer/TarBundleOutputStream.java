@@ -0,0 +1,271 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes local files as a POSIX (ustar) tar archive to an underlying stream as
+ * they are added, so a bundle can be sent to iRODS without first being staged
+ * on local disk. Names longer than the ustar header allows are carried in a
+ * pax extended header. Only regular files are written, their directories are
+ * created from their paths on extraction. The archive is only written through
+ * {@link #putFile(String, File, long)}, so this is not itself a stream.
+ * <p>
+ * This is not thread safe.
+ */
+public final class TarBundleOutputStream implements Closeable {
+
+	/**
+	 * Size of a tar block, headers and data are padded to this
+	 */
+	public static final int BLOCK_SIZE = 512;
+
+	/**
+	 * Largest entry size that fits in the ustar size field
+	 */
+	public static final long MAX_ENTRY_SIZE = 077777777777L;
+
+	private static final int NAME_LENGTH = 100;
+	private static final int PREFIX_LENGTH = 155;
+	private static final byte TYPE_FILE = '0';
+	private static final byte TYPE_PAX_HEADER = 'x';
+
+	private final OutputStream out;
+	private final byte[] header = new byte[BLOCK_SIZE];
+	private final byte[] copyBuffer;
+	private boolean finished = false;
+
+	/**
+	 * Create a tar stream over the given stream
+	 *
+	 * @param out
+	 *            {@code OutputStream} that receives the archive
+	 * @param copyBufferSize
+	 *            {@code int} with the size of the buffer used to copy file data
+	 */
+	public TarBundleOutputStream(final OutputStream out, final int copyBufferSize) {
+		if (out == null) {
+			throw new IllegalArgumentException("null out");
+		}
+		if (copyBufferSize <= 0) {
+			throw new IllegalArgumentException("copyBufferSize must be greater than zero");
+		}
+		this.out = out;
+		copyBuffer = new byte[copyBufferSize];
+	}
+
+	/**
+	 * Get the number of bytes the archive will take for a file of the given size
+	 * and name, including its header and padding
+	 *
+	 * @param entryName
+	 *            {@code String} with the name of the entry in the archive
+	 * @param length
+	 *            {@code long} with the length of the file
+	 * @return {@code long} with the archived size
+	 */
+	public static long archivedSize(final String entryName, final long length) {
+		long size = BLOCK_SIZE + padded(length);
+		if (splitName(entryName.getBytes(StandardCharsets.UTF_8)) < 0) {
+			size += BLOCK_SIZE + padded(paxRecord("path", entryName).length);
+		}
+		return size;
+	}
+
+	/**
+	 * Add a file to the archive, copying its content from the local file
+	 *
+	 * @param entryName
+	 *            {@code String} with the relative path of the file in the archive,
+	 *            using {@code /} as the separator
+	 * @param file
+	 *            {@code File} with the local file
+	 * @param length
+	 *            {@code long} with the length recorded in the header, which the
+	 *            file must still have when it is copied
+	 * @throws IOException
+	 *             if the file cannot be read, or is not the given length
+	 */
+	public void putFile(final String entryName, final File file, final long length) throws IOException {
+		if (entryName == null || entryName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty entryName");
+		}
+
+		if (file == null) {
+			throw new IllegalArgumentException("null file");
+		}
+
+		if (length < 0 || length > MAX_ENTRY_SIZE) {
+			throw new IllegalArgumentException("file length cannot be stored in a tar header:" + length);
+		}
+
+		InputStream in = new FileInputStream(file);
+		try {
+			writeHeader(entryName, TYPE_FILE, 0644, length, file.lastModified());
+			long remaining = length;
+			while (remaining > 0) {
+				int read = in.read(copyBuffer, 0, (int) Math.min(copyBuffer.length, remaining));
+				if (read < 0) {
+					throw new IOException("file is shorter than when it was added to the bundle:" + file);
+				}
+				out.write(copyBuffer, 0, read);
+				remaining -= read;
+			}
+			if (in.read() >= 0) {
+				throw new IOException("file is longer than when it was added to the bundle:" + file);
+			}
+			pad(length);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Write the end of archive marker. The underlying stream is left open.
+	 *
+	 * @throws IOException
+	 *             on a write error
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		Arrays.fill(header, (byte) 0);
+		writeBlock(header);
+		writeBlock(header);
+		finished = true;
+	}
+
+	/**
+	 * Finish the archive, if not already done, and close the underlying stream
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			out.close();
+		}
+	}
+
+	private void writeHeader(final String entryName, final byte type, final int mode, final long size,
+			final long lastModified) throws IOException {
+		byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+		int split = splitName(name);
+		if (split < 0) {
+			byte[] record = paxRecord("path", entryName);
+			fillHeader(truncate(name, NAME_LENGTH), null, TYPE_PAX_HEADER, 0644, record.length, lastModified);
+			writeBlock(header);
+			out.write(record);
+			pad(record.length);
+			fillHeader(truncate(name, NAME_LENGTH), null, type, mode, size, lastModified);
+		} else if (split == 0) {
+			fillHeader(name, null, type, mode, size, lastModified);
+		} else {
+			fillHeader(Arrays.copyOfRange(name, split + 1, name.length), Arrays.copyOfRange(name, 0, split), type,
+					mode, size, lastModified);
+		}
+		writeBlock(header);
+	}
+
+	private void fillHeader(final byte[] name, final byte[] prefix, final byte type, final int mode, final long size,
+			final long lastModified) {
+		Arrays.fill(header, (byte) 0);
+		System.arraycopy(name, 0, header, 0, name.length);
+		putOctal(mode, 100, 8);
+		putOctal(0, 108, 8);
+		putOctal(0, 116, 8);
+		putOctal(size, 124, 12);
+		putOctal(Math.max(0, lastModified / 1000), 136, 12);
+		header[156] = type;
+		System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+		header[263] = '0';
+		header[264] = '0';
+		if (prefix != null) {
+			System.arraycopy(prefix, 0, header, 345, prefix.length);
+		}
+
+		// checksum is computed with its own field as spaces
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		long checksum = 0;
+		for (byte b : header) {
+			checksum += b & 0xff;
+		}
+		putOctal(checksum, 148, 7);
+		header[155] = ' ';
+	}
+
+	/**
+	 * Write a number as zero padded octal, followed by a NUL, in a field
+	 */
+	private void putOctal(final long value, final int offset, final int length) {
+		String octal = Long.toOctalString(value);
+		int digits = length - 1;
+		int pad = digits - octal.length();
+		for (int i = 0; i < pad; i++) {
+			header[offset + i] = '0';
+		}
+		for (int i = 0; i < octal.length(); i++) {
+			header[offset + pad + i] = (byte) octal.charAt(i);
+		}
+		header[offset + digits] = 0;
+	}
+
+	private void writeBlock(final byte[] block) throws IOException {
+		out.write(block, 0, BLOCK_SIZE);
+	}
+
+	private void pad(final long length) throws IOException {
+		int padding = (int) (padded(length) - length);
+		if (padding > 0) {
+			Arrays.fill(header, (byte) 0);
+			out.write(header, 0, padding);
+		}
+	}
+
+	private static long padded(final long length) {
+		return (length + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE;
+	}
+
+	/**
+	 * Decide how a name fits the ustar header
+	 *
+	 * @return {@code int} that is 0 if the name fits as is, the index of the
+	 *         {@code /} that splits it into prefix and name, or -1 if it needs a
+	 *         pax header
+	 */
+	static int splitName(final byte[] name) {
+		if (name.length <= NAME_LENGTH) {
+			return 0;
+		}
+		for (int i = Math.min(PREFIX_LENGTH, name.length - 1); i > 0; i--) {
+			if (name[i] == '/' && name.length - i - 1 <= NAME_LENGTH && name.length - i - 1 > 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static byte[] truncate(final byte[] name, final int length) {
+		return name.length <= length ? name : Arrays.copyOf(name, length);
+	}
+
+	/**
+	 * Build a pax record, whose leading length counts its own digits
+	 */
+	static byte[] paxRecord(final String key, final String value) {
+		int bodyLength = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8).length;
+		int length = bodyLength + String.valueOf(bodyLength).length();
+		if (String.valueOf(length).length() != String.valueOf(bodyLength).length()) {
+			length = bodyLength + String.valueOf(length).length();
+		}
+		return (length + " " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -12,6 +12,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.URISyntaxException;
@@ -321,6 +322,9 @@ public class LocalFileUtils {
 		try {
 			complete = MessageDigest.getInstance("SHA-256");
 			do {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new InterruptedIOException("interrupted computing checksum");
+				}
 				numRead = in.read(buffer);
 				if (numRead > 0) {
 					complete.update(buffer, 0, numRead);
@@ -376,6 +380,9 @@ public class LocalFileUtils {
 		try {
 			complete = MessageDigest.getInstance("MD5");
 			do {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new InterruptedIOException("interrupted computing checksum");
+				}
 				numRead = in.read(buffer);
 				if (numRead > 0) {
 					complete.update(buffer, 0, numRead);
@@ -1,5 +1,11 @@
 package org.irods.jargon.core.checksum;
 
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.junit.Assert;
 import org.junit.Test;
@@ -36,4 +42,45 @@ public class LocalChecksumComputerFactoryImplTest {
 
 	}
 
+	@Test
+	public void testInstanceForConfiguredStrategy() throws Exception {
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl(LocalChecksumStrategyEnum.MAPPED,
+				2);
+		MappedLocalChecksumComputerStrategy actual = (MappedLocalChecksumComputerStrategy) factory
+				.instance(ChecksumEncodingEnum.SHA256);
+		Assert.assertNotNull(actual);
+		ReadAheadLocalChecksumComputerStrategy readAhead = (ReadAheadLocalChecksumComputerStrategy) factory
+				.instance(ChecksumEncodingEnum.MD5, LocalChecksumStrategyEnum.READ_AHEAD);
+		Assert.assertNotNull(readAhead);
+	}
+
+	@Test
+	public void testComputeChecksumsForLocalFiles() throws Exception {
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl(
+				LocalChecksumStrategyEnum.READ_AHEAD, 2);
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < 40; i++) {
+			paths.add(ReadAheadChecksumComputeStrategyTest.createLocalFile(i * 1000).getAbsolutePath());
+		}
+
+		Map<String, ChecksumValue> actual = factory.computeChecksumsForLocalFiles(paths, ChecksumEncodingEnum.MD5);
+		Assert.assertEquals("should have every file", paths.size(), actual.size());
+		for (String path : paths) {
+			Assert.assertEquals("wrong checksum for " + path,
+					new MD5LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(path)
+							.getChecksumStringValue(),
+					actual.get(path).getChecksumStringValue());
+			new File(path).delete();
+		}
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void testComputeChecksumsForMissingLocalFile() throws Exception {
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl(
+				LocalChecksumStrategyEnum.READ_AHEAD, 2);
+		List<String> paths = new ArrayList<String>();
+		paths.add("/no/such/dir/noSuchFile.dat");
+		factory.computeChecksumsForLocalFiles(paths, ChecksumEncodingEnum.MD5);
+	}
+
 }
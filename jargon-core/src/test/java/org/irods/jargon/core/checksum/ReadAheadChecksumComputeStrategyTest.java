@@ -0,0 +1,97 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReadAheadChecksumComputeStrategyTest {
+
+	private static final int REGION_SIZE = 64 * 1024;
+
+	private static ExecutorService executor;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		executor = Executors.newCachedThreadPool();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testMatchesStreamStrategyAcrossRegionBoundaries() throws Exception {
+		int[] lengths = { 0, 1, REGION_SIZE - 1, REGION_SIZE, REGION_SIZE + 1, 5 * REGION_SIZE,
+				7 * REGION_SIZE + 123 };
+		for (int length : lengths) {
+			File localFile = createLocalFile(length);
+			String path = localFile.getAbsolutePath();
+			ChecksumValue md5 = new MD5LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(path);
+			ChecksumValue sha256 = new SHA256LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(path);
+
+			for (ExecutorService readAheadExecutor : new ExecutorService[] { executor, null }) {
+				assertSameChecksum("read ahead md5 length " + length, md5, new ReadAheadLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.MD5, readAheadExecutor, REGION_SIZE)
+								.computeChecksumValueForLocalFile(path));
+				assertSameChecksum("mapped md5 length " + length, md5, new MappedLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.MD5, readAheadExecutor, REGION_SIZE)
+								.computeChecksumValueForLocalFile(path));
+				assertSameChecksum("read ahead sha256 length " + length, sha256,
+						new ReadAheadLocalChecksumComputerStrategy(ChecksumEncodingEnum.SHA256, readAheadExecutor,
+								REGION_SIZE).computeChecksumValueForLocalFile(path));
+				assertSameChecksum("mapped sha256 length " + length, sha256, new MappedLocalChecksumComputerStrategy(
+						ChecksumEncodingEnum.SHA256, readAheadExecutor, REGION_SIZE)
+								.computeChecksumValueForLocalFile(path));
+			}
+			localFile.delete();
+		}
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void testMissingFile() throws Exception {
+		new ReadAheadLocalChecksumComputerStrategy(ChecksumEncodingEnum.MD5, executor)
+				.computeChecksumValueForLocalFile("/no/such/dir/noSuchFile.dat");
+	}
+
+	@Test(expected = ChecksumMethodUnavailableException.class)
+	public void testUnsupportedEncoding() throws Exception {
+		new MappedLocalChecksumComputerStrategy(ChecksumEncodingEnum.STRONG, executor);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRegionSizeNotPowerOfTwo() throws Exception {
+		new ReadAheadLocalChecksumComputerStrategy(ChecksumEncodingEnum.MD5, executor, 1000);
+	}
+
+	static File createLocalFile(final int length) throws Exception {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		File localFile = File.createTempFile("readAheadChecksum", ".dat");
+		localFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(localFile);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+		return localFile;
+	}
+
+	private static void assertSameChecksum(final String message, final ChecksumValue expected,
+			final ChecksumValue actual) {
+		Assert.assertEquals(message, expected.getChecksumStringValue(), actual.getChecksumStringValue());
+		Assert.assertEquals(message, expected.getChecksumTransmissionFormat(), actual.getChecksumTransmissionFormat());
+		Assert.assertEquals(message, expected.getHexChecksumValue(), actual.getHexChecksumValue());
+	}
+
+}
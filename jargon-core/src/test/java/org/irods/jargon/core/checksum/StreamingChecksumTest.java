@@ -0,0 +1,201 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class StreamingChecksumTest {
+
+	private static final int FILE_LENGTH = 3 * 1024 * 1024 + 17;
+
+	private static byte[] data;
+	private static File localFile;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		data = new byte[FILE_LENGTH];
+		new Random(42).nextBytes(data);
+		localFile = File.createTempFile("streamingChecksum", ".dat");
+		localFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(localFile);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testInOrderMatchesLocalStrategies() throws Exception {
+		StreamingChecksum md5 = StreamingChecksum.instance(ChecksumEncodingEnum.MD5);
+		StreamingChecksum sha256 = StreamingChecksum.instance(ChecksumEncodingEnum.SHA256);
+		for (int offset = 0; offset < data.length; offset += 65536) {
+			int length = Math.min(65536, data.length - offset);
+			md5.update(data, offset, length);
+			sha256.update(data, offset, length);
+		}
+
+		assertSameChecksum(new MD5LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(
+				localFile.getAbsolutePath()), md5.finish(data.length));
+		assertSameChecksum(new SHA256LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(
+				localFile.getAbsolutePath()), sha256.finish(data.length));
+	}
+
+	@Test
+	public void testOutOfOrderSegmentsAreReadBack() throws Exception {
+		StreamingChecksum checksum = StreamingChecksum.instanceForLocalFile(ChecksumEncodingEnum.SHA256, localFile,
+				0L);
+		int third = data.length / 3;
+
+		// segments as three parallel threads would deliver them, the first last
+		checksum.update(2 * third, data, 2 * third, data.length - 2 * third);
+		checksum.segmentComplete(third, third);
+		Assert.assertEquals("nothing contiguous yet", 0, checksum.getDigestedLength());
+		checksum.update(0, data, 0, third);
+		Assert.assertEquals("all should be digested", data.length, checksum.getDigestedLength());
+		Assert.assertEquals("later segments should be read back", data.length - third,
+				checksum.getReadBackLength());
+
+		assertSameChecksum(new SHA256LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(
+				localFile.getAbsolutePath()), checksum.finish(data.length));
+	}
+
+	@Test
+	public void testOutOfOrderSegmentsAreHeldUnderBound() throws Exception {
+		StreamingChecksum checksum = StreamingChecksum.instanceForLocalFile(ChecksumEncodingEnum.MD5, localFile,
+				1024 * 1024);
+		int segment = 512 * 1024;
+
+		// the two segments after the first are held, the rest do not fit and are
+		// read back
+		for (int offset = segment; offset < data.length; offset += segment) {
+			checksum.update(offset, data, offset, Math.min(segment, data.length - offset));
+		}
+		Assert.assertEquals("nothing contiguous yet", 0, checksum.getDigestedLength());
+		checksum.update(0, data, 0, segment);
+		Assert.assertEquals("all should be digested", data.length, checksum.getDigestedLength());
+		Assert.assertEquals("only segments over the bound should be read back", data.length - 3 * segment,
+				checksum.getReadBackLength());
+
+		assertSameChecksum(new MD5LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(
+				localFile.getAbsolutePath()), checksum.finish(data.length));
+	}
+
+	@Test
+	public void testConcurrentSegments() throws Exception {
+		final StreamingChecksum checksum = StreamingChecksum.instanceForLocalFile(ChecksumEncodingEnum.SHA256,
+				localFile, 1024 * 1024);
+		final int threads = 4;
+		final int chunk = 8192;
+		final int perThread = (data.length + threads - 1) / threads;
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		List<Thread> running = new ArrayList<Thread>();
+		for (int i = 0; i < threads; i++) {
+			final int start = i * perThread;
+			final int end = Math.min(data.length, start + perThread);
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int offset = start; offset < end; offset += chunk) {
+							checksum.update(offset, data, offset, Math.min(chunk, end - offset));
+						}
+					} catch (Throwable e) {
+						errors.add(e);
+					}
+				}
+			});
+			thread.start();
+			running.add(thread);
+		}
+		for (Thread thread : running) {
+			thread.join();
+		}
+
+		Assert.assertTrue("no thread should fail:" + errors, errors.isEmpty());
+		assertSameChecksum(new SHA256LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(
+				localFile.getAbsolutePath()), checksum.finish(data.length));
+	}
+
+	@Test
+	public void testAdjacentAndOverlappingSegmentsMerge() throws Exception {
+		StreamingChecksum checksum = StreamingChecksum.instanceForLocalFile(ChecksumEncodingEnum.MD5, localFile);
+		checksum.segmentComplete(300, 100);
+		checksum.segmentComplete(100, 100);
+		checksum.segmentComplete(200, 150);
+		checksum.segmentComplete(400, data.length - 400);
+		Assert.assertEquals("nothing contiguous yet", 0, checksum.getDigestedLength());
+		checksum.update(0, data, 0, 100);
+		Assert.assertEquals("all should be digested", data.length, checksum.getDigestedLength());
+
+		assertSameChecksum(new MD5LocalChecksumComputerStrategy().computeChecksumValueForLocalFile(
+				localFile.getAbsolutePath()), checksum.finish(data.length));
+	}
+
+	@Test(expected = JargonException.class)
+	public void testFinishWithGap() throws Exception {
+		StreamingChecksum checksum = StreamingChecksum.instanceForLocalFile(ChecksumEncodingEnum.MD5, localFile);
+		checksum.update(0, data, 0, 100);
+		checksum.segmentComplete(200, 100);
+		checksum.finish(300);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testOutOfOrderWithoutLocalFile() throws Exception {
+		StreamingChecksum checksum = StreamingChecksum.instance(ChecksumEncodingEnum.MD5);
+		checksum.update(100, data, 100, 100);
+	}
+
+	@Test
+	public void testWrappedStreams() throws Exception {
+		StreamingChecksum written = StreamingChecksum.instance(ChecksumEncodingEnum.MD5);
+		OutputStream out = written.wrap(new ByteArrayOutputStream());
+		out.write(data, 0, 1000);
+		out.write(data[1000]);
+		out.write(data, 1001, data.length - 1001);
+		out.close();
+
+		StreamingChecksum read = StreamingChecksum.instance(ChecksumEncodingEnum.MD5);
+		InputStream in = read.wrap(new ByteArrayInputStream(data));
+		byte[] buffer = new byte[8192];
+		Assert.assertEquals(data[0] & 0xff, in.read());
+		while (in.read(buffer) > 0) {
+			// digesting
+		}
+		in.close();
+
+		assertSameChecksum(written.finish(data.length), read.finish(data.length));
+	}
+
+	@Test(expected = ChecksumMethodUnavailableException.class)
+	public void testUnsupportedEncoding() throws Exception {
+		StreamingChecksum.instance(ChecksumEncodingEnum.STRONG);
+	}
+
+	private static void assertSameChecksum(final ChecksumValue expected, final ChecksumValue actual) {
+		Assert.assertEquals("wrong encoding", expected.getChecksumEncoding(), actual.getChecksumEncoding());
+		Assert.assertEquals("wrong checksum", expected.getChecksumStringValue(), actual.getChecksumStringValue());
+		Assert.assertEquals("wrong transmission format", expected.getChecksumTransmissionFormat(),
+				actual.getChecksumTransmissionFormat());
+		Assert.assertEquals("wrong hex", expected.getHexChecksumValue(), actual.getHexChecksumValue());
+	}
+
+}
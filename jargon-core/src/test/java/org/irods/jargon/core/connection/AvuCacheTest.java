@@ -0,0 +1,224 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.query.MetaDataAndDomainData;
+import org.irods.jargon.core.query.MetaDataAndDomainData.MetadataDomain;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AvuCacheTest {
+
+	private static IRODSAccount account;
+	private static IRODSAccount otherAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		account = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		otherAccount = IRODSAccount.instance("host", 1247, "other", "password", "/zone/home/other", "zone", "");
+	}
+
+	@Test
+	public void testHitReturnsCopyUntilExpired() throws Exception {
+		FakeClockAvuCache target = new FakeClockAvuCache(100, 1000, 5000L);
+		target.cache(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt",
+				avus("10", "/zone/home/user/file.txt", 2));
+
+		List<MetaDataAndDomainData> actual = target.retrieve(account, MetadataDomain.DATA, "10",
+				"/zone/home/user/file.txt");
+		Assert.assertNotNull("should be cached", actual);
+		Assert.assertEquals(2, actual.size());
+		actual.clear();
+		Assert.assertEquals("cached list should not be changed by the caller", 2,
+				target.retrieve(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt").size());
+
+		target.now += 5000L;
+		Assert.assertNull("should have expired",
+				target.retrieve(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt"));
+		Assert.assertEquals(2L, target.getHits());
+		Assert.assertEquals(1L, target.getMisses());
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testNoExpiryWhenTtlZero() throws Exception {
+		FakeClockAvuCache target = new FakeClockAvuCache(100, 1000, 0L);
+		target.cache(account, MetadataDomain.COLLECTION, "20", "/zone/home/user/dir",
+				new ArrayList<MetaDataAndDomainData>());
+
+		target.now += 1000000000L;
+		List<MetaDataAndDomainData> actual = target.retrieve(account, MetadataDomain.COLLECTION, "20",
+				"/zone/home/user/dir");
+		Assert.assertNotNull("an object without AVUs should be kept too", actual);
+		Assert.assertTrue(actual.isEmpty());
+	}
+
+	@Test
+	public void testResultsAreKeptForEachAccount() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		target.cache(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt",
+				avus("10", "/zone/home/user/file.txt", 1));
+		Assert.assertNull("other user should not see the AVUs",
+				target.retrieve(otherAccount, MetadataDomain.DATA, "10", "/zone/home/user/file.txt"));
+	}
+
+	@Test
+	public void testRenamedObjectIsNotCached() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		target.cache(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt",
+				avus("10", "/zone/home/user/file.txt", 1));
+		Assert.assertNull("old path should not be answered for the new one",
+				target.retrieve(account, MetadataDomain.DATA, "10", "/zone/home/user/renamed.txt"));
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testFirstPageOfLongerResultNotCached() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		List<MetaDataAndDomainData> partial = avus("10", "/zone/home/user/file.txt", 2);
+		partial.get(1).setLastResult(false);
+		target.cache(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt", partial);
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testInvalidateByIdAndNameForAllAccounts() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		target.cache(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt",
+				avus("10", "/zone/home/user/file.txt", 1));
+		target.cache(otherAccount, MetadataDomain.DATA, "10", "/zone/home/user/file.txt",
+				avus("10", "/zone/home/user/file.txt", 1));
+		target.cache(account, MetadataDomain.COLLECTION, "10", "/zone/home/user",
+				avus("10", "/zone/home/user", 1));
+		target.cache(account, MetadataDomain.COLLECTION, "20", "/zone/home/user/dir",
+				avus("20", "/zone/home/user/dir", 3));
+
+		target.invalidate(MetadataDomain.DATA, "10");
+		target.invalidateName(MetadataDomain.COLLECTION, "/zone/home/user/dir");
+
+		Assert.assertNull(target.retrieve(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt"));
+		Assert.assertNull(target.retrieve(otherAccount, MetadataDomain.DATA, "10", "/zone/home/user/file.txt"));
+		Assert.assertNull(target.retrieve(account, MetadataDomain.COLLECTION, "20", "/zone/home/user/dir"));
+		Assert.assertNotNull("same id in another domain should be kept",
+				target.retrieve(account, MetadataDomain.COLLECTION, "10", "/zone/home/user"));
+		Assert.assertEquals(3L, target.getInvalidations());
+		Assert.assertEquals(1L, target.getAvuCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDroppedByCount() throws Exception {
+		AvuCache target = new AvuCache(2, 1000, 5000L);
+		target.cache(account, MetadataDomain.DATA, "1", "/zone/a", avus("1", "/zone/a", 1));
+		target.cache(account, MetadataDomain.DATA, "2", "/zone/b", avus("2", "/zone/b", 1));
+		target.retrieve(account, MetadataDomain.DATA, "1", "/zone/a");
+		target.cache(account, MetadataDomain.DATA, "3", "/zone/c", avus("3", "/zone/c", 1));
+
+		Assert.assertNotNull("recently used should be kept",
+				target.retrieve(account, MetadataDomain.DATA, "1", "/zone/a"));
+		Assert.assertNull("least recently used should be dropped",
+				target.retrieve(account, MetadataDomain.DATA, "2", "/zone/b"));
+		Assert.assertNotNull(target.retrieve(account, MetadataDomain.DATA, "3", "/zone/c"));
+		Assert.assertEquals(1L, target.getEvictions());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDroppedByAvus() throws Exception {
+		AvuCache target = new AvuCache(100, 5, 5000L);
+		target.cache(account, MetadataDomain.DATA, "1", "/zone/a", avus("1", "/zone/a", 3));
+		target.cache(account, MetadataDomain.DATA, "2", "/zone/b", avus("2", "/zone/b", 3));
+		target.cache(account, MetadataDomain.DATA, "3", "/zone/c", avus("3", "/zone/c", 6));
+
+		Assert.assertEquals("too many AVUs for one object should not be kept", 1, target.size());
+		Assert.assertNotNull(target.retrieve(account, MetadataDomain.DATA, "2", "/zone/b"));
+		Assert.assertEquals(3L, target.getAvuCount());
+	}
+
+	@Test
+	public void testCacheAllGroupsByObject() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		List<MetaDataAndDomainData> rows = new ArrayList<MetaDataAndDomainData>();
+		rows.addAll(avus("1", "/zone/dir/a", 2));
+		rows.addAll(avus("2", "/zone/dir/b", 1));
+		rows.get(0).setLastResult(false);
+
+		Assert.assertEquals(2, target.cacheAll(account, MetadataDomain.DATA, rows));
+		Assert.assertEquals(2L, target.getWarmed());
+		Assert.assertEquals(2, target.retrieve(account, MetadataDomain.DATA, "1", "/zone/dir/a").size());
+		Assert.assertEquals(1, target.retrieve(account, MetadataDomain.DATA, "2", "/zone/dir/b").size());
+	}
+
+	@Test
+	public void testCacheAllSetsPagingForEachObject() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		List<MetaDataAndDomainData> rows = new ArrayList<MetaDataAndDomainData>();
+		rows.addAll(avus("1", "/zone/dir/a", 2));
+		rows.addAll(avus("2", "/zone/dir/b", 1));
+		// as returned by one page of a longer query over the collection
+		for (int i = 0; i < rows.size(); i++) {
+			rows.get(i).setCount(i + 1);
+			rows.get(i).setLastResult(false);
+			rows.get(i).setTotalRecords(500);
+		}
+
+		target.cacheAll(account, MetadataDomain.DATA, rows);
+		List<MetaDataAndDomainData> actual = target.retrieve(account, MetadataDomain.DATA, "1", "/zone/dir/a");
+		Assert.assertEquals(1, actual.get(0).getCount());
+		Assert.assertFalse(actual.get(0).isLastResult());
+		Assert.assertEquals(2, actual.get(1).getCount());
+		Assert.assertTrue("last AVU of the object should be the last result", actual.get(1).isLastResult());
+		Assert.assertEquals(2, actual.get(1).getTotalRecords());
+
+		actual = target.retrieve(account, MetadataDomain.DATA, "2", "/zone/dir/b");
+		Assert.assertEquals(1, actual.get(0).getCount());
+		Assert.assertTrue(actual.get(0).isLastResult());
+		Assert.assertEquals(1, actual.get(0).getTotalRecords());
+		Assert.assertFalse("rows passed in should not be changed", rows.get(2).isLastResult());
+	}
+
+	@Test
+	public void testRetrieveCopiesEachAvu() throws Exception {
+		AvuCache target = new AvuCache(100, 1000, 5000L);
+		target.cache(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt",
+				avus("10", "/zone/home/user/file.txt", 1));
+
+		MetaDataAndDomainData actual = target.retrieve(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt")
+				.get(0);
+		actual.setLastResult(false);
+		Assert.assertTrue("cached AVU should not be changed by the caller", target
+				.retrieve(account, MetadataDomain.DATA, "10", "/zone/home/user/file.txt").get(0).isLastResult());
+		Assert.assertEquals("value0", actual.getAvuValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroMaxEntries() {
+		new AvuCache(0, 1000, 5000L);
+	}
+
+	private static List<MetaDataAndDomainData> avus(final String id, final String uniqueName, final int count)
+			throws Exception {
+		List<MetaDataAndDomainData> avus = new ArrayList<MetaDataAndDomainData>();
+		for (int i = 0; i < count; i++) {
+			MetaDataAndDomainData avu = MetaDataAndDomainData.instance(MetadataDomain.DATA, id, uniqueName, i,
+					"attr" + i, "value" + i, "");
+			avu.setLastResult(true);
+			avus.add(avu);
+		}
+		return avus;
+	}
+
+	private static class FakeClockAvuCache extends AvuCache {
+		private long now = 1000000L;
+
+		FakeClockAvuCache(final int maxEntries, final int maxAvus, final long ttlMillis) {
+			super(maxEntries, maxAvus, ttlMillis);
+		}
+
+		@Override
+		protected long currentTimeMillis() {
+			return now;
+		}
+	}
+
+}
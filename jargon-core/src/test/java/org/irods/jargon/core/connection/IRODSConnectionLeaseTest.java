@@ -0,0 +1,251 @@
+package org.irods.jargon.core.connection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.irods.jargon.core.connection.IRODSMidLevelProtocolPipelineTest.ScriptedConnection;
+import org.irods.jargon.core.exception.JargonException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSConnectionLeaseTest {
+
+	private static IRODSAccount irodsAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testLeaseBindsConnectionForScope() throws Exception {
+		CountingProtocolManager protocolManager = new CountingProtocolManager();
+		IRODSSession irodsSession = buildSession(protocolManager, 2);
+
+		IRODSMidLevelProtocol leased;
+		try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+			leased = lease.getIrodsMidLevelProtocol();
+			Assert.assertTrue("should be pooled", lease.isPooled());
+			Assert.assertSame("current connection should be the leased one", leased,
+					irodsSession.currentConnection(irodsAccount));
+		}
+
+		Assert.assertNull("connection should not stay bound to the thread", irodsSession.getIRODSCommandsMap());
+		Assert.assertTrue("connection should stay open in the pool", leased.isConnected());
+		Assert.assertEquals("should be idle in pool", 1, irodsSession.getConnectionLeasePool().getIdleConnectionCount());
+
+		try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+			Assert.assertSame("pooled connection should be reused", leased, lease.getIrodsMidLevelProtocol());
+		}
+		Assert.assertEquals("should only create one connection", 1, protocolManager.created.get());
+
+		irodsSession.closeConnectionLeasePool();
+		Assert.assertEquals("connection should be returned on close", 1, protocolManager.returned.get());
+	}
+
+	@Test
+	public void testLeaseUsesConnectionAlreadyHeldByThread() throws Exception {
+		CountingProtocolManager protocolManager = new CountingProtocolManager();
+		IRODSSession irodsSession = buildSession(protocolManager, 2);
+
+		IRODSMidLevelProtocol held = irodsSession.currentConnection(irodsAccount);
+		try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+			Assert.assertFalse("should not be pooled", lease.isPooled());
+			Assert.assertSame("should lease the held connection", held, lease.getIrodsMidLevelProtocol());
+		}
+		Assert.assertSame("held connection should remain", held, irodsSession.currentConnection(irodsAccount));
+		irodsSession.closeSession();
+	}
+
+	@Test
+	public void testLentConnectionBoundOnHelperThread() throws Exception {
+		CountingProtocolManager protocolManager = new CountingProtocolManager();
+		final IRODSSession irodsSession = buildSession(protocolManager, 2);
+
+		final IRODSMidLevelProtocol held = irodsSession.currentConnection(irodsAccount);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		final IRODSMidLevelProtocol helperOwn = executor.submit(new Callable<IRODSMidLevelProtocol>() {
+			@Override
+			public IRODSMidLevelProtocol call() throws Exception {
+				return irodsSession.currentConnection(irodsAccount);
+			}
+		}).get();
+
+		Future<Boolean> lent = executor.submit(new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws Exception {
+				boolean bound;
+				try (IRODSConnectionLease lease = irodsSession.lendConnection(irodsAccount, held)) {
+					Assert.assertTrue("should be lent", lease.isLent());
+					Assert.assertFalse("should not be pooled", lease.isPooled());
+					bound = irodsSession.currentConnection(irodsAccount) == held;
+				}
+				return bound && irodsSession.currentConnection(irodsAccount) == helperOwn;
+			}
+		});
+		Assert.assertTrue("lent connection should be bound, then the helper's own again", lent.get());
+		executor.shutdown();
+
+		Assert.assertSame("lender should keep its connection", held, irodsSession.currentConnection(irodsAccount));
+		Assert.assertTrue("lent connection should stay open", held.isConnected());
+		Assert.assertEquals("no connection should be returned", 0, protocolManager.returned.get());
+		irodsSession.closeSession();
+	}
+
+	@Test
+	public void testLeaseTimesOutWhenPoolExhausted() throws Exception {
+		CountingProtocolManager protocolManager = new CountingProtocolManager();
+		final IRODSSession irodsSession = buildSession(protocolManager, 1);
+
+		try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			Future<Boolean> other = executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					try {
+						irodsSession.leaseConnection(irodsAccount, 50, TimeUnit.MILLISECONDS);
+						return false;
+					} catch (JargonException e) {
+						return true;
+					}
+				}
+			});
+			Assert.assertTrue("second lease should time out", other.get());
+			executor.shutdown();
+		}
+		irodsSession.closeConnectionLeasePool();
+	}
+
+	@Test
+	public void testDisconnectedConnectionDroppedOnRelease() throws Exception {
+		CountingProtocolManager protocolManager = new CountingProtocolManager();
+		IRODSSession irodsSession = buildSession(protocolManager, 1);
+
+		try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+			lease.getIrodsMidLevelProtocol().obliterateConnectionAndDiscardErrors();
+		}
+		Assert.assertEquals("dead connection should be dropped", 0,
+				irodsSession.getConnectionLeasePool().getConnectionCount());
+
+		try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+			Assert.assertTrue("should get a new connection", lease.getIrodsMidLevelProtocol().isConnected());
+		}
+		Assert.assertEquals("should create a replacement", 2, protocolManager.created.get());
+		irodsSession.closeConnectionLeasePool();
+	}
+
+	/**
+	 * 10,000 concurrent requests, each on its own virtual thread when the JVM
+	 * provides them, served by a small fixed number of agent connections
+	 */
+	@Test
+	public void testManyConcurrentRequestsServedByFewConnections() throws Exception {
+		final int requests = 10000;
+		final int maxConnections = 4;
+		CountingProtocolManager protocolManager = new CountingProtocolManager();
+		final IRODSSession irodsSession = buildSession(protocolManager, maxConnections);
+		final AtomicInteger inUse = new AtomicInteger();
+		final AtomicInteger maxInUse = new AtomicInteger();
+
+		ExecutorService executor = newThreadPerTaskExecutor();
+		List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		for (int i = 0; i < requests; i++) {
+			results.add(executor.submit(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					try (IRODSConnectionLease lease = irodsSession.leaseConnection(irodsAccount)) {
+						int now = inUse.incrementAndGet();
+						while (true) {
+							int max = maxInUse.get();
+							if (now <= max || maxInUse.compareAndSet(max, now)) {
+								break;
+							}
+						}
+						boolean bound = irodsSession.currentConnection(irodsAccount) == lease
+								.getIrodsMidLevelProtocol();
+						Thread.sleep(1);
+						inUse.decrementAndGet();
+						return bound;
+					}
+				}
+			}));
+		}
+
+		for (Future<Boolean> result : results) {
+			Assert.assertTrue("leased connection not bound", result.get(60, TimeUnit.SECONDS));
+		}
+		executor.shutdown();
+
+		IRODSConnectionLeasePool pool = irodsSession.getConnectionLeasePool();
+		Assert.assertTrue("too many connections:" + protocolManager.created.get(),
+				protocolManager.created.get() <= maxConnections);
+		Assert.assertTrue("too many concurrent leases:" + maxInUse.get(), maxInUse.get() <= maxConnections);
+		Assert.assertEquals("wrong lease count", requests, pool.getLeasesGranted());
+		Assert.assertEquals("all connections should be idle", pool.getConnectionCount(),
+				pool.getIdleConnectionCount());
+
+		irodsSession.closeConnectionLeasePool();
+		Assert.assertEquals("all connections should be returned", protocolManager.created.get(),
+				protocolManager.returned.get());
+	}
+
+	private static ExecutorService newThreadPerTaskExecutor() throws Exception {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (NoSuchMethodException e) {
+			// no virtual threads on this JVM, use enough platform threads to contend
+			return Executors.newFixedThreadPool(500);
+		}
+	}
+
+	private static IRODSSession buildSession(final IRODSProtocolManager protocolManager, final int maxConnections)
+			throws Exception {
+		IRODSSession irodsSession = new IRODSSession(protocolManager);
+		SettableJargonProperties props = new SettableJargonProperties(irodsSession.getJargonProperties());
+		props.setConnectionLeasePoolMaxSize(maxConnections);
+		irodsSession.setJargonProperties(props);
+		return irodsSession;
+	}
+
+	/**
+	 * Protocol manager that hands out scripted connections and counts them
+	 */
+	static class CountingProtocolManager extends IRODSProtocolManager {
+
+		final AtomicInteger created = new AtomicInteger();
+		final AtomicInteger returned = new AtomicInteger();
+
+		@Override
+		public IRODSMidLevelProtocol getIRODSProtocol(final IRODSAccount irodsAccount,
+				final PipelineConfiguration pipelineConfiguration, final IRODSSession irodsSession)
+				throws JargonException {
+			created.incrementAndGet();
+			IRODSMidLevelProtocol irodsMidLevelProtocol = new IRODSMidLevelProtocol(
+					ScriptedConnection.instance(new byte[0], 4), this);
+			irodsMidLevelProtocol.setIrodsAccount(irodsAccount);
+			return irodsMidLevelProtocol;
+		}
+
+		@Override
+		protected void returnIRODSProtocol(final IRODSMidLevelProtocol irodsMidLevelProtocol)
+				throws JargonException {
+			returned.incrementAndGet();
+			irodsMidLevelProtocol.obliterateConnectionAndDiscardErrors();
+		}
+	}
+
+}
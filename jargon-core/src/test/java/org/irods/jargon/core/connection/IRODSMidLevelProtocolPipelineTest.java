@@ -0,0 +1,219 @@
+package org.irods.jargon.core.connection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.exception.DuplicateDataException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.IRodsPI;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.utils.Host;
+import org.irods.jargon.core.utils.IRODSConstants;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSMidLevelProtocolPipelineTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testPipelinedRepliesInOrderWithError() throws Exception {
+		ByteArrayOutputStream replies = new ByteArrayOutputStream();
+		writeReply(replies, null, 0);
+		writeReply(replies, "<STR_PI><myStr>two</myStr>\n</STR_PI>\n", 0);
+		writeReply(replies, null, -809000);
+		writeReply(replies, null, 0);
+		writeReply(replies, null, 0);
+
+		ScriptedConnection connection = ScriptedConnection.instance(replies.toByteArray(), 2);
+		IRODSMidLevelProtocol protocol = new IRODSMidLevelProtocol(connection,
+				IRODSSimpleProtocolManager.instance());
+
+		List<PipelinedResponse> responses = protocol.irodsFunctionPipelined(buildRequests(5));
+
+		Assert.assertEquals("wrong number of responses", 5, responses.size());
+		Assert.assertTrue("first should succeed", responses.get(0).isSuccess());
+		Assert.assertEquals("wrong reply value", "two", responses.get(1).getResponse().getTag("myStr").getStringValue());
+		Assert.assertFalse("third should fail", responses.get(2).isSuccess());
+		Assert.assertTrue("wrong exception", responses.get(2).getException() instanceof DuplicateDataException);
+		Assert.assertTrue("fourth should succeed", responses.get(3).isSuccess());
+		Assert.assertTrue("fifth should succeed", responses.get(4).isSuccess());
+		Assert.assertEquals("all requests should be sent", 5, connection.requestsSent);
+		Assert.assertTrue("window exceeded", connection.maxOutstanding <= 2);
+		Assert.assertEquals("requests should be pipelined", 2, connection.maxOutstanding);
+	}
+
+	@Test(expected = DuplicateDataException.class)
+	public void testGetResponseThrowsError() throws Exception {
+		ByteArrayOutputStream replies = new ByteArrayOutputStream();
+		writeReply(replies, null, -809000);
+
+		ScriptedConnection connection = ScriptedConnection.instance(replies.toByteArray(), 4);
+		IRODSMidLevelProtocol protocol = new IRODSMidLevelProtocol(connection,
+				IRODSSimpleProtocolManager.instance());
+
+		protocol.irodsFunctionPipelined(buildRequests(1)).get(0).getResponse();
+	}
+
+	@Test
+	public void testTimeoutAbandonsBatch() throws Exception {
+		ByteArrayOutputStream replies = new ByteArrayOutputStream();
+		writeReply(replies, null, 0);
+		writeReply(replies, null, 0);
+		writeReply(replies, null, 0);
+
+		ScriptedConnection connection = ScriptedConnection.instance(replies.toByteArray(), 4);
+		connection.timeoutOnReply = 1;
+		IRODSMidLevelProtocol protocol = new IRODSMidLevelProtocol(connection,
+				IRODSSimpleProtocolManager.instance());
+
+		try {
+			protocol.irodsFunctionPipelined(buildRequests(3));
+			Assert.fail("timeout should end the batch");
+		} catch (JargonException e) {
+			Assert.assertTrue("should be the timeout", e.getCause() instanceof SocketTimeoutException);
+		}
+		Assert.assertFalse("connection should be dropped", protocol.isConnected());
+	}
+
+	@Test
+	public void testUnparseableReplyAbandonsBatch() throws Exception {
+		ByteArrayOutputStream replies = new ByteArrayOutputStream();
+		writeReply(replies, null, 0);
+		// a header missing its lengths and info
+		byte[] header = "<MsgHeader_PI><type>RODS_API_REPLY</type></MsgHeader_PI>".getBytes("UTF-8");
+		byte[] length = new byte[4];
+		Host.copyInt(header.length, length);
+		replies.write(length);
+		replies.write(header);
+		writeReply(replies, null, 0);
+
+		ScriptedConnection connection = ScriptedConnection.instance(replies.toByteArray(), 4);
+		IRODSMidLevelProtocol protocol = new IRODSMidLevelProtocol(connection,
+				IRODSSimpleProtocolManager.instance());
+
+		try {
+			protocol.irodsFunctionPipelined(buildRequests(3));
+			Assert.fail("unparseable reply should end the batch");
+		} catch (JargonException | RuntimeException e) {
+			// expected
+		}
+		Assert.assertFalse("connection should be dropped", protocol.isConnected());
+	}
+
+	@Test
+	public void testPipelinedEmptyBatch() throws Exception {
+		ScriptedConnection connection = ScriptedConnection.instance(new byte[0], 4);
+		IRODSMidLevelProtocol protocol = new IRODSMidLevelProtocol(connection,
+				IRODSSimpleProtocolManager.instance());
+		Assert.assertTrue("should be empty", protocol.irodsFunctionPipelined(buildRequests(0)).isEmpty());
+		Assert.assertEquals("nothing should be sent", 0, connection.requestsSent);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPipelinedNullRequests() throws Exception {
+		ScriptedConnection connection = ScriptedConnection.instance(new byte[0], 4);
+		IRODSMidLevelProtocol protocol = new IRODSMidLevelProtocol(connection,
+				IRODSSimpleProtocolManager.instance());
+		protocol.irodsFunctionPipelined(null);
+	}
+
+	private List<IRodsPI> buildRequests(final int count) throws Exception {
+		List<IRodsPI> requests = new ArrayList<IRodsPI>();
+		for (int i = 0; i < count; i++) {
+			requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata("/zone/home/test",
+					AvuData.instance("attr" + i, "value", "")));
+		}
+		return requests;
+	}
+
+	private void writeReply(final ByteArrayOutputStream replies, final String message, final int intInfo)
+			throws Exception {
+		byte[] body = message == null ? new byte[0] : message.getBytes("UTF-8");
+		byte[] header = IRODSMidLevelProtocol.createHeaderBytesFromData(IRODSConstants.RODS_API_REPLY, body.length,
+				0, 0, intInfo, "UTF-8");
+		byte[] length = new byte[4];
+		Host.copyInt(header.length, length);
+		replies.write(length);
+		replies.write(header);
+		replies.write(body);
+	}
+
+	/**
+	 * Connection that replays canned replies and tracks how many requests are
+	 * written ahead of the replies read
+	 */
+	static class ScriptedConnection extends AbstractConnection {
+
+		int requestsSent = 0;
+		int repliesStarted = 0;
+		int maxOutstanding = 0;
+		int timeoutOnReply = -1;
+
+		static ScriptedConnection instance(final byte[] replies, final int window) throws JargonException {
+			SettableJargonProperties props = new SettableJargonProperties();
+			props.setPipelinedRequestWindowSize(window);
+			IRODSAccount account = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user",
+					"zone", "");
+			account.setClientServerNegotiationPolicy(new ClientServerNegotiationPolicy());
+			ScriptedConnection connection = new ScriptedConnection(account, PipelineConfiguration.instance(props));
+			connection.irodsInputStream = new ByteArrayInputStream(replies);
+			return connection;
+		}
+
+		private ScriptedConnection(final IRODSAccount irodsAccount, final PipelineConfiguration pipelineConfiguration)
+				throws JargonException {
+			super(irodsAccount, pipelineConfiguration, IRODSSimpleProtocolManager.instance(), null);
+		}
+
+		@Override
+		protected void connect(final IRODSAccount irodsAccount) throws JargonException {
+			connection = new Socket();
+			irodsOutputStream = new ByteArrayOutputStream();
+		}
+
+		@Override
+		protected void sendInNetworkOrder(final int value) throws IOException {
+			// each request starts with the header length
+			requestsSent++;
+			super.sendInNetworkOrder(value);
+		}
+
+		@Override
+		protected int read(final byte[] value, final int offset, final int length) throws IOException {
+			if (length == HEADER_INT_LENGTH) {
+				if (repliesStarted == timeoutOnReply) {
+					throw new SocketTimeoutException("scripted timeout");
+				}
+				maxOutstanding = Math.max(maxOutstanding, requestsSent - repliesStarted);
+				repliesStarted++;
+			}
+			return super.read(value, offset, length);
+		}
+
+		@Override
+		protected void shutdown() throws JargonException {
+			setConnected(false);
+		}
+
+		@Override
+		protected void obliterateConnectionAndDiscardErrors() {
+			setConnected(false);
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ObjStatCacheTest {
+
+	private static IRODSAccount account;
+	private static IRODSAccount otherAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		account = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		otherAccount = IRODSAccount.instance("host", 1247, "other", "password", "/zone/home/other", "zone", "");
+	}
+
+	@Test
+	public void testHitReturnsCopyUntilExpired() throws Exception {
+		FakeClockObjStatCache target = new FakeClockObjStatCache(100, 1000000L, 5000L, 2000L);
+		target.cache(account, "/zone/home/user/file.txt", objStat("/zone/home/user/file.txt", 10L));
+
+		ObjStat actual = target.retrieve(account, "/zone/home/user/file.txt");
+		Assert.assertNotNull("should be cached", actual);
+		Assert.assertEquals(10L, actual.getObjSize());
+		actual.setObjSize(99L);
+		Assert.assertEquals("cached stat should not be changed by the caller", 10L,
+				target.retrieve(account, "/zone/home/user/file.txt").getObjSize());
+
+		target.now += 5000L;
+		Assert.assertNull("should have expired", target.retrieve(account, "/zone/home/user/file.txt"));
+		Assert.assertEquals(2L, target.getHits());
+		Assert.assertEquals(1L, target.getMisses());
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testResultsAreKeptForEachAccount() throws Exception {
+		ObjStatCache target = new ObjStatCache(100, 1000000L, 5000L, 2000L);
+		target.cache(account, "/zone/home/user/file.txt", objStat("/zone/home/user/file.txt", 10L));
+		Assert.assertNull("other user should not see the stat",
+				target.retrieve(otherAccount, "/zone/home/user/file.txt"));
+	}
+
+	@Test
+	public void testNotFoundIsRememberedForNegativeTtl() throws Exception {
+		FakeClockObjStatCache target = new FakeClockObjStatCache(100, 1000000L, 5000L, 2000L);
+		target.cacheNotFound(account, "/zone/home/user/missing");
+		try {
+			target.retrieve(account, "/zone/home/user/missing");
+			Assert.fail("should be cached as not found");
+		} catch (FileNotFoundException e) {
+			// expected
+		}
+		Assert.assertEquals(1L, target.getNegativeHits());
+
+		target.now += 2000L;
+		Assert.assertNull("not found should have expired", target.retrieve(account, "/zone/home/user/missing"));
+	}
+
+	@Test
+	public void testNoNegativeCachingWhenTtlZero() throws Exception {
+		ObjStatCache target = new ObjStatCache(100, 1000000L, 5000L, 0L);
+		target.cacheNotFound(account, "/zone/home/user/missing");
+		Assert.assertNull(target.retrieve(account, "/zone/home/user/missing"));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDroppedByCount() throws Exception {
+		ObjStatCache target = new ObjStatCache(2, 1000000L, 5000L, 2000L);
+		target.cache(account, "/zone/a", objStat("/zone/a", 1L));
+		target.cache(account, "/zone/b", objStat("/zone/b", 2L));
+		target.retrieve(account, "/zone/a");
+		target.cache(account, "/zone/c", objStat("/zone/c", 3L));
+
+		Assert.assertNotNull("recently used should be kept", target.retrieve(account, "/zone/a"));
+		Assert.assertNull("least recently used should be dropped", target.retrieve(account, "/zone/b"));
+		Assert.assertNotNull(target.retrieve(account, "/zone/c"));
+		Assert.assertEquals(1L, target.getEvictions());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDroppedByBytes() throws Exception {
+		ObjStatCache target = new ObjStatCache(100, 2 * ObjStatCache.ENTRY_OVERHEAD, 5000L, 2000L);
+		target.cache(account, "/zone/a", objStat("/zone/a", 1L));
+		target.cache(account, "/zone/b", objStat("/zone/b", 2L));
+
+		Assert.assertEquals("two entries with their strings should not fit", 1, target.size());
+		Assert.assertNotNull(target.retrieve(account, "/zone/b"));
+		Assert.assertTrue(target.getEstimatedBytes() <= 2 * ObjStatCache.ENTRY_OVERHEAD);
+	}
+
+	@Test
+	public void testInvalidateDropsPathAndParentsForAllAccounts() throws Exception {
+		ObjStatCache target = new ObjStatCache(100, 1000000L, 5000L, 2000L);
+		target.cache(account, "/zone/home/user/file.txt", objStat("/zone/home/user/file.txt", 1L));
+		target.cache(otherAccount, "/zone/home/user/file.txt", objStat("/zone/home/user/file.txt", 1L));
+		target.cacheNotFound(account, "/zone/home/user/newdir");
+		target.cache(account, "/zone/home/user", objStat("/zone/home/user", 0L));
+		target.cache(account, "/zone/home/user/other.txt", objStat("/zone/home/user/other.txt", 1L));
+
+		target.invalidate("/zone/home/user/file.txt/");
+		target.invalidate("/zone/home/user/newdir/child");
+
+		Assert.assertNull(target.retrieve(account, "/zone/home/user/file.txt"));
+		Assert.assertNull(target.retrieve(otherAccount, "/zone/home/user/file.txt"));
+		Assert.assertNull("created parent should no longer be not found",
+				target.retrieve(account, "/zone/home/user/newdir"));
+		Assert.assertNull(target.retrieve(account, "/zone/home/user"));
+		Assert.assertNotNull("sibling should be kept", target.retrieve(account, "/zone/home/user/other.txt"));
+		Assert.assertEquals(4L, target.getInvalidations());
+	}
+
+	@Test
+	public void testInvalidateTreeDropsDescendants() throws Exception {
+		ObjStatCache target = new ObjStatCache(100, 1000000L, 5000L, 2000L);
+		target.cache(account, "/zone/home/user/dir", objStat("/zone/home/user/dir", 0L));
+		target.cache(account, "/zone/home/user/dir/a", objStat("/zone/home/user/dir/a", 1L));
+		target.cache(account, "/zone/home/user/dir/sub/b", objStat("/zone/home/user/dir/sub/b", 1L));
+		target.cache(account, "/zone/home/user/dir2", objStat("/zone/home/user/dir2", 0L));
+
+		target.invalidateTree("/zone/home/user/dir");
+
+		Assert.assertNull(target.retrieve(account, "/zone/home/user/dir"));
+		Assert.assertNull(target.retrieve(account, "/zone/home/user/dir/a"));
+		Assert.assertNull(target.retrieve(account, "/zone/home/user/dir/sub/b"));
+		Assert.assertNotNull("similar name should be kept", target.retrieve(account, "/zone/home/user/dir2"));
+		Assert.assertEquals(1, target.size());
+	}
+
+	@Test
+	public void testCacheListingKeepsEachChild() throws Exception {
+		ObjStatCache target = new ObjStatCache(100, 1000000L, 5000L, 2000L);
+		List<ObjStat> children = new ArrayList<ObjStat>();
+		children.add(objStat("/zone/home/user/dir/a", 1L));
+		children.add(objStat("/zone/home/user/dir/sub", 0L));
+		target.cacheListing(account, children);
+
+		Assert.assertEquals(2L, target.getPrefetched());
+		Assert.assertEquals(1L, target.retrieve(account, "/zone/home/user/dir/a").getObjSize());
+		Assert.assertEquals(ObjectType.COLLECTION,
+				target.retrieve(account, "/zone/home/user/dir/sub").getObjectType());
+		Assert.assertNull(target.retrieve(otherAccount, "/zone/home/user/dir/a"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroMaxEntries() {
+		new ObjStatCache(0, 1000000L, 5000L, 2000L);
+	}
+
+	private static ObjStat objStat(final String path, final long size) {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(path);
+		objStat.setObjSize(size);
+		objStat.setObjectType(size == 0L ? ObjectType.COLLECTION : ObjectType.DATA_OBJECT);
+		return objStat;
+	}
+
+	private static class FakeClockObjStatCache extends ObjStatCache {
+		private long now = 1000000L;
+
+		FakeClockObjStatCache(final int maxEntries, final long maxBytes, final long ttlMillis,
+				final long negativeTtlMillis) {
+			super(maxEntries, maxBytes, ttlMillis, negativeTtlMillis);
+		}
+
+		@Override
+		protected long currentTimeMillis() {
+			return now;
+		}
+	}
+
+}
@@ -0,0 +1,24 @@
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.connection.IRODSConnectionLeaseTest.CountingProtocolManager;
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * Sessions whose connections do not talk to iRODS, for unit tests outside this
+ * package that need connections bound to threads
+ */
+public final class ScriptedConnections {
+
+	private ScriptedConnections() {
+	}
+
+	/**
+	 * @return {@link IRODSSession} that hands out scripted connections
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public static IRODSSession session() throws JargonException {
+		return new IRODSSession(new CountingProtocolManager());
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.irods.jargon.core.packinstr;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.ActionType;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp.MetadataTargetType;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class AtomicMetadataOperationsInpTest {
+
+	@Test
+	public final void testInstanceForAdd() throws Exception {
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		avuData.add(AvuData.instance("attr1", "value1", "unit1"));
+		avuData.add(AvuData.instance("attr2", "value <2>", ""));
+		AtomicMetadataOperationsInp inp = AtomicMetadataOperationsInp.instance("/zone/home/user/file.txt",
+				MetadataTargetType.DATA_OBJECT, ActionType.ADD, avuData);
+		Assert.assertEquals("wrong API number", MiscApiConstants.ATOMIC_APPLY_METADATA_OPERATIONS_APN,
+				inp.getApiNumber());
+
+		JsonNode json = new ObjectMapper().readTree(inp.buildJson());
+		Assert.assertEquals("/zone/home/user/file.txt", json.get("entity_name").asText());
+		Assert.assertEquals("data_object", json.get("entity_type").asText());
+		Assert.assertEquals(2, json.get("operations").size());
+		JsonNode first = json.get("operations").get(0);
+		Assert.assertEquals("add", first.get("operation").asText());
+		Assert.assertEquals("attr1", first.get("attribute").asText());
+		Assert.assertEquals("value1", first.get("value").asText());
+		Assert.assertEquals("unit1", first.get("units").asText());
+		Assert.assertNull("no units should be sent when blank", json.get("operations").get(1).get("units"));
+	}
+
+	@Test
+	public final void testTagValueForRemove() throws Exception {
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		avuData.add(AvuData.instance("attr1", "value1", ""));
+		AtomicMetadataOperationsInp inp = AtomicMetadataOperationsInp.instance("demoResc",
+				MetadataTargetType.RESOURCE, ActionType.REMOVE, avuData);
+		String json = inp.buildJson();
+		Assert.assertTrue(json.contains("\"operation\":\"remove\""));
+		Assert.assertTrue(json.contains("\"entity_type\":\"resource\""));
+
+		Tag tag = inp.getTagValue();
+		Assert.assertEquals(AtomicMetadataOperationsInp.PI_TAG, tag.getName());
+		Assert.assertEquals(json.length(), tag.getTag(AtomicMetadataOperationsInp.BUFLEN).getIntValue());
+		Assert.assertEquals(json, tag.getTag(AtomicMetadataOperationsInp.BUF).getStringValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testInstanceForModNotAtomic() {
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		avuData.add(AvuData.instance("attr1", "value1", ""));
+		AtomicMetadataOperationsInp.instance("/zone/home/user", MetadataTargetType.COLLECTION, ActionType.MOD,
+				avuData);
+	}
+
+	@Test
+	public final void testInstanceForModify() throws Exception {
+		List<AvuData> currentAvuData = new ArrayList<AvuData>();
+		currentAvuData.add(AvuData.instance("attr1", "value1", "unit1"));
+		currentAvuData.add(AvuData.instance("attr2", "value2", ""));
+		List<AvuData> newAvuData = new ArrayList<AvuData>();
+		newAvuData.add(AvuData.instance("attr1", "value1a", "unit1"));
+		newAvuData.add(AvuData.instance("attr2", "value2a", ""));
+		AtomicMetadataOperationsInp inp = AtomicMetadataOperationsInp.instanceForModify("/zone/home/user",
+				MetadataTargetType.COLLECTION, currentAvuData, newAvuData);
+		Assert.assertEquals(ActionType.MOD, inp.getActionType());
+		Assert.assertEquals("new AVUs are reported", newAvuData, inp.getAvuData());
+
+		JsonNode operations = new ObjectMapper().readTree(inp.buildJson()).get("operations");
+		Assert.assertEquals("each modify should be a remove and an add", 4, operations.size());
+		Assert.assertEquals("remove", operations.get(0).get("operation").asText());
+		Assert.assertEquals("value1", operations.get(0).get("value").asText());
+		Assert.assertEquals("add", operations.get(1).get("operation").asText());
+		Assert.assertEquals("value1a", operations.get(1).get("value").asText());
+		Assert.assertEquals("remove", operations.get(2).get("operation").asText());
+		Assert.assertEquals("value2", operations.get(2).get("value").asText());
+		Assert.assertEquals("add", operations.get(3).get("operation").asText());
+		Assert.assertEquals("value2a", operations.get(3).get("value").asText());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testInstanceForModifyMismatchedAvus() {
+		List<AvuData> currentAvuData = new ArrayList<AvuData>();
+		currentAvuData.add(AvuData.instance("attr1", "value1", ""));
+		AtomicMetadataOperationsInp.instanceForModify("/zone/home/user", MetadataTargetType.COLLECTION,
+				currentAvuData, new ArrayList<AvuData>());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testInstanceEmptyAvus() {
+		AtomicMetadataOperationsInp.instance("/zone/home/user", MetadataTargetType.COLLECTION, ActionType.ADD,
+				new ArrayList<AvuData>());
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TagTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testReadNextTagNested() throws Exception {
+		String message = "<MsgHeader_PI>\n<type>RODS_API_REPLY</type>\n<msgLen>10</msgLen>\n<errorLen>0</errorLen>\n"
+				+ "<bsLen>0</bsLen>\n<intInfo>0</intInfo>\n</MsgHeader_PI>\n";
+		Tag tag = Tag.readNextTag(message.getBytes("utf-8"), "utf-8");
+		Assert.assertEquals("wrong tag name", "MsgHeader_PI", tag.getName());
+		Assert.assertEquals("wrong number of sub tags", 5, tag.getLength());
+		Assert.assertEquals("wrong type", "RODS_API_REPLY", tag.getTag("type").getStringValue());
+		Assert.assertEquals("wrong msgLen", 10, tag.getTags()[1].getIntValue());
+		Assert.assertNull("parent should not have a value", tag.getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagRepeatedNamesAndEmptyValue() throws Exception {
+		String message = "<SqlResult_PI>\n<attriInx>403</attriInx>\n<reslen>5</reslen>\n<value>one</value>\n"
+				+ "<value></value>\n<value>three</value>\n</SqlResult_PI>\n";
+		Tag tag = Tag.readNextTag(message.getBytes("utf-8"), "utf-8");
+		Assert.assertEquals("wrong number of sub tags", 5, tag.getLength());
+		Assert.assertEquals("wrong first value", "one", tag.getTag("value", 0).getStringValue());
+		Assert.assertEquals("empty value should be blank", "", tag.getTag("value", 1).getStringValue());
+		Assert.assertEquals("wrong third value", "three", tag.getTag("value", 2).getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagDecodesEntities() throws Exception {
+		String message = "<DataObjInfo_PI><objPath>/zone/home/a&amp;b &lt;c&gt; &quot;d&quot; &apos;e&apos; &foo; &</objPath></DataObjInfo_PI>";
+		Tag tag = Tag.readNextTag(message.getBytes("utf-8"), "utf-8");
+		Assert.assertEquals("entities not decoded", "/zone/home/a&b <c> \"d\" `e` &foo; &",
+				tag.getTag("objPath").getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagNoDecode() throws Exception {
+		String message = "<DataObjInfo_PI><objPath>/zone/home/a&amp;b</objPath></DataObjInfo_PI>";
+		Tag tag = Tag.readNextTag(message.getBytes("utf-8"), false, "utf-8");
+		Assert.assertEquals("entities should be left as is", "/zone/home/a&amp;b",
+				tag.getTag("objPath").getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagMultiByteValue() throws Exception {
+		String message = "<KeyValPair_PI><ssLen>1</ssLen><keyWord>k</keyWord><svalue>été 日本 &amp; ü</svalue></KeyValPair_PI>";
+		Tag tag = Tag.readNextTag(message.getBytes("utf-8"), "utf-8");
+		Assert.assertEquals("multi byte value not decoded", "été 日本 & ü",
+				tag.getTag("svalue").getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagDropsNewLineAfterStartTag() throws Exception {
+		String message = "<ExecMyRuleInp_PI><myRule>\nline one\nline two</myRule></ExecMyRuleInp_PI>";
+		Tag tag = Tag.readNextTag(message.getBytes("utf-8"), "utf-8");
+		Assert.assertEquals("new line after start tag should be dropped", "line one\nline two",
+				tag.getTag("myRule").getStringValue());
+	}
+
+	@Test
+	public void testReadNextTagNoTag() throws Exception {
+		Assert.assertNull("no tag should give null", Tag.readNextTag("no tags".getBytes("utf-8"), "utf-8"));
+		Assert.assertNull("null data should give null", Tag.readNextTag(null, "utf-8"));
+	}
+
+	@Test
+	public void testReadNextTagOtherEncoding() throws Exception {
+		String message = "<CollInp_PI><collName>/zone/home/a&amp;b</collName></CollInp_PI>";
+		Tag tag = Tag.readNextTag(message.getBytes("UTF-16"), "UTF-16");
+		Assert.assertEquals("wrong value", "/zone/home/a&b", tag.getTag("collName").getStringValue());
+	}
+
+	@Test(expected = UnsupportedEncodingException.class)
+	public void testReadNextTagBadEncoding() throws Exception {
+		Tag.readNextTag("<a></a>".getBytes("utf-8"), "not-an-encoding");
+	}
+
+	@Test
+	public void testParseTagRoundTrip() throws Exception {
+		Tag tag = new Tag("CollInp_PI", new Tag[] { new Tag("collName", "/zone/home/<a> & \"b\""),
+				new Tag("flags", 0), new Tag("oprType", 0) });
+		Tag read = Tag.readNextTag(tag.parseTag().getBytes("utf-8"), "utf-8");
+		Assert.assertEquals("round trip lost value", "/zone/home/<a> & \"b\"",
+				read.getTag("collName").getStringValue());
+		Assert.assertEquals("round trip lost tags", 3, read.getLength());
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.query.IRODSGenQuery;
+import org.irods.jargon.core.query.IRODSGenQueryTranslator;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TagWriterTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testWriteMatchesParseTag() throws Exception {
+		Tag tag = new Tag("DataObjInp_PI", new Tag[] { new Tag("objPath", "/zone/home/<a> & \"b\" `c` été 日本 😀"),
+				new Tag("createMode", 0), new Tag("openFlags", 0), new Tag("offset", 0L), new Tag("dataSize", 100L),
+				new Tag("numThreads", 0), new Tag("oprType", 0), Tag.createKeyValueTag("dataType", "generic") });
+		assertWriteMatchesParseTag(tag, "utf-8");
+	}
+
+	@Test
+	public void testWriteNullValueMatchesParseTag() throws Exception {
+		Tag tag = new Tag("CollInp_PI", new Tag[] { new Tag("collName", (String) null), new Tag("flags", 0) });
+		assertWriteMatchesParseTag(tag, "utf-8");
+	}
+
+	@Test
+	public void testWriteOtherEncodingsMatchParseTag() throws Exception {
+		Tag tag = new Tag("CollInp_PI", new Tag[] { new Tag("collName", "/zone/home/été & 日本"), new Tag("flags", 0) });
+		assertWriteMatchesParseTag(tag, "ISO-8859-1");
+		assertWriteMatchesParseTag(tag, "US-ASCII");
+		assertWriteMatchesParseTag(tag, "UTF-16");
+	}
+
+	@Test
+	public void testWriteGenQueryInp() throws Exception {
+		String queryString = "select " + RodsGenQueryEnum.COL_DATA_NAME.getName() + " ,"
+				+ RodsGenQueryEnum.COL_DATA_SIZE.getName() + " where " + RodsGenQueryEnum.COL_COLL_NAME.getName()
+				+ " = " + "'/zone/home/rods'";
+
+		IRODSServerProperties props = IRODSServerProperties.instance(IRODSServerProperties.IcatEnabled.ICAT_ENABLED,
+				100, "rods2.2", "d", "zone");
+
+		IRODSGenQuery irodsQuery = IRODSGenQuery.instance(queryString, 500);
+		TranslatedIRODSGenQuery translated = new IRODSGenQueryTranslator(props).getTranslatedQuery(irodsQuery);
+		GenQueryInp genQueryInp = GenQueryInp.instance(translated, 0, null);
+		assertWriteMatchesParseTag(genQueryInp.getTagValue(), "utf-8");
+	}
+
+	@Test
+	public void testWriteReusesBuffer() throws Exception {
+		TagWriter writer = new TagWriter("utf-8");
+		writer.write(new Tag("INT_PI", new Tag[] { new Tag("myInt", 1) }));
+		byte[] first = writer.getBuffer();
+		int length = writer.write(new Tag("INT_PI", new Tag[] { new Tag("myInt", 2) }));
+		Assert.assertSame("buffer should be reused", first, writer.getBuffer());
+		Assert.assertEquals("wrong length", length, writer.getLength());
+		Assert.assertEquals("wrong contents", "<INT_PI><myInt>2</myInt>\n</INT_PI>\n", writer.toString());
+	}
+
+	@Test
+	public void testWriteGrowsBuffer() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < TagWriter.INITIAL_BUFFER_SIZE; i++) {
+			sb.append("a&");
+		}
+		Tag tag = new Tag("ExecMyRuleInp_PI", new Tag[] { new Tag("myRule", sb.toString()) });
+		assertWriteMatchesParseTag(tag, "utf-8");
+	}
+
+	@Test(expected = UnsupportedEncodingException.class)
+	public void testBadEncoding() throws Exception {
+		new TagWriter("not-an-encoding");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWriteNullTag() throws Exception {
+		new TagWriter("utf-8").write(null);
+	}
+
+	private void assertWriteMatchesParseTag(final Tag tag, final String encoding) throws Exception {
+		TagWriter writer = new TagWriter(encoding);
+		int length = writer.write(tag);
+		byte[] expected = tag.parseTag().getBytes(encoding);
+		Assert.assertArrayEquals("bytes differ from parseTag() for " + encoding, expected,
+				Arrays.copyOf(writer.getBuffer(), length));
+	}
+
+}
@@ -0,0 +1,111 @@
+package org.irods.jargon.core.pub;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AsyncIRODSAccessObjectFactoryImplTest {
+
+	private static IRODSAccount irodsAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testRetrieveObjectStatForPath() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		CollectionAndDataObjectListAndSearchAO listAO = Mockito.mock(CollectionAndDataObjectListAndSearchAO.class);
+		ObjStat objStat = new ObjStat();
+		Mockito.when(factory.getCollectionAndDataObjectListAndSearchAO(irodsAccount)).thenReturn(listAO);
+		Mockito.when(listAO.retrieveObjectStatForPath("/zone/home/user/a.txt")).thenReturn(objStat);
+
+		AsyncIRODSAccessObjectFactoryImpl asyncFactory = new AsyncIRODSAccessObjectFactoryImpl(factory, 2);
+		Assert.assertSame("wrong objStat", objStat,
+				asyncFactory.retrieveObjectStatForPath(irodsAccount, "/zone/home/user/a.txt").get());
+		asyncFactory.close();
+	}
+
+	@Test
+	public void testExceptionCompletesFuture() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		CollectionAndDataObjectListAndSearchAO listAO = Mockito.mock(CollectionAndDataObjectListAndSearchAO.class);
+		Mockito.when(factory.getCollectionAndDataObjectListAndSearchAO(irodsAccount)).thenReturn(listAO);
+		Mockito.when(listAO.retrieveObjectStatForPath("/zone/home/user/missing"))
+				.thenThrow(new FileNotFoundException("missing"));
+
+		AsyncIRODSAccessObjectFactoryImpl asyncFactory = new AsyncIRODSAccessObjectFactoryImpl(factory, 2);
+		try {
+			asyncFactory.retrieveObjectStatForPath(irodsAccount, "/zone/home/user/missing").get();
+			Assert.fail("should have thrown");
+		} catch (ExecutionException e) {
+			Assert.assertTrue("wrong cause", e.getCause() instanceof FileNotFoundException);
+		} finally {
+			asyncFactory.close();
+		}
+	}
+
+	@Test
+	public void testOperationsBoundedToWorkers() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		AsyncIRODSAccessObjectFactoryImpl asyncFactory = new AsyncIRODSAccessObjectFactoryImpl(factory, 3);
+		final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[50];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = asyncFactory.submit(irodsAccount, new AsyncIRODSOperation<String>() {
+				@Override
+				public String execute(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+						final IRODSAccount account) throws JargonException {
+					threads.add(Thread.currentThread().getName());
+					return account.getUserName();
+				}
+			});
+		}
+
+		CompletableFuture.allOf(futures).get();
+		Assert.assertTrue("too many workers:" + threads, threads.size() <= 3);
+		Assert.assertTrue("too many workers held", asyncFactory.getWorkerCount() <= 3);
+
+		asyncFactory.close();
+		Assert.assertTrue("workers should exit", asyncFactory.awaitTermination(10, TimeUnit.SECONDS));
+		// each worker returns its connections as it exits
+		Mockito.verify(factory, Mockito.times(threads.size())).closeSessionAndEatExceptions();
+	}
+
+	@Test
+	public void testSubmitAfterClose() throws Exception {
+		IRODSAccessObjectFactory factory = Mockito.mock(IRODSAccessObjectFactory.class);
+		AsyncIRODSAccessObjectFactoryImpl asyncFactory = new AsyncIRODSAccessObjectFactoryImpl(factory, 1);
+		asyncFactory.close();
+
+		CompletableFuture<List<BulkAVUOperationResponse>> future = asyncFactory
+				.addAVUMetadataToCollection(irodsAccount, "/zone/home/user", null);
+		Assert.assertTrue("should be completed exceptionally", future.isCompletedExceptionally());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroConnections() throws Exception {
+		new AsyncIRODSAccessObjectFactoryImpl(Mockito.mock(IRODSAccessObjectFactory.class), 0);
+	}
+
+}
@@ -0,0 +1,81 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.pub.BulkObjStatUtils.DataObjectBatch;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BulkObjStatUtilsTest {
+
+	@Test
+	public void testGroupByParent() {
+		Map<String, List<String>> namesByParent = BulkObjStatUtils
+				.groupByParent(Arrays.asList("/zone/home/a/1.txt", "/zone/home/b/2.txt", "/zone/home/a/3.txt", "/zone"));
+		Assert.assertEquals(Arrays.asList("1.txt", "3.txt"), namesByParent.get("/zone/home/a"));
+		Assert.assertEquals(Arrays.asList("2.txt"), namesByParent.get("/zone/home/b"));
+		Assert.assertEquals(Arrays.asList("zone"), namesByParent.get("/"));
+	}
+
+	@Test
+	public void testBatchValuesByChars() {
+		List<List<String>> batches = BulkObjStatUtils.batchValues(Arrays.asList("aaaa", "bbbb", "cccc"), 15);
+		Assert.assertEquals(2, batches.size());
+		Assert.assertEquals(Arrays.asList("aaaa", "bbbb"), batches.get(0));
+		Assert.assertEquals(Arrays.asList("cccc"), batches.get(1));
+	}
+
+	@Test
+	public void testBatchValuesKeepsLongValue() {
+		List<List<String>> batches = BulkObjStatUtils.batchValues(Arrays.asList("a", "bbbbbbbbbbbbbbbbbbbb"), 10);
+		Assert.assertEquals(2, batches.size());
+		Assert.assertEquals(Arrays.asList("bbbbbbbbbbbbbbbbbbbb"), batches.get(1));
+	}
+
+	@Test
+	public void testBatchDataObjectsSharesNames() {
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < 50; i++) {
+			paths.add("/zone/home/user/dir" + i + "/data.txt");
+		}
+		List<DataObjectBatch> batches = BulkObjStatUtils.batchDataObjects(BulkObjStatUtils.groupByParent(paths),
+				1000);
+
+		int parents = 0;
+		for (DataObjectBatch batch : batches) {
+			Assert.assertEquals("one name serves every parent", Arrays.asList("data.txt"), batch.getNames());
+			parents += batch.getParents().size();
+		}
+		Assert.assertEquals(50, parents);
+		Assert.assertEquals("parents should be split by size", 2, batches.size());
+		Assert.assertTrue(batches.get(0).getPaths().contains("/zone/home/user/dir0/data.txt"));
+	}
+
+	@Test
+	public void testBatchDataObjectsSplitsLargeParent() {
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < 100; i++) {
+			paths.add("/zone/home/user/dir/file" + i + ".txt");
+		}
+		paths.add("/zone/home/user/other/file0.txt");
+		List<DataObjectBatch> batches = BulkObjStatUtils.batchDataObjects(BulkObjStatUtils.groupByParent(paths),
+				200);
+
+		int total = 0;
+		for (DataObjectBatch batch : batches) {
+			int chars = 0;
+			for (String name : batch.getNames()) {
+				chars += name.length() + 3;
+			}
+			Assert.assertTrue("names should fit in a condition", chars <= 200);
+			total += batch.getPaths().size();
+		}
+		Assert.assertEquals(101, total);
+		DataObjectBatch last = batches.get(batches.size() - 1);
+		Assert.assertTrue(last.getPaths().contains("/zone/home/user/other/file0.txt"));
+	}
+
+}
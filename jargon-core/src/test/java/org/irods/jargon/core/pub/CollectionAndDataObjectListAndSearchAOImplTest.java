@@ -1,7 +1,9 @@
 package org.irods.jargon.core.pub;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
@@ -1677,6 +1679,43 @@ public class CollectionAndDataObjectListAndSearchAOImplTest {
 		Assert.assertEquals("wrong file size", fileSize, objStat.getObjSize());
 	}
 
+	@Test
+	public void testRetrieveObjectStatsForPaths() throws Exception {
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/testRetrieveObjectStatsForPaths");
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		irodsFileFactory.instanceIRODSFile(targetIrodsCollection).mkdirs();
+		irodsFileFactory.instanceIRODSFile(targetIrodsCollection, "subdir").mkdirs();
+		irodsFileFactory.instanceIRODSFile(targetIrodsCollection + "/subdir", "file2.txt").createNewFile();
+		irodsFileFactory.instanceIRODSFile(targetIrodsCollection, "file1.txt").createNewFile();
+
+		List<String> paths = new ArrayList<String>();
+		paths.add(targetIrodsCollection + "/file1.txt");
+		paths.add(targetIrodsCollection + "/subdir/");
+		paths.add(targetIrodsCollection + "/subdir/file2.txt");
+		paths.add(targetIrodsCollection + "/missing.txt");
+		paths.add(targetIrodsCollection + "/missingdir/file3.txt");
+		paths.add(targetIrodsCollection + "/file1.txt");
+
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+		Map<String, ObjStat> objStats = listAndSearchAO.retrieveObjectStatsForPaths(paths);
+
+		Assert.assertEquals("should have each path once", 5, objStats.size());
+		ObjStat fileStat = objStats.get(targetIrodsCollection + "/file1.txt");
+		Assert.assertEquals(ObjectType.DATA_OBJECT, fileStat.getObjectType());
+		Assert.assertEquals(
+				listAndSearchAO.retrieveObjectStatForPath(targetIrodsCollection + "/file1.txt").getDataId(),
+				fileStat.getDataId());
+		Assert.assertEquals(ObjectType.COLLECTION, objStats.get(targetIrodsCollection + "/subdir").getObjectType());
+		Assert.assertEquals(ObjectType.DATA_OBJECT,
+				objStats.get(targetIrodsCollection + "/subdir/file2.txt").getObjectType());
+		Assert.assertTrue(objStats.containsKey(targetIrodsCollection + "/missing.txt"));
+		Assert.assertNull(objStats.get(targetIrodsCollection + "/missing.txt"));
+		Assert.assertNull(objStats.get(targetIrodsCollection + "/missingdir/file3.txt"));
+	}
+
 	/**
 	 * Bug reported in idrop as https://github.com/DICE-UNC/idrop/issues/56
 	 *
@@ -1,13 +1,18 @@
 package org.irods.jargon.core.pub;
 
+import java.util.List;
 import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.ObjStatCache;
 import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.connection.SettableJargonPropertiesMBean;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
 import org.irods.jargon.testutils.TestingPropertiesHelper;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -123,4 +128,55 @@ public class CollectionListingUtilsTest {
 		Assert.assertEquals(path, objStat.getAbsolutePath());
 
 	}
+
+	@Test
+	public void testListingSeedsObjStatCache() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		JargonProperties originalProperties = irodsFileSystem.getJargonProperties();
+		SettableJargonPropertiesMBean props = new SettableJargonProperties(originalProperties);
+		props.setObjStatCache(true);
+		props.setObjStatCachePrefetchListings(true);
+		irodsFileSystem.getIrodsSession().setJargonProperties(props);
+
+		try {
+			String targetIrodsCollection = testingPropertiesHelper
+					.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties,
+							IRODS_TEST_SUBDIR_PATH + "/testListingSeedsObjStatCache");
+			IRODSFile collection = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+					.instanceIRODSFile(targetIrodsCollection);
+			collection.mkdirs();
+			irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(targetIrodsCollection, "subdir")
+					.mkdirs();
+			IRODSFile dataObject = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+					.instanceIRODSFile(targetIrodsCollection, "file.txt");
+			dataObject.createNewFile();
+
+			CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+					.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+			List<CollectionAndDataObjectListingEntry> entries = listAndSearchAO
+					.listDataObjectsAndCollectionsUnderPath(targetIrodsCollection);
+			Assert.assertEquals(2, entries.size());
+
+			ObjStatCache objStatCache = irodsFileSystem.getIrodsSession().getObjStatCache();
+			Assert.assertEquals(2L, objStatCache.getPrefetched());
+			long hits = objStatCache.getHits();
+
+			ObjStat fileStat = listAndSearchAO.retrieveObjectStatForPath(dataObject.getAbsolutePath());
+			ObjStat dirStat = listAndSearchAO.retrieveObjectStatForPath(targetIrodsCollection + "/subdir");
+			Assert.assertEquals("stats should come from the listing", hits + 2, objStatCache.getHits());
+			Assert.assertEquals(ObjectType.DATA_OBJECT, fileStat.getObjectType());
+			Assert.assertEquals(0L, fileStat.getObjSize());
+			Assert.assertEquals(ObjectType.COLLECTION, dirStat.getObjectType());
+
+			objStatCache.clear();
+			ObjStat freshFileStat = listAndSearchAO.retrieveObjectStatForPath(dataObject.getAbsolutePath());
+			Assert.assertEquals(freshFileStat.getDataId(), fileStat.getDataId());
+			Assert.assertEquals(freshFileStat.getOwnerName(), fileStat.getOwnerName());
+			Assert.assertEquals(freshFileStat.getModifiedAt(), fileStat.getModifiedAt());
+		} finally {
+			irodsFileSystem.getIrodsSession().setJargonProperties(originalProperties);
+		}
+	}
+
 }
@@ -7,11 +7,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.Properties;
 
+import org.irods.jargon.core.connection.AvuCache;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSServerProperties;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
@@ -1960,6 +1963,56 @@ public class DataObjectAOImplTest {
 		Assert.assertFalse("no query result returned", result.isEmpty());
 	}
 
+	@Test
+	public final void testWarmAVUCacheForCollectionAndInvalidateOnAdd() throws Exception {
+		String testCollectionSubdir = "testWarmAVUCacheForCollectionAndInvalidateOnAdd";
+		String testFilePrefix = "testWarmAVUCacheForCollectionAndInvalidateOnAdd";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFilePrefix + ".dat",
+				100);
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testCollectionSubdir);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		JargonProperties originalProperties = irodsFileSystem.getJargonProperties();
+		SettableJargonProperties props = new SettableJargonProperties(originalProperties);
+		props.setAvuCache(true);
+		irodsFileSystem.getIrodsSession().setJargonProperties(props);
+
+		try {
+			IRODSFile collection = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+					.instanceIRODSFile(targetIrodsCollection);
+			collection.deleteWithForceOption();
+			collection.mkdirs();
+
+			DataTransferOperations transfer = irodsFileSystem.getIRODSAccessObjectFactory()
+					.getDataTransferOperations(irodsAccount);
+			DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+			String firstPath = targetIrodsCollection + "/" + testFilePrefix + "1.dat";
+			String secondPath = targetIrodsCollection + "/" + testFilePrefix + "2.dat";
+			for (String path : Arrays.asList(firstPath, secondPath)) {
+				transfer.putOperation(new File(localFileName),
+						irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(path), null, null);
+				dataObjectAO.addAVUMetadata(path, AvuData.instance("warmattrib", "warmvalue", ""));
+			}
+
+			Assert.assertEquals("should have cached both data objects", 2,
+					dataObjectAO.warmAVUCacheForCollection(targetIrodsCollection));
+
+			AvuCache avuCache = irodsFileSystem.getIrodsSession().getAvuCache();
+			long hits = avuCache.getHits();
+			Assert.assertEquals(1, dataObjectAO.findMetadataValuesForDataObject(firstPath).size());
+			Assert.assertEquals("should have been answered from the cache", hits + 1, avuCache.getHits());
+
+			dataObjectAO.addAVUMetadata(firstPath, AvuData.instance("warmattrib2", "warmvalue2", ""));
+			Assert.assertEquals("should see the added AVU", 2,
+					dataObjectAO.findMetadataValuesForDataObject(firstPath).size());
+		} finally {
+			irodsFileSystem.getIrodsSession().setJargonProperties(originalProperties);
+		}
+	}
+
 	@Test
 	public final void testFindMetadataValuesByMetadataQuery() throws Exception {
 		String testFileName = "testFindMetadataValuesByMetadataQueryFile.csv";
@@ -4928,6 +4981,48 @@ public class DataObjectAOImplTest {
 		Assert.assertFalse(dataObjects.size() >= 1);
 	}
 
+	@Test
+	public void testBulkModifyAVUMetadataOnDataObject() throws Exception {
+		String testFileName = "testBulkModifyAVUMetadataOnDataObject.txt";
+		String expectedAttribName = "testBulkModifyAVUMetadataOnDataObject";
+		String expectedValueName = "testval1";
+		String expectedNewValueName = "testval2";
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		String targetIrodsDataObject = targetIrodsCollection + "/" + testFileName;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName, 2);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFile targetIrodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		targetIrodsFile.delete();
+		targetIrodsFile.mkdirs();
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig), targetIrodsFile, null, null);
+
+		List<AvuData> bulkAvuData = new ArrayList<>();
+		bulkAvuData.add(AvuData.instance(expectedAttribName, expectedValueName, ""));
+		DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		dataObjectAO.addBulkAVUMetadataToDataObject(targetIrodsDataObject, bulkAvuData);
+
+		List<AvuData> newAvuData = new ArrayList<>();
+		newAvuData.add(AvuData.instance(expectedAttribName, expectedNewValueName, ""));
+		List<BulkAVUOperationResponse> response = dataObjectAO.modifyBulkAVUMetadataOnDataObject(targetIrodsDataObject,
+				bulkAvuData, newAvuData);
+
+		Assert.assertEquals(1, response.size());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, response.get(0).getResultStatus());
+
+		List<MetaDataAndDomainData> metadata = dataObjectAO.findMetadataValuesForDataObject(targetIrodsDataObject);
+		Assert.assertEquals(1, metadata.size());
+		Assert.assertEquals(expectedNewValueName, metadata.get(0).getAvuValue());
+	}
+
 	@Test
 	public void testDeleteAllAVUMetadataFromDataObject() throws Exception {
 		String testFileName = "testDeleteAllAVUMetadataFromDataObject.txt";
@@ -1846,6 +1846,107 @@ public class DataTransferOperationsImplTest {
 		Assert.assertEquals(listener.getGetCallbackCtr(), listener.getPutCallbackCtr());
 	}
 
+	@Test
+	public void testPutThenGetMultipleCollectionsMultipleFilesConcurrently() throws Exception {
+
+		String rootCollection = "testPutThenGetMultipleCollectionsMultipleFilesConcurrently";
+		String returnCollection = "testPutThenGetMultipleCollectionsMultipleFilesConcurrentlyReturn";
+
+		TransferStatusCallbackListenerTestingImplementation listener = new TransferStatusCallbackListenerTestingImplementation();
+
+		String localCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + rootCollection);
+
+		String returnCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + returnCollection);
+
+		String irodsCollectionRootAbsolutePath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		FileGenerator.generateManyFilesAndCollectionsInParentCollectionByAbsolutePath(localCollectionAbsolutePath,
+				"testPutThenGetMultipleCollectionsMultipleFilesConcurrently", 2, 3, 2, "testFile", ".txt", 6, 3, 20,
+				200);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath);
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		File localFile = new File(localCollectionAbsolutePath);
+
+		TransferOptions transferOptions = new TransferOptions();
+		transferOptions.setConcurrentFileTransferThreads(4);
+		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
+		transferControlBlock.setTransferOptions(transferOptions);
+
+		dataTransferOperationsAO.putOperation(localFile, destFile, listener, transferControlBlock);
+
+		File returnLocalFile = new File(returnCollectionAbsolutePath);
+		destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath + '/' + rootCollection);
+		transferControlBlock = DefaultTransferControlBlock.instance();
+		transferControlBlock.setTransferOptions(new TransferOptions(transferOptions));
+		dataTransferOperationsAO.getOperation(destFile, returnLocalFile, listener, transferControlBlock);
+
+		File resultOfPutFile = new File(returnCollectionAbsolutePath + '/' + rootCollection);
+
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(localFile, resultOfPutFile);
+
+		Assert.assertEquals("no errors expected", 0, listener.getExceptionCallbackCtr());
+		Assert.assertTrue(listener.getGetCallbackCtr() > 0);
+		Assert.assertEquals(listener.getGetCallbackCtr(), listener.getPutCallbackCtr());
+	}
+
+	@Test
+	public void testPutThenGetMultipleCollectionsMultipleFilesBundled() throws Exception {
+
+		String rootCollection = "testPutThenGetMultipleCollectionsMultipleFilesBundled";
+		String returnCollection = "testPutThenGetMultipleCollectionsMultipleFilesBundledReturn";
+
+		TransferStatusCallbackListenerTestingImplementation listener = new TransferStatusCallbackListenerTestingImplementation();
+
+		String localCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + rootCollection);
+
+		String returnCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + returnCollection);
+
+		String irodsCollectionRootAbsolutePath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		FileGenerator.generateManyFilesAndCollectionsInParentCollectionByAbsolutePath(localCollectionAbsolutePath,
+				"testPutThenGetMultipleCollectionsMultipleFilesBundled", 2, 3, 2, "testFile", ".txt", 20, 10, 20,
+				200);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath);
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		File localFile = new File(localCollectionAbsolutePath);
+
+		TransferOptions transferOptions = new TransferOptions();
+		transferOptions.setBundleSmallFiles(true);
+		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
+		transferControlBlock.setTransferOptions(transferOptions);
+
+		dataTransferOperationsAO.putOperation(localFile, destFile, listener, transferControlBlock);
+
+		File returnLocalFile = new File(returnCollectionAbsolutePath);
+		destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath + '/' + rootCollection);
+		dataTransferOperationsAO.getOperation(destFile, returnLocalFile, listener, null);
+
+		File resultOfPutFile = new File(returnCollectionAbsolutePath + '/' + rootCollection);
+
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(localFile, resultOfPutFile);
+
+		Assert.assertEquals("no errors expected", 0, listener.getExceptionCallbackCtr());
+		Assert.assertTrue(listener.getGetCallbackCtr() > 0);
+		Assert.assertEquals("each bundled file should get a put callback", listener.getGetCallbackCtr(),
+				listener.getPutCallbackCtr());
+	}
+
 	@Test
 	public void testPutMultipleCollectionsMultipleFilesWithCallbacksAndControlBlock() throws Exception {
 
@@ -223,6 +223,62 @@ public class ResourceAOTest {
 
 	}
 
+	@Test
+	public final void testAddAndDeleteBulkAVUMetadataToResource() throws Exception {
+		String testResource = testingProperties.getProperty(TestingPropertiesHelper.IRODS_RESOURCE_KEY);
+		String expectedAttribName = "testAddAndDeleteBulkAVUMetadataToResourceattrib";
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAdminAccountFromTestProperties(testingProperties);
+		ResourceAO resourceAO = irodsFileSystem.getIRODSAccessObjectFactory().getResourceAO(irodsAccount);
+
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		for (int i = 0; i < 5; i++) {
+			avuData.add(AvuData.instance(expectedAttribName, "value" + i, ""));
+		}
+		resourceAO.deleteBulkAVUMetadataFromResource(testResource, avuData);
+
+		List<BulkAVUOperationResponse> responses = resourceAO.addBulkAVUMetadataToResource(testResource, avuData);
+		Assert.assertEquals(5, responses.size());
+		for (BulkAVUOperationResponse response : responses) {
+			Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, response.getResultStatus());
+		}
+
+		List<AVUQueryElement> queryElements = new ArrayList<AVUQueryElement>();
+		queryElements.add(AVUQueryElement.instanceForValueQuery(AVUQueryElement.AVUQueryPart.ATTRIBUTE,
+				QueryConditionOperators.EQUAL, expectedAttribName));
+		Assert.assertEquals(5, resourceAO.findMetadataValuesByMetadataQuery(queryElements).size());
+
+		resourceAO.deleteBulkAVUMetadataFromResource(testResource, avuData);
+		Assert.assertTrue(resourceAO.findMetadataValuesByMetadataQuery(queryElements).isEmpty());
+	}
+
+	@Test
+	public final void testAddAndDeleteBulkAVUMetadataMissingResource() throws Exception {
+		String testResource = "testAddAndDeleteBulkAVUMetadataMissingResource";
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAdminAccountFromTestProperties(testingProperties);
+		ResourceAO resourceAO = irodsFileSystem.getIRODSAccessObjectFactory().getResourceAO(irodsAccount);
+
+		List<AvuData> avuData = new ArrayList<AvuData>();
+		for (int i = 0; i < 3; i++) {
+			avuData.add(AvuData.instance("testAddAndDeleteBulkAVUMetadataMissingResourceattrib", "value" + i, ""));
+		}
+
+		List<BulkAVUOperationResponse> responses = resourceAO.addBulkAVUMetadataToResource(testResource, avuData);
+		Assert.assertEquals(3, responses.size());
+		for (BulkAVUOperationResponse response : responses) {
+			Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.MISSING_METADATA_TARGET,
+					response.getResultStatus());
+		}
+
+		responses = resourceAO.deleteBulkAVUMetadataFromResource(testResource, avuData);
+		Assert.assertEquals(3, responses.size());
+		for (BulkAVUOperationResponse response : responses) {
+			Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.MISSING_METADATA_TARGET,
+					response.getResultStatus());
+		}
+	}
+
 	@Test(expected = InvalidResourceException.class)
 	public final void testAddResourceMetadataBadResource() throws Exception {
 		String testResource = "Imabadresource";
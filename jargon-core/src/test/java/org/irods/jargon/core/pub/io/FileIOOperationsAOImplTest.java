@@ -5,6 +5,9 @@ package org.irods.jargon.core.pub.io;
 
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
@@ -155,6 +158,61 @@ public class FileIOOperationsAOImplTest {
 
 	}
 
+	@Test
+	public final void testReadRanges() throws Exception {
+		String testFileName = "testReadRanges.txt";
+		long fileLengthInBytes = 300 * 1024;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String inputFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName,
+				fileLengthInBytes);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(inputFileName, targetIrodsCollection,
+				testingProperties.getProperty(TestingPropertiesHelper.IRODS_RESOURCE_KEY), null, null);
+
+		byte[] inputBytes = new byte[(int) fileLengthInBytes];
+		BufferedInputStream fis = new BufferedInputStream(new FileInputStream(inputFileName));
+		int read = 0;
+		while (read < inputBytes.length) {
+			read += fis.read(inputBytes, read, inputBytes.length - read);
+		}
+		fis.close();
+
+		List<ReadRange> ranges = Arrays.asList(ReadRange.instance(250000, 1000), ReadRange.instance(10, 8),
+				ReadRange.instance(30, 100), ReadRange.instance(150000, 5000), ReadRange.instance(300000, 10000));
+
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection + '/' + testFileName);
+		irodsFile.openReadOnly();
+		FileIOOperations fileIOOperations = new FileIOOperationsAOImpl(irodsFileSystem.getIrodsSession(), irodsAccount);
+
+		List<ByteBuffer> buffers = fileIOOperations.readRanges(irodsFile.getFileDescriptor(), ranges);
+		assertRangesRead(inputBytes, ranges, buffers);
+
+		buffers = fileIOOperations.readRanges(irodsFile, ranges, 3);
+		assertRangesRead(inputBytes, ranges, buffers);
+		irodsFile.close();
+	}
+
+	private void assertRangesRead(final byte[] inputBytes, final List<ReadRange> ranges,
+			final List<ByteBuffer> buffers) {
+		Assert.assertEquals("one buffer per range", ranges.size(), buffers.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			ReadRange range = ranges.get(i);
+			int expectedLength = (int) Math.min(range.getLength(), inputBytes.length - range.getOffset());
+			byte[] actual = new byte[buffers.get(i).remaining()];
+			buffers.get(i).get(actual);
+			Assert.assertArrayEquals("wrong data for " + range, Arrays.copyOfRange(inputBytes,
+					(int) range.getOffset(), (int) range.getOffset() + expectedLength), actual);
+		}
+	}
+
 	/**
 	 * Test method for
 	 * {@link org.irods.jargon.core.pub.io.FileIOOperationsAOImpl#write(int, byte[], int, int)}
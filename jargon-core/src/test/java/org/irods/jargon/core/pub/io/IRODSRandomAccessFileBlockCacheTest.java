@@ -0,0 +1,300 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.EOFException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSRandomAccessFileBlockCacheTest {
+
+	private static final int BLOCK_SIZE = 512;
+
+	private static byte[] data;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		data = new byte[20 * BLOCK_SIZE + 100];
+		new Random(42).nextBytes(data);
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testSmallReadsServedFromCache() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(8, 0);
+
+		file.seek(1000, SeekWhenceType.SEEK_START);
+		byte[] expected = Arrays.copyOfRange(data, 1000, 1004);
+		int expectedInt = ((expected[0] & 0xff) << 24) | ((expected[1] & 0xff) << 16) | ((expected[2] & 0xff) << 8)
+				| (expected[3] & 0xff);
+		Assert.assertEquals("wrong int", expectedInt, file.readInt());
+		for (int i = 1004; i < 1020; i++) {
+			Assert.assertEquals("wrong byte at " + i, data[i] & 0xff, file.read());
+		}
+		Assert.assertEquals("one block load for all the small reads", 1, remote.reads);
+		Assert.assertEquals("file pointer not advanced", 1020, file.getFilePointer());
+		file.close();
+		Assert.assertTrue("file not closed", remote.closed);
+	}
+
+	@Test
+	public void testSequentialReadsReadAhead() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(32, 8);
+
+		byte[] read = new byte[data.length];
+		for (int offset = 0; offset < data.length; offset += 100) {
+			file.readFully(read, offset, Math.min(100, data.length - offset));
+		}
+		Assert.assertArrayEquals("wrong data", data, read);
+		Assert.assertTrue("sequential reads should be read ahead, got " + remote.reads + " reads",
+				remote.reads < 10);
+		Assert.assertEquals("should be at the end of the file", -1, file.read());
+	}
+
+	@Test
+	public void testRandomReadsDoNotReadAhead() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(32, 8);
+
+		int[] blocks = { 7, 2, 15, 4, 11 };
+		for (int block : blocks) {
+			file.seek(block * BLOCK_SIZE + 3, SeekWhenceType.SEEK_START);
+			Assert.assertEquals(data[block * BLOCK_SIZE + 3], file.readByte());
+		}
+		Assert.assertEquals("one read per random block", blocks.length, remote.reads);
+		Assert.assertEquals("should read only the blocks touched", blocks.length * BLOCK_SIZE, remote.bytesRead);
+	}
+
+	@Test
+	public void testSeekCurrentAfterCachedReads() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(32, 8);
+
+		// read ahead leaves the remote offset past the caller's position
+		byte[] read = new byte[2 * BLOCK_SIZE];
+		file.readFully(read);
+		file.seek(50, SeekWhenceType.SEEK_CURRENT);
+		Assert.assertEquals("wrong file pointer after read ahead", 2 * BLOCK_SIZE + 50, file.getFilePointer());
+		Assert.assertEquals("wrong byte after read ahead", data[2 * BLOCK_SIZE + 50], file.readByte());
+
+		// cache hits leave the remote offset where it was
+		file.seek(10, SeekWhenceType.SEEK_START);
+		file.readInt();
+		file.seek(100, SeekWhenceType.SEEK_CURRENT);
+		Assert.assertEquals("wrong file pointer after cache hits", 114, file.getFilePointer());
+		Assert.assertEquals("wrong byte after cache hits", data[114], file.readByte());
+
+		file.seek(20, SeekWhenceType.SEEK_CURRENT);
+		file.write(7);
+		file.close();
+		Assert.assertEquals("write should land at the caller's position", 7, remote.contents()[135]);
+	}
+
+	@Test
+	public void testWritesAreWrittenBackOnSeekFlushAndClose() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(4, 0);
+		byte[] expected = data.clone();
+
+		file.seek(10, SeekWhenceType.SEEK_START);
+		file.writeInt(0x01020304);
+		file.writeShort(0x0506);
+		System.arraycopy(new byte[] { 1, 2, 3, 4, 5, 6 }, 0, expected, 10, 6);
+		Assert.assertEquals("writes should be cached", 0, remote.writes);
+		file.seek(2000, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("seek should write back one range", 1, remote.writes);
+		Assert.assertArrayEquals(expected, remote.contents());
+
+		file.write(new byte[] { 9, 9, 9 });
+		System.arraycopy(new byte[] { 9, 9, 9 }, 0, expected, 2000, 3);
+		file.flush();
+		Assert.assertArrayEquals(expected, remote.contents());
+
+		file.seek(3000, SeekWhenceType.SEEK_START);
+		file.write(7);
+		expected[3000] = 7;
+		file.close();
+		Assert.assertArrayEquals(expected, remote.contents());
+		Assert.assertEquals("one write per dirty range", 3, remote.writes);
+	}
+
+	@Test
+	public void testEvictionWritesBackAndReadsSeeWrites() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(2, 0);
+		byte[] expected = data.clone();
+
+		for (int block = 0; block < 6; block++) {
+			file.seek(block * BLOCK_SIZE + 5, SeekWhenceType.SEEK_START);
+			file.write(block);
+			expected[block * BLOCK_SIZE + 5] = (byte) block;
+		}
+		Assert.assertTrue("evicted blocks should be written back", remote.writes >= 4);
+
+		for (int block = 0; block < 6; block++) {
+			file.seek(block * BLOCK_SIZE + 5, SeekWhenceType.SEEK_START);
+			Assert.assertEquals(block, file.read());
+		}
+		file.close();
+		Assert.assertArrayEquals(expected, remote.contents());
+	}
+
+	@Test
+	public void testWritePastEndExtendsWithZeros() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(Arrays.copyOf(data, 100));
+		IRODSRandomAccessFile file = remote.open(8, 0);
+
+		Assert.assertEquals(data[0], file.readByte());
+		file.seek(3 * BLOCK_SIZE + 10, SeekWhenceType.SEEK_START);
+		file.writeLong(-1L);
+		Assert.assertEquals("length should include cached writes", 3 * BLOCK_SIZE + 18, file.length());
+
+		file.seek(90, SeekWhenceType.SEEK_START);
+		byte[] read = new byte[20];
+		file.readFully(read);
+		Assert.assertArrayEquals(Arrays.copyOfRange(data, 90, 100), Arrays.copyOf(read, 10));
+		Assert.assertArrayEquals(new byte[10], Arrays.copyOfRange(read, 10, 20));
+
+		file.seek(3 * BLOCK_SIZE + 10, SeekWhenceType.SEEK_START);
+		Assert.assertEquals(-1L, file.readLong());
+		try {
+			file.readByte();
+			Assert.fail("should be at the end of the file");
+		} catch (EOFException e) {
+			// expected
+		}
+		file.close();
+	}
+
+	@Test
+	public void testWithoutCacheEveryReadGoesToIrods() throws Exception {
+		FakeRemoteFile remote = new FakeRemoteFile(data);
+		IRODSRandomAccessFile file = remote.open(0, 0);
+
+		for (int i = 0; i < 10; i++) {
+			Assert.assertEquals(data[i] & 0xff, file.read());
+		}
+		Assert.assertEquals("uncached reads each go to iRODS", 10, remote.reads);
+		file.close();
+	}
+
+	/**
+	 * Serves a byte array as an open iRODS file, tracking its own offset like
+	 * iRODS does
+	 */
+	static class FakeRemoteFile {
+		private byte[] contents;
+		private int length;
+		private long pointer = 0;
+		private int reads = 0;
+		private long bytesRead = 0;
+		private int writes = 0;
+		private boolean closed = false;
+
+		FakeRemoteFile(final byte[] initial) {
+			contents = initial.clone();
+			length = initial.length;
+		}
+
+		byte[] contents() {
+			return Arrays.copyOf(contents, length);
+		}
+
+		IRODSRandomAccessFile open(final int cacheBlocks, final int readAheadBlocks) throws Exception {
+			final SettableJargonProperties properties = new SettableJargonProperties();
+			properties.setRandomAccessCacheBlocks(cacheBlocks);
+			properties.setRandomAccessCacheBlockSize(BLOCK_SIZE);
+			properties.setRandomAccessCacheReadAheadBlocks(readAheadBlocks);
+
+			IRODSFile irodsFile = (IRODSFile) Proxy.newProxyInstance(IRODSFile.class.getClassLoader(),
+					new Class<?>[] { IRODSFile.class }, new InvocationHandler() {
+						@Override
+						public Object invoke(final Object proxy, final Method method, final Object[] args) {
+							String name = method.getName();
+							if (name.equals("exists") || name.equals("isFile")) {
+								return true;
+							} else if (name.equals("getFileDescriptor")) {
+								return 1;
+							} else if (name.equals("length")) {
+								return (long) length;
+							} else if (name.equals("close")) {
+								closed = true;
+							} else if (method.getReturnType() == boolean.class) {
+								return false;
+							}
+							return null;
+						}
+					});
+
+			FileIOOperations fileIOOperations = (FileIOOperations) Proxy.newProxyInstance(
+					FileIOOperations.class.getClassLoader(), new Class<?>[] { FileIOOperations.class },
+					new InvocationHandler() {
+						@Override
+						public Object invoke(final Object proxy, final Method method, final Object[] args) {
+							String name = method.getName();
+							if (name.equals("getJargonProperties")) {
+								return properties;
+							} else if (name.equals("fileRead") && args[1] instanceof byte[]) {
+								return read((byte[]) args[1], (Integer) args[2], (Integer) args[3]);
+							} else if (name.equals("write")) {
+								return write((byte[]) args[1], (Integer) args[2], (Integer) args[3]);
+							} else if (name.equals("seek")) {
+								return seek((Long) args[1], (SeekWhenceType) args[2]);
+							}
+							throw new UnsupportedOperationException(name);
+						}
+					});
+
+			return new IRODSRandomAccessFile(irodsFile, fileIOOperations);
+		}
+
+		private int read(final byte[] buffer, final int offset, final int len) {
+			reads++;
+			if (pointer >= length) {
+				return -1;
+			}
+			int count = (int) Math.min(len, length - pointer);
+			System.arraycopy(contents, (int) pointer, buffer, offset, count);
+			pointer += count;
+			bytesRead += count;
+			return count;
+		}
+
+		private int write(final byte[] buffer, final int offset, final int len) {
+			writes++;
+			int end = (int) pointer + len;
+			if (end > contents.length) {
+				contents = Arrays.copyOf(contents, Math.max(end, contents.length * 2));
+			}
+			System.arraycopy(buffer, offset, contents, (int) pointer, len);
+			pointer = end;
+			length = Math.max(length, end);
+			return len;
+		}
+
+		private long seek(final long position, final SeekWhenceType whence) {
+			if (whence == SeekWhenceType.SEEK_CURRENT) {
+				pointer += position;
+			} else if (whence == SeekWhenceType.SEEK_END) {
+				pointer = length + position;
+			} else {
+				pointer = position;
+			}
+			return pointer;
+		}
+	}
+
+}
@@ -376,4 +376,58 @@ public class PackingIrodsInputStreamTest {
 		Assert.assertTrue("didn't get expected skip", skipped > 0);
 
 	}
+
+	@Test
+	public final void testReadAheadInputStream() throws Exception {
+
+		String testFileName = "testReadAheadInputStream.txt";
+		String newLocalFileName = "testReadAheadInputStream-new.txt";
+		int fileLength = 20 * 1024 * 1024 + 7;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = org.irods.jargon.testutils.filemanip.FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName, fileLength);
+		File localFile = new File(localFilePath);
+
+		// put scratch file into irods in the right place
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection, testFileName);
+
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFile, irodsFile, null, null);
+
+		// the file is opened on this thread's connection and read on the fetch
+		// thread
+		IRODSFileInputStream fis = irodsFileFactory.instanceIRODSFileInputStream(irodsFile.getAbsolutePath());
+		ReadAheadPackingIrodsInputStream ris = new ReadAheadPackingIrodsInputStream(fis);
+
+		File newLocal = new File(absPath, newLocalFileName);
+
+		OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(newLocal));
+
+		final byte[] buffer = new byte[8 * 1024 + 3];
+
+		int n = 0;
+		while (-1 != (n = ris.read(buffer))) {
+			fileOutputStream.write(buffer, 0, n);
+		}
+		fileOutputStream.flush();
+
+		ris.close();
+		fileOutputStream.close();
+
+		DataObjectChecksumUtilitiesAO dataObjectChecksumUtilitiesAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataObjectChecksumUtilitiesAO(irodsAccount);
+		dataObjectChecksumUtilitiesAO.verifyLocalFileAgainstIrodsFileChecksum(newLocal.getAbsolutePath(),
+				irodsFile.getAbsolutePath());
+
+	}
 }
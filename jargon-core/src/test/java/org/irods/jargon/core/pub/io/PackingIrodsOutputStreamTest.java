@@ -99,6 +99,46 @@ public class PackingIrodsOutputStreamTest {
 
 	}
 
+	@Test
+	public void testWriteLargeStreamWriteBehind() throws Exception {
+		String testFileName = "testWriteLargeStreamWriteBehind.txt";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName,
+				30 * 1024 * 1024 + 11);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection + '/' + testFileName);
+
+		// the file is opened on this thread's connection and written on the sender
+		// thread
+		IRODSFileOutputStream irodsFileOutputStream = irodsFileFactory.instanceIRODSFileOutputStream(irodsFile);
+		PackingIrodsOutputStream packingIrodsOutputStream = new PackingIrodsOutputStream(irodsFileOutputStream, 2);
+		InputStream fileInputStream = new BufferedInputStream(new FileInputStream(new File(localFilePath)));
+
+		byte[] buffer = new byte[8 * 1024 + 3];
+
+		int n = 0;
+
+		while (-1 != (n = fileInputStream.read(buffer))) {
+			packingIrodsOutputStream.write(buffer, 0, n);
+		}
+		packingIrodsOutputStream.flush();
+		fileInputStream.close();
+		packingIrodsOutputStream.close();
+		DataObjectChecksumUtilitiesAO dataObjectChecksumUtilitiesAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataObjectChecksumUtilitiesAO(irodsAccount);
+		dataObjectChecksumUtilitiesAO.verifyLocalFileAgainstIrodsFileChecksum(localFilePath,
+				irodsFile.getAbsolutePath()); // throws exception
+		// if mismatch
+
+	}
+
 	/**
 	 * test for https://github.com/DICE-UNC/jargon/issues/200
 	 *
@@ -0,0 +1,281 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.ScriptedConnections;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class PackingIrodsOutputStreamWriteBehindTest {
+
+	private static final int PUT_BUFFER_SIZE = 1000;
+
+	private static byte[] data;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		data = new byte[10 * PUT_BUFFER_SIZE + 123];
+		new Random(42).nextBytes(data);
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testSynchronousPacksIntoFullBuffers() throws Exception {
+		CollectingIRODSFileOutputStream target = new CollectingIRODSFileOutputStream();
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(target);
+		writeInOddChunks(stream);
+		stream.close();
+
+		Assert.assertArrayEquals("wrong bytes written", data, target.getBytes());
+		Assert.assertEquals("should write one call per full buffer", 11, target.writes);
+		Assert.assertTrue("underlying stream not closed", target.closed);
+	}
+
+	@Test
+	public void testWriteBehindOwnThread() throws Exception {
+		CollectingIRODSFileOutputStream target = new CollectingIRODSFileOutputStream();
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(target, 2);
+		writeInOddChunks(stream);
+		stream.close();
+
+		Assert.assertArrayEquals("wrong bytes written", data, target.getBytes());
+		Assert.assertEquals("should write one call per full buffer", 11, target.writes);
+		Assert.assertEquals("every send should use the writer's connection", 0, target.writesOnOtherConnection);
+		Assert.assertTrue("underlying stream not closed", target.closed);
+	}
+
+	@Test
+	public void testWriteBehindSharedExecutorBoundsInFlight() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			CollectingIRODSFileOutputStream target = new CollectingIRODSFileOutputStream();
+			target.gate = new CountDownLatch(1);
+			final PackingIrodsOutputStream stream = new PackingIrodsOutputStream(target, executor, 2);
+
+			final CountDownLatch written = new CountDownLatch(1);
+			Thread writer = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						stream.write(data, 0, 4 * PUT_BUFFER_SIZE);
+						written.countDown();
+					} catch (IOException e) {
+						// left for the assertion below
+					}
+				}
+			});
+			writer.start();
+
+			Assert.assertFalse("writer should block with two buffers in flight",
+					written.await(200, TimeUnit.MILLISECONDS));
+			target.gate.countDown();
+			Assert.assertTrue("writer should resume", written.await(5, TimeUnit.SECONDS));
+			writer.join();
+
+			stream.write(data, 4 * PUT_BUFFER_SIZE, data.length - 4 * PUT_BUFFER_SIZE);
+			stream.flush();
+			Assert.assertEquals("flush should send everything", data.length, target.getBytes().length);
+			Assert.assertEquals("flush should reach the underlying stream", 1, target.flushes);
+			stream.close();
+
+			Assert.assertArrayEquals("wrong bytes written", data, target.getBytes());
+			Assert.assertFalse("shared executor should not be shut down", executor.isShutdown());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testSendFailureSurfacesOnNextWrite() throws Exception {
+		CollectingIRODSFileOutputStream target = new CollectingIRODSFileOutputStream();
+		target.failAfterWrites = 1;
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(target, 1);
+
+		IOException thrown = null;
+		try {
+			for (int i = 0; i < 10; i++) {
+				stream.write(data, 0, PUT_BUFFER_SIZE);
+			}
+		} catch (IOException e) {
+			thrown = e;
+		}
+		Assert.assertNotNull("send failure should be thrown", thrown);
+		Assert.assertEquals("simulated network failure", thrown.getCause().getMessage());
+
+		try {
+			stream.close();
+			Assert.fail("close should report the send failure");
+		} catch (IOException e) {
+			// expected
+		}
+		Assert.assertTrue("underlying stream should still be closed", target.closed);
+	}
+
+	@Test
+	public void testSendFailureSurfacesOnClose() throws Exception {
+		CollectingIRODSFileOutputStream target = new CollectingIRODSFileOutputStream();
+		target.failAfterWrites = 0;
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(target, 4);
+		stream.write(data, 0, 100);
+
+		try {
+			stream.close();
+			Assert.fail("close should report the send failure");
+		} catch (IOException e) {
+			Assert.assertEquals("simulated network failure", e.getCause().getMessage());
+		}
+		Assert.assertTrue("underlying stream should still be closed", target.closed);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeBuffersInFlight() throws Exception {
+		new PackingIrodsOutputStream(new CollectingIRODSFileOutputStream(), -1);
+	}
+
+	private static void writeInOddChunks(final PackingIrodsOutputStream stream) throws IOException {
+		int offset = 0;
+		int chunk = 1;
+		while (offset < data.length) {
+			int length = Math.min(chunk, data.length - offset);
+			if (length == 1) {
+				stream.write(data[offset]);
+			} else {
+				stream.write(data, offset, length);
+			}
+			offset += length;
+			chunk = chunk * 3 % 1777 + 1;
+		}
+	}
+
+	/**
+	 * Collects what is written in memory rather than sending it to iRODS
+	 */
+	static class CollectingIRODSFileOutputStream extends IRODSFileOutputStream {
+		private final ByteArrayOutputStream collected = new ByteArrayOutputStream();
+		private volatile CountDownLatch gate = null;
+		private int failAfterWrites = Integer.MAX_VALUE;
+		private int writes = 0;
+		private int flushes = 0;
+		private boolean closed = false;
+		private int writesOnOtherConnection = 0;
+		private final IRODSSession irodsSession;
+		private final IRODSAccount irodsAccount;
+
+		CollectingIRODSFileOutputStream() throws JargonException, IOException {
+			this(ScriptedConnections.session(),
+					IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", ""));
+		}
+
+		private CollectingIRODSFileOutputStream(final IRODSSession irodsSession, final IRODSAccount irodsAccount)
+				throws JargonException, IOException {
+			super(fakeFile(), fakeFileIOOperations(irodsSession, irodsAccount), OpenFlags.WRITE);
+			this.irodsSession = irodsSession;
+			this.irodsAccount = irodsAccount;
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			if (gate != null) {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+			}
+			synchronized (this) {
+				try {
+					if (irodsSession.currentConnection(irodsAccount) != getFileIOOperations().getIRODSProtocol()) {
+						writesOnOtherConnection++;
+					}
+				} catch (JargonException e) {
+					throw new IOException(e);
+				}
+				if (writes++ >= failAfterWrites) {
+					throw new IOException("simulated network failure");
+				}
+				collected.write(b, off, len);
+			}
+		}
+
+		@Override
+		public synchronized void flush() throws IOException {
+			flushes++;
+		}
+
+		@Override
+		public synchronized void close() throws IOException {
+			closed = true;
+		}
+
+		synchronized byte[] getBytes() {
+			return collected.toByteArray();
+		}
+
+		private static IRODSFile fakeFile() {
+			return (IRODSFile) Proxy.newProxyInstance(IRODSFile.class.getClassLoader(),
+					new Class<?>[] { IRODSFile.class }, new InvocationHandler() {
+						@Override
+						public Object invoke(final Object proxy, final Method method, final Object[] args) {
+							if (method.getName().equals("getFileDescriptor")) {
+								return 1;
+							}
+							if (method.getReturnType() == boolean.class) {
+								return Boolean.FALSE;
+							}
+							return null;
+						}
+					});
+		}
+
+		/**
+		 * File operations whose connection is the one the constructing thread
+		 * holds, as the file would be open on it
+		 */
+		private static FileIOOperations fakeFileIOOperations(final IRODSSession irodsSession,
+				final IRODSAccount irodsAccount) throws JargonException {
+			final SettableJargonProperties properties = new SettableJargonProperties();
+			properties.setPutBufferSize(PUT_BUFFER_SIZE);
+			final IRODSMidLevelProtocol irodsMidLevelProtocol = irodsSession.currentConnection(irodsAccount);
+			return (FileIOOperations) Proxy.newProxyInstance(FileIOOperations.class.getClassLoader(),
+					new Class<?>[] { FileIOOperations.class }, new InvocationHandler() {
+						@Override
+						public Object invoke(final Object proxy, final Method method, final Object[] args) {
+							if (method.getName().equals("getJargonProperties")) {
+								return properties;
+							}
+							if (method.getName().equals("getIRODSProtocol")) {
+								return irodsMidLevelProtocol;
+							}
+							if (method.getName().equals("getIRODSSession")) {
+								return irodsSession;
+							}
+							if (method.getName().equals("getIRODSAccount")) {
+								return irodsAccount;
+							}
+							return null;
+						}
+					});
+		}
+	}
+
+}
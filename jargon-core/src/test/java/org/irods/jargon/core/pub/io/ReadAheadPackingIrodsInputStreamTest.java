@@ -0,0 +1,251 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.ScriptedConnections;
+import org.irods.jargon.core.exception.JargonException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReadAheadPackingIrodsInputStreamTest {
+
+	private static final int FILE_LENGTH = 1024 * 1024 + 333;
+
+	private static byte[] data;
+	private static ExecutorService executor;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		data = new byte[FILE_LENGTH];
+		new Random(7).nextBytes(data);
+		executor = Executors.newCachedThreadPool();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testReadsWholeFileInOddSizes() throws Exception {
+		ByteArrayIRODSFileInputStream source = new ByteArrayIRODSFileInputStream(data);
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(source, executor, 3, 1024,
+				64 * 1024);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[777];
+		Assert.assertEquals(data[0] & 0xFF, stream.read());
+		out.write(data[0]);
+		int n;
+		while ((n = stream.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		Assert.assertEquals(-1, stream.read());
+		stream.close();
+
+		Assert.assertTrue("wrong data", Arrays.equals(data, out.toByteArray()));
+		Assert.assertTrue("underlying should be closed", source.closed);
+		Assert.assertEquals("chunks should grow to the max", 64 * 1024, stream.getChunkSize());
+		Assert.assertTrue("should fetch in few round trips", source.reads < 200);
+	}
+
+	@Test
+	public void testFetchesOnConnectionFileIsOpenOn() throws Exception {
+		ByteArrayIRODSFileInputStream source = new ByteArrayIRODSFileInputStream(data);
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(source, executor, 3, 1024,
+				64 * 1024);
+		byte[] buffer = new byte[4096];
+		while (stream.read(buffer) != -1) {
+			// reading through the fetching thread
+		}
+		stream.close();
+
+		Assert.assertTrue("should have fetched", source.reads > 0);
+		Assert.assertEquals("every fetch should use the reader's connection", 0, source.readsOnOtherConnection);
+	}
+
+	@Test
+	public void testFetchesAheadOfReader() throws Exception {
+		ByteArrayIRODSFileInputStream source = new ByteArrayIRODSFileInputStream(data);
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(source, null, 3, 4096,
+				4096);
+		Assert.assertEquals(data[0] & 0xFF, stream.read());
+		long deadline = System.currentTimeMillis() + 5000;
+		while (stream.available() < 3 * 4096 - 1 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		Assert.assertEquals("should hold every buffer fetched ahead", 3 * 4096 - 1, stream.available());
+		Assert.assertEquals("should stop when buffers are full", 3, source.reads);
+		stream.close();
+	}
+
+	@Test
+	public void testSkipWithinAndBeyondFetchedData() throws Exception {
+		ByteArrayIRODSFileInputStream source = new ByteArrayIRODSFileInputStream(data);
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(source, executor, 2, 8192,
+				8192);
+		stream.read();
+		Assert.assertEquals(100, stream.skip(100));
+		Assert.assertEquals(data[101] & 0xFF, stream.read());
+		Assert.assertEquals(500000, stream.skip(500000));
+		Assert.assertEquals(data[500102] & 0xFF, stream.read());
+
+		long remaining = FILE_LENGTH - 500103;
+		Assert.assertEquals("should not skip past the end", remaining, stream.skip(Long.MAX_VALUE));
+		Assert.assertEquals(-1, stream.read());
+		Assert.assertEquals(0, stream.skip(10));
+		stream.close();
+	}
+
+	@Test
+	public void testEmptyFile() throws Exception {
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(
+				new ByteArrayIRODSFileInputStream(new byte[0]), executor, 2, 1024, 1024);
+		Assert.assertEquals(-1, stream.read(new byte[10]));
+		Assert.assertEquals(0, stream.available());
+		stream.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void testFetchFailureReachesReader() throws Exception {
+		ByteArrayIRODSFileInputStream source = new ByteArrayIRODSFileInputStream(data);
+		source.failAfter = 10000;
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(source, executor, 2, 4096,
+				4096);
+		byte[] buffer = new byte[1000];
+		while (stream.read(buffer) != -1) {
+			// reading until the failure
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadAfterClose() throws Exception {
+		ReadAheadPackingIrodsInputStream stream = new ReadAheadPackingIrodsInputStream(
+				new ByteArrayIRODSFileInputStream(data), executor, 2, 4096, 4096);
+		stream.read();
+		stream.close();
+		stream.read();
+	}
+
+	/**
+	 * Serves a byte array as an iRODS file
+	 */
+	static class ByteArrayIRODSFileInputStream extends IRODSFileInputStream {
+		private final byte[] contents;
+		private int position = 0;
+		private int reads = 0;
+		private int failAfter = Integer.MAX_VALUE;
+		private boolean closed = false;
+		private int readsOnOtherConnection = 0;
+		private final IRODSSession irodsSession;
+		private final IRODSAccount irodsAccount;
+
+		ByteArrayIRODSFileInputStream(final byte[] contents) throws FileNotFoundException, JargonException {
+			this(contents, ScriptedConnections.session(),
+					IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", ""));
+		}
+
+		private ByteArrayIRODSFileInputStream(final byte[] contents, final IRODSSession irodsSession,
+				final IRODSAccount irodsAccount) throws FileNotFoundException {
+			super(fakeFile(contents.length), fakeFileIOOperations(irodsSession, irodsAccount), 1);
+			this.contents = contents;
+			this.irodsSession = irodsSession;
+			this.irodsAccount = irodsAccount;
+		}
+
+		@Override
+		public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+			reads++;
+			try {
+				if (irodsSession.currentConnection(irodsAccount) != getFileIOOperations().getIRODSProtocol()) {
+					readsOnOtherConnection++;
+				}
+			} catch (JargonException e) {
+				throw new IOException(e);
+			}
+			if (position >= failAfter) {
+				throw new IOException("simulated network failure");
+			}
+			if (position >= contents.length) {
+				return -1;
+			}
+			int n = Math.min(len, contents.length - position);
+			System.arraycopy(contents, position, b, off, n);
+			position += n;
+			return n;
+		}
+
+		@Override
+		public synchronized long skip(final long n) throws IOException {
+			position += n;
+			return n;
+		}
+
+		@Override
+		public long availableAsLong() throws IOException {
+			return contents.length;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+		}
+
+		/**
+		 * File operations whose connection is the one the constructing thread
+		 * holds, as the file would be open on it
+		 */
+		private static FileIOOperations fakeFileIOOperations(final IRODSSession irodsSession,
+				final IRODSAccount irodsAccount) {
+			final IRODSMidLevelProtocol irodsMidLevelProtocol;
+			try {
+				irodsMidLevelProtocol = irodsSession.currentConnection(irodsAccount);
+			} catch (JargonException e) {
+				throw new IllegalStateException(e);
+			}
+			return (FileIOOperations) Proxy.newProxyInstance(FileIOOperations.class.getClassLoader(),
+					new Class<?>[] { FileIOOperations.class }, new InvocationHandler() {
+						@Override
+						public Object invoke(final Object proxy, final Method method, final Object[] args) {
+							if (method.getName().equals("getIRODSProtocol")) {
+								return irodsMidLevelProtocol;
+							}
+							if (method.getName().equals("getIRODSSession")) {
+								return irodsSession;
+							}
+							if (method.getName().equals("getIRODSAccount")) {
+								return irodsAccount;
+							}
+							return null;
+						}
+					});
+		}
+
+		private static IRODSFile fakeFile(final long length) {
+			return (IRODSFile) Proxy.newProxyInstance(IRODSFile.class.getClassLoader(),
+					new Class<?>[] { IRODSFile.class }, new InvocationHandler() {
+						@Override
+						public Object invoke(final Object proxy, final Method method, final Object[] args) {
+							if (method.getName().equals("length")) {
+								return length;
+							}
+							return null;
+						}
+					});
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package org.irods.jargon.core.pub.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReadRangePlanTest {
+
+	private static byte[] file;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		file = new byte[100000];
+		for (int i = 0; i < file.length; i++) {
+			file[i] = (byte) (i * 31);
+		}
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testNearbyRangesCoalesce() throws Exception {
+		List<ReadRange> ranges = Arrays.asList(ReadRange.instance(5000, 10), ReadRange.instance(100, 50),
+				ReadRange.instance(180, 20), ReadRange.instance(120, 100));
+		ReadRangePlan plan = new ReadRangePlan(ranges, 64, 4096);
+
+		Assert.assertEquals("should be two spans", 2, plan.getSpans().size());
+		Assert.assertEquals(100, plan.getSpans().get(0).getOffset());
+		Assert.assertEquals(120, plan.getSpans().get(0).getLength());
+		Assert.assertEquals(5000, plan.getSpans().get(1).getOffset());
+
+		fill(plan, file.length);
+		assertViews(ranges, plan.views());
+	}
+
+	@Test
+	public void testSpanLimitStopsCoalescing() throws Exception {
+		List<ReadRange> ranges = Arrays.asList(ReadRange.instance(0, 600), ReadRange.instance(600, 600),
+				ReadRange.instance(1200, 600), ReadRange.instance(1300, 10));
+		ReadRangePlan plan = new ReadRangePlan(ranges, 64, 1000);
+
+		Assert.assertEquals("limit should split spans", 3, plan.getSpans().size());
+		fill(plan, file.length);
+		assertViews(ranges, plan.views());
+	}
+
+	@Test
+	public void testOversizedRangeIsReadWhole() throws Exception {
+		List<ReadRange> ranges = Arrays.asList(ReadRange.instance(0, 5000), ReadRange.instance(10, 10),
+				ReadRange.instance(4990, 20));
+		ReadRangePlan plan = new ReadRangePlan(ranges, 64, 1000);
+
+		Assert.assertEquals(5000, plan.getSpans().get(0).getLength());
+		fill(plan, file.length);
+		assertViews(ranges, plan.views());
+	}
+
+	@Test
+	public void testRangesPastEndOfFileAreShort() throws Exception {
+		List<ReadRange> ranges = Arrays.asList(ReadRange.instance(90, 20), ReadRange.instance(150, 10),
+				ReadRange.instance(50, 0));
+		ReadRangePlan plan = new ReadRangePlan(ranges, 64, 4096);
+		fill(plan, 100);
+		List<ByteBuffer> views = plan.views();
+
+		Assert.assertEquals("should stop at end of file", 10, views.get(0).remaining());
+		Assert.assertEquals("should be empty past end of file", 0, views.get(1).remaining());
+		Assert.assertEquals("zero length should be empty", 0, views.get(2).remaining());
+		Assert.assertTrue("views should be read only", views.get(0).isReadOnly());
+	}
+
+	@Test
+	public void testPartitionCutsWidestGaps() throws Exception {
+		List<ReadRange> ranges = Arrays.asList(ReadRange.instance(0, 10), ReadRange.instance(1000, 10),
+				ReadRange.instance(50000, 10), ReadRange.instance(51000, 10), ReadRange.instance(90000, 10));
+		ReadRangePlan plan = new ReadRangePlan(ranges, 64, 4096);
+
+		List<List<ReadRangePlan.Span>> groups = plan.partition(3);
+		Assert.assertEquals(3, groups.size());
+		Assert.assertEquals(2, groups.get(0).size());
+		Assert.assertEquals(2, groups.get(1).size());
+		Assert.assertEquals(1, groups.get(2).size());
+		Assert.assertEquals(90000, groups.get(2).get(0).getOffset());
+
+		Assert.assertEquals("no more groups than spans", 5, plan.partition(10).size());
+		Assert.assertEquals(1, plan.partition(1).size());
+	}
+
+	private static void fill(final ReadRangePlan plan, final int fileLength) {
+		for (ReadRangePlan.Span span : plan.getSpans()) {
+			int available = (int) Math.max(0, Math.min(span.getLength(), fileLength - span.getOffset()));
+			if (available > 0) {
+				System.arraycopy(file, (int) span.getOffset(), span.getData(), 0, available);
+			}
+			span.setFilled(available);
+		}
+	}
+
+	private static void assertViews(final List<ReadRange> ranges, final List<ByteBuffer> views) {
+		Assert.assertEquals("one view per range", ranges.size(), views.size());
+		for (int i = 0; i < ranges.size(); i++) {
+			ReadRange range = ranges.get(i);
+			byte[] actual = new byte[views.get(i).remaining()];
+			views.get(i).duplicate().get(actual);
+			Assert.assertArrayEquals("wrong data for " + range, Arrays.copyOfRange(file, (int) range.getOffset(),
+					(int) range.getEnd()), actual);
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class GenQueryResultIteratorTest {
+
+	private static TranslatedIRODSGenQuery translatedQuery;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		String queryString = "select " + RodsGenQueryEnum.COL_DATA_NAME.getName() + " where "
+				+ RodsGenQueryEnum.COL_COLL_NAME.getName() + " = " + "'/zone/home/rods'";
+		IRODSServerProperties props = IRODSServerProperties.instance(IRODSServerProperties.IcatEnabled.ICAT_ENABLED,
+				100, "rods4.2.0", "d", "zone");
+		translatedQuery = new IRODSGenQueryTranslator(props).getTranslatedQuery(IRODSGenQuery.instance(queryString, 2));
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testIterateAllPages() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		IRODSQueryResultSet first = buildPage(1, "a", "b");
+		IRODSQueryResultSet second = buildPage(1, "c", "d");
+		IRODSQueryResultSet last = buildPage(0, "e");
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(first);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 1, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(second, last);
+
+		List<String> names = new ArrayList<String>();
+		GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null, true);
+		while (iterator.hasNext()) {
+			names.add(iterator.next().getColumn(0));
+		}
+		iterator.close();
+
+		Assert.assertEquals("wrong rows", "[a, b, c, d, e]", names.toString());
+		Mockito.verify(processor, Mockito.never()).closeResults(Mockito.any(IRODSQueryResultSet.class));
+	}
+
+	@Test
+	public void testIterateWithoutPrefetch() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(1, "a"));
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 1, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(0, "b"));
+
+		GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null, false);
+		Assert.assertEquals("wrong row count", 2, iterator.stream().count());
+	}
+
+	@Test
+	public void testCloseEarlyClosesQuery() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		IRODSQueryResultSet first = buildPage(1, "a", "b");
+		IRODSQueryResultSet second = buildPage(1, "c", "d");
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(first);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 1, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(second);
+
+		try (GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null,
+				true)) {
+			Assert.assertEquals("wrong row", "a", iterator.next().getColumn(0));
+		}
+
+		// the prefetched page is the one still open in iRODS
+		Mockito.verify(processor).closeResults(second);
+	}
+
+	@Test
+	public void testDroppedIteratorsDoNotKeepThreads() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(1, "a"));
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 1, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(1, "b"));
+
+		int iterators = 50;
+		for (int i = 0; i < iterators; i++) {
+			// read into the prefetched page and drop the iterator without closing it
+			GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null, true);
+			iterator.next();
+			iterator.next();
+		}
+
+		int prefetchThreads = 0;
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().startsWith("jargon-genquery-prefetch")) {
+				prefetchThreads++;
+			}
+		}
+		Assert.assertTrue("dropped iterators should share prefetch threads", prefetchThreads < iterators);
+	}
+
+	@Test
+	public void testEmptyResults() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(0));
+
+		GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null, true);
+		Assert.assertFalse("should have no rows", iterator.hasNext());
+		iterator.close();
+		Mockito.verify(processor, Mockito.never()).closeResults(Mockito.any(IRODSQueryResultSet.class));
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNextAfterClose() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(0, "a"));
+
+		GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null, true);
+		iterator.close();
+		iterator.next();
+	}
+
+	@Test(expected = JargonRuntimeException.class)
+	public void testErrorFetchingNextPage() throws Exception {
+		GenQueryProcessor processor = Mockito.mock(GenQueryProcessor.class);
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 0, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenReturn(buildPage(1, "a"));
+		Mockito.when(processor.executeTranslatedIRODSQuery(translatedQuery, 1, 0, QueryCloseBehavior.MANUAL_CLOSE,
+				null)).thenThrow(new JargonException("boom"));
+
+		GenQueryResultIterator iterator = GenQueryResultIterator.instance(processor, translatedQuery, null, true);
+		iterator.next();
+		iterator.next();
+	}
+
+	private IRODSQueryResultSet buildPage(final int continuation, final String... values) throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_DATA_NAME.getName());
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		for (String value : values) {
+			List<String> columns = new ArrayList<String>();
+			columns.add(value);
+			rows.add(IRODSQueryResultRow.instance(columns, columnNames));
+		}
+		return IRODSQueryResultSet.instance(translatedQuery, rows, continuation, 0);
+	}
+
+}
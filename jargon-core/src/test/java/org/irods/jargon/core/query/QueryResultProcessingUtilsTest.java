@@ -0,0 +1,113 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryOut;
+import org.irods.jargon.core.packinstr.Tag;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class QueryResultProcessingUtilsTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testTranslateResponseIntoResultSet() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_DATA_NAME.getName());
+		columnNames.add(RodsGenQueryEnum.COL_DATA_SIZE.getName());
+
+		Tag response = buildResponse(3, 0, new String[] { "a.txt", "b.txt", "c.txt" },
+				new String[] { "10", "20", "30" });
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils.translateResponseIntoResultSet(response,
+				columnNames, 0, 0);
+
+		Assert.assertEquals("wrong number of rows", 3, rows.size());
+		IRODSQueryResultRow row = rows.get(1);
+		Assert.assertEquals("wrong value by position", "b.txt", row.getColumn(0));
+		Assert.assertEquals("wrong value by name", "20", row.getColumn(RodsGenQueryEnum.COL_DATA_SIZE.getName()));
+		Assert.assertEquals("wrong long value", 20L,
+				row.getColumnAsLongOrZero(RodsGenQueryEnum.COL_DATA_SIZE.getName()));
+		Assert.assertEquals("wrong record count", 2, row.getRecordCount());
+		Assert.assertTrue("should be last result", row.isLastResult());
+		Assert.assertEquals("wrong list size", 2, row.getColumnsAsList().size());
+		Assert.assertEquals("wrong list value", "b.txt", row.getColumnsAsList().get(0));
+	}
+
+	@Test
+	public void testTranslateResponseWithPartialStartAndContinuation() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		Tag response = buildResponse(2, 5, new String[] { "/zone/a", "/zone/b" });
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils.translateResponseIntoResultSet(response,
+				columnNames, 5, 100);
+
+		Assert.assertEquals("wrong record count", 101, rows.get(0).getRecordCount());
+		Assert.assertEquals("wrong record count", 102, rows.get(1).getRecordCount());
+		Assert.assertFalse("should not be last result", rows.get(1).isLastResult());
+	}
+
+	@Test(expected = JargonException.class)
+	public void testGetColumnByMissingName() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		Tag response = buildResponse(1, 0, new String[] { "/zone/a" });
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils.translateResponseIntoResultSet(response,
+				columnNames, 0, 0);
+		rows.get(0).getColumn(RodsGenQueryEnum.COL_DATA_NAME.getName());
+	}
+
+	@Test
+	public void testTranslateNullResponse() throws Exception {
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils.translateResponseIntoResultSet(null,
+				new ArrayList<String>(), 0, 0);
+		Assert.assertTrue("should be empty", rows.isEmpty());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRowListIsReadOnly() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		Tag response = buildResponse(1, 0, new String[] { "/zone/a" });
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils.translateResponseIntoResultSet(response,
+				columnNames, 0, 0);
+		rows.get(0).getColumnsAsList().add("x");
+	}
+
+	private Tag buildResponse(final int rows, final int continuation, final String[]... columns) {
+		Tag response = new Tag(GenQueryOut.PI_NAME);
+		response.addTag(GenQueryOut.ROW_CNT, rows);
+		response.addTag(GenQueryOut.ATTRIB_CNT, columns.length);
+		response.addTag(GenQueryOut.CONTINUE_INX, continuation);
+		response.addTag("totalRowCount", 0);
+		int attributeIndex = 401;
+		for (String[] column : columns) {
+			Tag sqlResult = new Tag("SqlResult_PI");
+			sqlResult.addTag("attriInx", attributeIndex++);
+			sqlResult.addTag("reslen", 100);
+			for (String value : column) {
+				sqlResult.addTag("value", value);
+			}
+			response.addTag(sqlResult);
+		}
+		return response;
+	}
+
+}
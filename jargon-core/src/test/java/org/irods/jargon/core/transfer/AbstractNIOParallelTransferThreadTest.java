@@ -0,0 +1,170 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class AbstractNIOParallelTransferThreadTest {
+
+	private static ServerSocketChannel server;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		server = ServerSocketChannel.open();
+		server.socket().bind(new InetSocketAddress("localhost", 0));
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		server.close();
+	}
+
+	@Test
+	public void testReadHeader() throws Exception {
+		TestThread thread = new TestThread();
+		thread.setS(SocketChannel.open(server.socket().getLocalSocketAddress()));
+		SocketChannel accepted = server.accept();
+
+		ByteBuffer header = ByteBuffer.allocate(24);
+		header.putInt(AbstractNIOParallelTransferThread.GET_OPR).putInt(0).putLong(1L << 40).putLong(4096L);
+		header.flip();
+		while (header.hasRemaining()) {
+			accepted.write(header);
+		}
+
+		Assert.assertEquals("wrong operation", AbstractNIOParallelTransferThread.GET_OPR, thread.readInt());
+		Assert.assertEquals("wrong flags", 0, thread.readInt());
+		Assert.assertEquals("wrong offset", 1L << 40, thread.readLong());
+		Assert.assertEquals("wrong length", 4096L, thread.readLong());
+
+		thread.close();
+		accepted.close();
+	}
+
+	@Test
+	public void testTransferSegmentsToFileOutOfOrder() throws Exception {
+		File local = File.createTempFile("niotransfer", ".dat");
+		local.deleteOnExit();
+		final byte[] data = new byte[256 * 1024];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % 251);
+		}
+
+		RandomAccessFile raf = new RandomAccessFile(local, "rw");
+		raf.setLength(data.length);
+		FileChannel fileChannel = raf.getChannel();
+
+		TestThread thread = new TestThread();
+		thread.setS(SocketChannel.open(server.socket().getLocalSocketAddress()));
+		final SocketChannel accepted = server.accept();
+
+		// second half first, then the first half, as a parallel thread may see them
+		final int half = data.length / 2;
+		Thread writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					writeAll(accepted, ByteBuffer.wrap(data, half, half));
+					writeAll(accepted, ByteBuffer.wrap(data, 0, half));
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		writer.start();
+
+		receive(thread, fileChannel, half, half);
+		receive(thread, fileChannel, 0, half);
+		writer.join();
+		fileChannel.force(false);
+
+		byte[] actual = new byte[data.length];
+		raf.seek(0);
+		raf.readFully(actual);
+		Assert.assertTrue("file does not match sent data", Arrays.equals(data, actual));
+
+		raf.close();
+		thread.close();
+		accepted.close();
+	}
+
+	@Test
+	public void testTransferFromFileAtPosition() throws Exception {
+		File local = File.createTempFile("niotransfer", ".dat");
+		local.deleteOnExit();
+		byte[] data = new byte[64 * 1024];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % 13);
+		}
+		RandomAccessFile raf = new RandomAccessFile(local, "rw");
+		raf.write(data);
+		FileChannel fileChannel = raf.getChannel();
+
+		TestThread thread = new TestThread();
+		thread.setS(SocketChannel.open(server.socket().getLocalSocketAddress()));
+		SocketChannel accepted = server.accept();
+
+		int offset = 1000;
+		int length = 20000;
+		fileChannel.position(0);
+		long sent = 0;
+		while (sent < length) {
+			sent += thread.transferFromFile(fileChannel, offset + sent, length - sent);
+		}
+		Assert.assertEquals("file position should not move", 0L, fileChannel.position());
+
+		ByteBuffer received = ByteBuffer.allocate(length);
+		while (received.hasRemaining()) {
+			accepted.read(received);
+		}
+		Assert.assertTrue("wrong data sent",
+				Arrays.equals(Arrays.copyOfRange(data, offset, offset + length), received.array()));
+
+		raf.close();
+		thread.close();
+		accepted.close();
+	}
+
+	@Test(expected = JargonException.class)
+	public void testReadPastEndOfStream() throws Exception {
+		TestThread thread = new TestThread();
+		thread.setS(SocketChannel.open(server.socket().getLocalSocketAddress()));
+		SocketChannel accepted = server.accept();
+		accepted.write(ByteBuffer.wrap(new byte[] { 0, 0 }));
+		accepted.close();
+		try {
+			thread.readInt();
+		} finally {
+			thread.close();
+		}
+	}
+
+	private static void receive(final TestThread thread, final FileChannel fileChannel, final long offset,
+			final long length) throws JargonException {
+		long received = 0;
+		while (received < length) {
+			received += thread.transferToFile(fileChannel, offset + received, length - received);
+		}
+	}
+
+	private static void writeAll(final SocketChannel channel, final ByteBuffer buffer) throws Exception {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	static class TestThread extends AbstractNIOParallelTransferThread {
+	}
+
+}
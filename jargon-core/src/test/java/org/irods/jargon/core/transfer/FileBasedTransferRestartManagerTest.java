@@ -0,0 +1,191 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FileBasedTransferRestartManagerTest {
+
+	private static final String ACCOUNT = "irods://test@localhost:1247/zone/home/test";
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testStoreSurvivesReopen() throws Exception {
+		File journal = createJournalFile();
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journal);
+		FileRestartInfo info = manager.retrieveRestartAndBuildIfNotStored(identifier("/zone/home/test/a.dat"),
+				"/local/a.dat", 4);
+		info.setRestartStatus(FileRestartInfo.RestartStatus.ON);
+		manager.incrementRestartAttempts(info);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier("/zone/home/test/a.dat"));
+		Assert.assertNotNull("restart should survive reopen", actual);
+		Assert.assertEquals("/local/a.dat", actual.getLocalAbsolutePath());
+		Assert.assertEquals(FileRestartInfo.RestartStatus.ON, actual.getRestartStatus());
+		Assert.assertEquals(1, actual.getNumberRestarts());
+		Assert.assertEquals(4, actual.getFileRestartDataSegments().size());
+		manager.close();
+	}
+
+	@Test
+	public void testSegmentUpdatesAreBatched() throws Exception {
+		File journal = createJournalFile();
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journal, 60000);
+		FileRestartInfoIdentifier identifier = identifier("/zone/home/test/b.dat");
+		manager.retrieveRestartAndBuildIfNotStored(identifier, "/local/b.dat", 2);
+		long lengthAfterStore = manager.getJournalLength();
+
+		manager.updateOffsetForSegment(identifier, 1, 1000);
+		for (int i = 0; i < 10000; i++) {
+			manager.updateLengthForSegment(identifier, 0, 10);
+			manager.updateLengthForSegment(identifier, 1, 20);
+		}
+		Assert.assertEquals("updates should not be written before a sync", lengthAfterStore,
+				manager.getJournalLength());
+		manager.flush();
+		Assert.assertTrue("a sync should write one record per segment",
+				manager.getJournalLength() - lengthAfterStore < 100);
+		manager.updateLengthForSegment(identifier, 0, 5);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		Assert.assertEquals(100005, actual.getFileRestartDataSegments().get(0).getLength());
+		Assert.assertEquals(1000, actual.getFileRestartDataSegments().get(1).getOffset());
+		Assert.assertEquals(200000, actual.getFileRestartDataSegments().get(1).getLength());
+		manager.close();
+	}
+
+	@Test
+	public void testDeleteSurvivesReopen() throws Exception {
+		File journal = createJournalFile();
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journal, 0);
+		FileRestartInfoIdentifier kept = identifier("/zone/home/test/kept.dat");
+		FileRestartInfoIdentifier deleted = identifier("/zone/home/test/deleted.dat");
+		manager.retrieveRestartAndBuildIfNotStored(kept, "/local/kept.dat", 1);
+		manager.retrieveRestartAndBuildIfNotStored(deleted, "/local/deleted.dat", 1);
+		manager.updateLengthForSegment(deleted, 0, 100);
+		manager.deleteRestart(deleted);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journal);
+		Assert.assertNotNull(manager.retrieveRestart(kept));
+		Assert.assertNull("delete should survive reopen", manager.retrieveRestart(deleted));
+		manager.close();
+	}
+
+	@Test
+	public void testTornRecordIsDiscarded() throws Exception {
+		File journal = createJournalFile();
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journal, 0);
+		FileRestartInfoIdentifier identifier = identifier("/zone/home/test/c.dat");
+		manager.retrieveRestartAndBuildIfNotStored(identifier, "/local/c.dat", 1);
+		manager.updateLengthForSegment(identifier, 0, 100);
+		long end = manager.getJournalLength();
+		manager.close();
+
+		// a record cut short by a crash
+		RandomAccessFile file = new RandomAccessFile(journal, "rw");
+		try {
+			file.seek(end);
+			file.writeInt(25);
+			file.writeInt(12345);
+			file.writeByte(2);
+		} finally {
+			file.close();
+		}
+
+		manager = new FileBasedTransferRestartManager(journal, 0);
+		Assert.assertEquals("torn record should be dropped", end, manager.getJournalLength());
+		Assert.assertEquals(100, manager.retrieveRestart(identifier).getFileRestartDataSegments().get(0).getLength());
+		manager.updateLengthForSegment(identifier, 0, 50);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journal);
+		Assert.assertEquals(150, manager.retrieveRestart(identifier).getFileRestartDataSegments().get(0).getLength());
+		manager.close();
+	}
+
+	@Test
+	public void testCompaction() throws Exception {
+		File journal = createJournalFile();
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journal, 0);
+		FileRestartInfoIdentifier identifier = identifier("/zone/home/test/d.dat");
+		FileRestartInfo info = manager.retrieveRestartAndBuildIfNotStored(identifier, "/local/d.dat", 3);
+		for (int i = 0; i < 500; i++) {
+			manager.updateLengthForSegment(identifier, i % 3, 1);
+		}
+		for (int i = 0; i < 20; i++) {
+			FileRestartInfoIdentifier other = identifier("/zone/home/test/other" + i);
+			manager.retrieveRestartAndBuildIfNotStored(other, "/local/other", 1);
+			manager.deleteRestart(other);
+		}
+		long before = manager.getJournalLength();
+		manager.compactNow();
+		Assert.assertTrue("journal should shrink", manager.getJournalLength() < before / 10);
+		Assert.assertSame("held info should still be current", info, manager.retrieveRestart(identifier));
+
+		manager.updateLengthForSegment(identifier, 2, 1000);
+		manager.close();
+
+		manager = new FileBasedTransferRestartManager(journal);
+		FileRestartInfo actual = manager.retrieveRestart(identifier);
+		Assert.assertEquals(167, actual.getFileRestartDataSegments().get(0).getLength());
+		Assert.assertEquals(1166, actual.getFileRestartDataSegments().get(2).getLength());
+		Assert.assertNull(manager.retrieveRestart(identifier("/zone/home/test/other0")));
+		manager.close();
+	}
+
+	@Test(expected = FileRestartManagementException.class)
+	public void testJournalInUse() throws Exception {
+		File journal = createJournalFile();
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journal);
+		try {
+			new FileBasedTransferRestartManager(journal);
+		} finally {
+			manager.close();
+		}
+	}
+
+	@Test(expected = FileRestartManagementException.class)
+	public void testNotAJournal() throws Exception {
+		File journal = createJournalFile();
+		RandomAccessFile file = new RandomAccessFile(journal, "rw");
+		try {
+			file.writeBytes("not a journal");
+		} finally {
+			file.close();
+		}
+		new FileBasedTransferRestartManager(journal);
+	}
+
+	private static File createJournalFile() throws Exception {
+		File journal = File.createTempFile("restartJournal", ".jrn");
+		journal.delete();
+		journal.deleteOnExit();
+		return journal;
+	}
+
+	private static FileRestartInfoIdentifier identifier(final String irodsPath) {
+		FileRestartInfoIdentifier identifier = new FileRestartInfoIdentifier();
+		identifier.setAbsolutePath(irodsPath);
+		identifier.setIrodsAccountIdentifier(ACCOUNT);
+		identifier.setRestartType(RestartType.PUT);
+		return identifier;
+	}
+
+}
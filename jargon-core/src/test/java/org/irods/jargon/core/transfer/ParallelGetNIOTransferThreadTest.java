@@ -0,0 +1,184 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
+import org.irods.jargon.core.connection.ScriptedConnections;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactoryImpl;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelGetNIOTransferThreadTest {
+
+	private static final int SEGMENT = 64 * 1024;
+	private static final int PASSWORD = 1234;
+
+	private static ServerSocketChannel server;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		server = ServerSocketChannel.open();
+		server.socket().bind(new InetSocketAddress("localhost", 0));
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		server.close();
+	}
+
+	/**
+	 * One thread is sent two segments and the connection drops in the second, the
+	 * restart information must point at the second segment so that the resumed
+	 * get fills in the rest of it
+	 */
+	@Test
+	public void testResumeMultiSegmentGet() throws Exception {
+		final byte[] data = new byte[4 * SEGMENT];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % 251);
+		}
+		File localFile = File.createTempFile("niogetrestart", ".dat");
+		localFile.deleteOnExit();
+		// sized up front, as the strategy does before starting its threads
+		RandomAccessFile raf = new RandomAccessFile(localFile, "rw");
+		raf.setLength(data.length);
+		raf.close();
+
+		IRODSSession irodsSession = ScriptedConnections.session();
+		MemoryBasedTransferRestartManager restartManager = new MemoryBasedTransferRestartManager();
+		irodsSession.setRestartManager(restartManager);
+		FileRestartInfo fileRestartInfo = new FileRestartInfo();
+		fileRestartInfo.setIrodsAbsolutePath("/zone/home/user/file.dat");
+		fileRestartInfo.setLocalAbsolutePath(localFile.getAbsolutePath());
+		fileRestartInfo.setRestartType(RestartType.GET);
+		fileRestartInfo.setIrodsAccountIdentifier(TestingPropertiesHelper.buildBogusIrodsAccount().toString());
+		List<FileRestartDataSegment> segments = new ArrayList<FileRestartDataSegment>();
+		segments.add(new FileRestartDataSegment(0));
+		fileRestartInfo.setFileRestartDataSegments(segments);
+		FileRestartInfoIdentifier identifier = restartManager.storeRestart(fileRestartInfo);
+
+		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
+		transferControlBlock.setTransferOptions(new TransferOptions());
+		ParallelGetFileTransferStrategy strategy = ParallelGetFileTransferStrategy.instance("localhost",
+				server.socket().getLocalPort(), 1, PASSWORD, localFile,
+				IRODSAccessObjectFactoryImpl.instance(irodsSession), data.length, transferControlBlock, null,
+				fileRestartInfo, new NegotiatedClientServerConfiguration(false));
+
+		// the first segment arrives whole, the connection drops part way into the next
+		Thread sender = send(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					SocketChannel accepted = accept();
+					writeSegment(accepted, data, 0, SEGMENT, SEGMENT);
+					writeSegment(accepted, data, 2 * SEGMENT, SEGMENT, SEGMENT / 4);
+					accepted.close();
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+
+		try {
+			ParallelGetNIOTransferThread.instance(strategy, 0).call();
+			Assert.fail("transfer should fail when the connection drops");
+		} catch (JargonException e) {
+			// expected
+		}
+		sender.join();
+
+		FileRestartDataSegment segment = restartManager.retrieveRestart(identifier).getFileRestartDataSegments()
+				.get(0);
+		Assert.assertEquals("offset should be the segment in progress", 2 * SEGMENT, segment.getOffset());
+		Assert.assertEquals("nothing of the segment in progress should be counted", 0, segment.getLength());
+
+		// resume from where the restart information says the thread stopped
+		final long resumeOffset = segment.getOffset() + segment.getLength();
+		sender = send(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					SocketChannel accepted = accept();
+					writeSegment(accepted, data, resumeOffset, (int) (3 * SEGMENT - resumeOffset),
+							(int) (3 * SEGMENT - resumeOffset));
+					writeHeader(accepted, AbstractNIOParallelTransferThread.DONE_OPR, 0, 0);
+					accepted.close();
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		ParallelGetNIOTransferThread.instance(strategy, 0).call();
+		sender.join();
+
+		segment = restartManager.retrieveRestart(identifier).getFileRestartDataSegments().get(0);
+		Assert.assertEquals("offset should be the resumed segment", 2 * SEGMENT, segment.getOffset());
+		Assert.assertEquals("resumed segment should be counted", SEGMENT, segment.getLength());
+
+		raf = new RandomAccessFile(localFile, "r");
+		try {
+			byte[] actual = new byte[SEGMENT];
+			raf.seek(0);
+			raf.readFully(actual);
+			Assert.assertTrue("first segment wrong", Arrays.equals(Arrays.copyOfRange(data, 0, SEGMENT), actual));
+			raf.seek(2 * SEGMENT);
+			raf.readFully(actual);
+			Assert.assertTrue("resumed segment wrong",
+					Arrays.equals(Arrays.copyOfRange(data, 2 * SEGMENT, 3 * SEGMENT), actual));
+		} finally {
+			raf.close();
+		}
+	}
+
+	private static Thread send(final Runnable runnable) {
+		Thread thread = new Thread(runnable);
+		thread.start();
+		return thread;
+	}
+
+	private static SocketChannel accept() throws Exception {
+		SocketChannel accepted = server.accept();
+		ByteBuffer cookie = ByteBuffer.allocate(4);
+		while (cookie.hasRemaining()) {
+			accepted.read(cookie);
+		}
+		cookie.flip();
+		Assert.assertEquals("wrong cookie", PASSWORD, cookie.getInt());
+		return accepted;
+	}
+
+	private static void writeSegment(final SocketChannel channel, final byte[] data, final long offset,
+			final int length, final int sent) throws Exception {
+		writeHeader(channel, AbstractNIOParallelTransferThread.GET_OPR, offset, length);
+		ByteBuffer buffer = ByteBuffer.wrap(data, (int) offset, sent);
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private static void writeHeader(final SocketChannel channel, final int operation, final long offset,
+			final long length) throws Exception {
+		ByteBuffer header = ByteBuffer.allocate(24);
+		header.putInt(operation).putInt(0).putLong(offset).putLong(length);
+		header.flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+	}
+
+}
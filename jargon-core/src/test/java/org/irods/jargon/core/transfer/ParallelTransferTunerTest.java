@@ -0,0 +1,141 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelTransferTunerTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final long MB = 1024L * 1024L;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testUnknownTargetStartsAtHalfMax() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		Assert.assertEquals("should use half the configured max", 2, tuner.recommendThreads(key, 4));
+		Assert.assertEquals("should use half the default max", ParallelTransferTuner.DEFAULT_MAX_THREADS / 2,
+				tuner.recommendThreads(key, 0));
+		Assert.assertEquals("should use at least one thread", 1, tuner.recommendThreads(key, 1));
+		Assert.assertNull("should have no tuning", tuner.getTuning(key));
+	}
+
+	@Test
+	public void testClimbsWhileThroughputImproves() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		tuner.recordTransfer(key, 2, 100 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should probe half again", 3, tuner.recommendThreads(key, 0));
+		tuner.recordTransfer(key, 3, 150 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should keep climbing", 4, tuner.recommendThreads(key, 0));
+		tuner.recordTransfer(key, 4, 200 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should keep climbing", 6, tuner.recommendThreads(key, 0));
+	}
+
+	@Test
+	public void testSettlesWhenStepDoesNotPay() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		tuner.recordTransfer(key, 4, 200 * MB, SECOND, 0, 0);
+		Assert.assertEquals(6, tuner.recommendThreads(key, 0));
+		tuner.recordTransfer(key, 6, 300 * MB, SECOND, 0, 0);
+		Assert.assertEquals(9, tuner.recommendThreads(key, 0));
+		tuner.recordTransfer(key, 9, 310 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should return to best count", 6, tuner.recommendThreads(key, 0));
+		tuner.recordTransfer(key, 6, 305 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should stay settled", 6, tuner.recommendThreads(key, 0));
+	}
+
+	@Test
+	public void testClimbsAgainWhenThroughputCollapses() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		tuner.recordTransfer(key, 4, 200 * MB, SECOND, 0, 0);
+		tuner.recordTransfer(key, 6, 200 * MB, SECOND, 0, 0);
+		tuner.recordTransfer(key, 3, 150 * MB, SECOND, 0, 0);
+		Assert.assertEquals(4, tuner.recommendThreads(key, 0));
+		tuner.recordTransfer(key, 4, 50 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should probe again", 6, tuner.recommendThreads(key, 0));
+	}
+
+	/**
+	 * A target that fills its link with four streams of 25MB/s, more streams only
+	 * add load
+	 */
+	@Test
+	public void testDescendsForSlowTarget() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		int threads = tuner.recommendThreads(key, 0);
+		Assert.assertEquals("should start at half the default max", 8, threads);
+		int[] expected = { 12, 6, 4, 3, 4 };
+		for (int next : expected) {
+			tuner.recordTransfer(key, threads, Math.min(100 * MB, threads * 25 * MB), SECOND, 0, 0);
+			threads = tuner.recommendThreads(key, 0);
+			Assert.assertEquals("wrong step", next, threads);
+		}
+		tuner.recordTransfer(key, threads, 100 * MB, SECOND, 0, 0);
+		Assert.assertEquals("should stay at the fewest threads that fill the link", 4,
+				tuner.recommendThreads(key, 0));
+	}
+
+	@Test
+	public void testProbesDownFromCeiling() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		tuner.recordTransfer(key, 6, 100 * MB, SECOND, 0, 6);
+		Assert.assertEquals("should probe down from the ceiling", 4, tuner.recommendThreads(key, 6));
+		tuner.recordTransfer(key, 4, 60 * MB, SECOND, 0, 6);
+		Assert.assertEquals("should return to the ceiling", 6, tuner.recommendThreads(key, 6));
+	}
+
+	@Test
+	public void testRespectsConfiguredMax() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", "resc");
+		tuner.recordTransfer(key, 4, 200 * MB, SECOND, 0, 5);
+		Assert.assertEquals("should not exceed max", 5, tuner.recommendThreads(key, 5));
+		Assert.assertEquals("should honor a lower max later", 2, tuner.recommendThreads(key, 2));
+		tuner.recordTransfer(key, 5, 400 * MB, SECOND, 0, 5);
+		Assert.assertEquals("should stop at the ceiling", 5, tuner.recommendThreads(key, 5));
+	}
+
+	@Test
+	public void testTargetsAreSeparate() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		tuner.recordTransfer(ParallelTransferTuner.key("host", "a"), 4, 200 * MB, SECOND, 0, 0);
+		Assert.assertEquals("other resource should be unaffected", 4,
+				tuner.recommendThreads(ParallelTransferTuner.key("host", "b"), 8));
+		tuner.clear();
+		Assert.assertNull(tuner.getTuning(ParallelTransferTuner.key("host", "a")));
+	}
+
+	@Test
+	public void testBufferSizing() {
+		ParallelTransferTuner tuner = new ParallelTransferTuner();
+		String key = ParallelTransferTuner.key("host", null);
+		// 4 streams at 100MB/s each over a 20ms round trip
+		ParallelTransferTuning tuning = tuner.recordTransfer(key, 4, 400 * MB, SECOND,
+				TimeUnit.MILLISECONDS.toNanos(20), 0);
+		Assert.assertEquals("copy buffer should hold 10ms of one stream", 1024 * 1024,
+				tuning.getCopyBufferSize());
+		Assert.assertEquals("socket buffer should be twice the bandwidth delay product", 4 * 1024 * 1024,
+				tuning.getSocketBufferSize());
+		Assert.assertEquals("should clamp small copy buffers", ParallelTransferTuner.MIN_BUFFER_SIZE,
+				ParallelTransferTuner.copyBufferSizeFor(1000));
+		Assert.assertEquals("should clamp large socket buffers", ParallelTransferTuner.MAX_SOCKET_BUFFER_SIZE,
+				ParallelTransferTuner.socketBufferSizeFor(1000 * MB, SECOND));
+	}
+
+}
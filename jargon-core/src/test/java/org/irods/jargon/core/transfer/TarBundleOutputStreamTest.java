@@ -0,0 +1,138 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TarBundleOutputStreamTest {
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Test
+	public void testPutFileWritesHeaderDataAndPadding() throws Exception {
+		byte[] data = "hello bundle".getBytes(StandardCharsets.UTF_8);
+		File file = createFile(data);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TarBundleOutputStream tar = new TarBundleOutputStream(bytes, 4);
+		tar.putFile("dir/hello.txt", file, data.length);
+		tar.close();
+
+		byte[] archive = bytes.toByteArray();
+		Assert.assertEquals("header, one data block and two end blocks", 4 * 512, archive.length);
+		Assert.assertEquals("wrong name", "dir/hello.txt", field(archive, 0, 100));
+		Assert.assertEquals("wrong size", data.length, Long.parseLong(field(archive, 124, 12), 8));
+		Assert.assertEquals("wrong type", '0', archive[156]);
+		Assert.assertEquals("wrong magic", "ustar", field(archive, 257, 6));
+		assertChecksum(archive, 0);
+		Assert.assertTrue("wrong data", Arrays.equals(data, Arrays.copyOfRange(archive, 512, 512 + data.length)));
+		Assert.assertEquals("archived size should match", 2 * 512,
+				TarBundleOutputStream.archivedSize("dir/hello.txt", data.length));
+	}
+
+	@Test
+	public void testLongNameSplitIntoPrefix() throws Exception {
+		StringBuilder dir = new StringBuilder();
+		for (int i = 0; i < 12; i++) {
+			dir.append("directory").append(i).append('/');
+		}
+		String name = dir.toString() + "file.txt";
+		Assert.assertTrue("name should be too long for the name field", name.length() > 100);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TarBundleOutputStream tar = new TarBundleOutputStream(bytes, 1024);
+		tar.putFile(name, createFile(new byte[0]), 0);
+		tar.finish();
+
+		byte[] archive = bytes.toByteArray();
+		Assert.assertEquals("wrong joined name", name, field(archive, 345, 155) + "/" + field(archive, 0, 100));
+		assertChecksum(archive, 0);
+		Assert.assertEquals("archived size should match", archive.length - 1024,
+				TarBundleOutputStream.archivedSize(name, 0));
+	}
+
+	@Test
+	public void testVeryLongNameUsesPaxHeader() throws Exception {
+		char[] chars = new char[300];
+		Arrays.fill(chars, 'a');
+		String name = "dir/" + new String(chars);
+		byte[] data = new byte[700];
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TarBundleOutputStream tar = new TarBundleOutputStream(bytes, 1024);
+		tar.putFile(name, createFile(data), data.length);
+		tar.finish();
+
+		byte[] archive = bytes.toByteArray();
+		Assert.assertEquals("first entry should be a pax header", 'x', archive[156]);
+		assertChecksum(archive, 0);
+		int recordLength = (int) Long.parseLong(field(archive, 124, 12), 8);
+		String record = new String(archive, 512, recordLength, StandardCharsets.UTF_8);
+		Assert.assertEquals("wrong pax record", recordLength + " path=" + name + "\n", record);
+		Assert.assertEquals("file header should follow the record", '0', archive[1024 + 156]);
+		assertChecksum(archive, 1024);
+		Assert.assertEquals("archived size should match", archive.length - 1024,
+				TarBundleOutputStream.archivedSize(name, data.length));
+	}
+
+	@Test
+	public void testPaxRecordLengthCountsItself() {
+		for (int valueLength = 80; valueLength < 120; valueLength++) {
+			char[] chars = new char[valueLength];
+			Arrays.fill(chars, 'b');
+			byte[] record = TarBundleOutputStream.paxRecord("path", new String(chars));
+			String text = new String(record, StandardCharsets.UTF_8);
+			Assert.assertEquals("length prefix should equal record length", record.length,
+					Integer.parseInt(text.substring(0, text.indexOf(' '))));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testFileShorterThanRecordedLength() throws Exception {
+		TarBundleOutputStream tar = new TarBundleOutputStream(new ByteArrayOutputStream(), 1024);
+		tar.putFile("short.txt", createFile(new byte[10]), 20);
+	}
+
+	private static File createFile(final byte[] data) throws IOException {
+		File file = File.createTempFile("tarbundle", ".dat");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(data);
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	private static String field(final byte[] archive, final int offset, final int length) {
+		int end = offset;
+		while (end < offset + length && archive[end] != 0) {
+			end++;
+		}
+		return new String(archive, offset, end - offset, StandardCharsets.UTF_8).trim();
+	}
+
+	private static void assertChecksum(final byte[] archive, final int headerOffset) {
+		long expected = Long.parseLong(field(archive, headerOffset + 148, 8), 8);
+		long actual = 0;
+		for (int i = 0; i < 512; i++) {
+			actual += i >= 148 && i < 156 ? ' ' : archive[headerOffset + i] & 0xff;
+		}
+		Assert.assertEquals("wrong header checksum", expected, actual);
+	}
+
+}
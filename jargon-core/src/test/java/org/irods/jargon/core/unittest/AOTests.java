@@ -1,5 +1,6 @@
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.pub.BulkObjStatUtilsTest;
 import org.irods.jargon.core.pub.BulkFileOperationsAOImplTest;
 import org.irods.jargon.core.pub.CollectionAOImplForSoftLinkTest;
 import org.irods.jargon.core.pub.CollectionAOImplTest;
@@ -62,8 +63,8 @@ import org.junit.runners.Suite;
 		RuleProcessingAOImplTest.class, IRODSFileSystemTest.class, DataTransferOperationsImplTest.class,
 		DataTransferOperationsImplTestNoInternalCache.class, RemoteExecutionOfCommandsAOImplTest.class,
 		CollectionAndDataObjectListAndSearchAOImplTest.class, IRODSAccessObjectFactoryImplTest.class,
-		BulkFileOperationsAOImplTest.class, SimpleQueryExecutorAOImplTest.class, Stream2StreamAOImplTest.class,
-		QuotaAOImplTest.class, DataObjectAuditAOImplTest.class,
+		BulkFileOperationsAOImplTest.class, BulkObjStatUtilsTest.class, SimpleQueryExecutorAOImplTest.class,
+		Stream2StreamAOImplTest.class, QuotaAOImplTest.class, DataObjectAuditAOImplTest.class,
 		FederatedCollectionAndDataObjectListAndSearchAOImplTest.class, FederatedIRODSGenQueryExecutorImplTest.class,
 		FederatedDataTransferOperationsImplTest.class, UserAOHelperTest.class, FederatedUserAOTest.class,
 		FederatedCollectionAOImplTest.class, ProtocolExtensionPointImplTest.class,
@@ -1,5 +1,6 @@
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.connection.AvuCacheTest;
 import org.irods.jargon.core.connection.ClientServerNegotationPolicyFromPropertiesBuilderTest;
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicyTest;
 import org.irods.jargon.core.connection.ConnectionProgressStatusTest;
@@ -11,6 +12,7 @@ import org.irods.jargon.core.connection.IRODSServerPropertiesTest;
 import org.irods.jargon.core.connection.IRODSSessionTest;
 import org.irods.jargon.core.connection.IRODSSimpleConnectionTest;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManagerTest;
+import org.irods.jargon.core.connection.ObjStatCacheTest;
 import org.irods.jargon.core.connection.PAMAuthTest;
 import org.irods.jargon.core.connection.PipelineConfigurationTest;
 import org.irods.jargon.core.connection.ProxyUserFunctionalTest;
@@ -23,7 +25,8 @@ import org.junit.runners.Suite;
 		DefaultPropertiesJargonConfigTest.class, ConnectionProgressStatusTest.class, PAMAuthTest.class,
 		DiscoveredServerPropertiesCacheTest.class, IRODSAccountTest.class,
 		ClientServerNegotationPolicyFromPropertiesBuilderTest.class, ClientServerNegotiationPolicyTest.class,
-		PipelineConfigurationTest.class, ProxyUserFunctionalTest.class })
+		PipelineConfigurationTest.class, ProxyUserFunctionalTest.class, ObjStatCacheTest.class,
+		AvuCacheTest.class })
 public class ConnectionTests {
 
 }
@@ -1,6 +1,7 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.packinstr.AbstractIRODSPackingInstructionTest;
+import org.irods.jargon.core.packinstr.AtomicMetadataOperationsInpTest;
 import org.irods.jargon.core.packinstr.AuthReqPluginRequestInpTest;
 import org.irods.jargon.core.packinstr.CollInpTest;
 import org.irods.jargon.core.packinstr.DataObjCopyInpTest;
@@ -42,8 +43,9 @@ import org.junit.runners.Suite;
 		TransferOptionsTest.class, DataObjInpForObjStatTest.class, GetTempPasswordForOtherTest.class,
 		DataObjInpForRegTest.class, DataObjInpForUnregisterTest.class, DataObjInpForMcollTest.class,
 		DataObjInpForUnmountTest.class, ReconnMsgTest.class, SpecificQueryInpTest.class, PamAuthRequestInpTest.class,
-		SSLStartInpTest.class, SSLEndInpTest.class, AuthReqPluginRequestInpTest.class, }) // ModDataObjMetaInpTest.class
-																							// })
+		SSLStartInpTest.class, SSLEndInpTest.class, AuthReqPluginRequestInpTest.class,
+		AtomicMetadataOperationsInpTest.class, }) // ModDataObjMetaInpTest.class
+													// })
 public class PackingInstructionTests {
 
 }
@@ -3,6 +3,7 @@ package org.irods.jargon.core.utils;
 import java.io.File;
 import java.util.Properties;
 
+import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.testutils.TestingPropertiesHelper;
 import org.irods.jargon.testutils.filemanip.FileGenerator;
 import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
@@ -81,4 +82,19 @@ public class LocalFileUtilsTest {
 
 	}
 
+	@Test(expected = JargonException.class)
+	public void testChecksumStopsWhenInterrupted() throws Exception {
+		String testFileName = "testChecksumStopsWhenInterrupted.txt";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName, 100);
+
+		Thread.currentThread().interrupt();
+		try {
+			LocalFileUtils.computeMD5FileCheckSumViaAbsolutePath(localFileName);
+		} finally {
+			Thread.interrupted();
+		}
+
+	}
+
 }
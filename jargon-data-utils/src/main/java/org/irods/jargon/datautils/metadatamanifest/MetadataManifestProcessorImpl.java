@@ -101,18 +101,15 @@ public class MetadataManifestProcessorImpl extends AbstractJargonService impleme
 
 		final List<BulkAVUOperationResponse> responses = new ArrayList<>();
 
-		// TODO: consider cache strategy for objStat data - mcc
-		final CollectionAndDataObjectListAndSearchAO collectionSearchAO = getIrodsAccessObjectFactory()
-				.getCollectionAndDataObjectListAndSearchAO(getIrodsAccount());
-
-		CollectionAO collectionAO = null;
-		DataObjectAO dataObjectAO = null;
+		/*
+		 * consecutive operations on the same path are sent as one bulk request, which
+		 * is atomic where the server supports it, or one at a time under fail fast
+		 */
 		String path;
+		String pendingPath = null;
+		List<AvuData> pendingAvus = new ArrayList<>();
 		StringBuilder sb;
 
-		ObjStat objStat = new ObjStat();
-		AvuData avuData;
-
 		log.info("metadataManifest:{}", metadataManifest);
 		for (final MetadataManifestOperation operation : metadataManifest.getOperation()) {
 			log.info("operation:{}", operation);
@@ -130,46 +127,70 @@ public class MetadataManifestProcessorImpl extends AbstractJargonService impleme
 				path = sb.toString();
 			}
 
-			// simple cache to avoid double reads of objStat
-
-			if (!objStat.getAbsolutePath().equals(path)) {
-				log.debug("obtaining objstat for path:{}", path);
-				objStat = collectionSearchAO.retrieveObjectStatForPath(path);
+			if (pendingPath != null && !pendingPath.equals(path)) {
+				responses.addAll(addAvusToPath(pendingPath, pendingAvus, metadataManifest.getFailureMode()));
+				pendingAvus = new ArrayList<>();
 			}
 
-			avuData = AvuData.instance(operation.getAttribute(), operation.getValue(), operation.getUnit());
+			pendingPath = path;
+			pendingAvus.add(AvuData.instance(operation.getAttribute(), operation.getValue(), operation.getUnit()));
+		}
 
-			try {
-				if (objStat.isSomeTypeOfCollection()) {
-					if (collectionAO == null) {
-						collectionAO = getIrodsAccessObjectFactory().getCollectionAO(getIrodsAccount());
-					}
+		if (pendingPath != null) {
+			responses.addAll(addAvusToPath(pendingPath, pendingAvus, metadataManifest.getFailureMode()));
+		}
 
-					collectionAO.addAVUMetadata(path, avuData);
+		return responses;
+	}
 
-				} else {
-					if (dataObjectAO == null) {
-						dataObjectAO = getIrodsAccessObjectFactory().getDataObjectAO(getIrodsAccount());
-					}
+	private List<BulkAVUOperationResponse> addAvusToPath(final String path, final List<AvuData> avuData,
+			final FailureMode failureMode) throws JargonException {
+		log.debug("obtaining objstat for path:{}", path);
+		final CollectionAndDataObjectListAndSearchAO collectionSearchAO = getIrodsAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(getIrodsAccount());
+		final ObjStat objStat = collectionSearchAO.retrieveObjectStatForPath(path);
 
-					dataObjectAO.addAVUMetadata(path, avuData);
-				}
+		if (failureMode == FailureMode.FAIL_FAST) {
+			return addAvusToPathUntilFailure(path, objStat, avuData);
+		}
 
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, avuData, ""));
+		if (objStat.isSomeTypeOfCollection()) {
+			CollectionAO collectionAO = getIrodsAccessObjectFactory().getCollectionAO(getIrodsAccount());
+			return collectionAO.addBulkAVUMetadataToCollection(path, avuData);
+		} else {
+			DataObjectAO dataObjectAO = getIrodsAccessObjectFactory().getDataObjectAO(getIrodsAccount());
+			return dataObjectAO.addBulkAVUMetadataToDataObject(path, avuData);
+		}
+	}
 
-			} catch (final Exception e) {
-				log.warn("error in avu operation, will check fail fast");
+	/**
+	 * Under fail fast, add the AVUs one at a time, stopping at the first failure
+	 * and throwing its exception, so that nothing after it is added and the
+	 * caller sees the specific error, such as a {@code DuplicateDataException}
+	 */
+	private List<BulkAVUOperationResponse> addAvusToPathUntilFailure(final String path, final ObjStat objStat,
+			final List<AvuData> avuData) throws JargonException {
+		final List<BulkAVUOperationResponse> responses = new ArrayList<>(avuData.size());
+		CollectionAO collectionAO = null;
+		DataObjectAO dataObjectAO = null;
+		if (objStat.isSomeTypeOfCollection()) {
+			collectionAO = getIrodsAccessObjectFactory().getCollectionAO(getIrodsAccount());
+		} else {
+			dataObjectAO = getIrodsAccessObjectFactory().getDataObjectAO(getIrodsAccount());
+		}
 
-				if (metadataManifest.getFailureMode() == FailureMode.FAIL_FAST) {
-					log.error("error in avu operation under fail_fast mode:{}", operation, e);
-					throw e;
-				} else { // TODO: trap for other modes? right now only ignore
-					log.warn("log and ignore avu action", e);
-					responses.add(BulkAVUOperationResponse.instance(ResultStatus.OTHER_ERROR, avuData, e.getMessage()));
+		for (AvuData value : avuData) {
+			try {
+				if (collectionAO != null) {
+					collectionAO.addAVUMetadata(path, value);
+				} else {
+					dataObjectAO.addAVUMetadata(path, value);
 				}
-
+			} catch (final JargonException e) {
+				log.error("error in avu operation under fail_fast mode for path:{} avu:{}", path, value, e);
+				throw e;
 			}
-
+			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
 		}
 
 		return responses;
@@ -6,12 +6,18 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.swing.tree.TreeNode;
 
+import org.irods.jargon.core.checksum.ChecksumManager;
+import org.irods.jargon.core.checksum.ChecksumManagerImpl;
 import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.checksum.LocalChecksumComputerFactory;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
 import org.irods.jargon.core.pub.DataObjectChecksumUtilitiesAO;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 import org.irods.jargon.core.pub.io.IRODSFile;
@@ -43,6 +49,7 @@ public class FileTreeDiffUtilityImpl extends AbstractDataUtilsServiceImpl implem
 	private static Logger log = LoggerFactory.getLogger(FileTreeDiffUtilityImpl.class);
 
 	private DataObjectChecksumUtilitiesAO dataObjectChecksumUtilitiesAO;
+	private ChecksumManager checksumManager;
 
 	/**
 	 * Optional field allows communication with diff processor
@@ -636,15 +643,50 @@ public class FileTreeDiffUtilityImpl extends AbstractDataUtilsServiceImpl implem
 			currentFileTreeNode.add(new FileTreeNode(entry));
 		} else {
 
-			ChecksumValue rhsChecksum = getIRODSChecksumOnDataObject(rightHandSide);
+			/*
+			 * hash the local file while iRODS computes its checksum, in the encoding
+			 * negotiated with the server, and hash again if iRODS used another
+			 */
+			LocalChecksumComputerFactory localChecksumComputerFactory = getIrodsAccessObjectFactory()
+					.getIrodsSession().getLocalChecksumComputerFactory();
+			ChecksumEncodingEnum expectedEncoding = expectedIRODSChecksumEncoding();
+			Future<ChecksumValue> lhsChecksumFuture = null;
+			if (expectedEncoding != null) {
+				lhsChecksumFuture = localChecksumComputerFactory.submit(leftHandSide.getAbsolutePath(),
+						expectedEncoding);
+			}
+
+			ChecksumValue rhsChecksum;
 			ChecksumValue lhsChecksum;
 			try {
-				lhsChecksum = getIrodsAccessObjectFactory().getIrodsSession().getLocalChecksumComputerFactory()
-						.instance(rhsChecksum.getChecksumEncoding())
-						.computeChecksumValueForLocalFile(leftHandSide.getAbsolutePath());
+				rhsChecksum = getIRODSChecksumOnDataObject(rightHandSide);
+				if (lhsChecksumFuture != null && rhsChecksum.getChecksumEncoding() == expectedEncoding) {
+					lhsChecksum = lhsChecksumFuture.get();
+				} else {
+					log.debug("iRODS checksum was {}, not {}, hashing again", rhsChecksum.getChecksumEncoding(),
+							expectedEncoding);
+					lhsChecksum = localChecksumComputerFactory.instance(rhsChecksum.getChecksumEncoding())
+							.computeChecksumValueForLocalFile(leftHandSide.getAbsolutePath());
+				}
 			} catch (FileNotFoundException e) {
 				log.error("file not found computing checksum", e);
 				throw new JargonException("data error while synchronizing, cannot find local file for checksum", e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JargonException("interrupted computing local checksum", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof FileNotFoundException) {
+					log.error("file not found computing checksum", e.getCause());
+					throw new JargonException("data error while synchronizing, cannot find local file for checksum",
+							e.getCause());
+				} else if (e.getCause() instanceof JargonException) {
+					throw (JargonException) e.getCause();
+				}
+				throw new JargonException("error computing local checksum", e.getCause());
+			} finally {
+				if (lhsChecksumFuture != null) {
+					lhsChecksumFuture.cancel(true);
+				}
 			}
 
 			log.debug("left hand side checksum:{}", lhsChecksum);
@@ -693,6 +735,21 @@ public class FileTreeDiffUtilityImpl extends AbstractDataUtilsServiceImpl implem
 		return diffEntry;
 	}
 
+	/**
+	 * The encoding iRODS is expected to checksum with, or {@code null} if it cannot
+	 * be hashed locally ahead of time
+	 */
+	private ChecksumEncodingEnum expectedIRODSChecksumEncoding() throws JargonException {
+		if (checksumManager == null) {
+			checksumManager = new ChecksumManagerImpl(irodsAccount, irodsAccessObjectFactory);
+		}
+		ChecksumEncodingEnum negotiated = checksumManager.determineChecksumEncodingForTargetServer();
+		if (negotiated == ChecksumEncodingEnum.MD5 || negotiated == ChecksumEncodingEnum.SHA256) {
+			return negotiated;
+		}
+		return null;
+	}
+
 	private ChecksumValue getIRODSChecksumOnDataObject(final File irodsFile) throws JargonException {
 		if (dataObjectChecksumUtilitiesAO == null) {
 			dataObjectChecksumUtilitiesAO = irodsAccessObjectFactory.getDataObjectChecksumUtilitiesAO(irodsAccount);
@@ -5,9 +5,12 @@ import java.util.List;
 import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.DataObjectAO;
 import org.irods.jargon.core.pub.DataTransferOperations;
 import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.core.pub.domain.AvuData;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.datautils.metadatamanifest.MetadataManifest.Action;
 import org.irods.jargon.datautils.metadatamanifest.MetadataManifest.FailureMode;
@@ -139,4 +142,63 @@ public class MetadataManifestProcessorImplTest {
 
 	}
 
+	@Test
+	public void testProcessManifestFailFastDuplicateAvu() throws Exception {
+		final String testParentName = "testProcessManifestFailFastDuplicateAvu";
+		final String testFileName = "testProcessManifestFailFastDuplicateAvu.txt";
+
+		final String expectedAttribName = "testProcessManifestFailFastDuplicateAvu";
+		final String expectedValueName = "testval1";
+
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		final String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testParentName);
+
+		final IRODSFile parentFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		parentFile.delete();
+		parentFile.mkdirs();
+
+		final String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+
+		final String vaultAbsPath = absPath + testParentName;
+		final String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(vaultAbsPath + "/", testFileName,
+				2);
+
+		final DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig), parentFile, null, null);
+
+		final String dataObjectPath = parentFile.getAbsolutePath() + "/" + testFileName;
+		final DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		dataObjectAO.addAVUMetadata(dataObjectPath, AvuData.instance(expectedAttribName, expectedValueName, ""));
+
+		// the first operation duplicates the existing AVU, the second should not be
+		// added
+
+		final MetadataManifest manifest = new MetadataManifest();
+
+		manifest.setFailureMode(FailureMode.FAIL_FAST);
+		manifest.setParentIrodsTargetPath(parentFile.getAbsolutePath());
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testFileName, Action.ADD));
+		manifest.getOperation()
+				.add(new MetadataManifestOperation(expectedAttribName, "testval2", "", testFileName, Action.ADD));
+
+		final MetadataManifestProcessor impl = new MetadataManifestProcessorImpl(
+				irodsFileSystem.getIRODSAccessObjectFactory(), irodsAccount);
+		try {
+			impl.processManifest(manifest);
+			Assert.fail("should have thrown DuplicateDataException");
+		} catch (final DuplicateDataException e) {
+			// expected
+		}
+
+		Assert.assertEquals("should stop at the duplicate", 1,
+				dataObjectAO.findMetadataValuesForDataObject(dataObjectPath).size());
+
+	}
+
 }
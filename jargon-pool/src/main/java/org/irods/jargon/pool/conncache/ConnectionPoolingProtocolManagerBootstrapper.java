@@ -3,9 +3,14 @@
  */
 package org.irods.jargon.pool.conncache;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.exception.JargonException;
 
 /**
  * Bootstraps an {@link IRODSProtocolManager} that supports connection pooling
@@ -23,7 +28,9 @@ import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
  * defaults will be used.
  * <p>
  * Once the dependencies are in place, the {@code init()} method should be
- * called to set up the connection pool.
+ * called to set up the connection pool. Any accounts given as prewarm accounts
+ * have connections opened by {@code init()}, so the first requests for those
+ * accounts do not pay for connection setup and authentication.
  * 
  * @author conwaymc
  *
@@ -32,6 +39,8 @@ public class ConnectionPoolingProtocolManagerBootstrapper {
 
 	private JargonKeyedPoolConfig jargonKeyedPoolConfig;
 	private IRODSSession irodsSession;
+	private List<IRODSAccount> prewarmAccounts = new ArrayList<IRODSAccount>();
+	private JargonConnectionCache jargonConnectionCache;
 
 	/**
 	 * Default constructor
@@ -44,23 +53,58 @@ public class ConnectionPoolingProtocolManagerBootstrapper {
 	 * This method must be called after the expected dependencies have been set. The
 	 * method will create a cached connection pool and set this up as the protocol
 	 * manager used in the {@code IRODSSession}.
+	 *
+	 * @throws JargonException
+	 *             if connections for a prewarm account could not be opened
 	 */
-	public void init() {
+	public void init() throws JargonException {
 		if (irodsSession == null) {
 			throw new IllegalStateException("IRODSSession not provided");
 		}
 
+		if (jargonKeyedPoolConfig == null) {
+			jargonKeyedPoolConfig = new JargonKeyedPoolConfig();
+		}
+
 		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
 		jargonPooledObjectFactory.setIrodsSession(irodsSession);
 		IRODSSimpleProtocolManager irodsSimpleProtocolManager = new IRODSSimpleProtocolManager();
 		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsSimpleProtocolManager);
-		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory,
-				jargonKeyedPoolConfig);
+		jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory, jargonKeyedPoolConfig);
 
 		CachedIrodsProtocolManager cachedIrodsProtocolManager = new CachedIrodsProtocolManager();
 		cachedIrodsProtocolManager.setJargonConnectionCache(jargonConnectionCache);
 		irodsSession.setIrodsProtocolManager(cachedIrodsProtocolManager);
 
+		for (IRODSAccount prewarmAccount : prewarmAccounts) {
+			jargonConnectionCache.prewarm(prewarmAccount, Math.max(1, jargonKeyedPoolConfig.getMinIdlePerKey()));
+		}
+
+	}
+
+	/**
+	 * @return the {@link JargonConnectionCache} created by {@code init()}, useful
+	 *         for its statistics, or {@code null} before {@code init()}
+	 */
+	public JargonConnectionCache getJargonConnectionCache() {
+		return jargonConnectionCache;
+	}
+
+	/**
+	 * @return the prewarmAccounts, {@code List} of {@link IRODSAccount} that have
+	 *         connections opened by {@code init()}
+	 */
+	public List<IRODSAccount> getPrewarmAccounts() {
+		return prewarmAccounts;
+	}
+
+	/**
+	 * @param prewarmAccounts
+	 *            the prewarmAccounts to set, {@code List} of {@link IRODSAccount}
+	 *            that have connections opened by {@code init()}
+	 */
+	public void setPrewarmAccounts(final List<IRODSAccount> prewarmAccounts) {
+		this.prewarmAccounts = prewarmAccounts == null ? new ArrayList<IRODSAccount>() : prewarmAccounts;
 	}
 
 	/**
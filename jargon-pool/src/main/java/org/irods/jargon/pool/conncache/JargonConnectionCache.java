@@ -7,11 +7,18 @@ import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.exception.JargonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Connection cache keeps a pool of managed iRODS connections
+ * Connection cache keeps a pool of managed iRODS connections, keyed by
+ * {@link IRODSAccount}. Behavior is set by the {@link JargonKeyedPoolConfig}.
+ * <p>
+ * When the factory is a {@link JargonPooledObjectFactory}, the evictor is run
+ * at least twice per {@code socketRenewalIntervalInSeconds} of the session, so
+ * that idle connections past the renewal interval are replaced before a
+ * borrower would otherwise find them stale.
  *
  * @author mconway
  *
@@ -24,9 +31,84 @@ public class JargonConnectionCache extends GenericKeyedObjectPool<IRODSAccount,
 			final JargonKeyedPoolConfig config) {
 		super(factory, config);
 		setMaxIdlePerKey(config.getMaxIdlePerKey());
-		setMinEvictableIdleTimeMillis(30000);
-		setTimeBetweenEvictionRunsMillis(45000);
-		setTestOnBorrow(true);
+
+		if (factory instanceof JargonPooledObjectFactory) {
+			JargonPooledObjectFactory jargonPooledObjectFactory = (JargonPooledObjectFactory) factory;
+			jargonPooledObjectFactory.setKeepAliveIntervalMillis(config.getKeepAliveIntervalMillis());
+			if (jargonPooledObjectFactory.getIrodsSession() != null) {
+				long renewalMillis = jargonPooledObjectFactory.getIrodsSession().getJargonProperties()
+						.getSocketRenewalIntervalInSeconds() * 1000L;
+				if (renewalMillis > 0 && (getTimeBetweenEvictionRunsMillis() <= 0
+						|| getTimeBetweenEvictionRunsMillis() > renewalMillis / 2)) {
+					log.info("evictor runs every {} ms to follow the socket renewal interval", renewalMillis / 2);
+					setTimeBetweenEvictionRunsMillis(Math.max(1, renewalMillis / 2));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Open connections for the account ahead of the first request, up to the min
+	 * idle count of the pool configuration. The evictor then keeps the account at
+	 * that count.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} to open connections for
+	 * @throws JargonException
+	 *             if a connection could not be opened
+	 */
+	public void prewarm(final IRODSAccount irodsAccount) throws JargonException {
+		prewarm(irodsAccount, getMinIdlePerKey());
+	}
+
+	/**
+	 * Open the given number of idle connections for the account ahead of the
+	 * first request, bounded by the max idle count of the pool configuration
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} to open connections for
+	 * @param count
+	 *            {@code int} with the number of idle connections wanted
+	 * @throws JargonException
+	 *             if a connection could not be opened
+	 */
+	public void prewarm(final IRODSAccount irodsAccount, final int count) throws JargonException {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		int target = Math.min(count, getMaxIdlePerKey());
+		log.info("prewarming {} connections", target);
+		try {
+			for (int i = getNumIdle(irodsAccount); i < target; i++) {
+				addObject(irodsAccount);
+			}
+		} catch (JargonException e) {
+			throw e;
+		} catch (Exception e) {
+			log.error("error prewarming connections", e);
+			throw new JargonException("error prewarming connections", e);
+		}
+	}
+
+	/**
+	 * Get a snapshot of the pool counters
+	 *
+	 * @return {@link JargonConnectionCacheStatistics}
+	 */
+	public JargonConnectionCacheStatistics getStatistics() {
+		long keepAliveCount = 0;
+		long validationFailureCount = 0;
+		if (getFactory() instanceof JargonPooledObjectFactory) {
+			JargonPooledObjectFactory jargonPooledObjectFactory = (JargonPooledObjectFactory) getFactory();
+			keepAliveCount = jargonPooledObjectFactory.getKeepAliveCount();
+			validationFailureCount = jargonPooledObjectFactory.getValidationFailureCount();
+		}
+
+		return new JargonConnectionCacheStatistics(getNumActive(), getNumIdle(), getNumWaiters(),
+				getNumWaitersByKey(), getBorrowedCount(), getReturnedCount(), getCreatedCount(), getDestroyedCount(),
+				getDestroyedByEvictorCount(), getDestroyedByBorrowValidationCount(), getMeanBorrowWaitTimeMillis(),
+				getMaxBorrowWaitTimeMillis(), keepAliveCount, validationFailureCount);
 	}
 
 	/*
@@ -37,7 +119,8 @@ public class JargonConnectionCache extends GenericKeyedObjectPool<IRODSAccount,
 	@Override
 	public void close() {
 		log.info("close()");
-		this.clear();
+		// also stops the evictor
+		super.close();
 	}
 
 }
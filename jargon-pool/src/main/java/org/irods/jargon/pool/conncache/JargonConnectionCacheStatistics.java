@@ -0,0 +1,166 @@
+package org.irods.jargon.pool.conncache;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point in time counters of a {@link JargonConnectionCache}, useful for
+ * monitoring and for tuning the {@link JargonKeyedPoolConfig}. Counts are
+ * totals since the pool was created.
+ */
+public class JargonConnectionCacheStatistics {
+
+	private final int numActive;
+	private final int numIdle;
+	private final int numWaiters;
+	private final Map<String, Integer> numWaitersByKey;
+	private final long borrowedCount;
+	private final long returnedCount;
+	private final long createdCount;
+	private final long destroyedCount;
+	private final long destroyedByEvictorCount;
+	private final long destroyedByBorrowValidationCount;
+	private final long meanBorrowWaitTimeMillis;
+	private final long maxBorrowWaitTimeMillis;
+	private final long keepAliveCount;
+	private final long validationFailureCount;
+
+	JargonConnectionCacheStatistics(final int numActive, final int numIdle, final int numWaiters,
+			final Map<String, Integer> numWaitersByKey, final long borrowedCount, final long returnedCount,
+			final long createdCount, final long destroyedCount, final long destroyedByEvictorCount,
+			final long destroyedByBorrowValidationCount, final long meanBorrowWaitTimeMillis,
+			final long maxBorrowWaitTimeMillis, final long keepAliveCount, final long validationFailureCount) {
+		this.numActive = numActive;
+		this.numIdle = numIdle;
+		this.numWaiters = numWaiters;
+		this.numWaitersByKey = numWaitersByKey == null ? Collections.<String, Integer>emptyMap()
+				: Collections.unmodifiableMap(numWaitersByKey);
+		this.borrowedCount = borrowedCount;
+		this.returnedCount = returnedCount;
+		this.createdCount = createdCount;
+		this.destroyedCount = destroyedCount;
+		this.destroyedByEvictorCount = destroyedByEvictorCount;
+		this.destroyedByBorrowValidationCount = destroyedByBorrowValidationCount;
+		this.meanBorrowWaitTimeMillis = meanBorrowWaitTimeMillis;
+		this.maxBorrowWaitTimeMillis = maxBorrowWaitTimeMillis;
+		this.keepAliveCount = keepAliveCount;
+		this.validationFailureCount = validationFailureCount;
+	}
+
+	/**
+	 * @return the number of connections currently borrowed
+	 */
+	public int getNumActive() {
+		return numActive;
+	}
+
+	/**
+	 * @return the number of idle connections in the pool
+	 */
+	public int getNumIdle() {
+		return numIdle;
+	}
+
+	/**
+	 * @return the number of threads waiting to borrow a connection
+	 */
+	public int getNumWaiters() {
+		return numWaiters;
+	}
+
+	/**
+	 * @return the number of threads waiting to borrow, by account
+	 */
+	public Map<String, Integer> getNumWaitersByKey() {
+		return numWaitersByKey;
+	}
+
+	/**
+	 * @return the number of connections borrowed
+	 */
+	public long getBorrowedCount() {
+		return borrowedCount;
+	}
+
+	/**
+	 * @return the number of connections returned
+	 */
+	public long getReturnedCount() {
+		return returnedCount;
+	}
+
+	/**
+	 * @return the number of agent connections opened
+	 */
+	public long getCreatedCount() {
+		return createdCount;
+	}
+
+	/**
+	 * @return the number of agent connections closed
+	 */
+	public long getDestroyedCount() {
+		return destroyedCount;
+	}
+
+	/**
+	 * @return the number of connections closed by the evictor, either idle or
+	 *         failing validation
+	 */
+	public long getDestroyedByEvictorCount() {
+		return destroyedByEvictorCount;
+	}
+
+	/**
+	 * @return the number of connections closed because they failed validation on
+	 *         borrow
+	 */
+	public long getDestroyedByBorrowValidationCount() {
+		return destroyedByBorrowValidationCount;
+	}
+
+	/**
+	 * @return the mean time in milliseconds borrowers waited, over recent borrows
+	 */
+	public long getMeanBorrowWaitTimeMillis() {
+		return meanBorrowWaitTimeMillis;
+	}
+
+	/**
+	 * @return the longest time in milliseconds a borrower waited
+	 */
+	public long getMaxBorrowWaitTimeMillis() {
+		return maxBorrowWaitTimeMillis;
+	}
+
+	/**
+	 * @return the number of keep alive calls made to idle connections
+	 */
+	public long getKeepAliveCount() {
+		return keepAliveCount;
+	}
+
+	/**
+	 * @return the number of connections that failed validation
+	 */
+	public long getValidationFailureCount() {
+		return validationFailureCount;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("JargonConnectionCacheStatistics [numActive=").append(numActive).append(", numIdle=")
+				.append(numIdle).append(", numWaiters=").append(numWaiters).append(", numWaitersByKey=")
+				.append(numWaitersByKey).append(", borrowedCount=").append(borrowedCount).append(", returnedCount=")
+				.append(returnedCount).append(", createdCount=").append(createdCount).append(", destroyedCount=")
+				.append(destroyedCount).append(", destroyedByEvictorCount=").append(destroyedByEvictorCount)
+				.append(", destroyedByBorrowValidationCount=").append(destroyedByBorrowValidationCount)
+				.append(", meanBorrowWaitTimeMillis=").append(meanBorrowWaitTimeMillis)
+				.append(", maxBorrowWaitTimeMillis=").append(maxBorrowWaitTimeMillis).append(", keepAliveCount=")
+				.append(keepAliveCount).append(", validationFailureCount=").append(validationFailureCount)
+				.append("]");
+		return builder.toString();
+	}
+
+}
@@ -7,17 +7,51 @@ import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 
 /**
+ * Configuration of the {@link JargonConnectionCache}. The defaults are tuned
+ * for agent connections rather than the commons-pool defaults:
+ * <ul>
+ * <li>idle, min idle and max connections apply to each {@code IRODSAccount}
+ * key</li>
+ * <li>borrowers wait in arrival order for at most {@link #MAX_WAIT} when an
+ * account is at its maximum</li>
+ * <li>a background evictor runs every {@link #TIME_30_SECONDS}, removes
+ * connections above the min idle count after {@link #TIME_60_SECONDS} of idle
+ * time, and validates the rest, sending a cheap server call to any connection
+ * idle longer than the keep alive interval so the agent does not time it
+ * out</li>
+ * </ul>
+ * <p>
+ * Connections are keyed by account because iRODS fixes the client user of an
+ * agent in the startup pack, even for proxy accounts, so a connection cannot be
+ * switched to another user between requests. A gateway serving many users can
+ * instead bound the total number of agents with
+ * {@link #instanceSharedAcrossUsers(int)}: once the pool holds {@code maxTotal}
+ * connections, a borrow for an account with no idle connection closes the least
+ * recently used idle connections of other accounts to make room, so the agents
+ * behave as a shared LRU cache of per-user connections.
+ *
  * @author mconway
  *
  */
 public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig<IRODSMidLevelProtocol> {
 
 	public static final int TIME_30_SECONDS = 30 * 1000;
-	public static final int TIME_60_SECONDS = 30 * 1000;
+	public static final int TIME_60_SECONDS = 60 * 1000;
 	public static final int MAX_IDLE = 3;
+	public static final int MIN_IDLE = 0;
+	public static final int MAX_TOTAL_PER_KEY = 8;
+	public static final int MAX_WAIT = TIME_30_SECONDS;
+	public static final int SHARED_MAX_IDLE = 1;
 
 	private int maxIdlePerKey = MAX_IDLE;
 
+	/**
+	 * A connection idle for longer than this is sent a server call when it is
+	 * validated, by the evictor or on borrow, which both checks the agent and
+	 * keeps it from timing out. Set to 0 to turn off keep alive calls
+	 */
+	private long keepAliveIntervalMillis = TIME_60_SECONDS;
+
 	@Override
 	public int getMaxIdlePerKey() {
 		return maxIdlePerKey;
@@ -28,13 +62,64 @@ public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig<IRODSMid
 		this.maxIdlePerKey = maxIdlePerKey;
 	}
 
+	/**
+	 * @return {@code long} with the idle time in milliseconds after which a
+	 *         connection is sent a keep alive server call on validation, 0 if
+	 *         keep alive calls are turned off
+	 */
+	public long getKeepAliveIntervalMillis() {
+		return keepAliveIntervalMillis;
+	}
+
+	/**
+	 * @param keepAliveIntervalMillis {@code long} with the idle time in
+	 *                                milliseconds after which a connection is sent
+	 *                                a keep alive server call on validation, 0 to
+	 *                                turn off keep alive calls
+	 */
+	public void setKeepAliveIntervalMillis(final long keepAliveIntervalMillis) {
+		this.keepAliveIntervalMillis = keepAliveIntervalMillis;
+	}
+
+	/**
+	 * Create a configuration for a pool shared by many users, capping the number
+	 * of connections across all accounts. Each account keeps at most
+	 * {@link #SHARED_MAX_IDLE} idle connection, and idle connections of other
+	 * accounts are closed, oldest first, when a new account needs a connection
+	 * and the cap is reached.
+	 *
+	 * @param maxTotal {@code int} with the maximum number of connections across
+	 *                 all accounts
+	 * @return {@link JargonKeyedPoolConfig}
+	 */
+	public static JargonKeyedPoolConfig instanceSharedAcrossUsers(final int maxTotal) {
+		if (maxTotal < 1) {
+			throw new IllegalArgumentException("maxTotal must be at least 1");
+		}
+		JargonKeyedPoolConfig config = new JargonKeyedPoolConfig();
+		config.setMaxTotal(maxTotal);
+		config.setMaxTotalPerKey(Math.min(MAX_TOTAL_PER_KEY, maxTotal));
+		config.setMaxIdlePerKey(SHARED_MAX_IDLE);
+		config.setMinIdlePerKey(0);
+		return config;
+	}
+
 	public JargonKeyedPoolConfig() {
 		super();
-		setMinEvictableIdleTimeMillis(TIME_60_SECONDS);
-		setSoftMinEvictableIdleTimeMillis(TIME_30_SECONDS);
+		// min idle connections are kept and kept alive, only the extras are evicted
+		setMinEvictableIdleTimeMillis(-1);
+		setSoftMinEvictableIdleTimeMillis(TIME_60_SECONDS);
+		setTimeBetweenEvictionRunsMillis(TIME_30_SECONDS);
+		setNumTestsPerEvictionRun(MAX_TOTAL_PER_KEY);
 		this.setMaxIdlePerKey(maxIdlePerKey);
+		setMinIdlePerKey(MIN_IDLE);
+		setMaxTotalPerKey(MAX_TOTAL_PER_KEY);
+		setBlockWhenExhausted(true);
+		setMaxWaitMillis(MAX_WAIT);
+		setFairness(true);
 		setTestOnReturn(true);
 		setTestOnBorrow(true);
+		setTestWhileIdle(true);
 		this.setJmxEnabled(true);
 	}
 
@@ -96,17 +181,17 @@ public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig<IRODSMid
 
 	@Override
 	public boolean getTestOnBorrow() {
-		return false;
+		return super.getTestOnBorrow();
 	}
 
 	@Override
 	public boolean getTestOnCreate() {
-		return false;
+		return super.getTestOnCreate();
 	}
 
 	@Override
 	public boolean getTestOnReturn() {
-		return false;
+		return super.getTestOnReturn();
 	}
 
 	@Override
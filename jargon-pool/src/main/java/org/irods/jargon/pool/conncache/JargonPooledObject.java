@@ -0,0 +1,39 @@
+package org.irods.jargon.pool.conncache;
+
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+
+/**
+ * Pooled iRODS connection that remembers when the agent last answered a keep
+ * alive call, so that connections in use or recently checked are not sent
+ * another one
+ */
+public class JargonPooledObject extends DefaultPooledObject<IRODSMidLevelProtocol> {
+
+	private volatile long lastKeepAliveTime = 0;
+
+	public JargonPooledObject(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		super(irodsMidLevelProtocol);
+	}
+
+	/**
+	 * @return {@code long} with the time in milliseconds the agent last answered
+	 *         a keep alive call, 0 if none was made
+	 */
+	public long getLastKeepAliveTime() {
+		return lastKeepAliveTime;
+	}
+
+	void setLastKeepAliveTime(final long lastKeepAliveTime) {
+		this.lastKeepAliveTime = lastKeepAliveTime;
+	}
+
+	/**
+	 * @return {@code long} with the time in milliseconds of the last borrow,
+	 *         return, or keep alive call
+	 */
+	public long getLastActivityTime() {
+		return Math.max(getLastUsedTime(), lastKeepAliveTime);
+	}
+
+}
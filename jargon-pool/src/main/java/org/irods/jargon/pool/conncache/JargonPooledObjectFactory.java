@@ -1,13 +1,16 @@
 package org.irods.jargon.pool.conncache;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
-import org.apache.commons.pool2.impl.DefaultPooledObject;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.packinstr.MiscSvrInfo;
+import org.irods.jargon.core.utils.IRODSConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +19,13 @@ import org.slf4j.LoggerFactory;
  * {@link IRODSAccount} that was originally used to create the object. This may
  * have resulted in a secondary iRODS account, for example, as a proxy account,
  * a temp account, or through some other transformation.
+ * <p>
+ * Validation fails connections that are disconnected or that are older than
+ * the {@code socketRenewalIntervalInSeconds} in the jargon properties, so the
+ * pool renews them the same way {@code IRODSSession} does for unpooled
+ * connections. A connection idle for longer than the keep alive interval is
+ * also sent a server info call, which is about the cheapest call an agent
+ * answers, and fails validation if the agent does not reply.
  * 
  * @author conwaymc
  *
@@ -35,6 +45,15 @@ public class JargonPooledObjectFactory extends BaseKeyedPooledObjectFactory<IROD
 	 */
 	private IRODSSession irodsSession;
 
+	/**
+	 * Idle time after which validation makes a keep alive call to the agent, 0 to
+	 * turn off keep alive calls
+	 */
+	private long keepAliveIntervalMillis = JargonKeyedPoolConfig.TIME_60_SECONDS;
+
+	private final AtomicLong keepAliveCount = new AtomicLong();
+	private final AtomicLong validationFailureCount = new AtomicLong();
+
 	public IRODSSession getIrodsSession() {
 		return irodsSession;
 	}
@@ -71,19 +90,86 @@ public class JargonPooledObjectFactory extends BaseKeyedPooledObjectFactory<IROD
 	@Override
 	public PooledObject<IRODSMidLevelProtocol> wrap(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
 		log.info("wrap()");
-		return new DefaultPooledObject<IRODSMidLevelProtocol>(irodsMidLevelProtocol);
+		return new JargonPooledObject(irodsMidLevelProtocol);
 	}
 
 	@Override
 	public void destroyObject(final IRODSAccount key, final PooledObject<IRODSMidLevelProtocol> p) throws Exception {
 		log.info("disconnecting()");
-		p.getObject().shutdown();
+		if (p.getObject().isConnected()) {
+			p.getObject().shutdown();
+		}
 		super.destroyObject(key, p);
 	}
 
 	@Override
 	public boolean validateObject(final IRODSAccount key, final PooledObject<IRODSMidLevelProtocol> p) {
-		return p.getObject().isConnected();
+		IRODSMidLevelProtocol irodsMidLevelProtocol = p.getObject();
+		if (!irodsMidLevelProtocol.isConnected()) {
+			log.info("connection is not connected, invalid");
+			validationFailureCount.incrementAndGet();
+			return false;
+		}
+
+		long now = System.currentTimeMillis();
+		int renewalInterval = irodsMidLevelProtocol.getPipelineConfiguration().getSocketRenewalIntervalInSeconds();
+		if (renewalInterval > 0 && now - irodsMidLevelProtocol.getConnectTimeInMillis() > renewalInterval * 1000L) {
+			log.info("connection is past the socket renewal interval, invalid");
+			validationFailureCount.incrementAndGet();
+			return false;
+		}
+
+		if (keepAliveIntervalMillis <= 0 || !(p instanceof JargonPooledObject)) {
+			return true;
+		}
+
+		JargonPooledObject jargonPooledObject = (JargonPooledObject) p;
+		if (now - jargonPooledObject.getLastActivityTime() < keepAliveIntervalMillis) {
+			return true;
+		}
+
+		log.debug("sending keep alive to idle connection");
+		try {
+			irodsMidLevelProtocol.irodsFunction(IRODSConstants.RODS_API_REQ, "", MiscSvrInfo.API_NBR);
+		} catch (Exception e) {
+			log.warn("keep alive call failed, connection is invalid", e);
+			validationFailureCount.incrementAndGet();
+			return false;
+		}
+		keepAliveCount.incrementAndGet();
+		jargonPooledObject.setLastKeepAliveTime(System.currentTimeMillis());
+		return true;
+	}
+
+	/**
+	 * @return the keepAliveIntervalMillis, idle time after which validation makes
+	 *         a keep alive call to the agent, 0 if keep alive calls are turned off
+	 */
+	public long getKeepAliveIntervalMillis() {
+		return keepAliveIntervalMillis;
+	}
+
+	/**
+	 * @param keepAliveIntervalMillis
+	 *            the keepAliveIntervalMillis to set, 0 to turn off keep alive
+	 *            calls
+	 */
+	public void setKeepAliveIntervalMillis(final long keepAliveIntervalMillis) {
+		this.keepAliveIntervalMillis = keepAliveIntervalMillis;
+	}
+
+	/**
+	 * @return {@code long} with the number of keep alive calls made
+	 */
+	public long getKeepAliveCount() {
+		return keepAliveCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of connections that failed validation
+	 */
+	public long getValidationFailureCount() {
+		return validationFailureCount.get();
 	}
 
 }
@@ -173,4 +173,88 @@ public class JargonConnectionCacheTest {
 
 	}
 
+	@Test
+	public void testPrewarmAndStatistics() throws Exception {
+		JargonKeyedPoolConfig config = new JargonKeyedPoolConfig();
+		config.setMinIdlePerKey(2);
+		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		jargonPooledObjectFactory.setIrodsSession(irodsFileSystem.getIrodsSession());
+		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsFileSystem.getIrodsProtocolManager());
+
+		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory, config);
+
+		IRODSAccount test1 = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		jargonConnectionCache.prewarm(test1);
+		Assert.assertEquals("should have prewarmed min idle", 2, jargonConnectionCache.getNumIdle(test1));
+
+		IRODSMidLevelProtocol test1Protocol1 = jargonConnectionCache.borrowObject(test1);
+		jargonConnectionCache.returnObject(test1, test1Protocol1);
+
+		JargonConnectionCacheStatistics statistics = jargonConnectionCache.getStatistics();
+		jargonConnectionCache.close();
+
+		Assert.assertEquals("borrow should reuse a prewarmed connection", 2, statistics.getCreatedCount());
+		Assert.assertEquals(1, statistics.getBorrowedCount());
+		Assert.assertEquals(0, statistics.getNumActive());
+		Assert.assertEquals(0, statistics.getNumWaiters());
+
+	}
+
+	@Test
+	public void testKeepAliveOnValidation() throws Exception {
+		JargonKeyedPoolConfig config = new JargonKeyedPoolConfig();
+		config.setKeepAliveIntervalMillis(1);
+		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		jargonPooledObjectFactory.setIrodsSession(irodsFileSystem.getIrodsSession());
+		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsFileSystem.getIrodsProtocolManager());
+
+		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory, config);
+
+		IRODSAccount test1 = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSMidLevelProtocol test1Protocol1 = jargonConnectionCache.borrowObject(test1);
+		jargonConnectionCache.returnObject(test1, test1Protocol1);
+		Thread.sleep(10);
+		IRODSMidLevelProtocol test1Protocol2 = jargonConnectionCache.borrowObject(test1);
+		jargonConnectionCache.returnObject(test1, test1Protocol2);
+
+		JargonConnectionCacheStatistics statistics = jargonConnectionCache.getStatistics();
+		jargonConnectionCache.close();
+
+		Assert.assertSame("connection should pass keep alive and be reused", test1Protocol1, test1Protocol2);
+		Assert.assertTrue("should have sent keep alive", statistics.getKeepAliveCount() > 0);
+		Assert.assertEquals(0, statistics.getValidationFailureCount());
+
+	}
+
+	@Test
+	public void testSharedAcrossUsersCapsTotal() throws Exception {
+		JargonKeyedPoolConfig config = JargonKeyedPoolConfig.instanceSharedAcrossUsers(2);
+		JargonPooledObjectFactory jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		jargonPooledObjectFactory.setIrodsSession(irodsFileSystem.getIrodsSession());
+		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsFileSystem.getIrodsProtocolManager());
+
+		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory, config);
+
+		IRODSAccount test1 = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSAccount test2 = testingPropertiesHelper.buildIRODSAccountFromSecondaryTestProperties(testingProperties);
+		IRODSAccount test3 = testingPropertiesHelper.buildIRODSAccountFromTertiaryTestProperties(testingProperties);
+
+		int maxOpen = 0;
+		for (int i = 0; i < 10; i++) {
+			for (IRODSAccount account : new IRODSAccount[] { test1, test2, test3 }) {
+				IRODSMidLevelProtocol protocol = jargonConnectionCache.borrowObject(account);
+				maxOpen = Math.max(maxOpen, jargonConnectionCache.getNumActive() + jargonConnectionCache.getNumIdle());
+				jargonConnectionCache.returnObject(account, protocol);
+			}
+		}
+
+		JargonConnectionCacheStatistics statistics = jargonConnectionCache.getStatistics();
+		jargonConnectionCache.close();
+
+		Assert.assertTrue("cap exceeded:" + maxOpen, maxOpen <= 2);
+		Assert.assertTrue("least recently used connections should be closed", statistics.getDestroyedCount() > 0);
+		Assert.assertEquals(30, statistics.getBorrowedCount());
+
+	}
+
 }